@@ -14,6 +14,8 @@ public class DirectByteBuf extends ByteBuf<ByteBuffer>
     
     private static long   offset = ReflectUtil.getFieldOffset("cleaner", ByteBuffer.allocateDirect(0).getClass());
     private static Unsafe unsafe = ReflectUtil.getUnsafe();
+    // 如果当前的内存被切片共享，则不为null。此时内存的归还由引用计数决定
+    protected SharedMemory sharedMemory;
     
     public DirectByteBuf(ByteBuffer memory, Queue<ByteBuffer> host, Queue<ByteBuf<ByteBuffer>> bufHost)
     {
@@ -25,6 +27,7 @@ public class DirectByteBuf extends ByteBuf<ByteBuffer>
         this.memory = memory;
         this.bufHost = bufHost;
         this.memHost = host;
+        sharedMemory = null;
         readIndex = 0;
         writeIndex = 0;
         capacity = memory.capacity();
@@ -33,11 +36,58 @@ public class DirectByteBuf extends ByteBuf<ByteBuffer>
     @Override
     protected void _release()
     {
-        // 执行对directBytebuffer的清理。否则由于该对象个头很小，可能导致堆外内存无法被回收。
+        clean(memory);
+    }
+    
+    /**
+     * 执行对directBytebuffer的清理。否则由于该对象个头很小，可能导致堆外内存无法被回收。
+     * 
+     * @param memory
+     */
+    static void clean(ByteBuffer memory)
+    {
         Object cleaner = unsafe.getObject(memory, offset);
         ((sun.misc.Cleaner) cleaner).clean();
     }
     
+    @Override
+    public void releaseMemOnly()
+    {
+        if (sharedMemory == null)
+        {
+            super.releaseMemOnly();
+            return;
+        }
+        // 内存被切片共享，只释放自身持有的引用。最后一个释放引用的对象负责将内存归还
+        readIndex = writeIndex = capacity = 0;
+        SharedMemory tmp = sharedMemory;
+        sharedMemory = null;
+        memory = null;
+        memHost = null;
+        cachedNioBuffer = null;
+        tmp.release();
+    }
+    
+    /**
+     * 从readIndex开始，切出一个长度为length的零拷贝视图。视图与当前的buf共享同一块内存，该操作不影响当前buf的readIndex和writeIndex。
+     * 在所有的切片被释放之前，当前buf不会在原有内存上进行压缩，而是将未读取的数据迁移到新的内存上，原有内存由最后一个释放的切片归还。
+     * 
+     * @param length
+     * @return
+     */
+    public DirectByteBuf slice(int length)
+    {
+        Verify.True(length <= remainRead(), "需要切片的长度太长，没有足够的数据可以切片");
+        if (sharedMemory == null)
+        {
+            sharedMemory = new SharedMemory(memory, memHost);
+        }
+        sharedMemory.retain();
+        ByteBuffer view = memory.duplicate();
+        view.limit(readIndex + length).position(readIndex);
+        return SliceDirectByteBuf.get(view.slice(), sharedMemory);
+    }
+    
     /**
      * 将position设置为writeIndex，将limit设置为容量上限
      */
@@ -112,6 +162,27 @@ public class DirectByteBuf extends ByteBuf<ByteBuffer>
     
     @Override
     public DirectByteBuf compact()
+    {
+        if (sharedMemory != null)
+        {
+            if (sharedMemory.onlyOwner())
+            {
+                // 所有的切片都已经释放，内存重新归自身独占
+                sharedMemory = null;
+            }
+            else
+            {
+                // 仍然有切片在使用内存，不能原地压缩。将未读取的数据迁移到新的内存上
+                cachedNioBuffer = null;
+                DirectByteBufPool.getInstance().expend(this, Math.max(capacity - 1, remainRead()));
+                capacity = memory.capacity();
+                return this;
+            }
+        }
+        return compactInPlace();
+    }
+    
+    protected DirectByteBuf compactInPlace()
     {
         if (readIndex != 0)
         {
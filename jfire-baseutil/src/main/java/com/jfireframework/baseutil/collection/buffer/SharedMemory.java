@@ -0,0 +1,63 @@
+package com.jfireframework.baseutil.collection.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 被多个DirectByteBuf共享的一块堆外内存。
+ * 原始的DirectByteBuf持有一个引用，每一个切片也各自持有一个引用。只有当引用计数归零的时候，内存才会被归还给内存池
+ * 
+ * @author linbin
+ * 
+ */
+public class SharedMemory
+{
+    private final ByteBuffer        memory;
+    private final Queue<ByteBuffer> memHost;
+    private final AtomicInteger     refCount = new AtomicInteger(1);
+    
+    public SharedMemory(ByteBuffer memory, Queue<ByteBuffer> memHost)
+    {
+        this.memory = memory;
+        this.memHost = memHost;
+    }
+    
+    public void retain()
+    {
+        refCount.incrementAndGet();
+    }
+    
+    /**
+     * 释放一个引用，如果这是最后一个引用，则将内存归还给内存池
+     */
+    public void release()
+    {
+        if (refCount.decrementAndGet() == 0)
+        {
+            if (memHost == null)
+            {
+                DirectByteBuf.clean(memory);
+            }
+            else
+            {
+                memHost.offer(memory);
+            }
+        }
+    }
+    
+    /**
+     * 当前是否只剩下原始持有者一个引用，也就是所有的切片都已经被释放
+     * 
+     * @return
+     */
+    public boolean onlyOwner()
+    {
+        return refCount.get() == 1;
+    }
+    
+    public int refCount()
+    {
+        return refCount.get();
+    }
+}
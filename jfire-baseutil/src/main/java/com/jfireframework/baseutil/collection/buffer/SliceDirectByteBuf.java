@@ -0,0 +1,46 @@
+package com.jfireframework.baseutil.collection.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+
+/**
+ * DirectByteBuf的切片视图。与被切片的buf共享同一块堆外内存，释放的时候只释放自身持有的引用。
+ * 如果切片需要扩容，则会将数据拷贝到内存池的新内存上，并且释放对共享内存的引用
+ * 
+ * @author linbin
+ * 
+ */
+public class SliceDirectByteBuf extends DirectByteBuf
+{
+    private static final Queue<ByteBuf<ByteBuffer>> sliceHost = ByteBufPool.queueFactory.newInstance();
+    
+    private SliceDirectByteBuf(ByteBuffer view)
+    {
+        super(view, null, sliceHost);
+    }
+    
+    static SliceDirectByteBuf get(ByteBuffer view, SharedMemory sharedMemory)
+    {
+        SliceDirectByteBuf buf = (SliceDirectByteBuf) sliceHost.poll();
+        if (buf == null)
+        {
+            buf = new SliceDirectByteBuf(view);
+        }
+        else
+        {
+            buf.init(view, null, sliceHost);
+        }
+        buf.sharedMemory = sharedMemory;
+        buf.writeIndex = view.capacity();
+        return buf;
+    }
+    
+    /**
+     * 切片所占有的内存区域是独享的，因此可以直接原地压缩
+     */
+    @Override
+    public DirectByteBuf compact()
+    {
+        return compactInPlace();
+    }
+}
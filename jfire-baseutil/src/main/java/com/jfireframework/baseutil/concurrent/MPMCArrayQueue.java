@@ -0,0 +1,199 @@
+package com.jfireframework.baseutil.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import com.jfireframework.baseutil.disruptor.Sequence;
+import com.jfireframework.baseutil.verify.Verify;
+
+/**
+ * 有界的多生产者多消费者无锁队列。
+ * 与disruptor的环形数组一样预先分配好数组，头尾序号使用经过缓存行填充的Sequence，放入和取出都不需要分配节点。
+ * 每一个槽位额外保存一个序号，生产者和消费者通过槽位序号判断槽位是否可写或者可读，竞争只发生在各自的头尾序号上。
+ * 迭代器是弱一致的，不会抛出ConcurrentModificationException，只返回创建时位于头尾序号之间并且读取时还没有被取走的数据，迭代器会预先读取下一个数据。
+ * 无锁的环形数组不能从中间删除数据，所以迭代器不支持remove，remove(Object)在找到数据时会抛出UnsupportedOperationException
+ * 
+ * @author linbin
+ * 
+ * @param <E>
+ */
+public class MPMCArrayQueue<E> extends AbstractQueue<E>
+{
+    private final Object[]        array;
+    // 槽位序号。等于位置值表示槽位可写，等于位置值加一表示槽位已经放入了数据
+    private final AtomicLongArray slotSequences;
+    private final int             mask;
+    private final Sequence        head = new Sequence(0);
+    private final Sequence        tail = new Sequence(0);
+    
+    public MPMCArrayQueue(int capacity)
+    {
+        Verify.True(capacity > 1, "队列的大小必须大于1");
+        Verify.True(Integer.bitCount(capacity) == 1, "队列的大小必须是2的次方幂");
+        array = new Object[capacity];
+        slotSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++)
+        {
+            slotSequences.set(i, i);
+        }
+        mask = capacity - 1;
+    }
+    
+    /**
+     * 放入数据，队列已满时立刻返回false
+     */
+    @Override
+    public boolean offer(E e)
+    {
+        while (true)
+        {
+            long pos = tail.value();
+            int index = (int) pos & mask;
+            long diff = slotSequences.get(index) - pos;
+            if (diff == 0)
+            {
+                if (tail.tryCasSet(pos, pos + 1))
+                {
+                    array[index] = e;
+                    // 这里使用volatile写而不是延迟写，保证之后对消费者状态的读取不会被重排到发布之前，方便调用者实现休眠唤醒
+                    slotSequences.set(index, pos + 1);
+                    return true;
+                }
+            }
+            else if (diff < 0)
+            {
+                return false;
+            }
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Override
+    public E poll()
+    {
+        while (true)
+        {
+            long pos = head.value();
+            int index = (int) pos & mask;
+            long diff = slotSequences.get(index) - (pos + 1);
+            if (diff == 0)
+            {
+                if (head.tryCasSet(pos, pos + 1))
+                {
+                    E e = (E) array[index];
+                    array[index] = null;
+                    slotSequences.lazySet(index, pos + mask + 1);
+                    return e;
+                }
+            }
+            else if (diff < 0)
+            {
+                return null;
+            }
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Override
+    public E peek()
+    {
+        long pos = head.value();
+        int index = (int) pos & mask;
+        if (slotSequences.get(index) == pos + 1)
+        {
+            return (E) array[index];
+        }
+        return null;
+    }
+    
+    /**
+     * 返回队列中数据的近似个数
+     */
+    @Override
+    public int size()
+    {
+        long size = tail.value() - head.value();
+        return size < 0 ? 0 : (int) size;
+    }
+    
+    @Override
+    public boolean isEmpty()
+    {
+        return tail.value() == head.value();
+    }
+    
+    public int capacity()
+    {
+        return array.length;
+    }
+    
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new Itr();
+    }
+    
+    private class Itr implements Iterator<E>
+    {
+        private long pos;
+        // 创建迭代器时的尾部序号，之后放入的数据不再迭代
+        private final long end;
+        private E          next;
+        
+        Itr()
+        {
+            pos = head.value();
+            end = tail.value();
+            advance();
+        }
+        
+        /**
+         * 找到下一个可读的槽位。读取数据之后槽位序号没有变化，说明数据在读取时没有被消费者取走，也没有被下一轮的生产者覆盖
+         */
+        @SuppressWarnings("unchecked")
+        private void advance()
+        {
+            next = null;
+            while (pos < end)
+            {
+                long now = pos;
+                pos += 1;
+                int index = (int) now & mask;
+                if (slotSequences.get(index) == now + 1)
+                {
+                    Object e = array[index];
+                    if (e != null && slotSequences.get(index) == now + 1)
+                    {
+                        next = (E) e;
+                        return;
+                    }
+                }
+            }
+        }
+        
+        @Override
+        public boolean hasNext()
+        {
+            return next != null;
+        }
+        
+        @Override
+        public E next()
+        {
+            if (next == null)
+            {
+                throw new NoSuchElementException();
+            }
+            E e = next;
+            advance();
+            return e;
+        }
+        
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("不支持从队列的中间删除数据");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.jfireframework.baseutil.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 分段计数器。按照线程id将计数分散到多个槽位上，每个槽位独占一个缓存行，多线程同时累加时基本不会产生竞争。
+ * 累加的开销只是一次无竞争的原子操作，读取总数时需要遍历所有槽位，适合写多读少的统计场景
+ * 
+ * @author linbin
+ * 
+ */
+public class StripedCounter
+{
+    // 每个槽位之间间隔8个long，保证不同的槽位不在同一个缓存行中
+    private static final int      PADDING = 8;
+    private static final int      STRIPES;
+    private final AtomicLongArray cells   = new AtomicLongArray(STRIPES * PADDING);
+    
+    static
+    {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        int stripes = 1;
+        while (stripes < cpus * 2)
+        {
+            stripes <<= 1;
+        }
+        STRIPES = stripes;
+    }
+    
+    public void increment()
+    {
+        add(1);
+    }
+    
+    public void add(long delta)
+    {
+        cells.getAndAdd(stripe() * PADDING, delta);
+    }
+    
+    /**
+     * 累加1，返回当前线程所在槽位累加后的值。可以用来按线程做采样，而不需要读取所有的槽位
+     * 
+     * @return
+     */
+    public long incrementStripe()
+    {
+        return cells.incrementAndGet(stripe() * PADDING);
+    }
+    
+    /**
+     * 返回当前线程对应的槽位序号，其他需要按线程分散竞争的统计结构也可以使用
+     * 
+     * @return
+     */
+    public static int stripe()
+    {
+        // 线程id通常是连续分配的，直接取模就可以比较均匀的分布到各个槽位
+        return (int) Thread.currentThread().getId() & (STRIPES - 1);
+    }
+    
+    public static int stripes()
+    {
+        return STRIPES;
+    }
+    
+    /**
+     * 返回当前的总数。由于累加可能在遍历的同时进行，返回的只是一个近似的快照
+     * 
+     * @return
+     */
+    public long sum()
+    {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++)
+        {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+    
+    public String toString()
+    {
+        return String.valueOf(sum());
+    }
+}
@@ -17,6 +17,8 @@ public abstract class AbstractTimer implements Timer
     private static final int                                    STARTED       = 1;
     protected static final UnsafeIntFieldUpdater<AbstractTimer> state_updater = new UnsafeIntFieldUpdater<AbstractTimer>(AbstractTimer.class, "state");
     private long                                                startTime;
+    // 时间轮线程是否为守护线程，需要在timer启动之前设置
+    protected boolean                                           daemon        = false;
     
     public AbstractTimer(long tickDuration, TimeUnit unit, TimeoutHandler handler)
     {
@@ -43,6 +45,11 @@ public abstract class AbstractTimer implements Timer
         }
     }
     
+    public void setDaemon(boolean daemon)
+    {
+        this.daemon = daemon;
+    }
+    
     @Override
     public void stop()
     {
@@ -57,7 +64,9 @@ public abstract class AbstractTimer implements Timer
             if (state_updater.compareAndSwap(this, NOT_START, STARTED))
             {
                 startTime = System.nanoTime();
-                new Thread(this).start();
+                Thread thread = new Thread(this);
+                thread.setDaemon(daemon);
+                thread.start();
             }
         }
     }
@@ -43,7 +43,7 @@ public abstract class AbstractExclusiveEntryAction implements ExclusiveEntryActi
                 }
                 catch (WaitStrategyStopException e)
                 {
-                    logger.error("停止");
+                    logger.debug("停止");
                     break;
                 }
             }
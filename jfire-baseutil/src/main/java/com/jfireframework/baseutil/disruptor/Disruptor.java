@@ -2,6 +2,7 @@ package com.jfireframework.baseutil.disruptor;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import com.jfireframework.baseutil.disruptor.ringarray.ComplexMultRingArray;
 import com.jfireframework.baseutil.disruptor.ringarray.RingArray;
 import com.jfireframework.baseutil.disruptor.ringarray.SimpleMultRingArray;
@@ -13,11 +14,13 @@ public class Disruptor
     public static final int       ComplexMult = 2;
     private final RingArray       ringArray;
     private final ExecutorService pool;
+    private final Thread[]        threads;
     
     public Disruptor(RingArray ringArray, ExecutorService pool)
     {
         this.pool = pool;
         this.ringArray = ringArray;
+        threads = null;
     }
     
     public Disruptor(int ringSize, EntryAction[] actions, Thread[] threads, WaitStrategy waitStrategy)
@@ -27,6 +30,7 @@ public class Disruptor
         {
             threads[i].start();
         }
+        this.threads = threads;
         pool = null;
     }
     
@@ -69,6 +73,7 @@ public class Disruptor
             ringArray = new ComplexMultRingArray(ringSize, waitStrategy, actions);
         }
         this.pool = pool;
+        threads = null;
         for (EntryAction each : actions)
         {
             pool.submit(each);
@@ -94,6 +99,37 @@ public class Disruptor
         ringArray.stop();
     }
     
+    /**
+     * 在stop之后调用，等待所有的处理线程退出，返回在超时时间内是否全部退出
+     * 
+     * @param timeout
+     * @param unit
+     * @return
+     * @throws InterruptedException
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        if (pool != null)
+        {
+            return pool.awaitTermination(timeout, unit);
+        }
+        for (Thread each : threads)
+        {
+            long left = deadline - System.nanoTime();
+            if (left <= 0)
+            {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedJoin(each, left);
+            if (each.isAlive())
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+    
     public long next()
     {
         return ringArray.next();
@@ -61,4 +61,16 @@ public class ParkWaitStrategy extends AbstractWaitStrategy
         
     }
     
+    /**
+     * 停止时不论当前的等待状态如何都唤醒所有的线程，保证每一个线程都能检测到停止并且退出
+     */
+    @Override
+    public void stopRunOrWait()
+    {
+        super.stopRunOrWait();
+        for (Thread each : threads)
+        {
+            LockSupport.unpark(each);
+        }
+    }
 }
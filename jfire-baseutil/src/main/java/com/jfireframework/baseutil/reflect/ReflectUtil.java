@@ -40,15 +40,28 @@ public final class ReflectUtil
             field.setAccessible(true);
             // 获取静态属性,Unsafe在启动JVM时随rt.jar装载
             unsafe = (Unsafe) field.get(null);
-            acquireMethodAccessor = Method.class.getDeclaredMethod("acquireMethodAccessor");
-            acquireMethodAccessor.setAccessible(true);
-            methodAccessor = Method.class.getDeclaredField("methodAccessor");
-            methodAccessor.setAccessible(true);
         }
         catch (Exception e)
         {
             throw new JustThrowException(e);
         }
+        Method acquire = null;
+        Field accessor = null;
+        try
+        {
+            acquire = Method.class.getDeclaredMethod("acquireMethodAccessor");
+            acquire.setAccessible(true);
+            accessor = Method.class.getDeclaredField("methodAccessor");
+            accessor.setAccessible(true);
+        }
+        catch (Exception e)
+        {
+            // 高版本的jdk不再允许访问这两个成员，此时只有fastMethod不可用，不影响其他的功能
+            acquire = null;
+            accessor = null;
+        }
+        acquireMethodAccessor = acquire;
+        methodAccessor = accessor;
     }
     
     public static Unsafe getUnsafe()
@@ -86,6 +99,10 @@ public final class ReflectUtil
      */
     public static MethodAccessor fastMethod(Method src)
     {
+        if (methodAccessor == null)
+        {
+            throw new UnSupportException("当前的jdk版本不支持获取MethodAccessor");
+        }
         try
         {
             src.setAccessible(true);
@@ -1,6 +1,7 @@
 package com.jfireframework.baseutil;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 import com.jfireframework.baseutil.collection.buffer.ByteBuf;
 import com.jfireframework.baseutil.collection.buffer.DirectByteBuf;
@@ -87,4 +88,38 @@ public class BufferTest
         }
         System.out.println(Runtime.getRuntime().freeMemory() / 1024);
     }
+    
+    @Test
+    public void testSlice()
+    {
+        DirectByteBuf ioBuf = DirectByteBuf.allocate(100);
+        ioBuf.writeInt(1).writeInt(2).writeInt(3);
+        ByteBuf<?> first = ioBuf.slice(4);
+        ioBuf.addReadIndex(4);
+        ByteBuf<?> second = ioBuf.slice(4);
+        ioBuf.addReadIndex(4);
+        // 有切片存活时，压缩会把未读数据迁移到新内存，切片的内容不受影响
+        ioBuf.compact();
+        assertEquals(0, ioBuf.readIndex());
+        assertEquals(3, ioBuf.readInt());
+        assertEquals(1, first.readInt());
+        assertEquals(2, second.readInt());
+        first.release();
+        second.release();
+        ioBuf.writeInt(4);
+        ByteBuf<?> third = ioBuf.slice(4);
+        third.release();
+        ioBuf.compact();
+        assertEquals(4, ioBuf.readInt());
+        // 切片写入超过自身容量时，会拷贝到独立的内存上
+        ioBuf.writeInt(5);
+        ByteBuf<?> fourth = ioBuf.slice(4);
+        fourth.clear().writeLong(6L).writeLong(7L);
+        assertTrue(fourth.size() >= 16);
+        assertEquals(6L, fourth.readLong());
+        assertEquals(7L, fourth.readLong());
+        assertEquals(5, ioBuf.readInt());
+        fourth.release();
+        ioBuf.release();
+    }
 }
@@ -0,0 +1,134 @@
+package com.jfireframework.baseutil.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import com.jfireframework.baseutil.concurrent.MPMCArrayQueue;
+
+public class MPMCArrayQueueTest
+{
+    @Test
+    public void offerPoll()
+    {
+        MPMCArrayQueue<Integer> queue = new MPMCArrayQueue<Integer>(4);
+        for (int i = 0; i < 4; i++)
+        {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+        assertEquals(4, queue.size());
+        assertEquals(Integer.valueOf(0), queue.poll());
+        assertTrue(queue.offer(4));
+        for (int i = 1; i < 5; i++)
+        {
+            assertEquals(Integer.valueOf(i), queue.poll());
+        }
+        assertEquals(null, queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+    
+    /**
+     * 继承自AbstractQueue的方法都依赖迭代器
+     */
+    @Test
+    public void iterate()
+    {
+        MPMCArrayQueue<Integer> queue = new MPMCArrayQueue<Integer>(4);
+        queue.offer(0);
+        queue.offer(1);
+        queue.poll();
+        queue.offer(2);
+        queue.offer(3);
+        queue.offer(4);
+        // 环绕之后依然按照放入的顺序迭代
+        assertEquals("[1, 2, 3, 4]", queue.toString());
+        assertTrue(queue.contains(3));
+        assertFalse(queue.contains(0));
+        assertTrue(queue.containsAll(Arrays.asList(1, 4)));
+        assertEquals(4, queue.toArray().length);
+        Iterator<Integer> iterator = queue.iterator();
+        queue.poll();
+        queue.poll();
+        queue.offer(5);
+        // 迭代器预先读取了下一个数据，所以1依然返回。之后被取走的2不再返回，迭代器创建之后放入的5也不返回
+        assertEquals(Integer.valueOf(1), iterator.next());
+        assertEquals(Integer.valueOf(3), iterator.next());
+        assertEquals(Integer.valueOf(4), iterator.next());
+        assertFalse(iterator.hasNext());
+        assertFalse(queue.remove(6));
+        try
+        {
+            queue.remove(3);
+            throw new AssertionError();
+        }
+        catch (UnsupportedOperationException e)
+        {
+            ;
+        }
+    }
+    
+    /**
+     * 并发放入和取出的时候迭代，不会返回null，也不会返回重复的数据
+     * 
+     * @throws InterruptedException
+     */
+    @Test
+    public void iterateConcurrently() throws InterruptedException
+    {
+        final MPMCArrayQueue<Long> queue = new MPMCArrayQueue<Long>(64);
+        final AtomicBoolean stop = new AtomicBoolean(false);
+        Thread producer = new Thread(new Runnable() {
+            
+            @Override
+            public void run()
+            {
+                long value = 0;
+                while (stop.get() == false)
+                {
+                    if (queue.offer(value))
+                    {
+                        value += 1;
+                    }
+                }
+            }
+        });
+        Thread consumer = new Thread(new Runnable() {
+            
+            @Override
+            public void run()
+            {
+                while (stop.get() == false)
+                {
+                    queue.poll();
+                }
+            }
+        });
+        producer.start();
+        consumer.start();
+        try
+        {
+            for (int i = 0; i < 100000; i++)
+            {
+                long last = -1;
+                for (Long each : queue)
+                {
+                    assertNotNull(each);
+                    // 生产者按照递增的顺序放入，迭代得到的数据也是递增的
+                    assertTrue(each > last);
+                    last = each;
+                }
+            }
+        }
+        finally
+        {
+            stop.set(true);
+            producer.join();
+            consumer.join();
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.jfireframework.jnet.client;
 
 import java.net.InetSocketAddress;
-import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousChannelGroup;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.util.concurrent.ExecutionException;
@@ -16,6 +15,9 @@ import com.jfireframework.jnet.common.channel.impl.FutureClientChannelInfo;
 import com.jfireframework.jnet.common.exception.JnetException;
 import com.jfireframework.jnet.common.handler.DataHandler;
 import com.jfireframework.jnet.common.result.ClientInternalResult;
+import com.jfireframework.jnet.common.unix.UnixAsynchronousSocketChannel;
+import com.jfireframework.jnet.common.unix.UnixDomainSockets;
+import com.jfireframework.jnet.common.unix.UnixEventLoopGroup;
 
 /**
  * 客户端工具类，注意，该客户端是非线程安全类，其方法不可多线程运行
@@ -28,6 +30,7 @@ public class AioClient
     private AbstractClientChannel    clientChannel;
     private String                   address;
     private int                      port;
+    private String                   unixSocketPath;
     private AsynchronousChannelGroup channelGroup;
     private DataHandler[]            writeHandlers;
     private ChannelInitListener      initListener;
@@ -67,6 +70,18 @@ public class AioClient
         return this;
     }
     
+    /**
+     * 设置unix domain socket的文件路径，设置之后通过unix domain socket连接服务端，address和port不再生效。需要jdk16及以上的版本
+     * 
+     * @param unixSocketPath
+     * @return
+     */
+    public AioClient setUnixSocketPath(String unixSocketPath)
+    {
+        this.unixSocketPath = unixSocketPath;
+        return this;
+    }
+    
     public AioClient setWriteHandlers(DataHandler... writeHandlers)
     {
         this.writeHandlers = writeHandlers;
@@ -77,8 +92,18 @@ public class AioClient
     {
         if (clientChannel == null || clientChannel.isOpen() == false)
         {
-            AsynchronousSocketChannel socketChannel = AsynchronousSocketChannel.open(channelGroup);
-            socketChannel.connect(new InetSocketAddress(address, port)).get(30, TimeUnit.SECONDS);
+            AsynchronousSocketChannel socketChannel;
+            if (unixSocketPath != null)
+            {
+                // 同一台机器上的通信使用unix domain socket，跳过本地回环的tcp协议栈
+                socketChannel = UnixAsynchronousSocketChannel.open(UnixEventLoopGroup.defaultGroup());
+                socketChannel.connect(UnixDomainSockets.address(unixSocketPath)).get(30, TimeUnit.SECONDS);
+            }
+            else
+            {
+                socketChannel = AsynchronousSocketChannel.open(channelGroup);
+                socketChannel.connect(new InetSocketAddress(address, port)).get(30, TimeUnit.SECONDS);
+            }
             if (async == true)
             {
                 clientChannel = new AsyncClientChannelInfo();
@@ -93,6 +118,7 @@ public class AioClient
             Verify.notNull(clientChannel.getFrameDecodec(), "没有设置framedecodec");
             Verify.notNull(clientChannel.getHandlers(), "没有设置Datahandler");
             ClientReadCompleter clientReadCompleter = new ClientReadCompleter(this, clientChannel);
+            new ClientWriteCompleter(clientChannel, ClientWriteCompleter.DEFAULT_MAX_BATCH_SIZE);
             clientReadCompleter.readAndWait();
         }
         return this;
@@ -129,30 +155,11 @@ public class AioClient
             {
                 throw new InterruptedException("链接已经中断，请重新链接后再发送信息");
             }
-            internalResult.init(data, clientChannel, index);
-            for (int i = index; i < writeHandlers.length;)
-            {
-                data = writeHandlers[i].handle(data, internalResult);
-                if (i == internalResult.getIndex())
-                {
-                    i++;
-                    internalResult.setIndex(i);
-                }
-                else
-                {
-                    i = internalResult.getIndex();
-                }
-                
-            }
+            data = encode(data, index);
             if (data instanceof ByteBuf<?>)
             {
                 Future<?> result = clientChannel.addFuture();
-                ByteBuffer buffer = ((ByteBuf<?>) data).nioBuffer();
-                while (buffer.hasRemaining())
-                {
-                    clientChannel.getSocketChannel().write(buffer).get();
-                }
-                ((ByteBuf<?>) data).release();
+                clientChannel.getWriteCompleter().send((ByteBuf<?>) data);
                 return result;
             }
             else
@@ -162,27 +169,123 @@ public class AioClient
         }
         catch (Exception e)
         {
-            Object tmp = e;
-            internalResult.init(e, clientChannel, 0);
-            for (DataHandler each : writeHandlers)
+            throw handleException(e);
+        }
+    }
+    
+    /**
+     * 以回调的方式写出一个对象，超时时间使用通道的读取超时时间
+     * 
+     * @param data
+     * @param listener
+     * @return
+     */
+    public ResponseFuture writeAsync(Object data, ResponseListener listener)
+    {
+        return writeAsync(data, clientChannel == null ? 0 : clientChannel.getReadTimeout(), listener);
+    }
+    
+    /**
+     * 以回调的方式写出一个对象。调用线程不会因为等待响应或者等待写出而阻塞，响应到达后在读取线程中回调listener，
+     * 超过timeout毫秒仍然没有响应则在时间轮线程中以超时异常回调。在途的请求数量已满时不会等待，而是直接以异常回调。
+     * 如果是异步客户端，由于不追踪响应，写出后会立刻以null回调
+     * 
+     * @param data
+     * @param timeout 等待响应的超时时间，单位毫秒，小于等于0表示不限时
+     * @param listener
+     * @return
+     */
+    public ResponseFuture writeAsync(Object data, long timeout, ResponseListener listener)
+    {
+        ResponseFuture future;
+        try
+        {
+            if (clientChannel == null || clientChannel.isOpen() == false)
+            {
+                throw new InterruptedException("链接已经中断，请重新链接后再发送信息");
+            }
+            data = encode(data, 0);
+            if (data instanceof ByteBuf<?>)
+            {
+                Future<?> result = clientChannel.tryAddFuture();
+                if (result == null)
+                {
+                    ((ByteBuf<?>) data).release();
+                    future = new ResponseFuture();
+                    future.ready(null, new JnetException("在途的请求数量已经达到上限" + clientChannel.capacity()));
+                }
+                else if (result instanceof ResponseFuture)
+                {
+                    future = (ResponseFuture) result;
+                    ResponseTimer.schedule(future, timeout);
+                    clientChannel.getWriteCompleter().send((ByteBuf<?>) data);
+                }
+                else
+                {
+                    clientChannel.getWriteCompleter().send((ByteBuf<?>) data);
+                    future = new ResponseFuture();
+                    future.ready(null, null);
+                }
+            }
+            else
             {
-                tmp = each.catchException(tmp, internalResult);
+                future = new ResponseFuture();
+                future.ready(null, null);
             }
-            close();
-            if (tmp instanceof Throwable)
+        }
+        catch (Throwable e)
+        {
+            future = new ResponseFuture();
+            future.ready(null, e instanceof Exception ? handleException((Exception) e) : e);
+        }
+        return future.addListener(listener);
+    }
+    
+    private Object encode(Object data, int index) throws Exception
+    {
+        internalResult.init(data, clientChannel, index);
+        for (int i = index; i < writeHandlers.length;)
+        {
+            data = writeHandlers[i].handle(data, internalResult);
+            if (i == internalResult.getIndex())
             {
-                throw (Throwable) tmp;
+                i++;
+                internalResult.setIndex(i);
             }
             else
             {
-                throw e;
+                i = internalResult.getIndex();
             }
+            
+        }
+        return data;
+    }
+    
+    private Throwable handleException(Exception e)
+    {
+        Object tmp = e;
+        internalResult.init(e, clientChannel, 0);
+        for (DataHandler each : writeHandlers)
+        {
+            tmp = each.catchException(tmp, internalResult);
+        }
+        close();
+        if (tmp instanceof Throwable)
+        {
+            return (Throwable) tmp;
+        }
+        else
+        {
+            return e;
         }
     }
     
     public void close()
     {
-        clientChannel.closeChannel();
+        if (clientChannel != null)
+        {
+            clientChannel.closeChannel();
+        }
     }
     
 }
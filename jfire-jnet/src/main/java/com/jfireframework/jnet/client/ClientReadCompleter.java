@@ -28,6 +28,11 @@ public class ClientReadCompleter implements CompletionHandler<Integer, AbstractC
     private ClientInternalResult        internalResult = new ClientInternalResult();
     
     public ClientReadCompleter(AioClient aioClient, AbstractClientChannel channelInfo)
+    {
+        this(channelInfo);
+    }
+    
+    public ClientReadCompleter(AbstractClientChannel channelInfo)
     {
         this.channelInfo = channelInfo;
         readTimeout = channelInfo.getReadTimeout();
@@ -65,6 +70,7 @@ public class ClientReadCompleter implements CompletionHandler<Integer, AbstractC
                 decodeResult = frameDecodec.decodec(ioBuf);
                 if (decodeResult != null)
                 {
+                    long responseCursor = channelInfo.responseCursor(decodeResult, cursor);
                     internalResult.init(decodeResult, channelInfo, 0);
                     for (int i = 0; i < handlers.length;)
                     {
@@ -80,7 +86,7 @@ public class ClientReadCompleter implements CompletionHandler<Integer, AbstractC
                         }
                     }
                     // logger.trace("客户端处理完毕响应{}", cursor);
-                    channelInfo.signal(decodeResult, cursor);
+                    channelInfo.signal(decodeResult, responseCursor);
                 }
                 if (ioBuf.remainRead() == 0)
                 {
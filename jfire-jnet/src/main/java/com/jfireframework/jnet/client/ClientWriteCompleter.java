@@ -0,0 +1,105 @@
+package com.jfireframework.jnet.client;
+
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.concurrent.MPSCLinkedQueue;
+import com.jfireframework.jnet.common.channel.impl.AbstractClientChannel;
+import com.jfireframework.jnet.common.buffer.GatherBuffer;
+
+/**
+ * 客户端的写完成器。需要写出的报文先进入发送队列，由当前持有写出权的线程聚合后批量写出，调用send的线程不会等待写出完成。
+ * 发送队列是多生产者单消费者的，通过writing标志保证同一时刻只有一个线程在消费并写出
+ * 
+ * @author linbin
+ * 
+ */
+public class ClientWriteCompleter implements CompletionHandler<Long, GatherBuffer>
+{
+    public static final int                   DEFAULT_MAX_BATCH_SIZE = 32;
+    private final AbstractClientChannel       channel;
+    private final AsynchronousSocketChannel   socketChannel;
+    private final MPSCLinkedQueue<ByteBuf<?>> sendQueue              = new MPSCLinkedQueue<>();
+    private final AtomicBoolean               writing                = new AtomicBoolean(false);
+    private final GatherBuffer                gatherBuffer;
+    private final int                         maxBatchSize;
+    
+    public ClientWriteCompleter(AbstractClientChannel channel, int maxBatchSize)
+    {
+        this.channel = channel;
+        this.maxBatchSize = maxBatchSize;
+        socketChannel = channel.getSocketChannel();
+        gatherBuffer = new GatherBuffer(maxBatchSize);
+        channel.setWriteCompleter(this);
+    }
+    
+    public void send(ByteBuf<?> buf)
+    {
+        sendQueue.offer(buf);
+        if (writing.compareAndSet(false, true))
+        {
+            flush();
+        }
+    }
+    
+    /**
+     * 调用该方法的线程必须持有写出权。将发送队列中的报文聚合后写出，如果队列为空则放弃写出权
+     */
+    private void flush()
+    {
+        do
+        {
+            if (channel.isOpen() == false)
+            {
+                releaseQueue();
+            }
+            else
+            {
+                ByteBuf<?> buf;
+                while (gatherBuffer.count() < maxBatchSize && (buf = sendQueue.poll()) != null)
+                {
+                    gatherBuffer.add(buf);
+                }
+                if (gatherBuffer.count() > 0)
+                {
+                    socketChannel.write(gatherBuffer.buffers(), 0, gatherBuffer.count(), 10, TimeUnit.SECONDS, gatherBuffer, this);
+                    return;
+                }
+            }
+            writing.set(false);
+            // 放弃写出权之后再检查一次，避免在放弃之前入队的报文无人写出
+        } while (sendQueue.isEmpty() == false && writing.compareAndSet(false, true));
+    }
+    
+    private void releaseQueue()
+    {
+        ByteBuf<?> buf;
+        while ((buf = sendQueue.poll()) != null)
+        {
+            buf.release();
+        }
+    }
+    
+    @Override
+    public void completed(Long result, GatherBuffer gatherBuffer)
+    {
+        if (gatherBuffer.skipWritten() == false)
+        {
+            socketChannel.write(gatherBuffer.buffers(), gatherBuffer.offset(), gatherBuffer.remainCount(), 10, TimeUnit.SECONDS, gatherBuffer, this);
+            return;
+        }
+        gatherBuffer.release();
+        flush();
+    }
+    
+    @Override
+    public void failed(Throwable exc, GatherBuffer gatherBuffer)
+    {
+        gatherBuffer.release();
+        // 关闭通道后读取完成器会收到异常，由它通知所有在途的请求
+        channel.closeChannel();
+        flush();
+    }
+}
@@ -0,0 +1,41 @@
+package com.jfireframework.jnet.client;
+
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+
+/**
+ * 请求序号以4个字节的int形式存放在报文固定位置的读写器。
+ * 请求报文中的位置相对于报文的起始位置，响应报文中的位置相对于解码后报文的读取位置，两者可以不同。
+ * 比如请求报文以4个字节的长度字段开头，而解码器会跳过长度字段，那么请求的偏移量就是4，响应的偏移量就是0
+ * 
+ * @author linbin
+ * 
+ */
+public class FieldRequestIdResolver implements RequestIdResolver
+{
+    private final int requestOffset;
+    private final int responseOffset;
+    
+    public FieldRequestIdResolver(int offset)
+    {
+        this(offset, offset);
+    }
+    
+    public FieldRequestIdResolver(int requestOffset, int responseOffset)
+    {
+        this.requestOffset = requestOffset;
+        this.responseOffset = responseOffset;
+    }
+    
+    @Override
+    public void writeId(ByteBuf<?> buf, int requestId)
+    {
+        buf.writeInt(buf.readIndex() + requestOffset, requestId);
+    }
+    
+    @Override
+    public int readId(ByteBuf<?> frame)
+    {
+        return frame.readInt(frame.readIndex() + responseOffset);
+    }
+    
+}
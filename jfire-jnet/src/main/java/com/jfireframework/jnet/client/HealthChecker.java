@@ -0,0 +1,18 @@
+package com.jfireframework.jnet.client;
+
+/**
+ * 连接池使用的健康检查。返回false的连接会被关闭并在下一次使用时重新建立
+ * 
+ * @author linbin
+ * 
+ */
+public interface HealthChecker
+{
+    /**
+     * 检查连接是否健康。该方法在连接池的检查线程中执行，应当设置合理的超时时间，比如发送一个心跳请求并限时等待响应
+     * 
+     * @param client
+     * @return
+     */
+    public boolean check(MultiplexClient client);
+}
@@ -0,0 +1,309 @@
+package com.jfireframework.jnet.client;
+
+import java.net.InetSocketAddress;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.verify.Verify;
+import com.jfireframework.jnet.common.channel.ChannelInitListener;
+import com.jfireframework.jnet.common.channel.impl.AbstractClientChannel;
+import com.jfireframework.jnet.common.channel.impl.MultiplexClientChannel;
+import com.jfireframework.jnet.common.exception.JnetException;
+import com.jfireframework.jnet.common.handler.DataHandler;
+import com.jfireframework.jnet.common.result.ClientInternalResult;
+import com.jfireframework.jnet.common.unix.UnixAsynchronousSocketChannel;
+import com.jfireframework.jnet.common.unix.UnixDomainSockets;
+import com.jfireframework.jnet.common.unix.UnixEventLoopGroup;
+
+/**
+ * 线程安全的多路复用客户端。多个线程共用一个连接发送请求，每一个请求报文中都写入一个请求序号，
+ * 服务端可以乱序返回响应，客户端根据响应中的请求序号唤醒对应的future。
+ * 多个线程的请求报文进入同一个发送队列，由当前持有写出权的线程聚合后批量写出，参见ClientWriteCompleter。
+ * 注意：写出处理器会被多个线程同时调用，所以写出处理器必须是线程安全的
+ * 
+ * @author linbin
+ * 
+ */
+public class MultiplexClient
+{
+    private volatile MultiplexClientChannel clientChannel;
+    private String                          address;
+    private int                             port;
+    private String                          unixSocketPath;
+    private AsynchronousChannelGroup        channelGroup;
+    private DataHandler[]                   writeHandlers;
+    private ChannelInitListener             initListener;
+    private RequestIdResolver               requestIdResolver;
+    // 一次批量写出最多聚合的报文数
+    private int                             maxBatchSize = ClientWriteCompleter.DEFAULT_MAX_BATCH_SIZE;
+    
+    public MultiplexClient setAddress(String address)
+    {
+        this.address = address;
+        return this;
+    }
+    
+    public MultiplexClient setPort(int port)
+    {
+        this.port = port;
+        return this;
+    }
+    
+    public MultiplexClient setInitListener(ChannelInitListener initListener)
+    {
+        this.initListener = initListener;
+        return this;
+    }
+    
+    public MultiplexClient setChannelGroup(AsynchronousChannelGroup channelGroup)
+    {
+        this.channelGroup = channelGroup;
+        return this;
+    }
+    
+    /**
+     * 设置unix domain socket的文件路径，设置之后通过unix domain socket连接服务端，address和port不再生效。需要jdk16及以上的版本
+     * 
+     * @param unixSocketPath
+     * @return
+     */
+    public MultiplexClient setUnixSocketPath(String unixSocketPath)
+    {
+        this.unixSocketPath = unixSocketPath;
+        return this;
+    }
+    
+    public MultiplexClient setWriteHandlers(DataHandler... writeHandlers)
+    {
+        this.writeHandlers = writeHandlers;
+        return this;
+    }
+    
+    public MultiplexClient setRequestIdResolver(RequestIdResolver requestIdResolver)
+    {
+        this.requestIdResolver = requestIdResolver;
+        return this;
+    }
+    
+    public MultiplexClient setMaxBatchSize(int maxBatchSize)
+    {
+        Verify.True(maxBatchSize > 0, "maxBatchSize必须大于0");
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+    
+    public synchronized MultiplexClient connect() throws Throwable
+    {
+        if (clientChannel == null || clientChannel.isOpen() == false)
+        {
+            Verify.notNull(requestIdResolver, "没有设置requestIdResolver");
+            AsynchronousSocketChannel socketChannel;
+            if (unixSocketPath != null)
+            {
+                // 同一台机器上的通信使用unix domain socket，跳过本地回环的tcp协议栈
+                socketChannel = UnixAsynchronousSocketChannel.open(UnixEventLoopGroup.defaultGroup());
+                socketChannel.connect(UnixDomainSockets.address(unixSocketPath)).get(30, TimeUnit.SECONDS);
+            }
+            else
+            {
+                socketChannel = AsynchronousSocketChannel.open(channelGroup);
+                socketChannel.connect(new InetSocketAddress(address, port)).get(30, TimeUnit.SECONDS);
+            }
+            MultiplexClientChannel clientChannel = new MultiplexClientChannel();
+            clientChannel.setChannel(socketChannel);
+            clientChannel.setRequestIdResolver(requestIdResolver);
+            initListener.channelInit(clientChannel);
+            Verify.notNull(clientChannel.getDataArray(), "没有设置entryArraySize");
+            Verify.notNull(clientChannel.getFrameDecodec(), "没有设置framedecodec");
+            Verify.notNull(clientChannel.getHandlers(), "没有设置Datahandler");
+            ClientReadCompleter clientReadCompleter = new ClientReadCompleter(clientChannel);
+            new ClientWriteCompleter(clientChannel, maxBatchSize);
+            clientReadCompleter.readAndWait();
+            this.clientChannel = clientChannel;
+        }
+        return this;
+    }
+    
+    public boolean isOpen()
+    {
+        MultiplexClientChannel now = clientChannel;
+        return now != null && now.isOpen();
+    }
+    
+    /**
+     * 当前在途的请求数量
+     * 
+     * @return
+     */
+    public int inFlightCount()
+    {
+        MultiplexClientChannel now = clientChannel;
+        return now == null ? 0 : now.inFlightCount();
+    }
+    
+    public Future<?> write(Object data) throws Throwable
+    {
+        return write(data, 0);
+    }
+    
+    /**
+     * 将一个对象写出并且指定开始处理时的handler顺序，然后返回一个future。该future表明的是服务端对该请求报文的响应报文的处理结果。
+     * 该方法可以被多个线程同时调用
+     * 
+     * @param data
+     * @param index
+     * @return
+     * @throws Throwable
+     */
+    public Future<?> write(Object data, int index) throws Throwable
+    {
+        MultiplexClientChannel now = clientChannel;
+        if (now == null || now.isOpen() == false)
+        {
+            throw new InterruptedException("链接已经中断，请重新链接后再发送信息");
+        }
+        ClientInternalResult internalResult = new ClientInternalResult();
+        try
+        {
+            data = encode(data, index, now, internalResult);
+            if (data instanceof ByteBuf<?>)
+            {
+                MultiplexResponseFuture future = (MultiplexResponseFuture) now.addFuture();
+                ByteBuf<?> buf = (ByteBuf<?>) data;
+                requestIdResolver.writeId(buf, future.getRequestId());
+                now.getWriteCompleter().send(buf);
+                return future;
+            }
+            else
+            {
+                return AbstractClientChannel.NORESULT;
+            }
+        }
+        catch (Exception e)
+        {
+            throw handleException(e, now, internalResult);
+        }
+    }
+    
+    /**
+     * 以回调的方式写出一个对象，超时时间使用通道的读取超时时间
+     * 
+     * @param data
+     * @param listener
+     * @return
+     */
+    public ResponseFuture writeAsync(Object data, ResponseListener listener)
+    {
+        MultiplexClientChannel now = clientChannel;
+        return writeAsync(data, now == null ? 0 : now.getReadTimeout(), listener);
+    }
+    
+    /**
+     * 以回调的方式写出一个对象，调用线程不会阻塞。响应到达后在读取线程中回调listener，超时则在时间轮线程中以超时异常回调。
+     * 在途的请求数量已满时不会等待，而是直接以异常回调。该方法可以被多个线程同时调用。
+     * 调用者无法得知报文是否已经交给连接，所以作为报文的ByteBuf无论成功与否都由客户端负责释放
+     * 
+     * @param data
+     * @param timeout 等待响应的超时时间，单位毫秒，小于等于0表示不限时
+     * @param listener
+     * @return
+     */
+    public ResponseFuture writeAsync(Object data, long timeout, ResponseListener listener)
+    {
+        MultiplexClientChannel now = clientChannel;
+        ClientInternalResult internalResult = new ClientInternalResult();
+        ResponseFuture future;
+        try
+        {
+            if (now == null || now.isOpen() == false)
+            {
+                if (data instanceof ByteBuf<?>)
+                {
+                    ((ByteBuf<?>) data).release();
+                }
+                throw new InterruptedException("链接已经中断，请重新链接后再发送信息");
+            }
+            data = encode(data, 0, now, internalResult);
+            if (data instanceof ByteBuf<?>)
+            {
+                ByteBuf<?> buf = (ByteBuf<?>) data;
+                MultiplexResponseFuture result = (MultiplexResponseFuture) now.tryAddFuture();
+                if (result == null)
+                {
+                    buf.release();
+                    future = new ResponseFuture();
+                    future.ready(null, new JnetException("在途的请求数量已经达到上限" + now.capacity()));
+                }
+                else
+                {
+                    future = result;
+                    requestIdResolver.writeId(buf, result.getRequestId());
+                    ResponseTimer.schedule(future, timeout);
+                    now.getWriteCompleter().send(buf);
+                }
+            }
+            else
+            {
+                future = new ResponseFuture();
+                future.ready(null, null);
+            }
+        }
+        catch (Exception e)
+        {
+            future = new ResponseFuture();
+            future.ready(null, now == null ? e : handleException(e, now, internalResult));
+        }
+        return future.addListener(listener);
+    }
+    
+    private Object encode(Object data, int index, MultiplexClientChannel now, ClientInternalResult internalResult) throws Exception
+    {
+        internalResult.init(data, now, index);
+        for (int i = index; i < writeHandlers.length;)
+        {
+            data = writeHandlers[i].handle(data, internalResult);
+            if (i == internalResult.getIndex())
+            {
+                i++;
+                internalResult.setIndex(i);
+            }
+            else
+            {
+                i = internalResult.getIndex();
+            }
+        }
+        return data;
+    }
+    
+    /**
+     * 编码阶段的异常只影响当前这一个请求，不关闭共用的连接
+     */
+    private Throwable handleException(Exception e, MultiplexClientChannel now, ClientInternalResult internalResult)
+    {
+        Object tmp = e;
+        internalResult.init(e, now, 0);
+        for (DataHandler each : writeHandlers)
+        {
+            tmp = each.catchException(tmp, internalResult);
+        }
+        if (tmp instanceof Throwable)
+        {
+            return (Throwable) tmp;
+        }
+        else
+        {
+            return e;
+        }
+    }
+    
+    public void close()
+    {
+        MultiplexClientChannel now = clientChannel;
+        if (now != null)
+        {
+            now.closeChannel();
+        }
+    }
+}
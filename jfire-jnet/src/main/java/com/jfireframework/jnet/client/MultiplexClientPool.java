@@ -0,0 +1,285 @@
+package com.jfireframework.jnet.client;
+
+import java.nio.channels.AsynchronousChannelGroup;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import com.jfireframework.baseutil.concurrent.time.DefaultTimeoutHandler;
+import com.jfireframework.baseutil.concurrent.time.HierarchyWheelTimer;
+import com.jfireframework.baseutil.concurrent.time.TimeTask;
+import com.jfireframework.baseutil.concurrent.time.Timer;
+import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
+import com.jfireframework.baseutil.simplelog.Logger;
+import com.jfireframework.baseutil.verify.Verify;
+import com.jfireframework.jnet.common.channel.ChannelInitListener;
+import com.jfireframework.jnet.common.handler.DataHandler;
+
+/**
+ * 固定上限的多路复用连接池。由于每一个连接本身就可以被多个线程同时使用，所以连接不需要借出和归还，
+ * 每次请求选择在途请求最少的连接即可。连接按需建立，数量不超过maxConnections。
+ * 后台定时检查连接的健康状况，已经断开或者检查不通过的连接会被移除，并在下一次使用时重新建立
+ * 
+ * @author linbin
+ * 
+ */
+public class MultiplexClientPool
+{
+    private static final Logger                         logger              = ConsoleLogFactory.getLogger();
+    private final AtomicReferenceArray<MultiplexClient> clients;
+    private final int                                   maxConnections;
+    private final AtomicInteger                         next                = new AtomicInteger(0);
+    private String                                      address;
+    private int                                         port;
+    private String                                      unixSocketPath;
+    private AsynchronousChannelGroup                    channelGroup;
+    private DataHandler[]                               writeHandlers;
+    private ChannelInitListener                         initListener;
+    private RequestIdResolver                           requestIdResolver;
+    private HealthChecker                               healthChecker;
+    // 健康检查的间隔，单位毫秒
+    private long                                        healthCheckInterval = 5000;
+    private Timer                                       timer;
+    private volatile boolean                            closed              = false;
+    
+    public MultiplexClientPool(int maxConnections)
+    {
+        Verify.True(maxConnections > 0, "maxConnections必须大于0");
+        this.maxConnections = maxConnections;
+        clients = new AtomicReferenceArray<>(maxConnections);
+    }
+    
+    public MultiplexClientPool setAddress(String address)
+    {
+        this.address = address;
+        return this;
+    }
+    
+    public MultiplexClientPool setPort(int port)
+    {
+        this.port = port;
+        return this;
+    }
+    
+    public MultiplexClientPool setChannelGroup(AsynchronousChannelGroup channelGroup)
+    {
+        this.channelGroup = channelGroup;
+        return this;
+    }
+    
+    /**
+     * 设置unix domain socket的文件路径，池中的连接都通过unix domain socket建立
+     * 
+     * @param unixSocketPath
+     * @return
+     */
+    public MultiplexClientPool setUnixSocketPath(String unixSocketPath)
+    {
+        this.unixSocketPath = unixSocketPath;
+        return this;
+    }
+    
+    public MultiplexClientPool setWriteHandlers(DataHandler... writeHandlers)
+    {
+        this.writeHandlers = writeHandlers;
+        return this;
+    }
+    
+    public MultiplexClientPool setInitListener(ChannelInitListener initListener)
+    {
+        this.initListener = initListener;
+        return this;
+    }
+    
+    public MultiplexClientPool setRequestIdResolver(RequestIdResolver requestIdResolver)
+    {
+        this.requestIdResolver = requestIdResolver;
+        return this;
+    }
+    
+    public MultiplexClientPool setHealthChecker(HealthChecker healthChecker)
+    {
+        this.healthChecker = healthChecker;
+        return this;
+    }
+    
+    public MultiplexClientPool setHealthCheckInterval(long healthCheckInterval)
+    {
+        this.healthCheckInterval = healthCheckInterval;
+        return this;
+    }
+    
+    /**
+     * 启动后台的健康检查
+     * 
+     * @return
+     */
+    public synchronized MultiplexClientPool start()
+    {
+        if (timer == null && healthCheckInterval > 0)
+        {
+            timer = new HierarchyWheelTimer(new int[] { 512, 64, 64 }, 100, TimeUnit.MILLISECONDS, new DefaultTimeoutHandler());
+            new HealthCheckTask().schedule();
+        }
+        return this;
+    }
+    
+    /**
+     * 选择一个可用的连接。优先使用在途请求最少的已有连接，只有当所有已有连接都在使用中并且还有空位的时候才建立新的连接
+     * 
+     * @return
+     * @throws Throwable
+     */
+    public MultiplexClient acquire() throws Throwable
+    {
+        if (closed)
+        {
+            throw new IllegalStateException("连接池已经关闭");
+        }
+        int start = (next.getAndIncrement() & Integer.MAX_VALUE) % maxConnections;
+        MultiplexClient best = null;
+        int bestInFlight = Integer.MAX_VALUE;
+        int emptySlot = -1;
+        for (int i = 0; i < maxConnections; i++)
+        {
+            int slot = (start + i) % maxConnections;
+            MultiplexClient client = clients.get(slot);
+            if (client == null || client.isOpen() == false)
+            {
+                if (emptySlot == -1)
+                {
+                    emptySlot = slot;
+                }
+                continue;
+            }
+            int inFlight = client.inFlightCount();
+            if (inFlight < bestInFlight)
+            {
+                best = client;
+                bestInFlight = inFlight;
+                if (inFlight == 0)
+                {
+                    break;
+                }
+            }
+        }
+        if (best != null && (bestInFlight == 0 || emptySlot == -1))
+        {
+            return best;
+        }
+        return connect(emptySlot);
+    }
+    
+    /**
+     * 使用连接池中的一个连接写出数据，该方法可以被多个线程同时调用
+     * 
+     * @param data
+     * @return
+     * @throws Throwable
+     */
+    public Future<?> write(Object data) throws Throwable
+    {
+        return acquire().write(data);
+    }
+    
+    private MultiplexClient connect(int slot) throws Throwable
+    {
+        synchronized (clients)
+        {
+            MultiplexClient client = clients.get(slot);
+            if (client != null && client.isOpen())
+            {
+                return client;
+            }
+            if (client != null)
+            {
+                client.close();
+            }
+            client = new MultiplexClient();
+            client.setAddress(address).setPort(port).setUnixSocketPath(unixSocketPath).setChannelGroup(channelGroup).setInitListener(initListener).setWriteHandlers(writeHandlers).setRequestIdResolver(requestIdResolver);
+            client.connect();
+            clients.set(slot, client);
+            return client;
+        }
+    }
+    
+    /**
+     * 当前处于连接状态的连接数
+     * 
+     * @return
+     */
+    public int activeCount()
+    {
+        int count = 0;
+        for (int i = 0; i < maxConnections; i++)
+        {
+            MultiplexClient client = clients.get(i);
+            if (client != null && client.isOpen())
+            {
+                count += 1;
+            }
+        }
+        return count;
+    }
+    
+    public void close()
+    {
+        closed = true;
+        synchronized (this)
+        {
+            if (timer != null)
+            {
+                timer.stop();
+            }
+        }
+        for (int i = 0; i < maxConnections; i++)
+        {
+            MultiplexClient client = clients.getAndSet(i, null);
+            if (client != null)
+            {
+                client.close();
+            }
+        }
+    }
+    
+    class HealthCheckTask implements TimeTask
+    {
+        
+        @Override
+        public void invoke()
+        {
+            if (closed)
+            {
+                return;
+            }
+            for (int i = 0; i < maxConnections; i++)
+            {
+                MultiplexClient client = clients.get(i);
+                if (client == null)
+                {
+                    continue;
+                }
+                boolean healthy;
+                try
+                {
+                    healthy = client.isOpen() && (healthChecker == null || healthChecker.check(client));
+                }
+                catch (Throwable e)
+                {
+                    logger.warn("连接健康检查出现异常", e);
+                    healthy = false;
+                }
+                if (healthy == false && clients.compareAndSet(i, client, null))
+                {
+                    client.close();
+                }
+            }
+            schedule();
+        }
+        
+        void schedule()
+        {
+            timer.addTask(this, healthCheckInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+}
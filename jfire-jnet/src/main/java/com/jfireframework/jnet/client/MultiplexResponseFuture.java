@@ -0,0 +1,53 @@
+package com.jfireframework.jnet.client;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import com.jfireframework.jnet.common.channel.impl.MultiplexClientChannel;
+
+/**
+ * 多路复用通道上的响应future。等待超时的时候会将自身从通道中取消，释放占用的在途名额
+ * 
+ * @author linbin
+ * 
+ */
+public class MultiplexResponseFuture extends ResponseFuture
+{
+    private final MultiplexClientChannel channel;
+    private final int                    requestId;
+    
+    public MultiplexResponseFuture(MultiplexClientChannel channel, int requestId)
+    {
+        this.channel = channel;
+        this.requestId = requestId;
+    }
+    
+    public int getRequestId()
+    {
+        return requestId;
+    }
+    
+    @Override
+    public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
+    {
+        try
+        {
+            return super.get(timeout, unit);
+        }
+        catch (TimeoutException e)
+        {
+            channel.cancel(requestId);
+            throw e;
+        }
+    }
+    
+    @Override
+    public void expire(Throwable e)
+    {
+        // 先从通道中取消，释放在途名额。取消失败说明响应已经到达
+        if (channel.cancel(requestId))
+        {
+            ready(null, e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.jfireframework.jnet.client;
+
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+
+/**
+ * 多路复用客户端使用的请求序号读写器。请求报文经过写出处理器链后由该接口写入请求序号，
+ * 响应报文在经过读取处理器链之前由该接口读出请求序号，客户端据此将响应与请求匹配起来。
+ * 服务端需要在响应报文中原样带回请求序号
+ * 
+ * @author linbin
+ * 
+ */
+public interface RequestIdResolver
+{
+    /**
+     * 将请求序号写入到已经编码完毕的请求报文中
+     * 
+     * @param buf
+     * @param requestId
+     */
+    public void writeId(ByteBuf<?> buf, int requestId);
+    
+    /**
+     * 从解码出的响应报文中读取请求序号，该方法不能改变报文的读写位置
+     * 
+     * @param frame
+     * @return
+     */
+    public int readId(ByteBuf<?> frame);
+}
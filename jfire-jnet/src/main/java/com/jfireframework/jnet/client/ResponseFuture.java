@@ -5,9 +5,20 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.LockSupport;
+import com.jfireframework.baseutil.concurrent.time.Timeout;
+import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
+import com.jfireframework.baseutil.simplelog.Logger;
 
+/**
+ * 请求的响应结果。既可以通过get阻塞等待，也可以通过addListener注册回调，在响应到达的时候由读取线程回调，不占用任何等待线程。
+ * 响应、超时、链接中断可能先后到达，只有第一次生效
+ * 
+ * @author linbin
+ * 
+ */
 public class ResponseFuture implements Future<Object>
 {
+    private static final Logger  logger    = ConsoleLogFactory.getLogger();
     private static final Object  NORESULT  = new Object();
     protected volatile Object    result    = NORESULT;
     protected Thread             ownerThread;
@@ -15,6 +26,8 @@ public class ResponseFuture implements Future<Object>
     public static final boolean  READY     = true;
     public static final boolean  UN_READY  = false;
     protected volatile boolean   dataState = UN_READY;
+    protected ResponseListener   listener;
+    protected Timeout            timeout;
     
     public ResponseFuture()
     {
@@ -25,10 +38,92 @@ public class ResponseFuture implements Future<Object>
     
     public void ready(Object obj, Throwable e)
     {
-        this.result = obj;
-        this.e = e;
-        dataState = READY;
+        ResponseListener listener;
+        Timeout timeout;
+        synchronized (this)
+        {
+            if (dataState == READY)
+            {
+                return;
+            }
+            this.result = obj;
+            this.e = e;
+            dataState = READY;
+            listener = this.listener;
+            timeout = this.timeout;
+        }
         LockSupport.unpark(ownerThread);
+        if (timeout != null)
+        {
+            timeout.cancel();
+        }
+        if (listener != null)
+        {
+            notifyListener(listener);
+        }
+    }
+    
+    /**
+     * 注册响应回调，只支持一个回调。如果结果已经就绪，则在当前线程中立刻回调
+     * 
+     * @param listener
+     * @return
+     */
+    public ResponseFuture addListener(ResponseListener listener)
+    {
+        synchronized (this)
+        {
+            if (dataState == UN_READY)
+            {
+                this.listener = listener;
+                return this;
+            }
+        }
+        notifyListener(listener);
+        return this;
+    }
+    
+    private void notifyListener(ResponseListener listener)
+    {
+        // 回调运行在读取线程中，回调的异常不能影响读取流程
+        try
+        {
+            if (e == null)
+            {
+                listener.onSuccess(result);
+            }
+            else
+            {
+                listener.onFailure(e);
+            }
+        }
+        catch (Throwable t)
+        {
+            logger.error("响应回调出现异常", t);
+        }
+    }
+    
+    public void setTimeout(Timeout timeout)
+    {
+        synchronized (this)
+        {
+            if (dataState == UN_READY)
+            {
+                this.timeout = timeout;
+                return;
+            }
+        }
+        timeout.cancel();
+    }
+    
+    /**
+     * 等待时间已到而响应仍然没有到达，以超时异常结束该future
+     * 
+     * @param e
+     */
+    public void expire(Throwable e)
+    {
+        ready(null, e);
     }
     
     @Override
@@ -82,18 +177,12 @@ public class ResponseFuture implements Future<Object>
         {
             throw new TimeoutException("等待时间已到达");
         }
-        if (result == NORESULT)
-        {
-            if (e != null)
-            {
-                throw new ExecutionException(e);
-            }
-            throw new TimeoutException("等待时间已到达");
-        }
-        else
+        // 链接中断、超时等失败的结果是null加上异常，必须先检查异常，否则失败会被当作返回了null
+        if (e != null)
         {
-            return result;
+            throw new ExecutionException(e);
         }
+        return result;
     }
     
 }
@@ -0,0 +1,24 @@
+package com.jfireframework.jnet.client;
+
+/**
+ * 响应回调。回调在读取完成器的线程（或者超时的时候在时间轮线程）中执行，不能在其中执行阻塞操作
+ * 
+ * @author linbin
+ * 
+ */
+public interface ResponseListener
+{
+    /**
+     * 收到响应并且经过读取处理器链处理完毕
+     * 
+     * @param result
+     */
+    public void onSuccess(Object result);
+    
+    /**
+     * 请求失败，包括等待超时、链接中断以及处理器链抛出的异常
+     * 
+     * @param e
+     */
+    public void onFailure(Throwable e);
+}
@@ -0,0 +1,48 @@
+package com.jfireframework.jnet.client;
+
+import java.util.concurrent.TimeUnit;
+import com.jfireframework.baseutil.concurrent.time.DefaultTimeoutHandler;
+import com.jfireframework.baseutil.concurrent.time.HierarchyWheelTimer;
+import com.jfireframework.baseutil.concurrent.time.TimeTask;
+import com.jfireframework.baseutil.concurrent.time.Timeout;
+import com.jfireframework.jnet.common.exception.TimeoutException;
+
+/**
+ * 所有客户端共用的响应超时时间轮。每一个等待响应的请求只在时间轮中放入一个任务，不需要占用任何等待线程
+ * 
+ * @author linbin
+ * 
+ */
+class ResponseTimer
+{
+    private static final HierarchyWheelTimer timer;
+    
+    static
+    {
+        timer = new HierarchyWheelTimer(new int[] { 512, 64, 64 }, 10, TimeUnit.MILLISECONDS, new DefaultTimeoutHandler());
+        timer.setDaemon(true);
+    }
+    
+    /**
+     * 为future设置超时，超时时间小于等于0表示不限时
+     * 
+     * @param future
+     * @param timeout 超时时间，单位毫秒
+     */
+    public static void schedule(final ResponseFuture future, final long timeout)
+    {
+        if (timeout <= 0)
+        {
+            return;
+        }
+        Timeout handle = timer.addTask(new TimeTask() {
+            
+            @Override
+            public void invoke()
+            {
+                future.expire(new TimeoutException(timeout));
+            }
+        }, timeout, TimeUnit.MILLISECONDS);
+        future.setTimeout(handle);
+    }
+}
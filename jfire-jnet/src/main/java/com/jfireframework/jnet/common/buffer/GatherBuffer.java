@@ -0,0 +1,96 @@
+package com.jfireframework.jnet.common.buffer;
+
+import java.nio.ByteBuffer;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+
+/**
+ * 批量写出时使用的聚合缓存。每一个写完成器持有一个并且循环复用，避免每次批量写出都新建CompositeByteBuf和ByteBuffer数组。
+ * 由于同一时刻一个通道上只会有一个批量写出在进行，所以该类不需要考虑并发
+ * 
+ * @author linbin
+ * 
+ */
+public class GatherBuffer
+{
+    private final ByteBuf<?>[] bufs;
+    private final ByteBuffer[] buffers;
+    private int                count  = 0;
+    // 第一个还有剩余数据没有写出的buffer的位置
+    private int                offset = 0;
+    private long               bytes  = 0;
+    
+    public GatherBuffer(int capacity)
+    {
+        bufs = new ByteBuf<?>[capacity];
+        buffers = new ByteBuffer[capacity];
+    }
+    
+    public void add(ByteBuf<?> buf)
+    {
+        ByteBuffer buffer = buf.nioBuffer();
+        bufs[count] = buf;
+        buffers[count] = buffer;
+        bytes += buffer.remaining();
+        count += 1;
+    }
+    
+    public int count()
+    {
+        return count;
+    }
+    
+    public long bytes()
+    {
+        return bytes;
+    }
+    
+    public ByteBuffer[] buffers()
+    {
+        return buffers;
+    }
+    
+    public int offset()
+    {
+        return offset;
+    }
+    
+    /**
+     * 还需要写出的buffer个数
+     * 
+     * @return
+     */
+    public int remainCount()
+    {
+        return count - offset;
+    }
+    
+    /**
+     * 跳过已经写完的buffer，如果所有的数据都已经写出，返回true
+     * 
+     * @return
+     */
+    public boolean skipWritten()
+    {
+        while (offset < count && buffers[offset].hasRemaining() == false)
+        {
+            offset += 1;
+        }
+        return offset == count;
+    }
+    
+    /**
+     * 释放所有的buf，并且重置状态以供下一次批量写出使用
+     */
+    public void release()
+    {
+        for (int i = 0; i < count; i++)
+        {
+            bufs[i].release();
+            bufs[i] = null;
+            buffers[i] = null;
+        }
+        count = 0;
+        offset = 0;
+        bytes = 0;
+    }
+}
@@ -9,4 +9,11 @@ public interface ClientChannel extends JnetChannel
     public void signalAll(Throwable e, long cursor);
     
     public Future<?> addFuture();
+    
+    /**
+     * 与addFuture相同，但是在途的请求已满时不等待，直接返回null
+     * 
+     * @return
+     */
+    public Future<?> tryAddFuture();
 }
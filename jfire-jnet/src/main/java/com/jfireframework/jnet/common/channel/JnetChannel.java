@@ -49,4 +49,26 @@ public interface JnetChannel
     public String getLocalAddress();
     
     public String getRemoteAddress();
+    
+    /**
+     * 设置等待写出数据的高低水位。等待写出的字节数超过高水位时通道变为不可写，服务端会暂停读取，直到回落到低水位以下。
+     * 可写状态变化时，实现了WritabilityListener的处理器会收到通知
+     * 
+     * @param lowWaterMark
+     * @param highWaterMark
+     */
+    public void setWriteWaterMark(int lowWaterMark, int highWaterMark);
+    
+    public int getLowWaterMark();
+    
+    public int getHighWaterMark();
+    
+    /**
+     * 当前等待写出的字节数
+     * 
+     * @return
+     */
+    public long pendingWriteBytes();
+    
+    public boolean isWritable();
 }
@@ -2,35 +2,43 @@ package com.jfireframework.jnet.common.channel.impl;
 
 import java.io.IOException;
 import java.nio.channels.AsynchronousSocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import com.jfireframework.baseutil.reflect.ReflectUtil;
 import com.jfireframework.baseutil.verify.Verify;
 import com.jfireframework.jnet.common.channel.JnetChannel;
 import com.jfireframework.jnet.common.decodec.FrameDecodec;
 import com.jfireframework.jnet.common.handler.DataHandler;
+import com.jfireframework.jnet.common.handler.WritabilityListener;
 import sun.misc.Unsafe;
 
 @SuppressWarnings("restriction")
 public abstract class AbstractChannel implements JnetChannel
 {
-    public final static int             OPEN        = 1;
-    public final static int             CLOSE       = 2;
+    public final static int             OPEN          = 1;
+    public final static int             CLOSE         = 2;
     // 消息通道的打开状态
-    protected AtomicInteger             openState   = new AtomicInteger(OPEN);
+    protected AtomicInteger             openState     = new AtomicInteger(OPEN);
     protected AsynchronousSocketChannel socketChannel;
     protected FrameDecodec              frameDecodec;
     protected DataHandler[]             handlers;
-    protected long                      readTimeout = 3000;
+    protected long                      readTimeout   = 3000;
     // 默认的超时等待时间是30分钟
-    protected long                      waitTimeout = 1000 * 60 * 30;
+    protected long                      waitTimeout   = 1000 * 60 * 30;
     protected Object[]                  resultArray;
     protected int                       resultArrayLengthMask;
     protected final static int          base;
     protected final static int          scale;
     protected String                    remoteAddress;
     protected String                    localAddress;
-    protected static final Unsafe       unsafe      = ReflectUtil.getUnsafe();
-    protected int                       capacity    = 0;
+    protected static final Unsafe       unsafe        = ReflectUtil.getUnsafe();
+    protected int                       capacity      = 0;
+    // 等待写出的字节数
+    protected final AtomicLong          pendingWrite  = new AtomicLong(0);
+    protected final AtomicBoolean       writable      = new AtomicBoolean(true);
+    protected int                       lowWaterMark  = 32 * 1024;
+    protected int                       highWaterMark = 64 * 1024;
     static
     {
         base = unsafe.arrayBaseOffset(Object[].class);
@@ -106,9 +114,17 @@ public abstract class AbstractChannel implements JnetChannel
             catch (IOException e)
             {
             }
+            channelClosed();
         }
     }
     
+    /**
+     * 通道被关闭时调用，只会被调用一次，默认不做任何事情
+     */
+    protected void channelClosed()
+    {
+    }
+    
     @Override
     public void setCapacity(int capacity)
     {
@@ -202,4 +218,87 @@ public abstract class AbstractChannel implements JnetChannel
     {
         return resultArray;
     }
+    
+    @Override
+    public void setWriteWaterMark(int lowWaterMark, int highWaterMark)
+    {
+        Verify.True(lowWaterMark >= 0 && lowWaterMark <= highWaterMark, "低水位必须大于等于0并且不能超过高水位");
+        this.lowWaterMark = lowWaterMark;
+        this.highWaterMark = highWaterMark;
+    }
+    
+    @Override
+    public int getLowWaterMark()
+    {
+        return lowWaterMark;
+    }
+    
+    @Override
+    public int getHighWaterMark()
+    {
+        return highWaterMark;
+    }
+    
+    @Override
+    public long pendingWriteBytes()
+    {
+        return pendingWrite.get();
+    }
+    
+    @Override
+    public boolean isWritable()
+    {
+        return writable.get();
+    }
+    
+    /**
+     * 增加等待写出的字节数，超过高水位时将通道置为不可写
+     * 
+     * @param size
+     */
+    public void incrPendingWrite(int size)
+    {
+        if (pendingWrite.addAndGet(size) > highWaterMark && writable.compareAndSet(true, false))
+        {
+            writabilityChanged(false);
+            // 设置之后必须再检查一次。否则在设置之前写出线程已经将数据都写完的话，就没有人再将通道恢复为可写了
+            if (pendingWrite.get() <= lowWaterMark && writable.compareAndSet(false, true))
+            {
+                writabilityChanged(true);
+            }
+        }
+    }
+    
+    /**
+     * 减少等待写出的字节数，回落到低水位以下时将通道恢复为可写
+     * 
+     * @param size
+     */
+    public void decrPendingWrite(long size)
+    {
+        if (pendingWrite.addAndGet(-size) <= lowWaterMark && writable.compareAndSet(false, true))
+        {
+            writabilityChanged(true);
+            if (pendingWrite.get() > highWaterMark && writable.compareAndSet(true, false))
+            {
+                writabilityChanged(false);
+            }
+        }
+    }
+    
+    /**
+     * 通知实现了WritabilityListener的处理器通道的可写状态发生了变化
+     * 
+     * @param writable
+     */
+    protected void writabilityChanged(boolean writable)
+    {
+        for (DataHandler each : handlers)
+        {
+            if (each instanceof WritabilityListener)
+            {
+                ((WritabilityListener) each).writabilityChanged(this, writable);
+            }
+        }
+    }
 }
@@ -5,50 +5,75 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import com.jfireframework.jnet.client.ClientReadCompleter;
+import com.jfireframework.jnet.client.ClientWriteCompleter;
 import com.jfireframework.jnet.common.channel.ClientChannel;
 
 public abstract class AbstractClientChannel extends AbstractChannel implements ClientChannel
 {
-    protected volatile long       writeCursor = 0;
-    protected long                wrapPoint   = 0;
-    protected ClientReadCompleter readCompleter;
+    protected volatile long        writeCursor = 0;
+    protected long                 wrapPoint   = 0;
+    protected ClientReadCompleter  readCompleter;
+    protected ClientWriteCompleter writeCompleter;
     // private static final Logger logger = ConsoleLogFactory.getLogger();
-    public static Future<Void>    NORESULT    = new Future<Void>() {
-                                                  
-                                                  @Override
-                                                  public boolean cancel(boolean mayInterruptIfRunning)
-                                                  {
-                                                      return false;
-                                                  }
-                                                  
-                                                  @Override
-                                                  public boolean isCancelled()
-                                                  {
-                                                      return false;
-                                                  }
-                                                  
-                                                  @Override
-                                                  public boolean isDone()
-                                                  {
-                                                      return true;
-                                                  }
-                                                  
-                                                  @Override
-                                                  public Void get() throws InterruptedException, ExecutionException
-                                                  {
-                                                      return null;
-                                                  }
-                                                  
-                                                  @Override
-                                                  public Void get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
-                                                  {
-                                                      return null;
-                                                  }
-                                              };
+    public static Future<Void>     NORESULT    = new Future<Void>() {
+                                                   
+                                                   @Override
+                                                   public boolean cancel(boolean mayInterruptIfRunning)
+                                                   {
+                                                       return false;
+                                                   }
+                                                   
+                                                   @Override
+                                                   public boolean isCancelled()
+                                                   {
+                                                       return false;
+                                                   }
+                                                   
+                                                   @Override
+                                                   public boolean isDone()
+                                                   {
+                                                       return true;
+                                                   }
+                                                   
+                                                   @Override
+                                                   public Void get() throws InterruptedException, ExecutionException
+                                                   {
+                                                       return null;
+                                                   }
+                                                   
+                                                   @Override
+                                                   public Void get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
+                                                   {
+                                                       return null;
+                                                   }
+                                               };
     
     public void setReadCompleter(ClientReadCompleter readCompleter)
     {
         this.readCompleter = readCompleter;
     }
     
+    public void setWriteCompleter(ClientWriteCompleter writeCompleter)
+    {
+        this.writeCompleter = writeCompleter;
+    }
+    
+    public ClientWriteCompleter getWriteCompleter()
+    {
+        return writeCompleter;
+    }
+    
+    /**
+     * 返回解码出的响应报文所对应的请求序号，该方法在响应报文经过处理器链之前调用。
+     * 默认情况下响应和请求按照顺序一一对应，所以直接返回读取器当前的序号
+     * 
+     * @param frame 解码出的响应报文
+     * @param cursor 读取器当前的序号
+     * @return
+     */
+    public long responseCursor(Object frame, long cursor)
+    {
+        return cursor;
+    }
+    
 }
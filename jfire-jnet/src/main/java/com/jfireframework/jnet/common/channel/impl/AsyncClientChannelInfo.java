@@ -9,6 +9,11 @@ public class AsyncClientChannelInfo extends AbstractClientChannel
         return NORESULT;
     }
     
+    public Future<?> tryAddFuture()
+    {
+        return NORESULT;
+    }
+    
     public void signal(Object obj, long cursor)
     {
     }
@@ -66,6 +66,24 @@ public class FutureClientChannelInfo extends AbstractClientChannel
                 break;
             }
         }
+        return nextFuture();
+    }
+    
+    public Future<?> tryAddFuture()
+    {
+        if (writeCursor >= wrapPoint)
+        {
+            wrapPoint = readCompleter.cursor() + capacity;
+            if (writeCursor >= wrapPoint)
+            {
+                return null;
+            }
+        }
+        return nextFuture();
+    }
+    
+    private Future<?> nextFuture()
+    {
         // 客户端每一个future都代表一个结果，不可以被复用。因为外部环境需要保留所有的result
         ResponseFuture future = new ResponseFuture();
         putDataVolatile(future, writeCursor);
@@ -0,0 +1,125 @@
+package com.jfireframework.jnet.common.channel.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.jnet.client.MultiplexResponseFuture;
+import com.jfireframework.jnet.client.RequestIdResolver;
+import com.jfireframework.jnet.common.exception.EndOfStreamException;
+
+/**
+ * 多路复用的客户端通道。每一个请求都分配一个请求序号，响应可以乱序返回，根据响应中的请求序号找到对应的future。
+ * 同时在途的请求数量不超过通道的容量，超过的时候添加future的线程会等待
+ * 
+ * @author linbin
+ * 
+ */
+public class MultiplexClientChannel extends AbstractClientChannel
+{
+    private final ConcurrentHashMap<Integer, MultiplexResponseFuture> pendings    = new ConcurrentHashMap<>();
+    private final AtomicInteger                                       idGenerator = new AtomicInteger(0);
+    private Semaphore                                                 inFlight;
+    private RequestIdResolver                                         requestIdResolver;
+    
+    @Override
+    public void setCapacity(int capacity)
+    {
+        super.setCapacity(capacity);
+        inFlight = new Semaphore(capacity);
+    }
+    
+    public void setRequestIdResolver(RequestIdResolver requestIdResolver)
+    {
+        this.requestIdResolver = requestIdResolver;
+    }
+    
+    @Override
+    public long responseCursor(Object frame, long cursor)
+    {
+        return requestIdResolver.readId((ByteBuf<?>) frame);
+    }
+    
+    @Override
+    public Future<?> addFuture()
+    {
+        inFlight.acquireUninterruptibly();
+        return nextFuture();
+    }
+    
+    @Override
+    public Future<?> tryAddFuture()
+    {
+        if (inFlight.tryAcquire() == false)
+        {
+            return null;
+        }
+        return nextFuture();
+    }
+    
+    private Future<?> nextFuture()
+    {
+        int requestId = idGenerator.incrementAndGet();
+        MultiplexResponseFuture future = new MultiplexResponseFuture(this, requestId);
+        pendings.put(requestId, future);
+        // 通道关闭时signalAll可能已经执行完毕，此时需要自行结束这个future，否则将没有线程唤醒它
+        if (isOpen() == false && cancel(requestId))
+        {
+            future.ready(null, new EndOfStreamException());
+        }
+        return future;
+    }
+    
+    @Override
+    public void signal(Object obj, long cursor)
+    {
+        MultiplexResponseFuture future = pendings.remove((int) cursor);
+        // 为null意味着该请求已经等待超时被取消了，直接丢弃响应
+        if (future != null)
+        {
+            inFlight.release();
+            future.ready(obj, null);
+        }
+    }
+    
+    @Override
+    public void signalAll(Throwable e, long cursor)
+    {
+        for (Integer each : pendings.keySet())
+        {
+            MultiplexResponseFuture future = pendings.remove(each);
+            if (future != null)
+            {
+                inFlight.release();
+                future.ready(null, e);
+            }
+        }
+    }
+    
+    /**
+     * 取消一个在途的请求，之后到达的响应会被丢弃。如果该请求已经得到响应或者已经被取消，返回false
+     * 
+     * @param requestId
+     * @return
+     */
+    public boolean cancel(int requestId)
+    {
+        if (pendings.remove(requestId) != null)
+        {
+            inFlight.release();
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * 当前在途的请求数量
+     * 
+     * @return
+     */
+    public int inFlightCount()
+    {
+        return capacity - inFlight.availablePermits();
+    }
+}
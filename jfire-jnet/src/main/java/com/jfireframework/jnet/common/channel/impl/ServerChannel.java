@@ -1,9 +1,28 @@
 package com.jfireframework.jnet.common.channel.impl;
 
+import java.net.SocketAddress;
+import java.util.Set;
 import com.jfireframework.jnet.common.result.ServerInternalTask;
+import com.jfireframework.jnet.server.CompletionHandler.ReadCompletionHandler;
+import com.jfireframework.jnet.server.util.AdmissionPolicy;
 
 public class ServerChannel extends AbstractChannel
 {
+    // 当前读取缓存的容量
+    private volatile int          readBufferSize;
+    // 读取缓存容量的历史最高值
+    private volatile int          readBufferHighWaterMark;
+    private ReadCompletionHandler readCompletionHandler;
+    // 最后一次读取到数据的时间
+    private volatile long         lastReadTime  = System.currentTimeMillis();
+    // 最后一次写出数据的时间
+    private volatile long         lastWriteTime = lastReadTime;
+    // 服务器持有的所有存活通道的集合，通道关闭时将自己移除
+    private Set<ServerChannel>    channelGroup;
+    // 接纳该通道的准入策略，通道关闭时归还
+    private AdmissionPolicy       admissionPolicy;
+    private SocketAddress         admittedAddress;
+    
     @Override
     public void setCapacity(int capacity)
     {
@@ -13,4 +32,130 @@ public class ServerChannel extends AbstractChannel
             resultArray[i] = new ServerInternalTask();
         }
     }
+    
+    /**
+     * 记录读取缓存的当前容量，同时更新历史最高值。该方法只会被读取线程调用
+     * 
+     * @param size
+     */
+    public void recordReadBufferSize(int size)
+    {
+        if (size == readBufferSize)
+        {
+            return;
+        }
+        readBufferSize = size;
+        if (size > readBufferHighWaterMark)
+        {
+            readBufferHighWaterMark = size;
+        }
+    }
+    
+    public int getReadBufferSize()
+    {
+        return readBufferSize;
+    }
+    
+    public int getReadBufferHighWaterMark()
+    {
+        return readBufferHighWaterMark;
+    }
+    
+    public void setReadCompletionHandler(ReadCompletionHandler readCompletionHandler)
+    {
+        this.readCompletionHandler = readCompletionHandler;
+    }
+    
+    public ReadCompletionHandler getReadCompletionHandler()
+    {
+        return readCompletionHandler;
+    }
+    
+    /**
+     * 记录读取到数据的时间，该方法只会被读取线程调用
+     */
+    public void markRead()
+    {
+        lastReadTime = System.currentTimeMillis();
+    }
+    
+    public long getLastReadTime()
+    {
+        return lastReadTime;
+    }
+    
+    public long getLastWriteTime()
+    {
+        return lastWriteTime;
+    }
+    
+    /**
+     * 每一次写出完成都会调用该方法，顺带记录写出的时间和字节数
+     */
+    @Override
+    public void decrPendingWrite(long size)
+    {
+        lastWriteTime = System.currentTimeMillis();
+        readCompletionHandler.getMetrics().bytesWritten(size);
+        super.decrPendingWrite(size);
+    }
+    
+    /**
+     * 将通道加入到服务器的存活通道集合中，通道关闭时会自动移除
+     * 
+     * @param channelGroup
+     */
+    public void joinGroup(Set<ServerChannel> channelGroup)
+    {
+        this.channelGroup = channelGroup;
+        channelGroup.add(this);
+        // 加入之前通道可能已经被关闭了
+        if (isOpen() == false)
+        {
+            channelGroup.remove(this);
+        }
+    }
+    
+    /**
+     * 记录接纳该通道的准入策略和远端地址，通道关闭时会调用策略的release。
+     * 远端地址需要在准入时记录，通道关闭后就无法再获取了
+     * 
+     * @param admissionPolicy
+     * @param remoteAddress
+     */
+    public void admittedBy(AdmissionPolicy admissionPolicy, SocketAddress remoteAddress)
+    {
+        this.admittedAddress = remoteAddress;
+        this.admissionPolicy = admissionPolicy;
+    }
+    
+    @Override
+    protected void channelClosed()
+    {
+        if (admissionPolicy != null)
+        {
+            admissionPolicy.release(admittedAddress);
+        }
+        if (channelGroup != null)
+        {
+            channelGroup.remove(this);
+        }
+        if (readCompletionHandler != null)
+        {
+            readCompletionHandler.getMetrics().connectionClosed();
+        }
+    }
+    
+    /**
+     * 除了通知处理器之外，通道恢复可写时还需要尝试重启因为超过高水位而暂停的读取
+     */
+    @Override
+    protected void writabilityChanged(boolean writable)
+    {
+        super.writabilityChanged(writable);
+        if (writable && readCompletionHandler != null)
+        {
+            readCompletionHandler.reStartRead();
+        }
+    }
 }
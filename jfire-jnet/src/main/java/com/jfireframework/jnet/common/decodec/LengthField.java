@@ -0,0 +1,216 @@
+package com.jfireframework.jnet.common.decodec;
+
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.jnet.common.exception.NotFitProtocolException;
+
+/**
+ * 内置的长度字段格式。定长的格式都是大端序，除LONG以外都是无符号的。由于java没有无符号的long，LONG按照有符号读取，读取到的负数由解码器作为协议错误处理。VARINT是protobuf使用的base128变长编码（低位在前，每个字节的最高位表示后面是否还有字节），最多5个字节
+ * 
+ * @author linbin
+ * 
+ */
+public enum LengthField implements LengthFieldCodec
+{
+	UNSIGNED_BYTE(1)
+	{
+		@Override
+		public long readLength(ByteBuf<?> buf, int index)
+		{
+			return buf.get(index) & 0xff;
+		}
+		
+		@Override
+		public int writeLength(ByteBuf<?> buf, int index, long length)
+		{
+			buf.put(index, (byte) length);
+			return 1;
+		}
+	},
+	UNSIGNED_SHORT(2)
+	{
+		@Override
+		public long readLength(ByteBuf<?> buf, int index)
+		{
+			return buf.readShort(index) & 0xffff;
+		}
+		
+		@Override
+		public int writeLength(ByteBuf<?> buf, int index, long length)
+		{
+			buf.writeShort(index, (short) length);
+			return 2;
+		}
+	},
+	UNSIGNED_MEDIUM(3)
+	{
+		@Override
+		public long readLength(ByteBuf<?> buf, int index)
+		{
+			return ((buf.get(index) & 0xff) << 16) | ((buf.get(index + 1) & 0xff) << 8) | (buf.get(index + 2) & 0xff);
+		}
+		
+		@Override
+		public int writeLength(ByteBuf<?> buf, int index, long length)
+		{
+			buf.put(index, (byte) (length >>> 16));
+			buf.put(index + 1, (byte) (length >>> 8));
+			buf.put(index + 2, (byte) length);
+			return 3;
+		}
+	},
+	UNSIGNED_INT(4)
+	{
+		@Override
+		public long readLength(ByteBuf<?> buf, int index)
+		{
+			return buf.readInt(index) & 0xffffffffL;
+		}
+		
+		@Override
+		public int writeLength(ByteBuf<?> buf, int index, long length)
+		{
+			buf.writeInt(index, (int) length);
+			return 4;
+		}
+	},
+	LONG(8)
+	{
+		@Override
+		public long readLength(ByteBuf<?> buf, int index)
+		{
+			return buf.readLong(index);
+		}
+		
+		@Override
+		public int writeLength(ByteBuf<?> buf, int index, long length)
+		{
+			buf.writeLong(index, length);
+			return 8;
+		}
+	},
+	VARINT(5)
+	{
+		@Override
+		public int fieldLength(ByteBuf<?> buf, int index, int available) throws NotFitProtocolException
+		{
+			int max = Math.min(available, 5);
+			for (int i = 0; i < max; i++)
+			{
+				if ((buf.get(index + i) & 0x80) == 0)
+				{
+					return i + 1;
+				}
+			}
+			if (max == 5)
+			{
+				throw NotFitProtocolException.instance;
+			}
+			return -1;
+		}
+		
+		@Override
+		public long readLength(ByteBuf<?> buf, int index)
+		{
+			long result = 0;
+			int shift = 0;
+			byte b;
+			do
+			{
+				b = buf.get(index);
+				result |= (long) (b & 0x7f) << shift;
+				shift += 7;
+				index += 1;
+			} while ((b & 0x80) != 0);
+			return result;
+		}
+		
+		@Override
+		public int fieldLength(long length)
+		{
+			if (length < 0 || (length >>> 35) != 0)
+			{
+				throw new IllegalArgumentException("长度超出了长度字段的表示范围:" + length);
+			}
+			int size = 1;
+			while ((length >>>= 7) != 0)
+			{
+				size += 1;
+			}
+			return size;
+		}
+		
+		@Override
+		public int writeLength(ByteBuf<?> buf, int index, long length)
+		{
+			int start = index;
+			while ((length & ~0x7fL) != 0)
+			{
+				buf.put(index, (byte) ((length & 0x7f) | 0x80));
+				length >>>= 7;
+				index += 1;
+			}
+			buf.put(index, (byte) length);
+			return index - start + 1;
+		}
+	};
+	
+	private final int maxFieldLength;
+	
+	private LengthField(int maxFieldLength)
+	{
+		this.maxFieldLength = maxFieldLength;
+	}
+	
+	@Override
+	public int maxFieldLength()
+	{
+		return maxFieldLength;
+	}
+	
+	/**
+	 * 定长格式的默认实现
+	 */
+	@Override
+	public int fieldLength(ByteBuf<?> buf, int index, int available) throws NotFitProtocolException
+	{
+		return available >= maxFieldLength ? maxFieldLength : -1;
+	}
+	
+	/**
+	 * 定长格式的默认实现
+	 */
+	@Override
+	public int fieldLength(long length)
+	{
+		if (length < 0 || (maxFieldLength < 8 && (length >>> (maxFieldLength * 8)) != 0))
+		{
+			throw new IllegalArgumentException("长度超出了长度字段的表示范围:" + length);
+		}
+		return maxFieldLength;
+	}
+	
+	/**
+	 * 按照字段长度返回对应的定长格式，兼容原有的以字节数指定长度字段的方式
+	 * 
+	 * @param lengthFieldLength
+	 * @return
+	 */
+	public static LengthField ofLength(int lengthFieldLength)
+	{
+		switch (lengthFieldLength)
+		{
+			case 1:
+				return UNSIGNED_BYTE;
+			case 2:
+				return UNSIGNED_SHORT;
+			case 3:
+				return UNSIGNED_MEDIUM;
+			case 4:
+				return UNSIGNED_INT;
+			case 8:
+				return LONG;
+			default:
+				throw new IllegalArgumentException("不支持的长度字段长度:" + lengthFieldLength);
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package com.jfireframework.jnet.common.decodec;
+
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.collection.buffer.DirectByteBuf;
+import com.jfireframework.jnet.common.exception.BufNotEnoughException;
+import com.jfireframework.jnet.common.exception.LessThanProtocolException;
+import com.jfireframework.jnet.common.exception.NotFitProtocolException;
+
+/**
+ * 通用的长度字段frame解码器。长度字段的格式由LengthFieldCodec决定，支持定长和变长的长度字段。
+ * 报文的整体长度 = lengthFieldOffset + 长度字段实际占用的字节数 + 长度字段的值 + lengthAdjustment。
+ * 也就是说默认情况下长度字段的值只包含长度字段之后的内容；如果长度字段的值是报文整体的长度，那么lengthAdjustment应该设置为-(lengthFieldOffset+长度字段字节数)，这只对定长的长度字段有意义。
+ * 解码出的报文会跳过开头的skipBytes个字节，通常用来去掉报文头
+ * 
+ * @author linbin
+ * 
+ */
+public class LengthFieldBasedFrameDecoder implements FrameDecodec
+{
+	// 代表长度字段开始读取的位置
+	private final int				lengthFieldOffset;
+	private final LengthFieldCodec	lengthField;
+	// 长度字段的值需要加上的修正值
+	private final int				lengthAdjustment;
+	// 需要忽略的字节数
+	private final int				skipBytes;
+	private final int				maxLength;
+	// 是否使用零拷贝的切片模式。该模式下解码出的报文是iobuffer的一个切片视图，而不是一个新分配的buf
+	private final boolean			slice;
+	
+	/**
+	 * 
+	 * @param lengthFieldOffset 长度字段在报文中的偏移量
+	 * @param lengthField 长度字段的格式
+	 * @param lengthAdjustment 长度字段的值需要加上的修正值
+	 * @param skipBytes 解析后的报文需要跳过的位数
+	 * @param maxLength 报文整体的最大长度
+	 */
+	public LengthFieldBasedFrameDecoder(int lengthFieldOffset, LengthFieldCodec lengthField, int lengthAdjustment, int skipBytes, int maxLength)
+	{
+		this(lengthFieldOffset, lengthField, lengthAdjustment, skipBytes, maxLength, false);
+	}
+	
+	/**
+	 * 
+	 * @param lengthFieldOffset 长度字段在报文中的偏移量
+	 * @param lengthField 长度字段的格式
+	 * @param lengthAdjustment 长度字段的值需要加上的修正值
+	 * @param skipBytes 解析后的报文需要跳过的位数
+	 * @param maxLength 报文整体的最大长度
+	 * @param slice 是否使用零拷贝切片模式。为true时，解码出的报文与iobuffer共享内存，报文使用完毕后必须调用release释放，否则iobuffer无法原地压缩
+	 */
+	public LengthFieldBasedFrameDecoder(int lengthFieldOffset, LengthFieldCodec lengthField, int lengthAdjustment, int skipBytes, int maxLength, boolean slice)
+	{
+		this.lengthFieldOffset = lengthFieldOffset;
+		this.lengthField = lengthField;
+		this.lengthAdjustment = lengthAdjustment;
+		this.skipBytes = skipBytes;
+		this.maxLength = maxLength;
+		this.slice = slice;
+	}
+	
+	@Override
+	public ByteBuf<?> decodec(ByteBuf<?> ioBuffer) throws NotFitProtocolException, BufNotEnoughException, LessThanProtocolException
+	{
+		int remain = ioBuffer.remainRead();
+		if (lengthFieldOffset >= remain)
+		{
+			return null;
+		}
+		int fieldIndex = ioBuffer.readIndex() + lengthFieldOffset;
+		int fieldLength = lengthField.fieldLength(ioBuffer, fieldIndex, remain - lengthFieldOffset);
+		if (fieldLength == -1)
+		{
+			return null;
+		}
+		int headerLength = lengthFieldOffset + fieldLength;
+		long frameLength = lengthField.readLength(ioBuffer, fieldIndex) + lengthAdjustment + headerLength;
+		if (frameLength < headerLength || frameLength >= maxLength)
+		{
+			throw NotFitProtocolException.instance;
+		}
+		int length = (int) frameLength;
+		if (length > remain)
+		{
+			throw new BufNotEnoughException(length);
+		}
+		DirectByteBuf result;
+		if (slice && ioBuffer instanceof DirectByteBuf)
+		{
+			result = ((DirectByteBuf) ioBuffer).slice(length);
+		}
+		else
+		{
+			result = DirectByteBuf.allocate(length);
+			result.put(ioBuffer, length);
+		}
+		ioBuffer.addReadIndex(length);
+		if (skipBytes != 0)
+		{
+			result.addReadIndex(skipBytes);
+		}
+		return result;
+	}
+	
+}
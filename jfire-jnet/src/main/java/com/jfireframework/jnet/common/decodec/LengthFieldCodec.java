@@ -0,0 +1,60 @@
+package com.jfireframework.jnet.common.decodec;
+
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.jnet.common.exception.NotFitProtocolException;
+
+/**
+ * 长度字段的编解码方式。所有的读写都使用绝对位置，不改变buf的读写位置。
+ * 内置的实现参见LengthField，需要其他格式的时候可以自行实现
+ * 
+ * @author linbin
+ * 
+ */
+public interface LengthFieldCodec
+{
+	/**
+	 * 长度字段最多可能占用的字节数，编码器按照这个大小预留报文头空间
+	 * 
+	 * @return
+	 */
+	public int maxFieldLength();
+	
+	/**
+	 * 返回从index开始的长度字段实际占用的字节数。如果可读的字节还不足以确定长度字段，返回-1
+	 * 
+	 * @param buf
+	 * @param index 长度字段的起始位置
+	 * @param available 从index开始可以读取的字节数
+	 * @return
+	 * @throws NotFitProtocolException 长度字段的格式错误
+	 */
+	public int fieldLength(ByteBuf<?> buf, int index, int available) throws NotFitProtocolException;
+	
+	/**
+	 * 读取从index开始的长度字段的值。调用之前需要通过fieldLength确认长度字段已经完整
+	 * 
+	 * @param buf
+	 * @param index
+	 * @return
+	 */
+	public long readLength(ByteBuf<?> buf, int index);
+	
+	/**
+	 * 编码length需要的字节数
+	 * 
+	 * @param length
+	 * @return
+	 * @throws IllegalArgumentException length超出了长度字段的表示范围
+	 */
+	public int fieldLength(long length);
+	
+	/**
+	 * 将length写入到index开始的位置，返回写入的字节数。调用方需要保证空间足够
+	 * 
+	 * @param buf
+	 * @param index
+	 * @param length
+	 * @return
+	 */
+	public int writeLength(ByteBuf<?> buf, int index, long length);
+}
@@ -15,14 +15,19 @@ import com.jfireframework.jnet.common.exception.NotFitProtocolException;
 public class TotalLengthFieldBasedFrameDecoder implements FrameDecodec
 {
 	// 代表长度字段开始读取的位置
-	private final int	lengthFieldOffset;
-	// 代表长度字段自身的长度。支持1,2,4.如果是1则使用unsignedbyte方式读取。如果是2则使用unsignedshort方式读取,4使用int方式读取。
-	private final int	lengthFieldLength;
+	private final int			lengthFieldOffset;
+	// 代表长度字段自身的长度。支持1,2,3,4,8,均以大端序读取，其中8按照有符号读取，参见LengthField。变长的长度字段请使用LengthFieldBasedFrameDecoder
+	private final int			lengthFieldLength;
+	private final LengthField	lengthField;
 	// 将长度字段读取完毕，需要的偏移量,就是上面两个值相加
-	private final int	lengthFieldEndOffset;
+	private final int			lengthFieldEndOffset;
+	// 报文整体长度的下限，至少要包含长度字段以及需要跳过的字节
+	private final int			minLength;
 	// 需要忽略的字节数
-	private final int	skipBytes;
-	private final int	maxLegnth;
+	private final int			skipBytes;
+	private final int			maxLegnth;
+	// 是否使用零拷贝的切片模式。该模式下解码出的报文是iobuffer的一个切片视图，而不是一个新分配的buf
+	private final boolean		slice;
 	
 	/**
 	 * 
@@ -33,11 +38,27 @@ public class TotalLengthFieldBasedFrameDecoder implements FrameDecodec
 	 */
 	public TotalLengthFieldBasedFrameDecoder(int lengthFieldOffset, int lengthFieldLength, int skipBytes, int maxLength)
 	{
+		this(lengthFieldOffset, lengthFieldLength, skipBytes, maxLength, false);
+	}
+	
+	/**
+	 * 
+	 * @param lengthFieldOffset 长度字段在报文中的偏移量
+	 * @param lengthFieldLength 长度字段本身的长度
+	 * @param skipBytes 解析后的报文需要跳过的位数
+	 * @param maxLength
+	 * @param slice 是否使用零拷贝切片模式。为true时，解码出的报文与iobuffer共享内存，报文使用完毕后必须调用release释放，否则iobuffer无法原地压缩
+	 */
+	public TotalLengthFieldBasedFrameDecoder(int lengthFieldOffset, int lengthFieldLength, int skipBytes, int maxLength, boolean slice)
+	{
+		this.slice = slice;
 		this.lengthFieldLength = lengthFieldLength;
+		lengthField = LengthField.ofLength(lengthFieldLength);
 		this.lengthFieldOffset = lengthFieldOffset;
 		this.maxLegnth = maxLength;
 		lengthFieldEndOffset = lengthFieldOffset + lengthFieldLength;
 		this.skipBytes = skipBytes;
+		minLength = Math.max(lengthFieldEndOffset, skipBytes);
 	}
 	
 	@Override
@@ -51,33 +72,31 @@ public class TotalLengthFieldBasedFrameDecoder implements FrameDecodec
 		//iobuffer中可能包含好几个报文，所以这里应该是增加的方式而不是直接设置的方式
 		ioBuffer.addReadIndex(lengthFieldOffset);
 		// 获取到整体报文的长度
-		int length = 0;
-		switch (lengthFieldLength)
-		{
-			case 1:
-				length = ioBuffer.get() & 0xff;
-				break;
-			case 2:
-				length = ioBuffer.readShort() & 0xff;
-				break;
-			case 4:
-				length = ioBuffer.readInt();
-				break;
-		}
+		long fieldValue = lengthField.readLength(ioBuffer, ioBuffer.readIndex());
 		// 得到整体长度后，开始从头读取这个长度的内容
 		ioBuffer.resetRead();
-		if (length >= maxLegnth)
+		// 8个字节的长度字段可能读取到负数，与过短的长度一样视为协议错误，由调用方关闭链接
+		if (fieldValue < minLength || fieldValue >= maxLegnth)
 		{
 			throw NotFitProtocolException.instance;
 		}
+		int length = (int) fieldValue;
 		if (length > ioBuffer.remainRead())
 		{
 			throw new BufNotEnoughException(length);
 		}
 		else
 		{
-			DirectByteBuf result = DirectByteBuf.allocate(length);
-			result.put(ioBuffer, length);
+			DirectByteBuf result;
+			if (slice && ioBuffer instanceof DirectByteBuf)
+			{
+				result = ((DirectByteBuf) ioBuffer).slice(length);
+			}
+			else
+			{
+				result = DirectByteBuf.allocate(length);
+				result.put(ioBuffer, length);
+			}
 			ioBuffer.addReadIndex(length);
 			if (skipBytes != 0)
 			{
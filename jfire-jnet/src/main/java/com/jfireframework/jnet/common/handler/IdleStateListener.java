@@ -0,0 +1,16 @@
+package com.jfireframework.jnet.common.handler;
+
+import com.jfireframework.jnet.common.channel.JnetChannel;
+import com.jfireframework.jnet.server.util.IdleState;
+
+/**
+ * 通道空闲的监听器。处理器如果实现了该接口，在通道出现读取空闲，写出空闲或者读写空闲时会收到通知。
+ * 通知在空闲检测的时间线程中执行，实现中不应该有耗时的操作
+ * 
+ * @author linbin
+ * 
+ */
+public interface IdleStateListener
+{
+	public void channelIdle(JnetChannel jnetChannel, IdleState idleState);
+}
@@ -0,0 +1,87 @@
+package com.jfireframework.jnet.common.handler;
+
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.jnet.common.decodec.LengthFieldCodec;
+import com.jfireframework.jnet.common.exception.JnetException;
+import com.jfireframework.jnet.common.result.InternalTask;
+
+/**
+ * 与LengthFieldBasedFrameDecoder对应的长度字段编码器。
+ * 使用方式是在写入报文体之前先调用reserveHeader预留headerLength个字节的报文头空间，其中前lengthFieldOffset个字节由使用者自行填写，
+ * 报文体写入完毕后由该处理器计算并写入长度字段。
+ * 对于变长的长度字段，实际占用的字节数可能小于预留的字节数，此时只需要将长度字段之前的lengthFieldOffset个字节后移并调整读取位置，报文体不需要任何移动
+ * 
+ * @author linbin
+ * 
+ */
+public class LengthFieldEncoder implements DataHandler
+{
+	// 代表长度字段开始写入的位置
+	private final int				lengthFieldOffset;
+	private final LengthFieldCodec	lengthField;
+	// 与解码器相同含义的修正值
+	private final int				lengthAdjustment;
+	// 需要预留的报文头长度
+	private final int				headerLength;
+	
+	public LengthFieldEncoder(int lengthFieldOffset, LengthFieldCodec lengthField, int lengthAdjustment)
+	{
+		this.lengthFieldOffset = lengthFieldOffset;
+		this.lengthField = lengthField;
+		this.lengthAdjustment = lengthAdjustment;
+		headerLength = lengthFieldOffset + lengthField.maxFieldLength();
+	}
+	
+	public int headerLength()
+	{
+		return headerLength;
+	}
+	
+	/**
+	 * 在buf中预留报文头的空间，之后写入的内容就是报文体
+	 * 
+	 * @param buf
+	 * @return
+	 */
+	public ByteBuf<?> reserveHeader(ByteBuf<?> buf)
+	{
+		buf.ensureCapacity(buf.writeIndex() + headerLength);
+		buf.addWriteIndex(headerLength);
+		return buf;
+	}
+	
+	@Override
+	public Object handle(Object data, InternalTask result) throws JnetException
+	{
+		if (data instanceof ByteBuf)
+		{
+			ByteBuf<?> buf = (ByteBuf<?>) data;
+			int start = buf.readIndex();
+			long length = buf.remainRead() - headerLength - lengthAdjustment;
+			int fieldLength = lengthField.fieldLength(length);
+			int newStart = start + lengthField.maxFieldLength() - fieldLength;
+			if (newStart != start)
+			{
+				// 从后往前复制，避免覆盖还没有复制的字节
+				for (int i = lengthFieldOffset - 1; i >= 0; i--)
+				{
+					buf.put(newStart + i, buf.get(start + i));
+				}
+				buf.readIndex(newStart);
+			}
+			lengthField.writeLength(buf, newStart + lengthFieldOffset, length);
+			return buf;
+		}
+		else
+		{
+			return null;
+		}
+	}
+	
+	@Override
+	public Object catchException(Object data, InternalTask result)
+	{
+		return data;
+	}
+	
+}
@@ -1,6 +1,7 @@
 package com.jfireframework.jnet.common.handler;
 
 import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.jnet.common.decodec.LengthField;
 import com.jfireframework.jnet.common.exception.JnetException;
 import com.jfireframework.jnet.common.result.InternalTask;
 
@@ -8,7 +9,7 @@ public class LengthPreHandler implements DataHandler
 {
 	// 代表长度字段开始读取的位置
 	private final int	lengthFieldOffset;
-	// 代表长度字段自身的长度。支持1,2,4.如果是1则使用unsignedbyte方式读取。如果是2则使用unsignedshort方式读取,4使用int方式读取。
+	// 代表长度字段自身的长度。支持1,2,3,4,8。变长的长度字段请使用LengthFieldEncoder
 	private final int	lengthFieldLength;
 	
 	public LengthPreHandler(int lengthFieldOffset, int lengthFieldLength)
@@ -32,9 +33,15 @@ public class LengthPreHandler implements DataHandler
 				case 2:
 					buf.writeShort(lengthFieldOffset, (short) length);
 					break;
+				case 3:
+					LengthField.UNSIGNED_MEDIUM.writeLength(buf, lengthFieldOffset, length);
+					break;
 				case 4:
 					buf.writeInt(lengthFieldOffset, length);
 					break;
+				case 8:
+					buf.writeLong(lengthFieldOffset, length);
+					break;
 				default:
 					break;
 			}
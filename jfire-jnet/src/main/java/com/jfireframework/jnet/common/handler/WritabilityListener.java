@@ -0,0 +1,21 @@
+package com.jfireframework.jnet.common.handler;
+
+import com.jfireframework.jnet.common.channel.JnetChannel;
+
+/**
+ * 通道可写状态变化的监听器。处理器如果实现了该接口，在通道等待写出的字节数超过高水位或者回落到低水位以下时会收到通知。
+ * 通知在导致状态变化的线程中执行，实现中不应该有耗时的操作
+ * 
+ * @author linbin
+ * 
+ */
+public interface WritabilityListener
+{
+	/**
+	 * 通道的可写状态发生了变化
+	 * 
+	 * @param jnetChannel
+	 * @param writable 为false表示等待写出的数据超过了高水位，为true表示已经回落到低水位以下
+	 */
+	public void writabilityChanged(JnetChannel jnetChannel, boolean writable);
+}
@@ -0,0 +1,91 @@
+package com.jfireframework.jnet.common.result;
+
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.jnet.common.channel.impl.ServerChannel;
+import com.jfireframework.jnet.common.handler.DataHandler;
+import com.jfireframework.jnet.server.CompletionHandler.UnOrderedWriteCompletionHandler;
+
+/**
+ * 延迟的响应。处理器通过ServerInternalTask.defer得到该对象后返回null，当前报文的处理流程就此结束而不写出任何数据，处理线程可以去处理其他报文。
+ * 结果就绪后在任意线程中调用write，结果会从defer时所在处理器的下一个处理器开始继续处理，然后写出。
+ * 只有无序模式下可以使用，在写出之前该报文仍然占用通道的容量，所以永远不调用write会导致通道最终停止读取。后续的处理器没有返回需要写出的数据时，占用的容量会被直接释放
+ * 
+ * @author linbin
+ * 
+ */
+public class DeferredResponse
+{
+    private final ServerChannel                   channel;
+    private final UnOrderedWriteCompletionHandler writeCompletionHandler;
+    private final int                             index;
+    private volatile boolean                      written = false;
+    
+    public DeferredResponse(ServerChannel channel, UnOrderedWriteCompletionHandler writeCompletionHandler, int index)
+    {
+        this.channel = channel;
+        this.writeCompletionHandler = writeCompletionHandler;
+        this.index = index;
+    }
+    
+    /**
+     * 写出延迟的结果，只有第一次调用有效。如果通道已经关闭，结果会被丢弃
+     * 
+     * @param data
+     */
+    public void write(Object data)
+    {
+        synchronized (this)
+        {
+            if (written)
+            {
+                return;
+            }
+            written = true;
+        }
+        ServerInternalTask task = new ServerInternalTask();
+        task.init(-1, data, channel, channel.getReadCompletionHandler(), writeCompletionHandler, index);
+        try
+        {
+            DataHandler[] handlers = channel.getHandlers();
+            for (int i = index; i < handlers.length;)
+            {
+                data = handlers[i].handle(data, task);
+                if (i == task.getIndex())
+                {
+                    i++;
+                    task.setIndex(i);
+                }
+                else
+                {
+                    i = task.getIndex();
+                }
+            }
+        }
+        catch (Throwable e)
+        {
+            channel.getReadCompletionHandler().catchThrowable(e);
+            return;
+        }
+        if (data instanceof ByteBuf<?>)
+        {
+            if (channel.isOpen())
+            {
+                writeCompletionHandler.askToWrite((ByteBuf<?>) data);
+            }
+            else
+            {
+                ((ByteBuf<?>) data).release();
+            }
+        }
+        else if (task.isDeferred() == false)
+        {
+            // 没有需要写出的数据，该报文不会再经过写出完成器，需要直接释放占用的通道容量。如果后续的处理器再次延迟了响应，则由新的延迟响应负责
+            writeCompletionHandler.skip();
+        }
+    }
+    
+    public boolean isWritten()
+    {
+        return written;
+    }
+}
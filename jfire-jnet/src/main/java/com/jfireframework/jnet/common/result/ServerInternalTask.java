@@ -3,8 +3,10 @@ package com.jfireframework.jnet.common.result;
 import java.util.concurrent.TimeUnit;
 import com.jfireframework.baseutil.collection.buffer.ByteBuf;
 import com.jfireframework.baseutil.concurrent.UnsafeReferenceFieldUpdater;
+import com.jfireframework.baseutil.exception.UnSupportException;
 import com.jfireframework.jnet.common.channel.impl.ServerChannel;
 import com.jfireframework.jnet.server.CompletionHandler.ReadCompletionHandler;
+import com.jfireframework.jnet.server.CompletionHandler.UnOrderedWriteCompletionHandler;
 import com.jfireframework.jnet.server.CompletionHandler.WriteCompletionHandler;
 
 public class ServerInternalTask extends AbstractInternalTask
@@ -40,6 +42,10 @@ public class ServerInternalTask extends AbstractInternalTask
     private ServerChannel                                                                 channel;
     private WriteCompletionHandler                                                        writeCompletionHandler;
     private ReadCompletionHandler                                                         readCompletionHandler;
+    // 投递到异步队列时的System.nanoTime()，用于统计排队时间
+    private long                                                                          dispatchTime;
+    // 当前报文的处理流程中是否调用了defer
+    private boolean                                                                       deferred;
     
     public ServerInternalTask()
     {
@@ -59,6 +65,7 @@ public class ServerInternalTask extends AbstractInternalTask
         this.data = data;
         updater.orderSet(this, WritePermission.valueOf(WritePermission.UN_TAKE, version));
         taskState = UNDONE;
+        deferred = false;
     }
     
     public long version()
@@ -66,8 +73,12 @@ public class ServerInternalTask extends AbstractInternalTask
         return writePermission.version;
     }
     
+    /**
+     * 标识流程处理完毕，此时data必然是需要写出的ByteBuf，将其计入通道等待写出的字节数
+     */
     public void flowDone()
     {
+        channel.incrPendingWrite(((ByteBuf<?>) data).remainRead());
         taskState = DONE;
     }
     
@@ -107,6 +118,32 @@ public class ServerInternalTask extends AbstractInternalTask
         return current.version == expectedVersion && current.state == WritePermission.UN_TAKE && updater.compareAndSwap(this, current, WritePermission.valueOf(WritePermission.TAKED, expectedVersion));
     }
     
+    /**
+     * 不论数据是否处理完毕，以带版本号的cas方式抢占写出许可
+     * 
+     * @param version
+     * @return
+     */
+    public boolean takePermission(long version)
+    {
+        return casState(version);
+    }
+    
+    /**
+     * 归还通过takePermission抢占的写出许可
+     * 
+     * @param version
+     */
+    public void releasePermission(long version)
+    {
+        updater.orderSet(this, WritePermission.valueOf(WritePermission.UN_TAKE, version));
+    }
+    
+    public boolean isDone()
+    {
+        return taskState == DONE;
+    }
+    
     /**
      * 如果该数据已经被处理器处理完毕，也就是状态为DONE。则获得该结果的写出许可
      * 
@@ -128,6 +165,36 @@ public class ServerInternalTask extends AbstractInternalTask
         channel.getSocketChannel().write(((ByteBuf<?>) data).cachedNioBuffer(), 10, TimeUnit.SECONDS, (ByteBuf<?>) data, writeCompletionHandler);
     }
     
+    /**
+     * 当前报文是否可以延迟响应，只有无序模式下可以
+     * 
+     * @return
+     */
+    public boolean canDefer()
+    {
+        return writeCompletionHandler instanceof UnOrderedWriteCompletionHandler;
+    }
+    
+    /**
+     * 延迟当前报文的响应，调用的处理器应该返回null结束处理流程，结果就绪后通过返回的对象写出
+     * 
+     * @return
+     */
+    public DeferredResponse defer()
+    {
+        if (canDefer() == false)
+        {
+            throw new UnSupportException("只有无序模式下可以延迟响应");
+        }
+        deferred = true;
+        return new DeferredResponse(channel, (UnOrderedWriteCompletionHandler) writeCompletionHandler, index + 1);
+    }
+    
+    public boolean isDeferred()
+    {
+        return deferred;
+    }
+    
     public ServerChannel getChannelInfo()
     {
         return channel;
@@ -148,4 +215,14 @@ public class ServerInternalTask extends AbstractInternalTask
         this.writeCompletionHandler = writeCompletionHandler;
     }
     
+    public long getDispatchTime()
+    {
+        return dispatchTime;
+    }
+    
+    public void setDispatchTime(long dispatchTime)
+    {
+        this.dispatchTime = dispatchTime;
+    }
+    
 }
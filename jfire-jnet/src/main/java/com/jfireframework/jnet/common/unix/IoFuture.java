@@ -0,0 +1,80 @@
+package com.jfireframework.jnet.common.unix;
+
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 将CompletionHandler形式的结果转换为Future，用于实现aio通道中返回Future的方法
+ * 
+ * @author linbin
+ * 
+ * @param <V>
+ */
+class IoFuture<V> implements Future<V>, CompletionHandler<V, Object>
+{
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private volatile V           result;
+    private volatile Throwable   exc;
+    
+    @Override
+    public void completed(V result, Object attachment)
+    {
+        this.result = result;
+        latch.countDown();
+    }
+    
+    @Override
+    public void failed(Throwable exc, Object attachment)
+    {
+        this.exc = exc;
+        latch.countDown();
+    }
+    
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning)
+    {
+        return false;
+    }
+    
+    @Override
+    public boolean isCancelled()
+    {
+        return false;
+    }
+    
+    @Override
+    public boolean isDone()
+    {
+        return latch.getCount() == 0;
+    }
+    
+    @Override
+    public V get() throws InterruptedException, ExecutionException
+    {
+        latch.await();
+        return report();
+    }
+    
+    @Override
+    public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
+    {
+        if (latch.await(timeout, unit) == false)
+        {
+            throw new TimeoutException();
+        }
+        return report();
+    }
+    
+    private V report() throws ExecutionException
+    {
+        if (exc != null)
+        {
+            throw new ExecutionException(exc);
+        }
+        return result;
+    }
+}
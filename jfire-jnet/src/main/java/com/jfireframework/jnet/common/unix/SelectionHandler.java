@@ -0,0 +1,22 @@
+package com.jfireframework.jnet.common.unix;
+
+/**
+ * 注册在UnixEventLoop上的通道，由事件循环在通道就绪时回调
+ * 
+ * @author linbin
+ * 
+ */
+interface SelectionHandler
+{
+    /**
+     * 通道就绪，该方法只会在事件循环线程中被调用
+     * 
+     * @param readyOps
+     */
+    void ready(int readyOps);
+    
+    /**
+     * 事件循环退出时关闭通道
+     */
+    void closeByEventLoop();
+}
@@ -0,0 +1,246 @@
+package com.jfireframework.jnet.common.unix;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.nio.channels.AcceptPendingException;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.AsynchronousServerSocketChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.spi.AsynchronousChannelProvider;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 基于unix domain socket的aio服务端通道。accept在事件循环中以非阻塞的方式完成，
+ * 接受的链接包装为UnixAsynchronousSocketChannel并且轮流分配到事件循环组中的事件循环上
+ * 
+ * @author linbin
+ * 
+ */
+public class UnixAsynchronousServerSocketChannel extends AsynchronousServerSocketChannel implements SelectionHandler
+{
+    private final ServerSocketChannel                            channel;
+    private final UnixEventLoopGroup                             group;
+    private final UnixEventLoop                                  eventLoop;
+    private final AtomicBoolean                                  closed     = new AtomicBoolean(false);
+    private volatile boolean                                     pending    = false;
+    private Object                                               attachment;
+    private CompletionHandler<AsynchronousSocketChannel, Object> handler;
+    // 只在事件循环线程中访问
+    private SelectionKey                                         key;
+    private final Runnable                                       acceptTask = new AcceptTask();
+    
+    UnixAsynchronousServerSocketChannel(UnixEventLoopGroup group, ServerSocketChannel channel)
+    {
+        super(AsynchronousChannelProvider.provider());
+        this.group = group;
+        this.channel = channel;
+        eventLoop = group.next();
+    }
+    
+    public static UnixAsynchronousServerSocketChannel open(UnixEventLoopGroup group) throws IOException
+    {
+        return new UnixAsynchronousServerSocketChannel(group, UnixDomainSockets.openServerSocketChannel());
+    }
+    
+    @Override
+    public AsynchronousServerSocketChannel bind(SocketAddress local, int backlog) throws IOException
+    {
+        channel.bind(local, backlog);
+        channel.configureBlocking(false);
+        eventLoop.execute(new Runnable() {
+            
+            @Override
+            public void run()
+            {
+                try
+                {
+                    key = eventLoop.register(channel, UnixAsynchronousServerSocketChannel.this);
+                }
+                catch (IOException e)
+                {
+                    close();
+                }
+            }
+        });
+        return this;
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Override
+    public <A> void accept(A attachment, CompletionHandler<AsynchronousSocketChannel, ? super A> handler)
+    {
+        if (isOpen() == false)
+        {
+            handler.failed(new ClosedChannelException(), attachment);
+            return;
+        }
+        if (pending)
+        {
+            throw new AcceptPendingException();
+        }
+        this.attachment = attachment;
+        this.handler = (CompletionHandler<AsynchronousSocketChannel, Object>) handler;
+        pending = true;
+        eventLoop.execute(acceptTask);
+    }
+    
+    @Override
+    public Future<AsynchronousSocketChannel> accept()
+    {
+        IoFuture<AsynchronousSocketChannel> future = new IoFuture<AsynchronousSocketChannel>();
+        accept(null, future);
+        return future;
+    }
+    
+    private void doAccept()
+    {
+        if (pending == false)
+        {
+            return;
+        }
+        SocketChannel socketChannel;
+        try
+        {
+            socketChannel = channel.accept();
+            if (socketChannel == null)
+            {
+                interest(true);
+                return;
+            }
+            socketChannel.configureBlocking(false);
+        }
+        catch (Throwable e)
+        {
+            interest(false);
+            fail(e);
+            return;
+        }
+        interest(false);
+        UnixAsynchronousSocketChannel accepted = new UnixAsynchronousSocketChannel(group, socketChannel);
+        accepted.registerToEventLoop();
+        Object attachment = this.attachment;
+        CompletionHandler<AsynchronousSocketChannel, Object> handler = this.handler;
+        this.attachment = null;
+        this.handler = null;
+        pending = false;
+        handler.completed(accepted, attachment);
+    }
+    
+    private void fail(Throwable e)
+    {
+        Object attachment = this.attachment;
+        CompletionHandler<AsynchronousSocketChannel, Object> handler = this.handler;
+        this.attachment = null;
+        this.handler = null;
+        pending = false;
+        handler.failed(e, attachment);
+    }
+    
+    private void interest(boolean on)
+    {
+        if (key == null)
+        {
+            return;
+        }
+        try
+        {
+            key.interestOps(on ? SelectionKey.OP_ACCEPT : 0);
+        }
+        catch (CancelledKeyException e)
+        {
+            // 通道已经被关闭，挂起的请求由close负责失败
+        }
+    }
+    
+    @Override
+    public void ready(int readyOps)
+    {
+        doAccept();
+    }
+    
+    @Override
+    public void closeByEventLoop()
+    {
+        close();
+    }
+    
+    @Override
+    public void close()
+    {
+        if (closed.compareAndSet(false, true) == false)
+        {
+            return;
+        }
+        try
+        {
+            channel.close();
+        }
+        catch (IOException e)
+        {
+        }
+        eventLoop.execute(new Runnable() {
+            
+            @Override
+            public void run()
+            {
+                if (key != null)
+                {
+                    key.cancel();
+                }
+                if (pending)
+                {
+                    fail(new AsynchronousCloseException());
+                }
+            }
+        });
+    }
+    
+    @Override
+    public boolean isOpen()
+    {
+        return closed.get() == false && channel.isOpen();
+    }
+    
+    @Override
+    public <T> AsynchronousServerSocketChannel setOption(SocketOption<T> name, T value) throws IOException
+    {
+        channel.setOption(name, value);
+        return this;
+    }
+    
+    @Override
+    public <T> T getOption(SocketOption<T> name) throws IOException
+    {
+        return channel.getOption(name);
+    }
+    
+    @Override
+    public Set<SocketOption<?>> supportedOptions()
+    {
+        return channel.supportedOptions();
+    }
+    
+    @Override
+    public SocketAddress getLocalAddress() throws IOException
+    {
+        return channel.getLocalAddress();
+    }
+    
+    class AcceptTask implements Runnable
+    {
+        @Override
+        public void run()
+        {
+            doAccept();
+        }
+    }
+}
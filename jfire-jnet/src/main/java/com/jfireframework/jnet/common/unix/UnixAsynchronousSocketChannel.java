@@ -0,0 +1,482 @@
+package com.jfireframework.jnet.common.unix;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.InterruptedByTimeoutException;
+import java.nio.channels.NotYetConnectedException;
+import java.nio.channels.ReadPendingException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritePendingException;
+import java.nio.channels.spi.AsynchronousChannelProvider;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import com.jfireframework.baseutil.concurrent.time.TimeTask;
+
+/**
+ * 基于unix domain socket的aio通道。底层是一个非阻塞的SocketChannel，读写请求投递到所属的事件循环中执行，
+ * 暂时不可读或者不可写时注册对应的兴趣事件，就绪之后再完成，结果在事件循环线程中通过CompletionHandler通知。
+ * 与jdk的aio实现一样，同一时刻只允许存在一个读取请求和一个写出请求，读写完成时只保证至少处理了一个字节。
+ * 这样服务端和客户端现有的读写流程，解码器和处理器都可以不做修改的运行在unix domain socket上
+ * 
+ * @author linbin
+ * 
+ */
+public class UnixAsynchronousSocketChannel extends AsynchronousSocketChannel implements SelectionHandler
+{
+    private final SocketChannel      channel;
+    private final UnixEventLoopGroup group;
+    private final UnixEventLoop      eventLoop;
+    private final PendingIo          reader = new PendingIo(true);
+    private final PendingIo          writer = new PendingIo(false);
+    private final AtomicBoolean      closed = new AtomicBoolean(false);
+    // 以下两个属性只在事件循环线程中访问
+    private SelectionKey             key;
+    private int                      interestOps;
+    
+    UnixAsynchronousSocketChannel(UnixEventLoopGroup group, SocketChannel channel)
+    {
+        super(AsynchronousChannelProvider.provider());
+        this.group = group;
+        this.channel = channel;
+        eventLoop = group.next();
+    }
+    
+    /**
+     * 打开一个未连接的通道，连接成功之后注册到事件循环组中的一个事件循环上
+     * 
+     * @param group
+     * @return
+     * @throws IOException
+     */
+    public static UnixAsynchronousSocketChannel open(UnixEventLoopGroup group) throws IOException
+    {
+        return new UnixAsynchronousSocketChannel(group, UnixDomainSockets.openSocketChannel());
+    }
+    
+    /**
+     * 将已经连接并且处于非阻塞模式的通道注册到事件循环上。注册任务先于之后的读写请求进入任务队列，所以读写请求执行时通道一定已经注册
+     */
+    void registerToEventLoop()
+    {
+        eventLoop.execute(new Runnable() {
+            
+            @Override
+            public void run()
+            {
+                try
+                {
+                    key = eventLoop.register(channel, UnixAsynchronousSocketChannel.this);
+                }
+                catch (IOException e)
+                {
+                    close();
+                }
+            }
+        });
+    }
+    
+    @Override
+    public <A> void connect(SocketAddress remote, A attachment, CompletionHandler<Void, ? super A> handler)
+    {
+        try
+        {
+            // 本机的unix domain socket连接可以立刻完成，所以直接使用阻塞模式连接，之后再切换为非阻塞模式
+            channel.connect(remote);
+            channel.configureBlocking(false);
+            registerToEventLoop();
+        }
+        catch (Throwable e)
+        {
+            close();
+            handler.failed(e, attachment);
+            return;
+        }
+        handler.completed(null, attachment);
+    }
+    
+    @Override
+    public Future<Void> connect(SocketAddress remote)
+    {
+        IoFuture<Void> future = new IoFuture<Void>();
+        connect(remote, null, future);
+        return future;
+    }
+    
+    @Override
+    public <A> void read(ByteBuffer dst, long timeout, TimeUnit unit, A attachment, CompletionHandler<Integer, ? super A> handler)
+    {
+        if (reader.pending)
+        {
+            throw new ReadPendingException();
+        }
+        reader.init(dst, null, 0, 0, attachment, handler);
+        submit(reader, timeout, unit);
+    }
+    
+    @Override
+    public <A> void read(ByteBuffer[] dsts, int offset, int length, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler)
+    {
+        if (reader.pending)
+        {
+            throw new ReadPendingException();
+        }
+        reader.init(null, dsts, offset, length, attachment, handler);
+        submit(reader, timeout, unit);
+    }
+    
+    @Override
+    public Future<Integer> read(ByteBuffer dst)
+    {
+        IoFuture<Integer> future = new IoFuture<Integer>();
+        read(dst, 0, TimeUnit.MILLISECONDS, null, future);
+        return future;
+    }
+    
+    @Override
+    public <A> void write(ByteBuffer src, long timeout, TimeUnit unit, A attachment, CompletionHandler<Integer, ? super A> handler)
+    {
+        if (writer.pending)
+        {
+            throw new WritePendingException();
+        }
+        writer.init(src, null, 0, 0, attachment, handler);
+        submit(writer, timeout, unit);
+    }
+    
+    @Override
+    public <A> void write(ByteBuffer[] srcs, int offset, int length, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler)
+    {
+        if (writer.pending)
+        {
+            throw new WritePendingException();
+        }
+        writer.init(null, srcs, offset, length, attachment, handler);
+        submit(writer, timeout, unit);
+    }
+    
+    @Override
+    public Future<Integer> write(ByteBuffer src)
+    {
+        IoFuture<Integer> future = new IoFuture<Integer>();
+        write(src, 0, TimeUnit.MILLISECONDS, null, future);
+        return future;
+    }
+    
+    private void submit(PendingIo io, long timeout, TimeUnit unit)
+    {
+        if (isOpen() == false)
+        {
+            io.fail(new ClosedChannelException());
+            return;
+        }
+        if (channel.isConnected() == false)
+        {
+            io.clear();
+            throw new NotYetConnectedException();
+        }
+        // 属性在pending之前设置，volatile写保证事件循环看到pending时属性都已经可见
+        io.seq += 1;
+        io.pending = true;
+        if (timeout > 0)
+        {
+            group.timer().addTask(new TimeoutTask(io, io.seq), timeout, unit);
+        }
+        eventLoop.execute(io);
+    }
+    
+    /**
+     * 修改兴趣事件，只在事件循环线程中调用
+     * 
+     * @param op
+     * @param on
+     */
+    private void interest(int op, boolean on)
+    {
+        int ops = on ? interestOps | op : interestOps & ~op;
+        if (ops == interestOps || key == null)
+        {
+            return;
+        }
+        try
+        {
+            key.interestOps(ops);
+            interestOps = ops;
+        }
+        catch (CancelledKeyException e)
+        {
+            // 通道已经被关闭，挂起的请求由close负责失败
+        }
+    }
+    
+    @Override
+    public void ready(int readyOps)
+    {
+        if ((readyOps & SelectionKey.OP_WRITE) != 0)
+        {
+            writer.run();
+        }
+        if ((readyOps & SelectionKey.OP_READ) != 0)
+        {
+            reader.run();
+        }
+    }
+    
+    @Override
+    public void closeByEventLoop()
+    {
+        close();
+    }
+    
+    @Override
+    public void close()
+    {
+        if (closed.compareAndSet(false, true) == false)
+        {
+            return;
+        }
+        try
+        {
+            channel.close();
+        }
+        catch (IOException e)
+        {
+        }
+        eventLoop.execute(new Runnable() {
+            
+            @Override
+            public void run()
+            {
+                if (key != null)
+                {
+                    key.cancel();
+                }
+                if (reader.pending)
+                {
+                    reader.fail(new AsynchronousCloseException());
+                }
+                if (writer.pending)
+                {
+                    writer.fail(new AsynchronousCloseException());
+                }
+            }
+        });
+    }
+    
+    @Override
+    public boolean isOpen()
+    {
+        return closed.get() == false && channel.isOpen();
+    }
+    
+    @Override
+    public AsynchronousSocketChannel bind(SocketAddress local) throws IOException
+    {
+        channel.bind(local);
+        return this;
+    }
+    
+    @Override
+    public <T> AsynchronousSocketChannel setOption(SocketOption<T> name, T value) throws IOException
+    {
+        channel.setOption(name, value);
+        return this;
+    }
+    
+    @Override
+    public <T> T getOption(SocketOption<T> name) throws IOException
+    {
+        return channel.getOption(name);
+    }
+    
+    @Override
+    public Set<SocketOption<?>> supportedOptions()
+    {
+        return channel.supportedOptions();
+    }
+    
+    @Override
+    public AsynchronousSocketChannel shutdownInput() throws IOException
+    {
+        channel.shutdownInput();
+        return this;
+    }
+    
+    @Override
+    public AsynchronousSocketChannel shutdownOutput() throws IOException
+    {
+        channel.shutdownOutput();
+        return this;
+    }
+    
+    @Override
+    public SocketAddress getRemoteAddress() throws IOException
+    {
+        return channel.getRemoteAddress();
+    }
+    
+    @Override
+    public SocketAddress getLocalAddress() throws IOException
+    {
+        return channel.getLocalAddress();
+    }
+    
+    /**
+     * 挂起的读取或者写出请求。每个通道各持有一个读取和写出的实例，完成之后清空并且复用
+     */
+    class PendingIo implements Runnable
+    {
+        private final boolean                     read;
+        private final int                         op;
+        volatile boolean                          pending = false;
+        // 每次发起请求加一，超时任务据此判断对应的请求是否还在等待
+        long                                      seq     = 0;
+        private ByteBuffer                        buffer;
+        private ByteBuffer[]                      buffers;
+        private int                               offset;
+        private int                               length;
+        private Object                            attachment;
+        private CompletionHandler<Object, Object> handler;
+        
+        public PendingIo(boolean read)
+        {
+            this.read = read;
+            op = read ? SelectionKey.OP_READ : SelectionKey.OP_WRITE;
+        }
+        
+        @SuppressWarnings("unchecked")
+        void init(ByteBuffer buffer, ByteBuffer[] buffers, int offset, int length, Object attachment, CompletionHandler<?, ?> handler)
+        {
+            this.buffer = buffer;
+            this.buffers = buffers;
+            this.offset = offset;
+            this.length = length;
+            this.attachment = attachment;
+            this.handler = (CompletionHandler<Object, Object>) handler;
+        }
+        
+        void clear()
+        {
+            buffer = null;
+            buffers = null;
+            attachment = null;
+            handler = null;
+        }
+        
+        private boolean hasRemaining()
+        {
+            if (buffers == null)
+            {
+                return buffer.hasRemaining();
+            }
+            for (int i = offset; i < offset + length; i++)
+            {
+                if (buffers[i].hasRemaining())
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        /**
+         * 在事件循环线程中尝试完成请求，暂时无法完成时注册兴趣事件
+         */
+        @Override
+        public void run()
+        {
+            if (pending == false)
+            {
+                return;
+            }
+            long count;
+            try
+            {
+                if (hasRemaining() == false)
+                {
+                    count = 0;
+                }
+                else if (buffers == null)
+                {
+                    count = read ? channel.read(buffer) : channel.write(buffer);
+                }
+                else
+                {
+                    count = read ? channel.read(buffers, offset, length) : channel.write(buffers, offset, length);
+                }
+            }
+            catch (Throwable e)
+            {
+                interest(op, false);
+                fail(e);
+                return;
+            }
+            if (count == 0 && hasRemaining())
+            {
+                interest(op, true);
+                return;
+            }
+            interest(op, false);
+            complete(count);
+        }
+        
+        private void complete(long count)
+        {
+            Object result = buffers == null ? (Object) Integer.valueOf((int) count) : (Object) Long.valueOf(count);
+            Object attachment = this.attachment;
+            CompletionHandler<Object, Object> handler = this.handler;
+            clear();
+            pending = false;
+            handler.completed(result, attachment);
+        }
+        
+        void fail(Throwable e)
+        {
+            Object attachment = this.attachment;
+            CompletionHandler<Object, Object> handler = this.handler;
+            clear();
+            pending = false;
+            handler.failed(e, attachment);
+        }
+    }
+    
+    /**
+     * 请求超时后在事件循环中检查请求是否还在等待，是的话以InterruptedByTimeoutException失败
+     */
+    class TimeoutTask implements TimeTask, Runnable
+    {
+        private final PendingIo io;
+        private final long      seq;
+        
+        public TimeoutTask(PendingIo io, long seq)
+        {
+            this.io = io;
+            this.seq = seq;
+        }
+        
+        @Override
+        public void invoke()
+        {
+            eventLoop.execute(this);
+        }
+        
+        @Override
+        public void run()
+        {
+            if (io.pending && io.seq == seq)
+            {
+                interest(io.op, false);
+                io.fail(new InterruptedByTimeoutException());
+            }
+        }
+    }
+}
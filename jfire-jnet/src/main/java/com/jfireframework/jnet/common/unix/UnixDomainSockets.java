@@ -0,0 +1,188 @@
+package com.jfireframework.jnet.common.unix;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.ConnectException;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import com.jfireframework.baseutil.exception.UnSupportException;
+
+/**
+ * unix domain socket的工具类。jdk从16开始才在nio中支持unix domain socket，为了在低版本的jdk上仍然可以编译和运行，这里通过反射获取相关的api。
+ * 低版本的jdk上isSupported返回false，其余的方法会抛出异常
+ * 
+ * @author linbin
+ * 
+ */
+public class UnixDomainSockets
+{
+    private static final ProtocolFamily UNIX;
+    // UnixDomainSocketAddress.of(String)
+    private static final Method         addressOf;
+    // ServerSocketChannel.open(ProtocolFamily)
+    private static final Method         openServer;
+    // SocketChannel.open(ProtocolFamily)
+    private static final Method         openSocket;
+    
+    static
+    {
+        ProtocolFamily unix = null;
+        Method of = null;
+        Method server = null;
+        Method socket = null;
+        try
+        {
+            unix = StandardProtocolFamily.valueOf("UNIX");
+            of = Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", String.class);
+            server = ServerSocketChannel.class.getMethod("open", ProtocolFamily.class);
+            socket = SocketChannel.class.getMethod("open", ProtocolFamily.class);
+        }
+        catch (Throwable e)
+        {
+            unix = null;
+        }
+        UNIX = unix;
+        addressOf = of;
+        openServer = server;
+        openSocket = socket;
+    }
+    
+    /**
+     * 当前的jdk是否支持unix domain socket
+     * 
+     * @return
+     */
+    public static boolean isSupported()
+    {
+        return UNIX != null;
+    }
+    
+    /**
+     * 当前的jdk不支持unix domain socket时抛出异常
+     */
+    public static void checkSupported()
+    {
+        if (UNIX == null)
+        {
+            throw new UnSupportException("当前的jdk版本不支持unix domain socket，需要jdk16及以上的版本");
+        }
+    }
+    
+    /**
+     * 根据文件路径生成unix domain socket的地址
+     * 
+     * @param path
+     * @return
+     */
+    public static SocketAddress address(String path)
+    {
+        checkSupported();
+        try
+        {
+            return (SocketAddress) addressOf.invoke(null, path);
+        }
+        catch (InvocationTargetException e)
+        {
+            throw new IllegalArgumentException(e.getTargetException());
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new UnSupportException("无法创建unix domain socket地址", e);
+        }
+    }
+    
+    public static ServerSocketChannel openServerSocketChannel() throws IOException
+    {
+        return (ServerSocketChannel) open(openServer);
+    }
+    
+    public static SocketChannel openSocketChannel() throws IOException
+    {
+        return (SocketChannel) open(openSocket);
+    }
+    
+    private static Object open(Method method) throws IOException
+    {
+        checkSupported();
+        try
+        {
+            return method.invoke(null, UNIX);
+        }
+        catch (InvocationTargetException e)
+        {
+            if (e.getTargetException() instanceof IOException)
+            {
+                throw (IOException) e.getTargetException();
+            }
+            throw new UnSupportException("无法打开unix domain socket", e.getTargetException());
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new UnSupportException("无法打开unix domain socket", e);
+        }
+    }
+    
+    /**
+     * 删除上一次运行残留的socket文件。服务端绑定时文件必须不存在，关闭时文件也不会被自动删除。
+     * 只有文件确实是socket文件，并且连接该文件失败，也就是没有服务端在监听时才删除。路径上是普通文件或者有存活的服务端时抛出异常，让绑定失败，而不是误删文件或者抢占别人的地址
+     * 
+     * @param path
+     * @throws IOException
+     */
+    public static void removeStaleSocketFile(String path) throws IOException
+    {
+        Path file = Paths.get(path);
+        if (Files.exists(file, LinkOption.NOFOLLOW_LINKS) == false)
+        {
+            return;
+        }
+        if (isSocketFile(file) == false)
+        {
+            throw new IOException("路径" + path + "上已经存在一个不是socket的文件，拒绝删除");
+        }
+        SocketChannel channel = openSocketChannel();
+        try
+        {
+            channel.connect(address(path));
+            throw new IOException("已经有服务端在监听" + path);
+        }
+        catch (ConnectException e)
+        {
+            // 没有服务端在监听，是残留的文件
+        }
+        finally
+        {
+            channel.close();
+        }
+        Files.deleteIfExists(file);
+    }
+    
+    private static boolean isSocketFile(Path file) throws IOException
+    {
+        try
+        {
+            // unix视图中的mode带有文件类型，S_IFSOCK
+            int mode = (Integer) Files.getAttribute(file, "unix:mode", LinkOption.NOFOLLOW_LINKS);
+            return (mode & 0170000) == 0140000;
+        }
+        catch (UnsupportedOperationException e)
+        {
+            // 不支持unix视图
+        }
+        catch (IllegalArgumentException e)
+        {
+            // 不支持unix视图中的mode属性
+        }
+        // 不支持unix视图时退而求其次，socket文件既不是普通文件、目录，也不是链接
+        return Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).isOther();
+    }
+}
@@ -0,0 +1,165 @@
+package com.jfireframework.jnet.common.unix;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import com.jfireframework.baseutil.concurrent.MPSCLinkedQueue;
+import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
+import com.jfireframework.baseutil.simplelog.Logger;
+
+/**
+ * unix domain socket的事件循环。与NioEventLoop一样，一个线程持有一个Selector，注册在该循环上的通道的所有读写都在这个线程中完成，
+ * 读写的结果通过CompletionHandler通知，对上层表现为aio的通道
+ * 
+ * @author linbin
+ * 
+ */
+public class UnixEventLoop implements Runnable
+{
+    private static final Logger             logger  = ConsoleLogFactory.getLogger();
+    private final Selector                  selector;
+    private final MPSCLinkedQueue<Runnable> tasks   = new MPSCLinkedQueue<Runnable>();
+    // 是否已经唤醒了selector，用来避免重复的wakeup调用
+    private final AtomicBoolean             wakenUp = new AtomicBoolean(false);
+    private volatile boolean                stoped  = false;
+    private Thread                          thread;
+    
+    public UnixEventLoop() throws IOException
+    {
+        selector = Selector.open();
+    }
+    
+    public void start(String name, boolean daemon)
+    {
+        thread = new Thread(this, name);
+        thread.setDaemon(daemon);
+        thread.start();
+    }
+    
+    public boolean inEventLoop()
+    {
+        return Thread.currentThread() == thread;
+    }
+    
+    public void execute(Runnable task)
+    {
+        tasks.offer(task);
+        if (inEventLoop() == false && wakenUp.compareAndSet(false, true))
+        {
+            selector.wakeup();
+        }
+    }
+    
+    /**
+     * 将通道注册到selector上，只能在事件循环线程中调用
+     * 
+     * @param channel
+     * @param handler
+     * @return
+     * @throws IOException
+     */
+    SelectionKey register(SelectableChannel channel, SelectionHandler handler) throws IOException
+    {
+        return channel.register(selector, 0, handler);
+    }
+    
+    public void stop()
+    {
+        stoped = true;
+        selector.wakeup();
+    }
+    
+    /**
+     * 等待事件循环线程退出，返回是否已经退出
+     * 
+     * @param millis
+     * @return
+     * @throws InterruptedException
+     */
+    public boolean join(long millis) throws InterruptedException
+    {
+        thread.join(millis);
+        return thread.isAlive() == false;
+    }
+    
+    @Override
+    public void run()
+    {
+        while (stoped == false)
+        {
+            try
+            {
+                wakenUp.set(false);
+                // 回调的处理器可能中断了当前线程，中断标识会导致select立刻返回
+                Thread.interrupted();
+                if (tasks.isEmpty())
+                {
+                    selector.select();
+                }
+                else
+                {
+                    selector.selectNow();
+                }
+                processSelectedKeys();
+                runTasks();
+            }
+            catch (Throwable e)
+            {
+                logger.error("事件循环异常", e);
+            }
+        }
+        for (SelectionKey each : selector.keys())
+        {
+            ((SelectionHandler) each.attachment()).closeByEventLoop();
+        }
+        runTasks();
+        try
+        {
+            selector.close();
+        }
+        catch (IOException e)
+        {
+        }
+    }
+    
+    private void processSelectedKeys()
+    {
+        Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+        while (iterator.hasNext())
+        {
+            SelectionKey key = iterator.next();
+            iterator.remove();
+            try
+            {
+                if (key.isValid())
+                {
+                    ((SelectionHandler) key.attachment()).ready(key.readyOps());
+                }
+            }
+            catch (CancelledKeyException e)
+            {
+                // 通道已经被关闭
+            }
+        }
+    }
+    
+    private void runTasks()
+    {
+        Runnable task;
+        while ((task = tasks.poll()) != null)
+        {
+            try
+            {
+                task.run();
+            }
+            catch (Throwable e)
+            {
+                logger.error("事件循环任务异常", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.jfireframework.jnet.common.unix;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.jfireframework.baseutil.concurrent.time.DefaultTimeoutHandler;
+import com.jfireframework.baseutil.concurrent.time.HierarchyWheelTimer;
+import com.jfireframework.baseutil.concurrent.time.Timer;
+
+/**
+ * 一组unix domain socket的事件循环，新的通道轮流分配到其中一个事件循环上。读写的超时由组内共用的时间轮负责
+ * 
+ * @author linbin
+ * 
+ */
+public class UnixEventLoopGroup
+{
+    private static UnixEventLoopGroup defaultGroup;
+    private final UnixEventLoop[]     eventLoops;
+    private final AtomicInteger       index = new AtomicInteger(0);
+    private final HierarchyWheelTimer timer;
+    
+    /**
+     * @param size 事件循环的个数
+     * @param name 线程名称的前缀
+     * @param daemon 是否使用守护线程
+     */
+    public UnixEventLoopGroup(int size, String name, boolean daemon)
+    {
+        eventLoops = new UnixEventLoop[size];
+        try
+        {
+            for (int i = 0; i < size; i++)
+            {
+                eventLoops[i] = new UnixEventLoop();
+                eventLoops[i].start(name + (i + 1), daemon);
+            }
+        }
+        catch (IOException e)
+        {
+            shutdown();
+            throw new RuntimeException(e);
+        }
+        timer = new HierarchyWheelTimer(new int[] { 512, 64, 64 }, 10, TimeUnit.MILLISECONDS, new DefaultTimeoutHandler());
+        timer.setDaemon(true);
+    }
+    
+    /**
+     * 客户端默认使用的事件循环组，使用守护线程，第一次使用时创建
+     * 
+     * @return
+     */
+    public static synchronized UnixEventLoopGroup defaultGroup()
+    {
+        if (defaultGroup == null)
+        {
+            defaultGroup = new UnixEventLoopGroup(Runtime.getRuntime().availableProcessors(), "客户端uds线程-", true);
+        }
+        return defaultGroup;
+    }
+    
+    public UnixEventLoop next()
+    {
+        return eventLoops[(index.getAndIncrement() & Integer.MAX_VALUE) % eventLoops.length];
+    }
+    
+    public Timer timer()
+    {
+        return timer;
+    }
+    
+    /**
+     * 停止所有的事件循环，注册在上面的通道都会被关闭
+     */
+    public void shutdown()
+    {
+        for (UnixEventLoop each : eventLoops)
+        {
+            if (each != null)
+            {
+                each.stop();
+            }
+        }
+        if (timer != null)
+        {
+            timer.stop();
+        }
+    }
+    
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+        for (UnixEventLoop each : eventLoops)
+        {
+            long left = deadline - System.currentTimeMillis();
+            if (left <= 0)
+            {
+                return false;
+            }
+            if (each.join(left) == false)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -11,18 +11,28 @@ import com.jfireframework.baseutil.StringUtil;
 import com.jfireframework.baseutil.exception.UnSupportException;
 import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
 import com.jfireframework.baseutil.simplelog.Logger;
+import com.jfireframework.baseutil.verify.Verify;
+import com.jfireframework.jnet.common.unix.UnixAsynchronousServerSocketChannel;
+import com.jfireframework.jnet.common.unix.UnixDomainSockets;
+import com.jfireframework.jnet.common.unix.UnixEventLoopGroup;
 import com.jfireframework.jnet.server.CompletionHandler.AcceptHandler;
 import com.jfireframework.jnet.server.util.ExecutorMode;
 import com.jfireframework.jnet.server.util.ServerConfig;
+import com.jfireframework.jnet.server.util.ServerMetrics;
+import com.jfireframework.jnet.server.util.TransportMode;
 import com.jfireframework.jnet.server.util.WorkMode;
+import com.jfireframework.jnet.server.util.WriteHistogram;
 
-public class AioServer
+public class AioServer implements JnetServer
 {
     private AcceptHandler                   acceptCompleteHandler;
     private AsynchronousServerSocketChannel serverSocketChannel;
-    private Logger                          logger = ConsoleLogFactory.getLogger();
+    private Logger                          logger  = ConsoleLogFactory.getLogger();
     private AsynchronousChannelGroup        channelGroup;
+    // 传输方式为UNIX_DOMAIN时代替channelGroup
+    private UnixEventLoopGroup              unixEventLoopGroup;
     private ServerConfig                    serverConfig;
+    private final ServerMetrics             metrics = new ServerMetrics();
     
     public AioServer(ServerConfig serverConfig)
     {
@@ -40,6 +50,21 @@ public class AioServer
         }
     }
     
+    /**
+     * 返回批量写出的统计直方图
+     * 
+     * @return
+     */
+    public WriteHistogram getWriteHistogram()
+    {
+        return metrics.getWriteHistogram();
+    }
+    
+    public ServerMetrics getMetrics()
+    {
+        return metrics;
+    }
+    
     public AsynchronousServerSocketChannel getServerSocketChannel()
     {
         return serverSocketChannel;
@@ -52,6 +77,22 @@ public class AioServer
      */
     public void start()
     {
+        if (serverConfig.getTransportMode() == TransportMode.UNIX_DOMAIN)
+        {
+            // 在创建异步线程之前检查，避免启动失败之后残留线程
+            Verify.notNull(serverConfig.getUnixSocketPath(), "没有设置unixSocketPath");
+            UnixDomainSockets.checkSupported();
+            try
+            {
+                // 上一次运行残留的socket文件会导致绑定失败
+                UnixDomainSockets.removeStaleSocketFile(serverConfig.getUnixSocketPath());
+            }
+            catch (IOException e)
+            {
+                logger.error("服务器启动失败", e);
+                throw new RuntimeException(e);
+            }
+        }
         acceptCompleteHandler = new AcceptHandler(this, serverConfig);
         ThreadFactory threadFactory = new ThreadFactory() {
             int i = 1;
@@ -64,18 +105,31 @@ public class AioServer
         };
         try
         {
-            switch (serverConfig.getExecutorMode())
+            if (serverConfig.getTransportMode() == TransportMode.UNIX_DOMAIN)
             {
-                case FIX:
-                    channelGroup = AsynchronousChannelGroup.withFixedThreadPool(serverConfig.getSocketThreadSize(), threadFactory);
-                    break;
-                case CACHED:
-                    channelGroup = AsynchronousChannelGroup.withCachedThreadPool(Executors.newCachedThreadPool(threadFactory), serverConfig.getSocketThreadSize());
-                    break;
+                String path = serverConfig.getUnixSocketPath();
+                unixEventLoopGroup = new UnixEventLoopGroup(serverConfig.getSocketThreadSize(), "服务端socket线程-", false);
+                serverSocketChannel = UnixAsynchronousServerSocketChannel.open(unixEventLoopGroup).bind(UnixDomainSockets.address(path));
+            }
+            else
+            {
+                switch (serverConfig.getExecutorMode())
+                {
+                    case FIX:
+                        channelGroup = AsynchronousChannelGroup.withFixedThreadPool(serverConfig.getSocketThreadSize(), threadFactory);
+                        break;
+                    case CACHED:
+                        channelGroup = AsynchronousChannelGroup.withCachedThreadPool(Executors.newCachedThreadPool(threadFactory), serverConfig.getSocketThreadSize());
+                        break;
+                }
+                serverSocketChannel = AsynchronousServerSocketChannel.open(channelGroup).bind(new InetSocketAddress(serverConfig.getPort()));
             }
-            serverSocketChannel = AsynchronousServerSocketChannel.open(channelGroup).bind(new InetSocketAddress(serverConfig.getPort()));
             logger.info("监听启动");
             serverSocketChannel.accept(null, acceptCompleteHandler);
+            if (serverConfig.getMetricsDumpInterval() > 0)
+            {
+                metrics.startDump(serverConfig.getMetricsDumpInterval());
+            }
         }
         catch (IOException e)
         {
@@ -84,16 +138,47 @@ public class AioServer
         }
     }
     
+    /**
+     * 优雅的关闭服务器。首先停止接受新的链接，然后等待存活的通道将报文处理并写出完毕，并且静默shutdownQuietPeriod，最长等待shutdownTimeout。
+     * 之后关闭所有的通道，停止并等待异步线程退出，最后关闭socket线程组
+     */
     public void stop()
     {
         try
         {
+            long deadline = System.currentTimeMillis() + serverConfig.getShutdownTimeout();
+            acceptCompleteHandler.stopAccept();
+            serverSocketChannel.close();
+            if (acceptCompleteHandler.drain(deadline, serverConfig.getShutdownQuietPeriod()) == false)
+            {
+                logger.warn("等待通道排空超时，未写出的报文将被丢弃");
+            }
+            acceptCompleteHandler.closeChannels();
+            acceptCompleteHandler.stop();
+            if (acceptCompleteHandler.awaitTermination(Math.max(deadline - System.currentTimeMillis(), 1000), TimeUnit.MILLISECONDS) == false)
+            {
+                logger.warn("等待异步线程退出超时");
+            }
             if (channelGroup != null)
             {
                 channelGroup.shutdownNow();
                 channelGroup.awaitTermination(10, TimeUnit.SECONDS);
             }
-            acceptCompleteHandler.stop();
+            if (unixEventLoopGroup != null)
+            {
+                unixEventLoopGroup.shutdown();
+                unixEventLoopGroup.awaitTermination(10, TimeUnit.SECONDS);
+                try
+                {
+                    UnixDomainSockets.removeStaleSocketFile(serverConfig.getUnixSocketPath());
+                }
+                catch (IOException e)
+                {
+                    // 关闭期间路径被其他的文件或者服务端占用，不属于当前服务器，保留即可
+                    logger.warn("没有删除socket文件：{}", e.getMessage());
+                }
+            }
+            metrics.stopDump();
             logger.info("服务器关闭");
         }
         catch (Exception e)
@@ -1,9 +1,19 @@
 package com.jfireframework.jnet.server.CompletionHandler;
 
+import java.io.IOException;
+import java.net.SocketAddress;
 import java.nio.channels.AsynchronousCloseException;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.CompletionHandler;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import com.jfireframework.baseutil.concurrent.time.DefaultTimeoutHandler;
+import com.jfireframework.baseutil.concurrent.time.HierarchyWheelTimer;
+import com.jfireframework.baseutil.concurrent.time.Timer;
 import com.jfireframework.baseutil.disruptor.Disruptor;
 import com.jfireframework.baseutil.disruptor.EntryAction;
 import com.jfireframework.baseutil.disruptor.waitstrategy.BlockWaitStrategy;
@@ -16,23 +26,34 @@ import com.jfireframework.baseutil.verify.Verify;
 import com.jfireframework.jnet.common.channel.ChannelInitListener;
 import com.jfireframework.jnet.common.channel.impl.ServerChannel;
 import com.jfireframework.jnet.server.AioServer;
+import com.jfireframework.jnet.server.util.AdmissionPolicy;
 import com.jfireframework.jnet.server.util.AsyncTaskCenter;
+import com.jfireframework.jnet.server.util.IdleStateDetector;
 import com.jfireframework.jnet.server.util.ServerConfig;
 import com.jfireframework.jnet.server.util.ServerInternalResultAction;
-import com.jfireframework.jnet.server.util.WorkMode;
-import com.jfireframework.jnet.server.util.WriteMode;
+import com.jfireframework.jnet.server.util.ServerMetrics;
+import com.jfireframework.jnet.server.util.TokenBucket;
 
 public class AcceptHandler implements CompletionHandler<AsynchronousSocketChannel, Object>
 {
-    private AioServer             aioServer;
-    private Logger                logger = ConsoleLogFactory.getLogger();
-    private ChannelInitListener   initListener;
-    private final WorkMode        workMode;
-    private final WriteMode       writeMode;
-    private final AsyncTaskCenter asyncTaskCenter;
-    private final int             maxBatchWriteNum;
-    private final Disruptor       disruptor;
-    private final int             channelCapacity;
+    private AioServer                aioServer;
+    private Logger                   logger   = ConsoleLogFactory.getLogger();
+    private ChannelInitListener      initListener;
+    private final ServerConfig       serverConfig;
+    private final AsyncTaskCenter    asyncTaskCenter;
+    private final Disruptor          disruptor;
+    private final int                channelCapacity;
+    private final ServerMetrics      metrics;
+    private final IdleStateDetector  idleStateDetector;
+    private final AdmissionPolicy    admissionPolicy;
+    // 报文速率超限后用于恢复读取的时间轮，没有设置速率限制时为null
+    private final Timer              throttleTimer;
+    // 批量写出时等待批次填满的时间轮，没有设置lingerMicros时为null
+    private final Timer              lingerTimer;
+    // 所有存活的通道，用于关闭时的排空
+    private final Set<ServerChannel> channels = Collections.newSetFromMap(new ConcurrentHashMap<ServerChannel, Boolean>());
+    // 服务器正在关闭，不再接受新的链接
+    private volatile boolean         stopping = false;
     
     public AcceptHandler(AioServer aioServer, ServerConfig serverConfig)
     {
@@ -40,10 +61,9 @@ public class AcceptHandler implements CompletionHandler<AsynchronousSocketChanne
         channelCapacity = serverConfig.getChannelCapacity();
         Verify.notNull(initListener, "initListener不能为空");
         this.aioServer = aioServer;
-        maxBatchWriteNum = serverConfig.getMaxBatchWriteNum();
-        writeMode = serverConfig.getWriteMode();
-        workMode = serverConfig.getWorkMode();
-        asyncTaskCenter = new AsyncTaskCenter(serverConfig.getAsyncThreadSize(), workMode);
+        this.serverConfig = serverConfig;
+        metrics = aioServer.getMetrics();
+        asyncTaskCenter = new AsyncTaskCenter(serverConfig.getAsyncThreadSize(), serverConfig.getAsyncCapacity(), serverConfig.getWorkMode());
         EntryAction[] actions = new EntryAction[serverConfig.getAsyncThreadSize()];
         for (int i = 0; i < actions.length; i++)
         {
@@ -72,32 +92,185 @@ public class AcceptHandler implements CompletionHandler<AsynchronousSocketChanne
         {
             throw new UnSupportException("异步任务的容量必须大于异步线程数乘以通道容量的结果");
         }
+        idleStateDetector = serverConfig.isIdleDetectEnabled() ? new IdleStateDetector(serverConfig) : null;
+        admissionPolicy = serverConfig.buildAdmissionPolicy();
+        throttleTimer = serverConfig.getFrameRateLimit() > 0 ? new HierarchyWheelTimer(new int[] { 512, 64 }, 10, TimeUnit.MILLISECONDS, new DefaultTimeoutHandler()) : null;
+        // tick就是等待的时间，任务在1到2个tick之后执行。tick过小时时间轮线程会频繁唤醒，所以最小为100微秒
+        lingerTimer = serverConfig.getLingerMicros() > 0 ? new HierarchyWheelTimer(new int[] { 512, 64 }, Math.max(serverConfig.getLingerMicros(), 100), TimeUnit.MICROSECONDS, new DefaultTimeoutHandler()) : null;
+    }
+    
+    /**
+     * 停止接受新的链接。之后完成的accept会被直接关闭
+     */
+    public void stopAccept()
+    {
+        stopping = true;
+    }
+    
+    /**
+     * 等待所有存活的通道排空。排空期间通道仍然正常读取，客户端在关闭之前已经发出的请求都能得到处理。
+     * 当所有通道上的报文全部写出，并且所有通道都静默了quietPeriod毫秒没有读写时认为已经排空，超过截止时间则不再等待。
+     * 静默时间取所有通道中最近的一次读写，因为socket线程忙于处理其他通道时，某个通道已经到达的数据可能还没有被分派，单看该通道自己会误判为已经静默
+     * 
+     * @param deadline 截止时间，单位是毫秒
+     * @param quietPeriod 静默时间，单位是毫秒
+     * @return 是否在截止时间之前全部排空
+     */
+    public boolean drain(long deadline, long quietPeriod)
+    {
+        while (true)
+        {
+            boolean drained = true;
+            long lastActiveTime = 0;
+            for (ServerChannel each : channels)
+            {
+                if (each.getReadCompletionHandler().isDrained() == false)
+                {
+                    drained = false;
+                    break;
+                }
+                lastActiveTime = Math.max(lastActiveTime, Math.max(each.getLastReadTime(), each.getLastWriteTime()));
+            }
+            if (drained && System.currentTimeMillis() - lastActiveTime >= quietPeriod)
+            {
+                return true;
+            }
+            if (System.currentTimeMillis() >= deadline)
+            {
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+    
+    /**
+     * 关闭所有存活的通道，通道上挂起的读取会失败并且释放读取缓存
+     */
+    public void closeChannels()
+    {
+        for (ServerChannel each : channels)
+        {
+            each.closeChannel();
+        }
     }
     
     public void stop()
     {
         asyncTaskCenter.stop();
+        disruptor.stop();
+        if (idleStateDetector != null)
+        {
+            idleStateDetector.stop();
+        }
+        if (throttleTimer != null)
+        {
+            throttleTimer.stop();
+        }
+        if (lingerTimer != null)
+        {
+            lingerTimer.stop();
+        }
+    }
+    
+    /**
+     * 在stop之后调用，等待异步线程和disruptor的处理线程退出
+     * 
+     * @param timeout
+     * @param unit
+     * @return 是否在超时时间内全部退出
+     * @throws InterruptedException
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        boolean terminated = asyncTaskCenter.awaitTermination(timeout, unit);
+        return disruptor.awaitTermination(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS) && terminated;
     }
     
     @Override
     public void completed(AsynchronousSocketChannel socketChannel, Object attachment)
     {
+        if (stopping)
+        {
+            close(socketChannel);
+            return;
+        }
+        // 先发起下一次accept再处理当前的链接。读取可能在当前线程上直接完成并且执行处理器，放在最后的话，处理期间新的链接都无法被接受
         try
         {
-            ServerChannel channelInfo = new ServerChannel();
-            channelInfo.setCapacity(channelCapacity);
+            aioServer.getServerSocketChannel().accept(null, this);
+        }
+        catch (Exception e)
+        {
+            // 监听通道已经关闭或者通道组已经停止，当前的链接仍然需要处理或者关闭
+            logger.error("发起下一次accept失败", e);
+        }
+        ServerChannel channelInfo = null;
+        try
+        {
+            SocketAddress remoteAddress = null;
+            if (admissionPolicy != null)
+            {
+                remoteAddress = socketChannel.getRemoteAddress();
+                if (admissionPolicy.admit(remoteAddress) == false)
+                {
+                    // 在创建任何通道资源之前拒绝，代价只有一次close
+                    metrics.connectionRejected();
+                    close(socketChannel);
+                    return;
+                }
+            }
+            channelInfo = new ServerChannel();
             channelInfo.setChannel(socketChannel);
+            if (admissionPolicy != null)
+            {
+                channelInfo.admittedBy(admissionPolicy, remoteAddress);
+            }
+            channelInfo.setCapacity(channelCapacity);
             initListener.channelInit(channelInfo);
             Verify.notNull(channelInfo.getDataArray(), "没有设置entryArraySize");
             Verify.notNull(channelInfo.getFrameDecodec(), "没有设置framedecodec");
             Verify.notNull(channelInfo.getHandlers(), "没有设置Datahandler");
-            ReadCompletionHandler readCompletionHandler = new ReadCompletionHandler(channelInfo, workMode, asyncTaskCenter, writeMode, maxBatchWriteNum, disruptor);
+            ReadCompletionHandler readCompletionHandler = new ReadCompletionHandler(channelInfo, serverConfig, asyncTaskCenter, disruptor, metrics);
+            if (throttleTimer != null)
+            {
+                readCompletionHandler.setFrameLimiter(new TokenBucket(serverConfig.getFrameRateLimit(), serverConfig.getFrameBurst()), throttleTimer);
+            }
+            if (lingerTimer != null)
+            {
+                readCompletionHandler.setLingerTimer(lingerTimer);
+            }
+            metrics.connectionAccepted();
+            channelInfo.joinGroup(channels);
+            if (idleStateDetector != null)
+            {
+                idleStateDetector.register(channelInfo);
+            }
             readCompletionHandler.readAndWait();
-            aioServer.getServerSocketChannel().accept(null, this);
         }
         catch (Exception e)
         {
             logger.error("注册异常", e);
+            if (channelInfo != null)
+            {
+                // 关闭通道的同时会归还准入策略的计数
+                channelInfo.closeChannel();
+            }
+            else
+            {
+                close(socketChannel);
+            }
+        }
+    }
+    
+    private static void close(AsynchronousSocketChannel socketChannel)
+    {
+        try
+        {
+            socketChannel.close();
+        }
+        catch (IOException e)
+        {
         }
     }
     
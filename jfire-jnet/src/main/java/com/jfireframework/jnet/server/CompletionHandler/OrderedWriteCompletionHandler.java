@@ -5,39 +5,62 @@ import java.nio.channels.CompletionHandler;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Resource;
 import com.jfireframework.baseutil.collection.buffer.ByteBuf;
-import com.jfireframework.baseutil.collection.buffer.CompositeByteBuf;
+import com.jfireframework.baseutil.concurrent.UnsafeLongFieldUpdater;
+import com.jfireframework.baseutil.concurrent.time.TimeTask;
+import com.jfireframework.baseutil.concurrent.time.Timer;
 import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
 import com.jfireframework.baseutil.simplelog.Logger;
+import com.jfireframework.jnet.common.buffer.GatherBuffer;
 import com.jfireframework.jnet.common.channel.impl.ServerChannel;
 import com.jfireframework.jnet.common.result.ServerInternalTask;
+import com.jfireframework.jnet.server.util.ServerConfig;
+import com.jfireframework.jnet.server.util.WriteHistogram;
 import com.jfireframework.jnet.server.util.WriteMode;
 
 @Resource
 public class OrderedWriteCompletionHandler implements WriteCompletionHandler
 {
-    private volatile long                     cursor      = 0;
-    private final ReadCompletionHandler       readCompletionHandler;
-    private long                              wrapPoint   = 0;
-    private static final int                  retryPermit = 2;
-    private final ServerChannel               channelInfo;
-    private final WriteMode                   writeMode;
-    private final BatchWriteCompletionHandler batchWriteCompletionHandler;
-    private static final Logger               logger      = ConsoleLogFactory.getLogger();
-    private final int                         maxBatchWriteNum;
+    private volatile long                                                      cursor                     = 0;
+    private final ReadCompletionHandler                                        readCompletionHandler;
+    private long                                                               wrapPoint                  = 0;
+    private static final int                                                   retryPermit                = 2;
+    private final ServerChannel                                                channelInfo;
+    private final WriteMode                                                    writeMode;
+    private final BatchWriteCompletionHandler                                  batchWriteCompletionHandler;
+    private static final Logger                                                logger                     = ConsoleLogFactory.getLogger();
+    private final int                                                          maxBatchWriteNum;
+    private final int                                                          maxBatchBytes;
+    private final long                                                         lingerMicros;
+    // 批次未满时用于等待lingerMicros的时间轮，为null表示不等待
+    private Timer                                                              lingerTimer;
+    // 等待期间已经收集的最后一个数据的序号，由socket线程写入，时间轮线程读取，两者之间通过时间轮的任务队列保证可见性
+    private long                                                               lingerCursor;
+    private final LingerTask                                                   lingerTask                 = new LingerTask();
+    private final GatherBuffer                                                 gatherBuffer;
+    private final WriteHistogram                                               writeHistogram;
+    private static final UnsafeLongFieldUpdater<OrderedWriteCompletionHandler> updater                    = new UnsafeLongFieldUpdater<OrderedWriteCompletionHandler>(OrderedWriteCompletionHandler.class, "cursor");
+    // 心跳写出期间cursor被置为该值，此时所有数据的写出尝试都会因为版本号不符而放弃，读取线程也会因为没有空间而暂停
+    private static final long                                                  HEARTBEAT                  = -1;
+    private final HeartbeatCompletionHandler                                   heartbeatCompletionHandler = new HeartbeatCompletionHandler();
     
-    public OrderedWriteCompletionHandler(ReadCompletionHandler readCompletionHandler, ServerChannel channelInfo, WriteMode writeMode, int maxBatchWriteNum)
+    public OrderedWriteCompletionHandler(ReadCompletionHandler readCompletionHandler, ServerChannel channelInfo, ServerConfig serverConfig, WriteHistogram writeHistogram)
     {
         this.readCompletionHandler = readCompletionHandler;
         this.channelInfo = channelInfo;
-        this.writeMode = writeMode;
-        this.maxBatchWriteNum = maxBatchWriteNum;
+        this.writeHistogram = writeHistogram;
+        writeMode = serverConfig.getWriteMode();
+        maxBatchWriteNum = serverConfig.getMaxBatchWriteNum();
+        maxBatchBytes = serverConfig.getMaxBatchBytes();
+        lingerMicros = serverConfig.getLingerMicros();
         if (writeMode == WriteMode.SINGLE_WRITE)
         {
             batchWriteCompletionHandler = null;
+            gatherBuffer = null;
         }
         else
         {
             batchWriteCompletionHandler = new BatchWriteCompletionHandler();
+            gatherBuffer = new GatherBuffer(maxBatchWriteNum);
         }
     }
     
@@ -48,6 +71,7 @@ public class OrderedWriteCompletionHandler implements WriteCompletionHandler
     
     private void doSingleWrite(Integer writeTotal, ByteBuf<?> buf)
     {
+        channelInfo.decrPendingWrite(writeTotal);
         ByteBuffer buffer = buf.cachedNioBuffer();
         if (buffer.hasRemaining())
         {
@@ -83,7 +107,6 @@ public class OrderedWriteCompletionHandler implements WriteCompletionHandler
                         readCompletionHandler.reStartRead();
                         next.write(nextCursor);
                     }
-                    buf.release();
                     return;
                 }
                 tryCount += 1;
@@ -116,6 +139,7 @@ public class OrderedWriteCompletionHandler implements WriteCompletionHandler
     
     protected void doBatchWrite(Integer writeTotal, ByteBuf<?> buf)
     {
+        channelInfo.decrPendingWrite(writeTotal);
         ByteBuffer buffer = buf.cachedNioBuffer();
         if (buffer.hasRemaining())
         {
@@ -139,39 +163,16 @@ public class OrderedWriteCompletionHandler implements WriteCompletionHandler
                     ServerInternalTask next = (ServerInternalTask) channelInfo.getData(nextCursor);
                     if (next.tryWrite(nextCursor))
                     {
-                        CompositeByteBuf compositeByteBuf = new CompositeByteBuf();
-                        compositeByteBuf.addBuf((ByteBuf<?>) next.getData());
-                        int count = 1;
-                        while (count < maxBatchWriteNum)
+                        gatherBuffer.add((ByteBuf<?>) next.getData());
+                        nextCursor = gather(nextCursor);
+                        if (lingerTimer != null && gatherBuffer.count() < maxBatchWriteNum && gatherBuffer.bytes() < maxBatchBytes)
                         {
-                            nextCursor += 1;
-                            if (nextCursor < wrapPoint)
-                            {
-                                next = (ServerInternalTask) channelInfo.getData(nextCursor);
-                                if (next.tryWrite(nextCursor) == false)
-                                {
-                                    nextCursor -= 1;
-                                    break;
-                                }
-                                compositeByteBuf.addBuf((ByteBuf<?>) next.getData());
-                                count += 1;
-                            }
-                            else
-                            {
-                                nextCursor -= 1;
-                                tryCount += 1;
-                                if (tryCount < retryPermit)
-                                {
-                                    wrapPoint = readCompletionHandler.cursor();
-                                }
-                                else
-                                {
-                                    break;
-                                }
-                            }
+                            // 批次未满，由时间轮在lingerMicros之后再收集一次并写出。期间cursor没有前进，其他线程都不会尝试写出
+                            lingerCursor = nextCursor;
+                            lingerTimer.addTask(lingerTask, lingerMicros, TimeUnit.MICROSECONDS);
+                            return;
                         }
-                        cursor = nextCursor;
-                        channelInfo.getSocketChannel().write(compositeByteBuf.nioBuffers(), 0, compositeByteBuf.nioBuffers().length, 10, TimeUnit.SECONDS, compositeByteBuf, batchWriteCompletionHandler);
+                        flush(nextCursor);
                     }
                     else
                     {
@@ -206,9 +207,104 @@ public class OrderedWriteCompletionHandler implements WriteCompletionHandler
         }
     }
     
+    /**
+     * 从nextCursor之后开始继续收集已经处理完毕的数据，直到报文个数或者字节数达到上限，或者没有可以写出的数据。
+     * 
+     * @param nextCursor 最后一个已经被收集的数据的序号
+     * @return 最后一个被收集的数据的序号
+     */
+    private long gather(long nextCursor)
+    {
+        while (gatherBuffer.count() < maxBatchWriteNum && gatherBuffer.bytes() < maxBatchBytes)
+        {
+            long candidate = nextCursor + 1;
+            if (candidate >= wrapPoint)
+            {
+                wrapPoint = readCompletionHandler.cursor();
+            }
+            if (candidate < wrapPoint)
+            {
+                ServerInternalTask next = (ServerInternalTask) channelInfo.getData(candidate);
+                if (next.tryWrite(candidate))
+                {
+                    gatherBuffer.add((ByteBuf<?>) next.getData());
+                    nextCursor = candidate;
+                    continue;
+                }
+            }
+            break;
+        }
+        return nextCursor;
+    }
+    
+    /**
+     * 写出收集到的数据
+     * 
+     * @param lastCursor 最后一个被收集的数据的序号
+     */
+    private void flush(long lastCursor)
+    {
+        cursor = lastCursor;
+        writeHistogram.record(gatherBuffer.count(), gatherBuffer.bytes());
+        channelInfo.getSocketChannel().write(gatherBuffer.buffers(), 0, gatherBuffer.count(), 10, TimeUnit.SECONDS, gatherBuffer, batchWriteCompletionHandler);
+    }
+    
+    /**
+     * 设置批次未满时等待使用的时间轮。时间轮由所有的通道共享，等待期间不占用socket线程
+     * 
+     * @param lingerTimer
+     */
+    @Override
+    public void setLingerTimer(Timer lingerTimer)
+    {
+        this.lingerTimer = lingerTimer;
+    }
+    
+    @Override
+    public boolean writeHeartbeat(ByteBuf<?> heartbeat)
+    {
+        long current = cursor;
+        // 只有所有已经读取的数据都写出完毕，写出才是空闲的
+        if (current != readCompletionHandler.cursor())
+        {
+            return false;
+        }
+        // 在设置HEARTBEAT之前记录要恢复的序号，放弃心跳时写出完成器可能先于这里看到HEARTBEAT，需要通过该值恢复cursor。
+        // 心跳只由空闲检测的时间轮线程发起，上一次心跳已经恢复了cursor，这里不会覆盖正在使用的值
+        heartbeatCompletionHandler.savedCursor = current;
+        if (updater.compareAndSwap(this, current, HEARTBEAT) == false)
+        {
+            return false;
+        }
+        ServerInternalTask holding = null;
+        if (readCompletionHandler.cursor() != current)
+        {
+            // 设置之前读取线程已经放入了新的数据，可能有线程已经通过了版本号的检查。
+            // 抢占这个数据的写出许可，抢占失败说明该数据已经开始写出，此时恢复cursor放弃心跳
+            ServerInternalTask next = (ServerInternalTask) channelInfo.getData(current);
+            if (next.takePermission(current) == false)
+            {
+                // 该数据的写出完成时可能已经恢复了cursor并继续写出，所以只在cursor仍然是HEARTBEAT时恢复
+                updater.compareAndSwap(this, HEARTBEAT, current);
+                return false;
+            }
+            holding = next;
+        }
+        heartbeatCompletionHandler.holding = holding;
+        channelInfo.incrPendingWrite(heartbeat.remainRead());
+        channelInfo.getSocketChannel().write(heartbeat.cachedNioBuffer(), 10, TimeUnit.SECONDS, heartbeat, heartbeatCompletionHandler);
+        return true;
+    }
+    
     @Override
     public void completed(Integer writeTotal, ByteBuf<?> buf)
     {
+        // 数据写出期间cursor是HEARTBEAT，只可能是心跳没有抢到这个数据的写出许可，正在放弃的过程中。
+        // 此时由这里恢复cursor，不需要等待心跳线程
+        if (cursor == HEARTBEAT)
+        {
+            updater.compareAndSwap(this, HEARTBEAT, heartbeatCompletionHandler.savedCursor);
+        }
         if (writeMode == WriteMode.SINGLE_WRITE)
         {
             doSingleWrite(writeTotal, buf);
@@ -227,37 +323,106 @@ public class OrderedWriteCompletionHandler implements WriteCompletionHandler
         readCompletionHandler.catchThrowable(exc);
     }
     
-    class BatchWriteCompletionHandler implements CompletionHandler<Long, CompositeByteBuf>
+    /**
+     * 等待结束后再收集一次并写出。在时间轮线程中执行，只发起写出，不执行任何处理器
+     */
+    class LingerTask implements TimeTask
     {
         
         @Override
-        public void completed(Long result, CompositeByteBuf composeteByteBuf)
+        public void invoke()
         {
-            ByteBuffer[] buffers = composeteByteBuf.nioBuffers();
-            int index = 0;
-            for (; index < buffers.length; index++)
+            try
             {
-                if (buffers[index].hasRemaining())
+                flush(gather(lingerCursor));
+            }
+            catch (Exception e)
+            {
+                gatherBuffer.release();
+                readCompletionHandler.catchThrowable(e);
+            }
+        }
+    }
+    
+    class HeartbeatCompletionHandler implements CompletionHandler<Integer, ByteBuf<?>>
+    {
+        private long               savedCursor;
+        // 心跳写出期间抢占了写出许可的数据
+        private ServerInternalTask holding;
+        
+        @Override
+        public void completed(Integer result, ByteBuf<?> heartbeat)
+        {
+            channelInfo.decrPendingWrite(result);
+            ByteBuffer buffer = heartbeat.cachedNioBuffer();
+            if (buffer.hasRemaining())
+            {
+                channelInfo.getSocketChannel().write(buffer, 10, TimeUnit.SECONDS, heartbeat, this);
+                return;
+            }
+            heartbeat.release();
+            ServerInternalTask task = holding;
+            holding = null;
+            // 恢复cursor之后下一次心跳就可能修改savedCursor，先保存到局部变量
+            long savedCursor = this.savedCursor;
+            cursor = savedCursor;
+            readCompletionHandler.reStartRead();
+            try
+            {
+                if (task != null)
                 {
-                    break;
+                    if (task.isDone())
+                    {
+                        // 已经持有写出许可，直接写出即可
+                        channelInfo.getSocketChannel().write(((ByteBuf<?>) task.getData()).cachedNioBuffer(), 10, TimeUnit.SECONDS, (ByteBuf<?>) task.getData(), OrderedWriteCompletionHandler.this);
+                        return;
+                    }
+                    task.releasePermission(savedCursor);
                 }
+                // 心跳期间处理完毕的数据因为版本号不符而放弃了写出，这里需要再尝试一次
+                if (savedCursor < readCompletionHandler.cursor())
+                {
+                    ((ServerInternalTask) channelInfo.getData(savedCursor)).write(savedCursor);
+                }
+            }
+            catch (Exception e)
+            {
+                readCompletionHandler.catchThrowable(e);
             }
-            if (index == buffers.length)
+        }
+        
+        @Override
+        public void failed(Throwable exc, ByteBuf<?> heartbeat)
+        {
+            logger.error("error", exc);
+            heartbeat.release();
+            readCompletionHandler.catchThrowable(exc);
+        }
+    }
+    
+    class BatchWriteCompletionHandler implements CompletionHandler<Long, GatherBuffer>
+    {
+        
+        @Override
+        public void completed(Long result, GatherBuffer gatherBuffer)
+        {
+            channelInfo.decrPendingWrite(result);
+            if (gatherBuffer.skipWritten())
             {
-                composeteByteBuf.release();
+                gatherBuffer.release();
                 writeNextInBatch();
             }
             else
             {
-                channelInfo.getSocketChannel().write(buffers, index, buffers.length - index, 10, TimeUnit.SECONDS, composeteByteBuf, this);
+                channelInfo.getSocketChannel().write(gatherBuffer.buffers(), gatherBuffer.offset(), gatherBuffer.remainCount(), 10, TimeUnit.SECONDS, gatherBuffer, this);
             }
         }
         
         @Override
-        public void failed(Throwable exc, CompositeByteBuf composeteByteBuf)
+        public void failed(Throwable exc, GatherBuffer gatherBuffer)
         {
             logger.error("error", exc);
-            composeteByteBuf.release();
+            gatherBuffer.release();
             readCompletionHandler.catchThrowable(exc);
         }
         
@@ -6,6 +6,8 @@ import java.util.concurrent.TimeUnit;
 import com.jfireframework.baseutil.collection.buffer.ByteBuf;
 import com.jfireframework.baseutil.collection.buffer.DirectByteBuf;
 import com.jfireframework.baseutil.concurrent.CpuCachePadingInt;
+import com.jfireframework.baseutil.concurrent.time.TimeTask;
+import com.jfireframework.baseutil.concurrent.time.Timer;
 import com.jfireframework.baseutil.disruptor.Disruptor;
 import com.jfireframework.baseutil.disruptor.Sequence;
 import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
@@ -18,15 +20,20 @@ import com.jfireframework.jnet.common.exception.NotFitProtocolException;
 import com.jfireframework.jnet.common.handler.DataHandler;
 import com.jfireframework.jnet.common.result.ServerInternalTask;
 import com.jfireframework.jnet.server.util.AsyncTaskCenter;
+import com.jfireframework.jnet.server.util.ReadBufferMode;
+import com.jfireframework.jnet.server.util.ServerConfig;
+import com.jfireframework.jnet.server.util.ServerMetrics;
+import com.jfireframework.jnet.server.util.TokenBucket;
 import com.jfireframework.jnet.server.util.WorkMode;
-import com.jfireframework.jnet.server.util.WriteMode;
 
 public class ReadCompletionHandler implements CompletionHandler<Integer, ServerChannel>
 {
     private static final Logger          logger         = ConsoleLogFactory.getLogger();
+    // 恢复读取时使用的空缓存，没有剩余空间的读取不会访问缓存，所以可以共享
+    private static final ByteBuffer      EMPTY          = ByteBuffer.allocate(0);
     private final FrameDecodec           frameDecodec;
     private final DataHandler[]          handlers;
-    private final DirectByteBuf          ioBuf          = DirectByteBuf.allocate(100);
+    private DirectByteBuf                ioBuf;
     private final ServerChannel          serverChannel;
     private final CpuCachePadingInt      readState      = new CpuCachePadingInt(IN_READ);
     public final static int              IN_READ        = 1;
@@ -47,28 +54,83 @@ public class ReadCompletionHandler implements CompletionHandler<Integer, ServerC
     private final AsyncTaskCenter        asyncTaskCenter;
     private final int                    capacity;
     private final Disruptor              disruptor;
+    private final ReadBufferMode         readBufferMode;
+    private final int                    readBufferSize;
+    private final int                    idleBufferLimit;
+    private final ServerMetrics          metrics;
+    // 报文速率限制，为null表示不限制
+    private TokenBucket                  frameLimiter;
+    private Timer                        throttleTimer;
+    private TimeTask                     resumeTask;
+    // 时间轮中是否已经有等待执行的恢复任务，避免读取被写出线程提前恢复后重复放入
+    private volatile boolean             resumeScheduled;
+    // 读取缓存中的数据已经全部处理完毕，正在等待socket上的新数据。用于关闭时判断通道是否排空
+    private volatile boolean             awaitingData;
     
-    public ReadCompletionHandler(ServerChannel serverChannel, WorkMode workMode, AsyncTaskCenter asyncTaskCenter, WriteMode writeMode, int maxBatchWriteNum, Disruptor disruptor)
+    public ReadCompletionHandler(ServerChannel serverChannel, ServerConfig serverConfig, AsyncTaskCenter asyncTaskCenter, Disruptor disruptor, ServerMetrics metrics)
     {
         this.disruptor = disruptor;
+        this.metrics = metrics;
         this.asyncTaskCenter = asyncTaskCenter;
-        this.workMode = workMode;
         this.serverChannel = serverChannel;
+        workMode = serverConfig.getWorkMode();
+        readBufferMode = serverConfig.getReadBufferMode();
+        readBufferSize = serverConfig.getReadBufferSize();
+        idleBufferLimit = serverConfig.getIdleBufferLimit();
+        ioBuf = DirectByteBuf.allocate(readBufferSize);
         capacity = serverChannel.capacity();
         frameDecodec = serverChannel.getFrameDecodec();
         handlers = serverChannel.getHandlers();
+        serverChannel.setReadCompletionHandler(this);
         readTimeout = serverChannel.getReadTimeout();
-        waitTimeout = serverChannel.getWaitTimeout();
+        // 启用空闲检测后，等待读取不再设置超时，由空闲检测负责
+        waitTimeout = serverConfig.isIdleDetectEnabled() ? 0 : serverChannel.getWaitTimeout();
         if (workMode == WorkMode.ASYNC_WITHOUT_ORDER)
         {
-            writeCompletionHandler = new UnOrderedWriteCompletionHandler(this, serverChannel, maxBatchWriteNum);
+            writeCompletionHandler = new UnOrderedWriteCompletionHandler(this, serverChannel, serverConfig, metrics.getWriteHistogram());
         }
         else
         {
-            writeCompletionHandler = new OrderedWriteCompletionHandler(this, serverChannel, writeMode, maxBatchWriteNum);
+            writeCompletionHandler = new OrderedWriteCompletionHandler(this, serverChannel, serverConfig, metrics.getWriteHistogram());
         }
     }
     
+    /**
+     * 启用报文速率限制。令牌不足时暂停读取，由时间轮在产生新的令牌后恢复。
+     * 时间轮只有一个线程并且由所有的通道共享，所以恢复任务只负责切换读取状态并且发起一个空的读取，
+     * 空的读取会立刻以0个字节完成，由通道组的线程回调completed，解码和处理器都在通道组的线程中执行
+     * 
+     * @param frameLimiter
+     * @param throttleTimer
+     */
+    public void setFrameLimiter(TokenBucket frameLimiter, Timer throttleTimer)
+    {
+        this.frameLimiter = frameLimiter;
+        this.throttleTimer = throttleTimer;
+        resumeTask = new TimeTask() {
+            
+            @Override
+            public void invoke()
+            {
+                resumeScheduled = false;
+                if (serverChannel.isOpen() && readState.compareAndSwap(OUT_OF_READ, IN_READ))
+                {
+                    serverChannel.getSocketChannel().read(EMPTY, serverChannel, ReadCompletionHandler.this);
+                }
+            }
+        };
+    }
+    
+    /**
+     * 批量写出时批次未满，不在socket线程上等待，而是由时间轮在lingerMicros之后再收集一次并写出
+     * 
+     * @param lingerTimer
+     */
+    public void setLingerTimer(Timer lingerTimer)
+    {
+        writeCompletionHandler.setLingerTimer(lingerTimer);
+    }
+    
     @Override
     public void completed(Integer read, ServerChannel channelInfo)
     {
@@ -77,14 +139,25 @@ public class ReadCompletionHandler implements CompletionHandler<Integer, ServerC
             channelInfo.closeChannel();
             return;
         }
-        ioBuf.addWriteIndex(read);
+        awaitingData = false;
+        // 读取到0个字节只可能是限速的恢复任务发起的空读取，此时没有收到数据，不能刷新空闲检测的时间
+        if (read > 0)
+        {
+            ioBuf.addWriteIndex(read);
+            serverChannel.markRead();
+            metrics.bytesRead(read);
+        }
         doRead();
     }
     
     @Override
     public void failed(Throwable exc, ServerChannel channelInfo)
     {
-        catchThrowable(exc);
+        // 通道已经被主动关闭，读取失败是预期之内的，不需要再交给处理器
+        if (serverChannel.isOpen())
+        {
+            catchThrowable(exc);
+        }
         ioBuf.release();
     }
     
@@ -211,16 +284,46 @@ public class ReadCompletionHandler implements CompletionHandler<Integer, ServerC
                 }
                 return OUT_OF_READ;
             }
+            // 等待写出的数据超过了高水位，暂停读取，直到写出线程将通道恢复为可写
+            if (serverChannel.isWritable() == false)
+            {
+                readState.set(OUT_OF_READ);
+                // 与上面一样，设置之后必须再检查一次，避免通道恢复可写的通知发生在设置之前
+                if (serverChannel.isWritable() == false || readState.compareAndSwap(OUT_OF_READ, IN_READ) == false)
+                {
+                    return OUT_OF_READ;
+                }
+            }
+            // 超过了报文速率，暂停读取。恢复由时间轮负责，所以这里不需要像上面一样再检查一次
+            if (frameLimiter != null && frameLimiter.hasPermit() == false)
+            {
+                readState.set(OUT_OF_READ);
+                metrics.readThrottled();
+                // 先设置读取状态再检查标识，恢复任务则是先清除标识再检查读取状态，两者至少有一方能看到对方的修改
+                if (resumeScheduled == false)
+                {
+                    resumeScheduled = true;
+                    throttleTimer.addTask(resumeTask, Math.max(TimeUnit.NANOSECONDS.toMillis(frameLimiter.nanosToNextPermit()), 1), TimeUnit.MILLISECONDS);
+                }
+                return OUT_OF_READ;
+            }
             Object intermediateResult = frameDecodec.decodec(ioBuf);
             if (intermediateResult == null)
             {
                 return IN_READ;
             }
+            if (frameLimiter != null)
+            {
+                frameLimiter.take();
+            }
+            metrics.frameDecoded(cursor - writeCompletionHandler.cursor());
             if (workMode == WorkMode.ASYNC_WITHOUT_ORDER)
             {
                 ServerInternalTask task = asyncTaskCenter.askFor();
                 task.init(-1, intermediateResult, serverChannel, this, writeCompletionHandler, 0);
                 sequence.set(cursor + 1);
+                task.setDispatchTime(System.nanoTime());
+                metrics.asyncEnqueued();
                 asyncTaskCenter.addTask(task);
                 if (ioBuf.remainRead() == 0)
                 {
@@ -236,6 +339,7 @@ public class ReadCompletionHandler implements CompletionHandler<Integer, ServerC
                 {
                     case MIX_WITH_ORDER:
                     {
+                        long start = System.nanoTime();
                         for (int i = 0; i < handlers.length;)
                         {
                             intermediateResult = handlers[i].handle(intermediateResult, task);
@@ -253,6 +357,7 @@ public class ReadCompletionHandler implements CompletionHandler<Integer, ServerC
                                 i = task.getIndex();
                             }
                         }
+                        metrics.handlerLatency(System.nanoTime() - start);
                         if (intermediateResult instanceof ByteBuf<?>)
                         {
                             task.setData(intermediateResult);
@@ -264,6 +369,7 @@ public class ReadCompletionHandler implements CompletionHandler<Integer, ServerC
                     }
                     case SYNC_WITH_ORDER:
                     {
+                        long start = System.nanoTime();
                         for (int i = 0; i < handlers.length;)
                         {
                             intermediateResult = handlers[i].handle(intermediateResult, task);
@@ -277,6 +383,7 @@ public class ReadCompletionHandler implements CompletionHandler<Integer, ServerC
                                 i = task.getIndex();
                             }
                         }
+                        metrics.handlerLatency(System.nanoTime() - start);
                         if (intermediateResult instanceof ByteBuf<?>)
                         {
                             task.setData(intermediateResult);
@@ -288,6 +395,8 @@ public class ReadCompletionHandler implements CompletionHandler<Integer, ServerC
                     }
                     case ASYNC_WITH_ORDER:
                     {
+                        task.setDispatchTime(System.nanoTime());
+                        metrics.asyncEnqueued();
                         disruptor.publish(task);
                         break;
                     }
@@ -313,9 +422,27 @@ public class ReadCompletionHandler implements CompletionHandler<Integer, ServerC
     public void readAndWait()
     {
         startCountdown = false;
+        awaitingData = true;
+        if (readBufferMode == ReadBufferMode.POOLED)
+        {
+            shrinkIfIdle();
+        }
         serverChannel.getSocketChannel().read(getWriteBuffer(), waitTimeout, TimeUnit.MILLISECONDS, serverChannel, this);
     }
     
+    /**
+     * 如果当前没有未处理完的数据，并且读取缓存超过了空闲上限，则将缓存归还给内存池，重新借用一个初始大小的缓存。
+     * 由于aio的读取必须在发起时就提供缓存，所以空闲的通道仍然会持有一个初始大小的缓存
+     */
+    private void shrinkIfIdle()
+    {
+        if (ioBuf.remainRead() == 0 && ioBuf.size() > idleBufferLimit)
+        {
+            ioBuf.release();
+            ioBuf = DirectByteBuf.allocate(readBufferSize);
+        }
+    }
+    
     /**
      * 将iobuf的内容进行压缩，返回一个处于可写状态的ByteBuffer
      * 
@@ -324,6 +451,7 @@ public class ReadCompletionHandler implements CompletionHandler<Integer, ServerC
     private ByteBuffer getWriteBuffer()
     {
         ioBuf.compact();
+        serverChannel.recordReadBufferSize(ioBuf.size());
         ByteBuffer ioBuffer = ioBuf.nioBuffer();
         ioBuffer.position(ioBuffer.limit()).limit(ioBuffer.capacity());
         return ioBuffer;
@@ -355,13 +483,40 @@ public class ReadCompletionHandler implements CompletionHandler<Integer, ServerC
         return time;
     }
     
+    public boolean writeHeartbeat(ByteBuf<?> heartbeat)
+    {
+        return writeCompletionHandler.writeHeartbeat(heartbeat);
+    }
+    
     public void handleAsync(ServerInternalTask task)
     {
+        task.setDispatchTime(System.nanoTime());
+        metrics.asyncEnqueued();
         asyncTaskCenter.addTask(task);
     }
     
+    public ServerMetrics getMetrics()
+    {
+        return metrics;
+    }
+    
     public long cursor()
     {
         return sequence.value();
     }
+    
+    /**
+     * 通道上是否没有待处理的报文，也就是读取缓存中的数据都已经解码，所有已经解码的报文都写出完毕，并且没有等待写出的数据。
+     * 一次读取可能包含多个报文，所以不能只看序号，还需要确认通道正在等待新的数据
+     * 
+     * @return
+     */
+    public boolean isDrained()
+    {
+        if (serverChannel.isOpen() == false)
+        {
+            return true;
+        }
+        return awaitingData && sequence.value() == writeCompletionHandler.cursor() && serverChannel.pendingWriteBytes() == 0;
+    }
 }
@@ -4,12 +4,17 @@ import java.nio.ByteBuffer;
 import java.nio.channels.CompletionHandler;
 import java.util.concurrent.TimeUnit;
 import com.jfireframework.baseutil.collection.buffer.ByteBuf;
-import com.jfireframework.baseutil.collection.buffer.CompositeByteBuf;
 import com.jfireframework.baseutil.concurrent.MPSCLinkedQueue;
+import com.jfireframework.baseutil.concurrent.UnsafeLongFieldUpdater;
 import com.jfireframework.baseutil.concurrent.UnsafeReferenceFieldUpdater;
+import com.jfireframework.baseutil.concurrent.time.TimeTask;
+import com.jfireframework.baseutil.concurrent.time.Timer;
 import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
 import com.jfireframework.baseutil.simplelog.Logger;
+import com.jfireframework.jnet.common.buffer.GatherBuffer;
 import com.jfireframework.jnet.common.channel.impl.ServerChannel;
+import com.jfireframework.jnet.server.util.ServerConfig;
+import com.jfireframework.jnet.server.util.WriteHistogram;
 
 public class UnOrderedWriteCompletionHandler implements WriteCompletionHandler
 {
@@ -21,6 +26,18 @@ public class UnOrderedWriteCompletionHandler implements WriteCompletionHandler
     private static final UnsafeReferenceFieldUpdater<UnOrderedWriteCompletionHandler, WritePermission> updater                     = new UnsafeReferenceFieldUpdater<>(UnOrderedWriteCompletionHandler.class, "writePermission");
     private final MPSCLinkedQueue<ByteBuf<?>>                                                          bufQueue                    = new MPSCLinkedQueue<ByteBuf<?>>();
     private final int                                                                                  maxBatchWriteNum;
+    private final int                                                                                  maxBatchBytes;
+    private final long                                                                                 lingerMicros;
+    // 批次未满时用于等待lingerMicros的时间轮，为null表示不等待
+    private Timer                                                                                      lingerTimer;
+    private final LingerTask                                                                           lingerTask                  = new LingerTask();
+    private final GatherBuffer                                                                         gatherBuffer;
+    private final WriteHistogram                                                                       writeHistogram;
+    // 写出的心跳报文个数。心跳不占用通道的容量，计算cursor时需要扣除，该值只会被空闲检测线程修改
+    private volatile long                                                                              heartbeats                  = 0;
+    // 延迟的响应最终没有写出任何数据的报文个数，这些报文同样需要释放占用的通道容量。可能被任意线程修改
+    private volatile long                                                                              skipped                     = 0;
+    private static final UnsafeLongFieldUpdater<UnOrderedWriteCompletionHandler>                       skippedUpdater              = new UnsafeLongFieldUpdater<UnOrderedWriteCompletionHandler>(UnOrderedWriteCompletionHandler.class, "skipped");
     private final BatchWriteCompletionHandler                                                          batchWriteCompletionHandler = new BatchWriteCompletionHandler();
     
     private static final class WritePermission
@@ -43,9 +60,13 @@ public class UnOrderedWriteCompletionHandler implements WriteCompletionHandler
         
     }
     
-    public UnOrderedWriteCompletionHandler(ReadCompletionHandler readCompletionHandler, ServerChannel channelInfo, int maxBatchWriteNum)
+    public UnOrderedWriteCompletionHandler(ReadCompletionHandler readCompletionHandler, ServerChannel channelInfo, ServerConfig serverConfig, WriteHistogram writeHistogram)
     {
-        this.maxBatchWriteNum = maxBatchWriteNum;
+        maxBatchWriteNum = serverConfig.getMaxBatchWriteNum();
+        maxBatchBytes = serverConfig.getMaxBatchBytes();
+        lingerMicros = serverConfig.getLingerMicros();
+        gatherBuffer = new GatherBuffer(maxBatchWriteNum);
+        this.writeHistogram = writeHistogram;
         this.readCompletionHandler = readCompletionHandler;
         this.serverChannel = channelInfo;
     }
@@ -53,6 +74,7 @@ public class UnOrderedWriteCompletionHandler implements WriteCompletionHandler
     public void askToWrite(ByteBuf<?> buf)
     {
         
+        serverChannel.incrPendingWrite(buf.remainRead());
         WritePermission current = writePermission;
         bufQueue.offer(buf);
         if (current.state == WritePermission.UN_take && current == writePermission)
@@ -68,12 +90,33 @@ public class UnOrderedWriteCompletionHandler implements WriteCompletionHandler
     
     public long cursor()
     {
-        return cursor;
+        return cursor + skipped - heartbeats;
+    }
+    
+    /**
+     * 延迟的响应经过后续的处理器之后没有需要写出的数据时调用，释放该报文占用的通道容量
+     */
+    public void skip()
+    {
+        skippedUpdater.getAndIncrement(this);
+        readCompletionHandler.reStartRead();
+    }
+    
+    /**
+     * 无序模式下心跳报文和普通数据一样排队写出即可
+     */
+    @Override
+    public boolean writeHeartbeat(ByteBuf<?> heartbeat)
+    {
+        heartbeats += 1;
+        askToWrite(heartbeat);
+        return true;
     }
     
     @Override
     public void completed(Integer writeTotal, ByteBuf<?> buf)
     {
+        serverChannel.decrPendingWrite(writeTotal);
         ByteBuffer buffer = buf.cachedNioBuffer();
         if (buffer.hasRemaining())
         {
@@ -92,16 +135,14 @@ public class UnOrderedWriteCompletionHandler implements WriteCompletionHandler
             readCompletionHandler.reStartRead();
             if (bufQueue.isEmpty() == false)
             {
-                int count = 0;
-                CompositeByteBuf compositeByteBuf = new CompositeByteBuf();
-                ByteBuf<?> nextBuf = null;
-                while (count < maxBatchWriteNum && (nextBuf = bufQueue.poll()) != null)
+                gather();
+                if (lingerTimer != null && gatherBuffer.count() < maxBatchWriteNum && gatherBuffer.bytes() < maxBatchBytes)
                 {
-                    compositeByteBuf.addBuf(nextBuf);
-                    count += 1;
+                    // 批次未满，由时间轮在lingerMicros之后再收集一次并写出。期间仍然持有写出许可，新的数据只会进入队列
+                    lingerTimer.addTask(lingerTask, lingerMicros, TimeUnit.MICROSECONDS);
+                    return;
                 }
-                cursor += count - 1;
-                serverChannel.getSocketChannel().write(compositeByteBuf.nioBuffers(), 0, count, 10, TimeUnit.SECONDS, compositeByteBuf, batchWriteCompletionHandler);
+                flush();
             }
             else
             {
@@ -132,6 +173,41 @@ public class UnOrderedWriteCompletionHandler implements WriteCompletionHandler
         }
     }
     
+    /**
+     * 从队列中收集待写出的数据，直到报文个数或者字节数达到上限，或者队列为空
+     */
+    private void gather()
+    {
+        while (gatherBuffer.count() < maxBatchWriteNum && gatherBuffer.bytes() < maxBatchBytes)
+        {
+            ByteBuf<?> nextBuf = bufQueue.poll();
+            if (nextBuf == null)
+            {
+                break;
+            }
+            gatherBuffer.add(nextBuf);
+        }
+    }
+    
+    private void flush()
+    {
+        int count = gatherBuffer.count();
+        cursor += count - 1;
+        writeHistogram.record(count, gatherBuffer.bytes());
+        serverChannel.getSocketChannel().write(gatherBuffer.buffers(), 0, count, 10, TimeUnit.SECONDS, gatherBuffer, batchWriteCompletionHandler);
+    }
+    
+    /**
+     * 设置批次未满时等待使用的时间轮。时间轮由所有的通道共享，等待期间不占用socket线程
+     * 
+     * @param lingerTimer
+     */
+    @Override
+    public void setLingerTimer(Timer lingerTimer)
+    {
+        this.lingerTimer = lingerTimer;
+    }
+    
     @Override
     public void failed(Throwable exc, ByteBuf<?> buf)
     {
@@ -139,37 +215,51 @@ public class UnOrderedWriteCompletionHandler implements WriteCompletionHandler
         readCompletionHandler.catchThrowable(exc);
     }
     
-    class BatchWriteCompletionHandler implements CompletionHandler<Long, CompositeByteBuf>
+    /**
+     * 等待结束后再收集一次并写出。在时间轮线程中执行，只发起写出，不执行任何处理器
+     */
+    class LingerTask implements TimeTask
     {
         
         @Override
-        public void completed(Long result, CompositeByteBuf composeteByteBuf)
+        public void invoke()
         {
-            ByteBuffer[] buffers = composeteByteBuf.nioBuffers();
-            int index = 0;
-            for (; index < buffers.length; index++)
+            try
             {
-                if (buffers[index].hasRemaining())
-                {
-                    break;
-                }
+                gather();
+                flush();
+            }
+            catch (Exception e)
+            {
+                gatherBuffer.release();
+                readCompletionHandler.catchThrowable(e);
             }
-            if (index == buffers.length)
+        }
+    }
+    
+    class BatchWriteCompletionHandler implements CompletionHandler<Long, GatherBuffer>
+    {
+        
+        @Override
+        public void completed(Long result, GatherBuffer gatherBuffer)
+        {
+            serverChannel.decrPendingWrite(result);
+            if (gatherBuffer.skipWritten())
             {
-                composeteByteBuf.release();
+                gatherBuffer.release();
                 writeNextInBatch();
             }
             else
             {
-                serverChannel.getSocketChannel().write(buffers, index, buffers.length - index, 10, TimeUnit.SECONDS, composeteByteBuf, this);
+                serverChannel.getSocketChannel().write(gatherBuffer.buffers(), gatherBuffer.offset(), gatherBuffer.remainCount(), 10, TimeUnit.SECONDS, gatherBuffer, this);
             }
         }
         
         @Override
-        public void failed(Throwable exc, CompositeByteBuf composeteByteBuf)
+        public void failed(Throwable exc, GatherBuffer gatherBuffer)
         {
             logger.error("error", exc);
-            composeteByteBuf.release();
+            gatherBuffer.release();
             readCompletionHandler.catchThrowable(exc);
         }
         
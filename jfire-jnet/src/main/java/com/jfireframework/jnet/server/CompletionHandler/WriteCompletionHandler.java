@@ -2,8 +2,24 @@ package com.jfireframework.jnet.server.CompletionHandler;
 
 import java.nio.channels.CompletionHandler;
 import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.concurrent.time.Timer;
 
 public interface WriteCompletionHandler extends CompletionHandler<Integer, ByteBuf<?>>
 {
     public long cursor();
+    
+    /**
+     * 在写出空闲的时候写出一个心跳报文，写出完毕后释放。如果当前有数据正在写出，则返回false，此时心跳报文需要由调用者释放
+     * 
+     * @param heartbeat
+     * @return
+     */
+    public boolean writeHeartbeat(ByteBuf<?> heartbeat);
+    
+    /**
+     * 设置批量写出时批次未满用于等待的时间轮，为null表示不等待
+     * 
+     * @param lingerTimer
+     */
+    public void setLingerTimer(Timer lingerTimer);
 }
@@ -0,0 +1,31 @@
+package com.jfireframework.jnet.server;
+
+import com.jfireframework.jnet.server.util.ServerMetrics;
+import com.jfireframework.jnet.server.util.WriteHistogram;
+
+/**
+ * 服务端的统一接口。aio和nio两种传输方式的服务器都实现了该接口，可以通过ServerFactory根据配置创建
+ * 
+ * @author linbin
+ * 
+ */
+public interface JnetServer
+{
+    public void start();
+    
+    public void stop();
+    
+    /**
+     * 返回批量写出的统计直方图
+     * 
+     * @return
+     */
+    public WriteHistogram getWriteHistogram();
+    
+    /**
+     * 返回服务器的统计指标，可以随时拉取
+     * 
+     * @return
+     */
+    public ServerMetrics getMetrics();
+}
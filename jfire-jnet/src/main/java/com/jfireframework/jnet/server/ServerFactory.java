@@ -0,0 +1,28 @@
+package com.jfireframework.jnet.server;
+
+import com.jfireframework.baseutil.exception.UnSupportException;
+import com.jfireframework.jnet.server.nio.NioServer;
+import com.jfireframework.jnet.server.util.ServerConfig;
+
+public class ServerFactory
+{
+    /**
+     * 根据配置中的传输方式创建对应的服务器
+     * 
+     * @param serverConfig
+     * @return
+     */
+    public static JnetServer newServer(ServerConfig serverConfig)
+    {
+        switch (serverConfig.getTransportMode())
+        {
+            case AIO:
+            case UNIX_DOMAIN:
+                return new AioServer(serverConfig);
+            case NIO:
+                return new NioServer(serverConfig);
+            default:
+                throw new UnSupportException("不应该走到这一步");
+        }
+    }
+}
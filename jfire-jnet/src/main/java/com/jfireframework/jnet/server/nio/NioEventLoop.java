@@ -0,0 +1,192 @@
+package com.jfireframework.jnet.server.nio;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import com.jfireframework.baseutil.concurrent.MPSCLinkedQueue;
+import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
+import com.jfireframework.baseutil.simplelog.Logger;
+import com.jfireframework.baseutil.verify.Verify;
+import com.jfireframework.jnet.common.channel.ChannelInitListener;
+import com.jfireframework.jnet.server.util.ServerConfig;
+import com.jfireframework.jnet.server.util.ServerMetrics;
+
+/**
+ * 事件循环。一个线程持有一个Selector，分配到该循环的链接的所有读写都在这个线程中完成。
+ * 其他线程需要操作链接时，通过execute将任务投递到循环中执行
+ * 
+ * @author linbin
+ * 
+ */
+public class NioEventLoop implements Runnable
+{
+    private static final Logger             logger  = ConsoleLogFactory.getLogger();
+    private final Selector                  selector;
+    private final MPSCLinkedQueue<Runnable> tasks   = new MPSCLinkedQueue<Runnable>();
+    // 是否已经唤醒了selector，用来避免重复的wakeup调用
+    private final AtomicBoolean             wakenUp = new AtomicBoolean(false);
+    private final ServerConfig              serverConfig;
+    private final ChannelInitListener       initListener;
+    private final ExecutorService           workers;
+    private final ServerMetrics             metrics;
+    private volatile boolean                stoped  = false;
+    private Thread                          thread;
+    
+    public NioEventLoop(ServerConfig serverConfig, ExecutorService workers, ServerMetrics metrics) throws IOException
+    {
+        this.serverConfig = serverConfig;
+        this.workers = workers;
+        this.metrics = metrics;
+        initListener = serverConfig.getInitListener();
+        selector = Selector.open();
+    }
+    
+    public void start(String name)
+    {
+        thread = new Thread(this, name);
+        thread.start();
+    }
+    
+    public boolean inEventLoop()
+    {
+        return Thread.currentThread() == thread;
+    }
+    
+    public void execute(Runnable task)
+    {
+        tasks.offer(task);
+        if (inEventLoop() == false && wakenUp.compareAndSet(false, true))
+        {
+            selector.wakeup();
+        }
+    }
+    
+    /**
+     * 将新的链接注册到该事件循环上
+     * 
+     * @param socketChannel
+     */
+    public void register(final SocketChannel socketChannel)
+    {
+        execute(new Runnable() {
+            
+            @Override
+            public void run()
+            {
+                try
+                {
+                    socketChannel.configureBlocking(false);
+                    NioServerChannel serverChannel = new NioServerChannel(socketChannel, NioEventLoop.this, serverConfig, workers, metrics);
+                    initListener.channelInit(serverChannel);
+                    Verify.notNull(serverChannel.getDataArray(), "没有设置entryArraySize");
+                    Verify.notNull(serverChannel.getFrameDecodec(), "没有设置framedecodec");
+                    Verify.notNull(serverChannel.getHandlers(), "没有设置Datahandler");
+                    serverChannel.register(selector);
+                }
+                catch (Exception e)
+                {
+                    logger.error("注册异常", e);
+                    try
+                    {
+                        socketChannel.close();
+                    }
+                    catch (IOException e1)
+                    {
+                    }
+                }
+            }
+        });
+    }
+    
+    public void stop()
+    {
+        stoped = true;
+        selector.wakeup();
+    }
+    
+    @Override
+    public void run()
+    {
+        while (stoped == false)
+        {
+            try
+            {
+                wakenUp.set(false);
+                if (tasks.isEmpty())
+                {
+                    selector.select();
+                }
+                else
+                {
+                    selector.selectNow();
+                }
+                processSelectedKeys();
+                runTasks();
+            }
+            catch (Throwable e)
+            {
+                logger.error("事件循环异常", e);
+            }
+        }
+        for (SelectionKey each : selector.keys())
+        {
+            ((NioServerChannel) each.attachment()).closeChannel();
+        }
+        runTasks();
+        try
+        {
+            selector.close();
+        }
+        catch (IOException e)
+        {
+        }
+    }
+    
+    private void processSelectedKeys()
+    {
+        Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+        while (iterator.hasNext())
+        {
+            SelectionKey key = iterator.next();
+            iterator.remove();
+            NioServerChannel serverChannel = (NioServerChannel) key.attachment();
+            try
+            {
+                int readyOps = key.readyOps();
+                if ((readyOps & SelectionKey.OP_WRITE) != 0)
+                {
+                    serverChannel.onWritable();
+                }
+                if ((readyOps & SelectionKey.OP_READ) != 0 && key.isValid())
+                {
+                    serverChannel.onReadable();
+                }
+            }
+            catch (CancelledKeyException e)
+            {
+                serverChannel.closeChannel();
+            }
+        }
+    }
+    
+    private void runTasks()
+    {
+        Runnable task;
+        while ((task = tasks.poll()) != null)
+        {
+            try
+            {
+                task.run();
+            }
+            catch (Throwable e)
+            {
+                logger.error("事件循环任务异常", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.jfireframework.jnet.server.nio;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
+import com.jfireframework.baseutil.simplelog.Logger;
+import com.jfireframework.baseutil.verify.Verify;
+import com.jfireframework.jnet.server.JnetServer;
+import com.jfireframework.jnet.server.util.ServerConfig;
+import com.jfireframework.jnet.server.util.ServerMetrics;
+import com.jfireframework.jnet.server.util.WorkMode;
+import com.jfireframework.jnet.server.util.WriteHistogram;
+
+/**
+ * 基于Selector的服务器。socketThreadSize个事件循环，每一个循环一个Selector，新的链接轮流分配给各个事件循环，之后固定在该循环上处理。
+ * 报文解码器，处理器链，工作模式等配置与AioServer相同。异步模式下处理器链在asyncThreadSize个异步线程中执行。
+ * 空闲检测，心跳，链接准入和报文速率限制目前只在AioServer中支持
+ * 
+ * @author linbin
+ * 
+ */
+public class NioServer implements JnetServer
+{
+    private static final Logger logger  = ConsoleLogFactory.getLogger();
+    private final ServerConfig  serverConfig;
+    private final ServerMetrics metrics = new ServerMetrics();
+    private ServerSocketChannel serverSocketChannel;
+    private NioEventLoop[]      eventLoops;
+    private ExecutorService     workers;
+    private Thread              acceptThread;
+    
+    public NioServer(ServerConfig serverConfig)
+    {
+        Verify.notNull(serverConfig.getInitListener(), "initListener不能为空");
+        this.serverConfig = serverConfig;
+    }
+    
+    @Override
+    public void start()
+    {
+        try
+        {
+            if (serverConfig.getWorkMode() != WorkMode.SYNC_WITH_ORDER)
+            {
+                workers = Executors.newFixedThreadPool(serverConfig.getAsyncThreadSize(), new ThreadFactory() {
+                    int i = 1;
+                    
+                    @Override
+                    public Thread newThread(Runnable r)
+                    {
+                        return new Thread(r, "服务端异步线程-" + (i++));
+                    }
+                });
+            }
+            eventLoops = new NioEventLoop[serverConfig.getSocketThreadSize()];
+            for (int i = 0; i < eventLoops.length; i++)
+            {
+                eventLoops[i] = new NioEventLoop(serverConfig, workers, metrics);
+                eventLoops[i].start("服务端socket线程-" + (i + 1));
+            }
+            serverSocketChannel = ServerSocketChannel.open();
+            serverSocketChannel.bind(new InetSocketAddress(serverConfig.getPort()));
+            acceptThread = new Thread(new Runnable() {
+                
+                @Override
+                public void run()
+                {
+                    int index = 0;
+                    while (true)
+                    {
+                        try
+                        {
+                            SocketChannel socketChannel = serverSocketChannel.accept();
+                            eventLoops[index].register(socketChannel);
+                            index = index + 1 == eventLoops.length ? 0 : index + 1;
+                        }
+                        catch (ClosedChannelException e)
+                        {
+                            logger.info("服务端监听链接被关闭");
+                            return;
+                        }
+                        catch (IOException e)
+                        {
+                            logger.error("链接异常", e);
+                        }
+                    }
+                }
+            }, "服务端accept线程");
+            acceptThread.start();
+            if (serverConfig.getMetricsDumpInterval() > 0)
+            {
+                metrics.startDump(serverConfig.getMetricsDumpInterval());
+            }
+            logger.info("监听启动");
+        }
+        catch (IOException e)
+        {
+            logger.error("服务器启动失败", e);
+            throw new RuntimeException(e);
+        }
+    }
+    
+    @Override
+    public void stop()
+    {
+        try
+        {
+            serverSocketChannel.close();
+            for (NioEventLoop each : eventLoops)
+            {
+                each.stop();
+            }
+            if (workers != null)
+            {
+                workers.shutdownNow();
+                workers.awaitTermination(10, TimeUnit.SECONDS);
+            }
+            metrics.stopDump();
+            logger.info("服务器关闭");
+        }
+        catch (Exception e)
+        {
+            logger.error("关闭服务器失败", e);
+            throw new RuntimeException(e);
+        }
+    }
+    
+    @Override
+    public WriteHistogram getWriteHistogram()
+    {
+        return metrics.getWriteHistogram();
+    }
+    
+    @Override
+    public ServerMetrics getMetrics()
+    {
+        return metrics;
+    }
+}
@@ -0,0 +1,594 @@
+package com.jfireframework.jnet.server.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutorService;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.collection.buffer.DirectByteBuf;
+import com.jfireframework.baseutil.concurrent.MPSCLinkedQueue;
+import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
+import com.jfireframework.baseutil.simplelog.Logger;
+import com.jfireframework.jnet.common.channel.impl.AbstractChannel;
+import com.jfireframework.jnet.common.exception.BufNotEnoughException;
+import com.jfireframework.jnet.common.exception.LessThanProtocolException;
+import com.jfireframework.jnet.common.exception.NotFitProtocolException;
+import com.jfireframework.jnet.common.handler.DataHandler;
+import com.jfireframework.jnet.common.buffer.GatherBuffer;
+import com.jfireframework.jnet.server.util.ReadBufferMode;
+import com.jfireframework.jnet.server.util.ServerConfig;
+import com.jfireframework.jnet.server.util.ServerMetrics;
+import com.jfireframework.jnet.server.util.WorkMode;
+
+/**
+ * nio传输下的服务端通道。除了异步处理器链的执行，所有的读取，解码，写出都在所属的事件循环线程中完成，因此大部分状态不需要考虑并发。
+ * 通道容量的含义与aio相同，已经解码但是还没有写出的报文个数达到容量，或者等待写出的字节数超过高水位时，暂停读取
+ * 
+ * @author linbin
+ * 
+ */
+public class NioServerChannel extends AbstractChannel
+{
+    private static final Logger            logger           = ConsoleLogFactory.getLogger();
+    private final SocketChannel            channel;
+    private final NioEventLoop             eventLoop;
+    private final ExecutorService          workers;
+    private final WorkMode                 workMode;
+    private final ReadBufferMode           readBufferMode;
+    private final int                      readBufferSize;
+    private final int                      idleBufferLimit;
+    private final int                      maxBatchWriteNum;
+    private final int                      maxBatchBytes;
+    private final ServerMetrics            metrics;
+    private final GatherBuffer             gatherBuffer;
+    private final ArrayDeque<ByteBuf<?>>   writeQueue       = new ArrayDeque<ByteBuf<?>>();
+    // 无序模式下异步处理完毕的任务
+    private final MPSCLinkedQueue<NioTask> unorderedResults = new MPSCLinkedQueue<NioTask>();
+    private SelectionKey                   key;
+    private DirectByteBuf                  ioBuf;
+    // 已经解码的报文个数
+    private long                           produced         = 0;
+    // 已经处理完毕并且放入写出队列的报文个数
+    private long                           consumed         = 0;
+    // 是否因为容量或者高水位暂停了读取
+    private boolean                        readPaused       = false;
+    private final Runnable                 processTask;
+    private final Runnable                 closeTask;
+    
+    public NioServerChannel(SocketChannel channel, NioEventLoop eventLoop, ServerConfig serverConfig, ExecutorService workers, ServerMetrics metrics)
+    {
+        this.channel = channel;
+        this.eventLoop = eventLoop;
+        this.workers = workers;
+        this.metrics = metrics;
+        workMode = serverConfig.getWorkMode();
+        readBufferMode = serverConfig.getReadBufferMode();
+        readBufferSize = serverConfig.getReadBufferSize();
+        idleBufferLimit = serverConfig.getIdleBufferLimit();
+        maxBatchWriteNum = serverConfig.getMaxBatchWriteNum();
+        maxBatchBytes = serverConfig.getMaxBatchBytes();
+        gatherBuffer = new GatherBuffer(maxBatchWriteNum);
+        processTask = new Runnable() {
+            
+            @Override
+            public void run()
+            {
+                if (isOpen())
+                {
+                    process();
+                }
+                else
+                {
+                    releaseDoneResults();
+                }
+            }
+        };
+        closeTask = new Runnable() {
+            
+            @Override
+            public void run()
+            {
+                doClose();
+            }
+        };
+    }
+    
+    @Override
+    public void setCapacity(int capacity)
+    {
+        super.setCapacity(capacity);
+        for (int i = 0; i < capacity; i++)
+        {
+            resultArray[i] = new NioTask();
+        }
+    }
+    
+    void register(Selector selector) throws ClosedChannelException
+    {
+        ioBuf = DirectByteBuf.allocate(readBufferSize);
+        key = channel.register(selector, SelectionKey.OP_READ, this);
+        metrics.connectionAccepted();
+    }
+    
+    /**
+     * 读取事件，只会在事件循环线程中调用
+     */
+    void onReadable()
+    {
+        int read;
+        try
+        {
+            ioBuf.compact();
+            ByteBuffer buffer = ioBuf.nioBuffer();
+            buffer.position(buffer.limit()).limit(buffer.capacity());
+            read = channel.read(buffer);
+        }
+        catch (IOException e)
+        {
+            catchThrowable(e);
+            return;
+        }
+        if (read == -1)
+        {
+            closeChannel();
+            return;
+        }
+        ioBuf.addWriteIndex(read);
+        metrics.bytesRead(read);
+        process();
+    }
+    
+    /**
+     * 可写事件，只会在事件循环线程中调用
+     */
+    void onWritable()
+    {
+        process();
+    }
+    
+    /**
+     * 解码报文，收集处理完毕的结果并且写出。写出之后容量和水位都可能恢复，此时缓存中可能还有未解码的完整报文，所以需要循环处理
+     */
+    private void process()
+    {
+        while (isOpen())
+        {
+            if (decodeFrames() == false)
+            {
+                return;
+            }
+            drainResults();
+            if (flush() == false)
+            {
+                return;
+            }
+            if (readPaused == false || canAccept() == false)
+            {
+                shrinkIfIdle();
+                updateInterest();
+                return;
+            }
+            readPaused = false;
+        }
+    }
+    
+    private boolean canAccept()
+    {
+        return produced - consumed < capacity && isWritable();
+    }
+    
+    private boolean decodeFrames()
+    {
+        try
+        {
+            while (ioBuf.remainRead() > 0)
+            {
+                if (canAccept() == false)
+                {
+                    readPaused = true;
+                    return true;
+                }
+                ByteBuf<?> frame = frameDecodec.decodec(ioBuf);
+                if (frame == null)
+                {
+                    return true;
+                }
+                metrics.frameDecoded(produced - consumed);
+                dispatch(frame);
+            }
+            return true;
+        }
+        catch (LessThanProtocolException e)
+        {
+            return true;
+        }
+        catch (BufNotEnoughException e)
+        {
+            ioBuf.compact().ensureCapacity(e.getNeedSize());
+            return true;
+        }
+        catch (NotFitProtocolException e)
+        {
+            logger.debug("协议错误，关闭链接");
+            catchThrowable(e);
+            return false;
+        }
+        catch (Throwable e)
+        {
+            catchThrowable(e);
+            return false;
+        }
+    }
+    
+    private void dispatch(ByteBuf<?> frame) throws Throwable
+    {
+        NioTask task;
+        if (workMode == WorkMode.ASYNC_WITHOUT_ORDER)
+        {
+            task = new NioTask();
+        }
+        else
+        {
+            task = (NioTask) getData(produced);
+        }
+        task.init(frame, this);
+        produced += 1;
+        switch (workMode)
+        {
+            case SYNC_WITH_ORDER:
+            {
+                long start = System.nanoTime();
+                Object result = invokeHandlers(task, frame, false);
+                metrics.handlerLatency(System.nanoTime() - start);
+                task.done(result);
+                break;
+            }
+            case MIX_WITH_ORDER:
+            {
+                long start = System.nanoTime();
+                Object result = invokeHandlers(task, frame, true);
+                metrics.handlerLatency(System.nanoTime() - start);
+                if (result == DataHandler.skipToWorkRing)
+                {
+                    submit(task);
+                }
+                else
+                {
+                    task.done(result);
+                }
+                break;
+            }
+            case ASYNC_WITH_ORDER:
+            case ASYNC_WITHOUT_ORDER:
+                submit(task);
+                break;
+            default:
+                throw new RuntimeException("error");
+        }
+    }
+    
+    private void submit(NioTask task)
+    {
+        task.setDispatchTime(System.nanoTime());
+        metrics.asyncEnqueued();
+        workers.execute(task);
+    }
+    
+    /**
+     * 从任务当前的序号开始执行处理器链。返回需要写出的结果，没有的话返回null。
+     * 如果允许跳转并且处理器返回了skipToWorkRing，则将序号移到下一个处理器，返回skipToWorkRing，由异步线程接着执行
+     * 
+     * @param task
+     * @param data
+     * @param allowSkip
+     * @return
+     * @throws Throwable
+     */
+    private Object invokeHandlers(NioTask task, Object data, boolean allowSkip) throws Throwable
+    {
+        Object intermediateResult = data;
+        for (int i = task.getIndex(); i < handlers.length;)
+        {
+            intermediateResult = handlers[i].handle(intermediateResult, task);
+            if (i == task.getIndex())
+            {
+                i++;
+                task.setIndex(i);
+            }
+            else
+            {
+                i = task.getIndex();
+            }
+            if (allowSkip && intermediateResult == DataHandler.skipToWorkRing)
+            {
+                return DataHandler.skipToWorkRing;
+            }
+        }
+        return intermediateResult instanceof ByteBuf<?> ? intermediateResult : null;
+    }
+    
+    /**
+     * 在异步处理线程中执行剩余的处理器链，完成之后通知事件循环收集结果
+     * 
+     * @param task
+     */
+    void handleAsync(NioTask task)
+    {
+        metrics.asyncDequeued(task.getDispatchTime());
+        if (isOpen() == false)
+        {
+            return;
+        }
+        Object result;
+        try
+        {
+            long start = System.nanoTime();
+            result = invokeHandlers(task, task.getData(), false);
+            metrics.handlerLatency(System.nanoTime() - start);
+        }
+        catch (Throwable e)
+        {
+            catchThrowable(e);
+            return;
+        }
+        task.done(result);
+        if (workMode == WorkMode.ASYNC_WITHOUT_ORDER)
+        {
+            unorderedResults.offer(task);
+        }
+        eventLoop.execute(processTask);
+    }
+    
+    /**
+     * 将处理完毕的结果放入写出队列。有序模式下必须按照解码的顺序，遇到未处理完毕的任务就停止
+     */
+    private void drainResults()
+    {
+        if (workMode == WorkMode.ASYNC_WITHOUT_ORDER)
+        {
+            NioTask task;
+            while ((task = unorderedResults.poll()) != null)
+            {
+                consumed += 1;
+                enqueue(task.getData());
+            }
+        }
+        else
+        {
+            while (consumed < produced)
+            {
+                NioTask task = (NioTask) getData(consumed);
+                if (task.isDone() == false)
+                {
+                    break;
+                }
+                consumed += 1;
+                Object result = task.getData();
+                task.setData(null);
+                enqueue(result);
+            }
+        }
+    }
+    
+    private void enqueue(Object result)
+    {
+        if (result != null)
+        {
+            ByteBuf<?> buf = (ByteBuf<?>) result;
+            incrPendingWrite(buf.remainRead());
+            writeQueue.offer(buf);
+        }
+    }
+    
+    /**
+     * 尽可能多的写出数据，socket缓冲区满了之后等待可写事件。通道因为异常关闭时返回false
+     * 
+     * @return
+     */
+    private boolean flush()
+    {
+        try
+        {
+            while (true)
+            {
+                if (gatherBuffer.count() == 0)
+                {
+                    if (writeQueue.isEmpty())
+                    {
+                        return true;
+                    }
+                    while (gatherBuffer.count() < maxBatchWriteNum && gatherBuffer.bytes() < maxBatchBytes && writeQueue.isEmpty() == false)
+                    {
+                        gatherBuffer.add(writeQueue.poll());
+                    }
+                    metrics.getWriteHistogram().record(gatherBuffer.count(), gatherBuffer.bytes());
+                }
+                long written = channel.write(gatherBuffer.buffers(), gatherBuffer.offset(), gatherBuffer.remainCount());
+                decrPendingWrite(written);
+                metrics.bytesWritten(written);
+                if (gatherBuffer.skipWritten() == false)
+                {
+                    return true;
+                }
+                gatherBuffer.release();
+            }
+        }
+        catch (IOException e)
+        {
+            catchThrowable(e);
+            return false;
+        }
+    }
+    
+    /**
+     * 根据暂停状态和是否有未写完的数据更新关注的事件
+     */
+    private void updateInterest()
+    {
+        int ops = readPaused ? 0 : SelectionKey.OP_READ;
+        if (gatherBuffer.count() != 0)
+        {
+            ops |= SelectionKey.OP_WRITE;
+        }
+        if (key.interestOps() != ops)
+        {
+            key.interestOps(ops);
+        }
+    }
+    
+    private void shrinkIfIdle()
+    {
+        if (readBufferMode == ReadBufferMode.POOLED && ioBuf.remainRead() == 0 && ioBuf.size() > idleBufferLimit)
+        {
+            ioBuf.release();
+            ioBuf = DirectByteBuf.allocate(readBufferSize);
+        }
+    }
+    
+    /**
+     * 使用处理器处理异常，处理之后关闭当前的通道。该方法可能在异步处理线程中被调用
+     * 
+     * @param exc
+     */
+    public void catchThrowable(Throwable exc)
+    {
+        NioTask task = new NioTask();
+        task.init(exc, this);
+        Object intermediateResult = exc;
+        try
+        {
+            for (DataHandler each : handlers)
+            {
+                intermediateResult = each.catchException(intermediateResult, task);
+            }
+        }
+        catch (Exception e)
+        {
+            logger.error("处理异常失败", e);
+        }
+        closeChannel();
+    }
+    
+    /**
+     * 关闭通道。缓存的释放必须在事件循环线程中进行，其他线程调用时投递到事件循环中执行
+     */
+    @Override
+    public void closeChannel()
+    {
+        if (openState.compareAndSet(OPEN, CLOSE))
+        {
+            metrics.connectionClosed();
+            if (eventLoop.inEventLoop())
+            {
+                doClose();
+            }
+            else
+            {
+                eventLoop.execute(closeTask);
+            }
+        }
+    }
+    
+    private void doClose()
+    {
+        if (key != null)
+        {
+            key.cancel();
+        }
+        try
+        {
+            channel.close();
+        }
+        catch (IOException e)
+        {
+        }
+        if (ioBuf != null)
+        {
+            ioBuf.release();
+            ioBuf = null;
+        }
+        gatherBuffer.release();
+        for (ByteBuf<?> each : writeQueue)
+        {
+            each.release();
+        }
+        writeQueue.clear();
+        releaseDoneResults();
+    }
+    
+    /**
+     * 释放已经处理完毕但是还没有写出的结果。关闭之后完成的异步任务会再次触发process，由这里释放
+     */
+    private void releaseDoneResults()
+    {
+        if (workMode == WorkMode.ASYNC_WITHOUT_ORDER)
+        {
+            NioTask task;
+            while ((task = unorderedResults.poll()) != null)
+            {
+                if (task.getData() != null)
+                {
+                    ((ByteBuf<?>) task.getData()).release();
+                }
+            }
+        }
+        else
+        {
+            while (consumed < produced)
+            {
+                NioTask task = (NioTask) getData(consumed);
+                if (task.isDone() == false)
+                {
+                    break;
+                }
+                consumed += 1;
+                if (task.getData() != null)
+                {
+                    ((ByteBuf<?>) task.getData()).release();
+                    task.setData(null);
+                }
+            }
+        }
+    }
+    
+    @Override
+    public String getLocalAddress()
+    {
+        if (localAddress == null)
+        {
+            try
+            {
+                localAddress = channel.getLocalAddress().toString();
+            }
+            catch (IOException e)
+            {
+            }
+        }
+        return localAddress;
+    }
+    
+    @Override
+    public String getRemoteAddress()
+    {
+        if (remoteAddress == null)
+        {
+            try
+            {
+                remoteAddress = channel.getRemoteAddress().toString();
+            }
+            catch (IOException e)
+            {
+            }
+        }
+        return remoteAddress;
+    }
+    
+    public SocketChannel getNioChannel()
+    {
+        return channel;
+    }
+}
@@ -0,0 +1,61 @@
+package com.jfireframework.jnet.server.nio;
+
+import com.jfireframework.jnet.common.result.AbstractInternalTask;
+
+/**
+ * nio传输下的处理任务。有序模式下任务在通道的环形数组中循环复用，无序模式下每一个报文新建一个
+ * 
+ * @author linbin
+ * 
+ */
+public class NioTask extends AbstractInternalTask implements Runnable
+{
+    private volatile boolean done = false;
+    private NioServerChannel serverChannel;
+    // 投递到异步线程时的System.nanoTime()，用于统计排队时间
+    private long             dispatchTime;
+    
+    public void init(Object data, NioServerChannel serverChannel)
+    {
+        this.data = data;
+        this.serverChannel = serverChannel;
+        jnetChannel = serverChannel;
+        index = 0;
+        done = false;
+    }
+    
+    /**
+     * 处理完毕，记录需要写出的结果。没有需要写出的结果时为null
+     * 
+     * @param result
+     */
+    public void done(Object result)
+    {
+        data = result;
+        done = true;
+    }
+    
+    public boolean isDone()
+    {
+        return done;
+    }
+    
+    public long getDispatchTime()
+    {
+        return dispatchTime;
+    }
+    
+    public void setDispatchTime(long dispatchTime)
+    {
+        this.dispatchTime = dispatchTime;
+    }
+    
+    /**
+     * 在异步处理线程中继续执行处理器链
+     */
+    @Override
+    public void run()
+    {
+        serverChannel.handleAsync(this);
+    }
+}
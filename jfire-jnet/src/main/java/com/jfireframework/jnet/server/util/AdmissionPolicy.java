@@ -0,0 +1,28 @@
+package com.jfireframework.jnet.server.util;
+
+import java.net.SocketAddress;
+
+/**
+ * 链接的准入策略。新的链接在创建任何通道资源之前先经过准入判断，被拒绝的链接直接关闭。
+ * 被接纳的链接关闭时会调用release，实现可以据此维护链接计数
+ * 
+ * @author linbin
+ * 
+ */
+public interface AdmissionPolicy
+{
+    /**
+     * 判断是否接纳该链接
+     * 
+     * @param remoteAddress 链接的远端地址
+     * @return false表示拒绝
+     */
+    public boolean admit(SocketAddress remoteAddress);
+    
+    /**
+     * 被接纳的链接关闭时调用，每一个被接纳的链接只会调用一次
+     * 
+     * @param remoteAddress
+     */
+    public void release(SocketAddress remoteAddress);
+}
@@ -1,26 +1,55 @@
 package com.jfireframework.jnet.server.util;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.concurrent.MPMCArrayQueue;
 import com.jfireframework.jnet.common.handler.DataHandler;
 import com.jfireframework.jnet.common.result.ServerInternalTask;
 import com.jfireframework.jnet.server.CompletionHandler.UnOrderedWriteCompletionHandler;
 
+/**
+ * 异步任务中心。每一个异步线程持有一个有界的无锁队列，任务按照通道的hash投递到固定的线程，同一个通道的任务尽量在同一个核心上处理。
+ * 线程自己的队列为空时，会从其他线程的队列中窃取任务。所有的队列都满了的时候，由投递任务的线程直接执行，以此形成背压
+ * 
+ * @author linbin
+ * 
+ */
 public class AsyncTaskCenter
 {
-    private final LinkedTransferQueue<ServerInternalTask> tasks  = new LinkedTransferQueue<>();
-    private final LinkedTransferQueue<ServerInternalTask> res    = new LinkedTransferQueue<>();
-    private volatile boolean                              stoped = false;
+    private final TaskHandler[]                      handlers;
+    // 无序模式下复用的任务对象
+    private final MPMCArrayQueue<ServerInternalTask> res;
+    private final WorkMode                           workMode;
+    // 处于休眠状态的线程数，大于0时投递任务需要考虑唤醒空闲线程来窃取
+    private final AtomicInteger                      idleCount = new AtomicInteger(0);
+    private volatile boolean                         stoped    = false;
     
-    public AsyncTaskCenter(int threadSize, WorkMode workMode)
+    public AsyncTaskCenter(int threadSize, int capacity, WorkMode workMode)
     {
-        ExecutorService pool = Executors.newFixedThreadPool(threadSize);
+        this.workMode = workMode;
+        int queueCapacity = tableSizeFor(Math.max(capacity / threadSize, 2));
+        res = new MPMCArrayQueue<ServerInternalTask>(tableSizeFor(Math.max(capacity, 2)));
+        handlers = new TaskHandler[threadSize];
         for (int i = 0; i < threadSize; i++)
         {
-            pool.submit(new TaskHandler(workMode));
+            handlers[i] = new TaskHandler(i, queueCapacity);
         }
+        for (TaskHandler each : handlers)
+        {
+            each.thread.start();
+        }
+    }
+    
+    private static int tableSizeFor(int size)
+    {
+        int n = 1;
+        while (n < size)
+        {
+            n <<= 1;
+        }
+        return n;
     }
     
     public ServerInternalTask askFor()
@@ -35,94 +64,223 @@ public class AsyncTaskCenter
     
     public void addTask(ServerInternalTask task)
     {
-        tasks.add(task);
+        int home = affinity(task);
+        TaskHandler handler = handlers[home];
+        if (handler.queue.offer(task))
+        {
+            if (handler.wakeUp() == false && idleCount.get() > 0)
+            {
+                // 所属线程正在忙碌，唤醒一个空闲的线程过来窃取
+                wakeUpIdle(home);
+            }
+            return;
+        }
+        for (int i = 1; i < handlers.length; i++)
+        {
+            TaskHandler other = handlers[(home + i) % handlers.length];
+            if (other.queue.offer(task))
+            {
+                other.wakeUp();
+                return;
+            }
+        }
+        process(task);
+    }
+    
+    /**
+     * 根据通道计算任务应该投递到的线程
+     * 
+     * @param task
+     * @return
+     */
+    private int affinity(ServerInternalTask task)
+    {
+        int h = System.identityHashCode(task.getChannelInfo());
+        h ^= h >>> 16;
+        return (h & Integer.MAX_VALUE) % handlers.length;
+    }
+    
+    private void wakeUpIdle(int home)
+    {
+        for (int i = 1; i < handlers.length; i++)
+        {
+            if (handlers[(home + i) % handlers.length].wakeUp())
+            {
+                return;
+            }
+        }
     }
     
     public void stop()
     {
         stoped = true;
+        for (TaskHandler each : handlers)
+        {
+            LockSupport.unpark(each.thread);
+        }
+    }
+    
+    /**
+     * 在stop之后调用，等待所有的异步线程退出，返回在超时时间内是否全部退出
+     * 
+     * @param timeout
+     * @param unit
+     * @return
+     * @throws InterruptedException
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (TaskHandler each : handlers)
+        {
+            long left = deadline - System.nanoTime();
+            if (left <= 0)
+            {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedJoin(each.thread, left);
+            if (each.thread.isAlive())
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private void process(ServerInternalTask task)
+    {
+        ServerMetrics metrics = task.getReadCompletionHandler().getMetrics();
+        metrics.asyncDequeued(task.getDispatchTime());
+        try
+        {
+            if (task.getChannelInfo().isOpen() == false)
+            {
+                return;
+            }
+            // 储存中间结果
+            Object intermediateResult = task.getData();
+            DataHandler[] handlers = task.getChannelInfo().getHandlers();
+            long start = System.nanoTime();
+            for (int i = task.getIndex(); i < handlers.length;)
+            {
+                intermediateResult = handlers[i].handle(intermediateResult, task);
+                if (i == task.getIndex())
+                {
+                    i++;
+                    task.setIndex(i);
+                }
+                else
+                {
+                    i = task.getIndex();
+                }
+            }
+            metrics.handlerLatency(System.nanoTime() - start);
+            if (intermediateResult instanceof ByteBuf<?>)
+            {
+                if (workMode == WorkMode.ASYNC_WITHOUT_ORDER)
+                {
+                    UnOrderedWriteCompletionHandler writeCompletionHandler = (UnOrderedWriteCompletionHandler) task.getWriteCompletionHandler();
+                    writeCompletionHandler.askToWrite((ByteBuf<?>) intermediateResult);
+                    res.offer(task);
+                }
+                else
+                {
+                    task.setData(intermediateResult);
+                    long version = task.version();
+                    task.flowDone();
+                    if (task.getChannelInfo().isOpen())
+                    {
+                        task.write(version);
+                    }
+                }
+            }
+            else if (workMode == WorkMode.ASYNC_WITHOUT_ORDER)
+            {
+                // 没有需要写出的数据，比如处理器延迟了响应，任务对象同样可以复用
+                res.offer(task);
+            }
+        }
+        catch (Throwable e)
+        {
+            e.printStackTrace();
+            task.getReadCompletionHandler().catchThrowable(e);
+        }
     }
     
     class TaskHandler implements Runnable
     {
-        private final WorkMode workMode;
+        private static final int                         RUNNING = 0;
+        private static final int                         PARKED  = 1;
+        private final int                                id;
+        private final MPMCArrayQueue<ServerInternalTask> queue;
+        private final AtomicInteger                      state   = new AtomicInteger(RUNNING);
+        private final Thread                             thread;
+        
+        public TaskHandler(int id, int capacity)
+        {
+            this.id = id;
+            queue = new MPMCArrayQueue<ServerInternalTask>(capacity);
+            thread = new Thread(this, "服务端异步线程-" + (id + 1));
+        }
+        
+        /**
+         * 如果线程处于休眠状态则唤醒，返回是否进行了唤醒
+         * 
+         * @return
+         */
+        boolean wakeUp()
+        {
+            if (state.get() == PARKED && state.compareAndSet(PARKED, RUNNING))
+            {
+                LockSupport.unpark(thread);
+                return true;
+            }
+            return false;
+        }
         
-        public TaskHandler(WorkMode workMode)
+        private ServerInternalTask next()
         {
-            this.workMode = workMode;
+            ServerInternalTask task = queue.poll();
+            if (task != null)
+            {
+                return task;
+            }
+            for (int i = 1; i < handlers.length; i++)
+            {
+                task = handlers[(id + i) % handlers.length].queue.poll();
+                if (task != null)
+                {
+                    return task;
+                }
+            }
+            return null;
         }
         
         @Override
         public void run()
         {
-            while (true)
+            while (stoped == false)
             {
-                try
+                ServerInternalTask task = next();
+                if (task == null)
                 {
-                    if (stoped)
+                    state.set(PARKED);
+                    idleCount.incrementAndGet();
+                    // 设置休眠状态之后必须再检查一次，避免任务的投递发生在设置之前而没有唤醒
+                    task = next();
+                    if (task == null && stoped == false)
                     {
-                        break;
+                        LockSupport.park(this);
                     }
-                    ServerInternalTask task = tasks.take();
-                    try
+                    idleCount.decrementAndGet();
+                    state.set(RUNNING);
+                    if (task == null)
                     {
-                        if (task.getChannelInfo().isOpen() == false)
-                        {
-                            return;
-                        }
-                        // 储存中间结果
-                        Object intermediateResult = task.getData();
-                        DataHandler[] handlers = task.getChannelInfo().getHandlers();
-                        for (int i = task.getIndex(); i < handlers.length;)
-                        {
-                            intermediateResult = handlers[i].handle(intermediateResult, task);
-                            if (i == task.getIndex())
-                            {
-                                i++;
-                                task.setIndex(i);
-                            }
-                            else
-                            {
-                                i = task.getIndex();
-                            }
-                        }
-                        if (intermediateResult instanceof ByteBuf<?>)
-                        {
-                            if (workMode == WorkMode.ASYNC_WITHOUT_ORDER)
-                            {
-                                UnOrderedWriteCompletionHandler writeCompletionHandler = (UnOrderedWriteCompletionHandler) task.getWriteCompletionHandler();
-                                writeCompletionHandler.askToWrite((ByteBuf<?>) intermediateResult);
-                                res.offer(task);
-                            }
-                            else
-                            {
-                                task.setData(intermediateResult);
-                                long version = task.version();
-                                task.flowDone();
-                                if (task.getChannelInfo().isOpen())
-                                {
-                                    task.write(version);
-                                }
-                            }
-                        }
-                        else
-                        {
-                            
-                        }
-                    }
-                    catch (Exception e)
-                    {
-                        e.printStackTrace();
-                        task.getReadCompletionHandler().catchThrowable(e);
+                        continue;
                     }
                 }
-                catch (Exception e)
-                {
-                    e.printStackTrace();
-                    break;
-                }
+                process(task);
             }
         }
-        
     }
 }
@@ -0,0 +1,103 @@
+package com.jfireframework.jnet.server.util;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 默认的准入策略，限制总的链接数和单个远端ip的链接数，为0表示不限制
+ * 
+ * @author linbin
+ * 
+ */
+public class ConnectionLimiter implements AdmissionPolicy
+{
+    private final int                                           maxConnections;
+    private final int                                           maxConnectionsPerIp;
+    private final AtomicInteger                                 total = new AtomicInteger(0);
+    private final ConcurrentHashMap<InetAddress, AtomicInteger> perIp = new ConcurrentHashMap<InetAddress, AtomicInteger>();
+    
+    public ConnectionLimiter(int maxConnections, int maxConnectionsPerIp)
+    {
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerIp = maxConnectionsPerIp;
+    }
+    
+    @Override
+    public boolean admit(SocketAddress remoteAddress)
+    {
+        if (maxConnections > 0 && total.incrementAndGet() > maxConnections)
+        {
+            total.decrementAndGet();
+            return false;
+        }
+        if (maxConnectionsPerIp > 0)
+        {
+            AtomicInteger count = counter(remoteAddress);
+            if (count != null && count.incrementAndGet() > maxConnectionsPerIp)
+            {
+                count.decrementAndGet();
+                if (maxConnections > 0)
+                {
+                    total.decrementAndGet();
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public void release(SocketAddress remoteAddress)
+    {
+        if (maxConnections > 0)
+        {
+            total.decrementAndGet();
+        }
+        if (maxConnectionsPerIp > 0)
+        {
+            AtomicInteger count = counter(remoteAddress);
+            // 计数归零的ip不从map中移除，避免与并发的admit产生竞争，对同一个ip只会保留一个计数器
+            if (count != null)
+            {
+                count.decrementAndGet();
+            }
+        }
+    }
+    
+    private AtomicInteger counter(SocketAddress remoteAddress)
+    {
+        if (remoteAddress instanceof InetSocketAddress == false)
+        {
+            return null;
+        }
+        InetAddress address = ((InetSocketAddress) remoteAddress).getAddress();
+        if (address == null)
+        {
+            return null;
+        }
+        AtomicInteger count = perIp.get(address);
+        if (count == null)
+        {
+            AtomicInteger newCount = new AtomicInteger(0);
+            count = perIp.putIfAbsent(address, newCount);
+            if (count == null)
+            {
+                count = newCount;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * 当前被接纳的链接总数，只有设置了maxConnections时才会统计
+     * 
+     * @return
+     */
+    public int connections()
+    {
+        return total.get();
+    }
+}
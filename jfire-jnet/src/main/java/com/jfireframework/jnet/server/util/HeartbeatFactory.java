@@ -0,0 +1,21 @@
+package com.jfireframework.jnet.server.util;
+
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.jnet.common.channel.JnetChannel;
+
+/**
+ * 心跳报文的生成器。设置之后，通道每次出现写出空闲时都会自动写出一个心跳报文
+ * 
+ * @author linbin
+ * 
+ */
+public interface HeartbeatFactory
+{
+    /**
+     * 生成一个完整的心跳报文，报文写出完毕后会被释放
+     * 
+     * @param jnetChannel
+     * @return
+     */
+    public ByteBuf<?> newHeartbeat(JnetChannel jnetChannel);
+}
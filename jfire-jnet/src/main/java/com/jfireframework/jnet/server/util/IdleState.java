@@ -0,0 +1,11 @@
+package com.jfireframework.jnet.server.util;
+
+public enum IdleState
+{
+    // 在readerIdleTime内没有读取到任何数据
+    READER_IDLE,
+    // 在writerIdleTime内没有写出任何数据
+    WRITER_IDLE,
+    // 在allIdleTime内既没有读取也没有写出任何数据
+    ALL_IDLE;
+}
@@ -0,0 +1,160 @@
+package com.jfireframework.jnet.server.util;
+
+import java.util.concurrent.TimeUnit;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.concurrent.time.DefaultTimeoutHandler;
+import com.jfireframework.baseutil.concurrent.time.HierarchyWheelTimer;
+import com.jfireframework.baseutil.concurrent.time.TimeTask;
+import com.jfireframework.baseutil.concurrent.time.Timer;
+import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
+import com.jfireframework.baseutil.simplelog.Logger;
+import com.jfireframework.jnet.common.channel.impl.ServerChannel;
+import com.jfireframework.jnet.common.handler.DataHandler;
+import com.jfireframework.jnet.common.handler.IdleStateListener;
+
+/**
+ * 通道空闲检测。所有的通道共用一个分层时间轮，每一个通道只在时间轮中保留一个检测任务，
+ * 任务到期时根据通道最后的读写时间判断是否空闲，并且计算下一次需要检测的时间重新放入时间轮。
+ * 相比每一次读取都依靠aio的读取超时，大量连接的情况下开销要小得多
+ * 
+ * @author linbin
+ * 
+ */
+public class IdleStateDetector
+{
+    private static final Logger    logger = ConsoleLogFactory.getLogger();
+    private final Timer            timer;
+    private final long             tick;
+    private final long             readerIdleTime;
+    private final long             writerIdleTime;
+    private final long             allIdleTime;
+    private final HeartbeatFactory heartbeatFactory;
+    
+    public IdleStateDetector(ServerConfig serverConfig)
+    {
+        readerIdleTime = serverConfig.getReaderIdleTime();
+        writerIdleTime = serverConfig.getWriterIdleTime();
+        allIdleTime = serverConfig.getAllIdleTime();
+        heartbeatFactory = serverConfig.getHeartbeatFactory();
+        tick = serverConfig.getIdleCheckTick();
+        timer = new HierarchyWheelTimer(new int[] { 512, 64, 64 }, tick, TimeUnit.MILLISECONDS, new DefaultTimeoutHandler());
+    }
+    
+    public void register(ServerChannel serverChannel)
+    {
+        IdleCheckTask task = new IdleCheckTask(serverChannel);
+        task.schedule(task.nextDelay(System.currentTimeMillis()));
+    }
+    
+    public void stop()
+    {
+        timer.stop();
+    }
+    
+    class IdleCheckTask implements TimeTask
+    {
+        private final ServerChannel serverChannel;
+        // 各个空闲事件最后一次触发的时间
+        private long                readerFiredTime;
+        private long                writerFiredTime;
+        private long                allFiredTime;
+        
+        public IdleCheckTask(ServerChannel serverChannel)
+        {
+            this.serverChannel = serverChannel;
+        }
+        
+        @Override
+        public void invoke()
+        {
+            if (serverChannel.isOpen() == false)
+            {
+                return;
+            }
+            try
+            {
+                long now = System.currentTimeMillis();
+                long lastReadTime = serverChannel.getLastReadTime();
+                long lastWriteTime = serverChannel.getLastWriteTime();
+                if (readerIdleTime > 0 && now - Math.max(lastReadTime, readerFiredTime) >= readerIdleTime)
+                {
+                    readerFiredTime = now;
+                    fire(IdleState.READER_IDLE);
+                }
+                if (writerIdleTime > 0 && now - Math.max(lastWriteTime, writerFiredTime) >= writerIdleTime)
+                {
+                    writerFiredTime = now;
+                    fire(IdleState.WRITER_IDLE);
+                    sendHeartbeat();
+                }
+                if (allIdleTime > 0 && now - Math.max(Math.max(lastReadTime, lastWriteTime), allFiredTime) >= allIdleTime)
+                {
+                    allFiredTime = now;
+                    fire(IdleState.ALL_IDLE);
+                }
+                if (serverChannel.isOpen())
+                {
+                    schedule(nextDelay(now));
+                }
+            }
+            catch (Throwable e)
+            {
+                logger.error("空闲检测异常", e);
+            }
+        }
+        
+        /**
+         * 计算距离最近的一个空闲事件可能发生的时间
+         * 
+         * @param now
+         * @return
+         */
+        long nextDelay(long now)
+        {
+            long delay = Long.MAX_VALUE;
+            if (readerIdleTime > 0)
+            {
+                delay = Math.min(delay, Math.max(serverChannel.getLastReadTime(), readerFiredTime) + readerIdleTime - now);
+            }
+            if (writerIdleTime > 0)
+            {
+                delay = Math.min(delay, Math.max(serverChannel.getLastWriteTime(), writerFiredTime) + writerIdleTime - now);
+            }
+            if (allIdleTime > 0)
+            {
+                delay = Math.min(delay, Math.max(Math.max(serverChannel.getLastReadTime(), serverChannel.getLastWriteTime()), allFiredTime) + allIdleTime - now);
+            }
+            return Math.max(delay, tick);
+        }
+        
+        void schedule(long delay)
+        {
+            timer.addTask(this, delay, TimeUnit.MILLISECONDS);
+        }
+        
+        private void fire(IdleState idleState)
+        {
+            for (DataHandler each : serverChannel.getHandlers())
+            {
+                if (each instanceof IdleStateListener)
+                {
+                    ((IdleStateListener) each).channelIdle(serverChannel, idleState);
+                }
+            }
+        }
+        
+        private void sendHeartbeat()
+        {
+            if (heartbeatFactory == null || serverChannel.isOpen() == false)
+            {
+                return;
+            }
+            ByteBuf<?> heartbeat = heartbeatFactory.newHeartbeat(serverChannel);
+            // 写出线程正在工作的话说明通道并不空闲，不需要心跳
+            if (serverChannel.getReadCompletionHandler().writeHeartbeat(heartbeat) == false)
+            {
+                heartbeat.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.jfireframework.jnet.server.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import com.jfireframework.baseutil.concurrent.StripedCounter;
+
+/**
+ * 对数线性的直方图，思路与HdrHistogram相同。每一个2的次方幂区间再平分为8个子桶，任何数值的相对误差都不超过12.5%。
+ * 桶按照线程分段，记录一次只需要一次位运算和一次无竞争的原子累加，可以放在热点路径上。除了纳秒级的耗时外，也可以用来统计队列深度之类的非负整数
+ * 
+ * @author linbin
+ * 
+ */
+public class LatencyHistogram
+{
+    private static final int      SUB_BITS    = 3;
+    private static final int      SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int      BUCKETS     = (64 - SUB_BITS) * SUB_BUCKETS;
+    private final AtomicLongArray counts      = new AtomicLongArray(BUCKETS * StripedCounter.stripes());
+    private final StripedCounter  total       = new StripedCounter();
+    private final AtomicLong      max         = new AtomicLong(0);
+    
+    public void record(long value)
+    {
+        if (value < 0)
+        {
+            value = 0;
+        }
+        counts.incrementAndGet(StripedCounter.stripe() * BUCKETS + bucket(value));
+        total.add(value);
+        long current = max.get();
+        // 绝大部分情况下不会刷新最大值，只需要一次读取
+        while (value > current)
+        {
+            if (max.compareAndSet(current, value))
+            {
+                break;
+            }
+            current = max.get();
+        }
+    }
+    
+    static int bucket(long value)
+    {
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent < SUB_BITS)
+        {
+            return (int) value;
+        }
+        return ((exponent - SUB_BITS + 1) << SUB_BITS) + (int) ((value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1));
+    }
+    
+    /**
+     * 返回桶所代表区间的上限
+     * 
+     * @param bucket
+     * @return
+     */
+    static long upperBound(int bucket)
+    {
+        if (bucket < SUB_BUCKETS * 2)
+        {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BITS) - 1;
+        long lower = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+        return lower + (1L << shift) - 1;
+    }
+    
+    public long count()
+    {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++)
+        {
+            count += counts.get(i);
+        }
+        return count;
+    }
+    
+    /**
+     * 将各个分段合并，返回每一个桶的计数快照
+     * 
+     * @return
+     */
+    private long[] snapshot()
+    {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < counts.length(); i++)
+        {
+            snapshot[i % BUCKETS] += counts.get(i);
+        }
+        return snapshot;
+    }
+    
+    public long max()
+    {
+        return max.get();
+    }
+    
+    public double mean()
+    {
+        long count = count();
+        return count == 0 ? 0 : (double) total.sum() / count;
+    }
+    
+    /**
+     * 返回指定百分位的近似值，比如percentile(99)返回p99
+     * 
+     * @param percent
+     * @return
+     */
+    public long percentile(double percent)
+    {
+        long[] snapshot = snapshot();
+        long count = 0;
+        for (long each : snapshot)
+        {
+            count += each;
+        }
+        if (count == 0)
+        {
+            return 0;
+        }
+        long target = (long) Math.ceil(count * percent / 100);
+        if (target < 1)
+        {
+            target = 1;
+        }
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            seen += snapshot[i];
+            if (seen >= target)
+            {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+    
+    public String toString()
+    {
+        return "count=" + count() + ",mean=" + (long) mean() + ",p50=" + percentile(50) + ",p99=" + percentile(99) + ",p999=" + percentile(99.9) + ",max=" + max();
+    }
+}
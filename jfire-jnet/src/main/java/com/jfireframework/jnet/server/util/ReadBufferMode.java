@@ -0,0 +1,9 @@
+package com.jfireframework.jnet.server.util;
+
+public enum ReadBufferMode
+{
+    // 每一个通道独占一个读取缓存，缓存只会增长不会收缩。适合连接数不多但是每个连接都很活跃的场景
+    FIXED,
+    // 读取缓存从内存池中借用。一个报文处理完毕后，如果缓存超过了空闲上限，就归还给内存池并且重新借用一个初始大小的缓存。适合大量长连接但多数处于空闲的场景
+    POOLED;
+}
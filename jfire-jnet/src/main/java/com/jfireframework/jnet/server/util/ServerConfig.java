@@ -13,21 +13,100 @@ public class ServerConfig
     private ChannelInitListener initListener;
     // 服务器的启动端口
     private int                 port;
-    private DisruptorWaitMode   waitMode         = DisruptorWaitMode.PARK;
+    // 传输方式为UNIX_DOMAIN时监听的socket文件路径
+    private String              unixSocketPath;
+    private DisruptorWaitMode   waitMode            = DisruptorWaitMode.PARK;
     /**
      * 处理socket事件的起始线程数。如果线程池模式选择固定线程数模式的话，则这个数值就是线程数的值。如果线程池模式选择cache模式的话，则这个数值是初始线程数。
      */
-    private int                 socketThreadSize = Runtime.getRuntime().availableProcessors();
+    private int                 socketThreadSize    = Runtime.getRuntime().availableProcessors();
     /**
      * 异步处理线程数。这个数字是disruptor的处理线程数。如果异步任务执行时间较长，适当增大该数字可以得到吞吐量的提升。
      */
-    private int                 asyncThreadSize  = Runtime.getRuntime().availableProcessors();
-    private WorkMode            workMode         = WorkMode.SYNC_WITH_ORDER;
-    private WriteMode           writeMode        = WriteMode.BATCH_WRITE;
-    private ExecutorMode        executorMode     = ExecutorMode.CACHED;
-    private int                 maxBatchWriteNum = 10;
-    private int                 channelCapacity  = 16;
-    private int                 asyncCapacity    = 1024;
+    private int                 asyncThreadSize     = Runtime.getRuntime().availableProcessors();
+    private WorkMode            workMode            = WorkMode.SYNC_WITH_ORDER;
+    private WriteMode           writeMode           = WriteMode.BATCH_WRITE;
+    private ExecutorMode        executorMode        = ExecutorMode.CACHED;
+    private TransportMode       transportMode       = TransportMode.AIO;
+    private int                 maxBatchWriteNum    = 10;
+    // 一次批量写出的字节数上限，达到该值后即使报文个数没有达到上限也立刻写出
+    private int                 maxBatchBytes       = 64 * 1024;
+    /**
+     * 批量写出时，如果批次未满，额外等待多少微秒以收集更多的数据。默认为0，也就是不等待。
+     * 等待由所有通道共享的时间轮完成，不占用socket线程，时间轮的精度最小为100微秒。适当的设置可以在高并发的小报文场景下提高吞吐量，代价是单个报文的延迟上升
+     */
+    private long                lingerMicros        = 0;
+    private int                 channelCapacity     = 16;
+    private int                 asyncCapacity       = 1024;
+    private ReadBufferMode      readBufferMode      = ReadBufferMode.FIXED;
+    // 通道读取缓存的初始大小
+    private int                 readBufferSize      = 100;
+    /**
+     * 读取缓存的空闲上限。在POOLED模式下，报文处理完毕后，如果读取缓存的容量超过这个值，就会被归还给内存池
+     */
+    private int                 idleBufferLimit     = 8192;
+    /**
+     * 读取空闲，写出空闲，读写空闲的检测时间，单位是毫秒，为0表示不检测。只要有一个不为0，就会启用空闲检测，
+     * 此时等待读取不再使用aio的读取超时，而是由空闲检测统一处理
+     */
+    private long                readerIdleTime      = 0;
+    private long                writerIdleTime      = 0;
+    private long                allIdleTime         = 0;
+    // 空闲检测时间轮的tick间隔，单位是毫秒
+    private long                idleCheckTick       = 100;
+    // 写出空闲时自动写出的心跳报文，需要同时设置writerIdleTime
+    private HeartbeatFactory    heartbeatFactory;
+    // 定时将统计指标的快照输出到日志的间隔，单位是毫秒，为0表示不输出
+    private long                metricsDumpInterval = 0;
+    // 优雅关闭时等待通道排空的最长时间，单位是毫秒，超时后剩余的报文将被丢弃
+    private long                shutdownTimeout     = 5000;
+    // 优雅关闭时，所有通道在没有待处理报文的情况下静默多久认为已经排空，单位是毫秒
+    private long                shutdownQuietPeriod = 100;
+    // 最大链接数和单个远端ip的最大链接数，为0表示不限制。超过限制的链接在创建任何通道资源之前就被关闭
+    private int                 maxConnections      = 0;
+    private int                 maxConnectionsPerIp = 0;
+    // 自定义的准入策略，设置之后maxConnections和maxConnectionsPerIp不再生效
+    private AdmissionPolicy     admissionPolicy;
+    /**
+     * 单个通道每秒允许解码的报文数，为0表示不限制。超过速率时暂停读取直到产生新的令牌，
+     * 数据留在socket的接收缓存中，由tcp的流控将压力传递给客户端，报文不会进入处理器链和异步队列
+     */
+    private long                frameRateLimit      = 0;
+    // 速率限制允许的突发报文数，为0时等于frameRateLimit
+    private long                frameBurst          = 0;
+    
+    public ReadBufferMode getReadBufferMode()
+    {
+        return readBufferMode;
+    }
+    
+    public ServerConfig setReadBufferMode(ReadBufferMode readBufferMode)
+    {
+        this.readBufferMode = readBufferMode;
+        return this;
+    }
+    
+    public int getReadBufferSize()
+    {
+        return readBufferSize;
+    }
+    
+    public ServerConfig setReadBufferSize(int readBufferSize)
+    {
+        this.readBufferSize = readBufferSize;
+        return this;
+    }
+    
+    public int getIdleBufferLimit()
+    {
+        return idleBufferLimit;
+    }
+    
+    public ServerConfig setIdleBufferLimit(int idleBufferLimit)
+    {
+        this.idleBufferLimit = idleBufferLimit;
+        return this;
+    }
     
     public int getAsyncCapacity()
     {
@@ -76,6 +155,17 @@ public class ServerConfig
         return this;
     }
     
+    public String getUnixSocketPath()
+    {
+        return unixSocketPath;
+    }
+    
+    public ServerConfig setUnixSocketPath(String unixSocketPath)
+    {
+        this.unixSocketPath = unixSocketPath;
+        return this;
+    }
+    
     public DisruptorWaitMode getWaitMode()
     {
         return waitMode;
@@ -131,6 +221,28 @@ public class ServerConfig
         return this;
     }
     
+    public int getMaxBatchBytes()
+    {
+        return maxBatchBytes;
+    }
+    
+    public ServerConfig setMaxBatchBytes(int maxBatchBytes)
+    {
+        this.maxBatchBytes = maxBatchBytes;
+        return this;
+    }
+    
+    public long getLingerMicros()
+    {
+        return lingerMicros;
+    }
+    
+    public ServerConfig setLingerMicros(long lingerMicros)
+    {
+        this.lingerMicros = lingerMicros;
+        return this;
+    }
+    
     public int getChannelCapacity()
     {
         return channelCapacity;
@@ -142,6 +254,82 @@ public class ServerConfig
         return this;
     }
     
+    public long getReaderIdleTime()
+    {
+        return readerIdleTime;
+    }
+    
+    public ServerConfig setReaderIdleTime(long readerIdleTime)
+    {
+        this.readerIdleTime = readerIdleTime;
+        return this;
+    }
+    
+    public long getWriterIdleTime()
+    {
+        return writerIdleTime;
+    }
+    
+    public ServerConfig setWriterIdleTime(long writerIdleTime)
+    {
+        this.writerIdleTime = writerIdleTime;
+        return this;
+    }
+    
+    public long getAllIdleTime()
+    {
+        return allIdleTime;
+    }
+    
+    public ServerConfig setAllIdleTime(long allIdleTime)
+    {
+        this.allIdleTime = allIdleTime;
+        return this;
+    }
+    
+    public long getIdleCheckTick()
+    {
+        return idleCheckTick;
+    }
+    
+    public ServerConfig setIdleCheckTick(long idleCheckTick)
+    {
+        this.idleCheckTick = idleCheckTick;
+        return this;
+    }
+    
+    public HeartbeatFactory getHeartbeatFactory()
+    {
+        return heartbeatFactory;
+    }
+    
+    public ServerConfig setHeartbeatFactory(HeartbeatFactory heartbeatFactory)
+    {
+        this.heartbeatFactory = heartbeatFactory;
+        return this;
+    }
+    
+    /**
+     * 是否启用了空闲检测
+     * 
+     * @return
+     */
+    public boolean isIdleDetectEnabled()
+    {
+        return readerIdleTime > 0 || writerIdleTime > 0 || allIdleTime > 0;
+    }
+    
+    public TransportMode getTransportMode()
+    {
+        return transportMode;
+    }
+    
+    public ServerConfig setTransportMode(TransportMode transportMode)
+    {
+        this.transportMode = transportMode;
+        return this;
+    }
+    
     public ExecutorMode getExecutorMode()
     {
         return executorMode;
@@ -152,4 +340,109 @@ public class ServerConfig
         this.executorMode = executorMode;
     }
     
+    public long getMetricsDumpInterval()
+    {
+        return metricsDumpInterval;
+    }
+    
+    public ServerConfig setMetricsDumpInterval(long metricsDumpInterval)
+    {
+        this.metricsDumpInterval = metricsDumpInterval;
+        return this;
+    }
+    
+    public long getShutdownTimeout()
+    {
+        return shutdownTimeout;
+    }
+    
+    public ServerConfig setShutdownTimeout(long shutdownTimeout)
+    {
+        this.shutdownTimeout = shutdownTimeout;
+        return this;
+    }
+    
+    public long getShutdownQuietPeriod()
+    {
+        return shutdownQuietPeriod;
+    }
+    
+    public ServerConfig setShutdownQuietPeriod(long shutdownQuietPeriod)
+    {
+        this.shutdownQuietPeriod = shutdownQuietPeriod;
+        return this;
+    }
+    
+    public int getMaxConnections()
+    {
+        return maxConnections;
+    }
+    
+    public ServerConfig setMaxConnections(int maxConnections)
+    {
+        this.maxConnections = maxConnections;
+        return this;
+    }
+    
+    public int getMaxConnectionsPerIp()
+    {
+        return maxConnectionsPerIp;
+    }
+    
+    public ServerConfig setMaxConnectionsPerIp(int maxConnectionsPerIp)
+    {
+        this.maxConnectionsPerIp = maxConnectionsPerIp;
+        return this;
+    }
+    
+    public AdmissionPolicy getAdmissionPolicy()
+    {
+        return admissionPolicy;
+    }
+    
+    public ServerConfig setAdmissionPolicy(AdmissionPolicy admissionPolicy)
+    {
+        this.admissionPolicy = admissionPolicy;
+        return this;
+    }
+    
+    public long getFrameRateLimit()
+    {
+        return frameRateLimit;
+    }
+    
+    public ServerConfig setFrameRateLimit(long frameRateLimit)
+    {
+        this.frameRateLimit = frameRateLimit;
+        return this;
+    }
+    
+    public long getFrameBurst()
+    {
+        return frameBurst == 0 ? frameRateLimit : frameBurst;
+    }
+    
+    public ServerConfig setFrameBurst(long frameBurst)
+    {
+        this.frameBurst = frameBurst;
+        return this;
+    }
+    
+    /**
+     * 根据配置创建准入策略，没有任何限制时返回null
+     * 
+     * @return
+     */
+    public AdmissionPolicy buildAdmissionPolicy()
+    {
+        if (admissionPolicy != null)
+        {
+            return admissionPolicy;
+        }
+        if (maxConnections > 0 || maxConnectionsPerIp > 0)
+        {
+            return new ConnectionLimiter(maxConnections, maxConnectionsPerIp);
+        }
+        return null;
+    }
 }
@@ -20,6 +20,8 @@ public final class ServerInternalResultAction extends AbstractExclusiveEntryActi
     public void doJob(Entry entry)
     {
         ServerInternalTask result = (ServerInternalTask) entry.getData();
+        ServerMetrics metrics = result.getReadCompletionHandler().getMetrics();
+        metrics.asyncDequeued(result.getDispatchTime());
         try
         {
             if (result.getChannelInfo().isOpen() == false)
@@ -30,6 +32,7 @@ public final class ServerInternalResultAction extends AbstractExclusiveEntryActi
             // 储存中间结果
             Object intermediateResult = result.getData();
             DataHandler[] handlers = result.getChannelInfo().getHandlers();
+            long start = System.nanoTime();
             for (int i = result.getIndex(); i < handlers.length;)
             {
                 intermediateResult = handlers[i].handle(intermediateResult, result);
@@ -43,6 +46,7 @@ public final class ServerInternalResultAction extends AbstractExclusiveEntryActi
                     i = result.getIndex();
                 }
             }
+            metrics.handlerLatency(System.nanoTime() - start);
             if (intermediateResult instanceof ByteBuf<?>)
             {
                 result.setData(intermediateResult);
@@ -0,0 +1,227 @@
+package com.jfireframework.jnet.server.util;
+
+import java.util.concurrent.TimeUnit;
+import com.jfireframework.baseutil.concurrent.StripedCounter;
+import com.jfireframework.baseutil.concurrent.time.DefaultTimeoutHandler;
+import com.jfireframework.baseutil.concurrent.time.HierarchyWheelTimer;
+import com.jfireframework.baseutil.concurrent.time.TimeTask;
+import com.jfireframework.baseutil.concurrent.time.Timer;
+import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
+import com.jfireframework.baseutil.simplelog.Logger;
+
+/**
+ * 服务器的统计指标。每一个服务器持有一个实例，在读取，解码，处理，写出的热点路径上直接更新，
+ * 计数器和直方图都按照线程分段，更新时基本没有竞争。可以随时通过getter拉取，也可以配置metricsDumpInterval定时输出到日志。
+ * 其中异步队列深度和通道积压的分布可以用来确定asyncCapacity和channelCapacity的大小
+ * 
+ * @author linbin
+ * 
+ */
+public class ServerMetrics
+{
+    private static final Logger    logger              = ConsoleLogFactory.getLogger();
+    // 每个线程每投递多少个任务采样一次异步队列深度，必须是2的次方
+    private static final int       DEPTH_SAMPLE        = 64;
+    private final StripedCounter   acceptedConnections = new StripedCounter();
+    private final StripedCounter   closedConnections   = new StripedCounter();
+    private final StripedCounter   bytesRead           = new StripedCounter();
+    private final StripedCounter   bytesWritten        = new StripedCounter();
+    private final StripedCounter   framesDecoded       = new StripedCounter();
+    // 被准入策略拒绝的链接数
+    private final StripedCounter   rejectedConnections = new StripedCounter();
+    // 因为超过报文速率而暂停读取的次数
+    private final StripedCounter   readThrottled       = new StripedCounter();
+    // 处理器链的执行耗时，单位是纳秒
+    private final LatencyHistogram handlerLatency      = new LatencyHistogram();
+    // 报文从投递到异步队列到开始被处理的等待时间，单位是纳秒
+    private final LatencyHistogram queueLatency        = new LatencyHistogram();
+    // 投递时异步队列中待处理的任务数，按照DEPTH_SAMPLE采样
+    private final LatencyHistogram asyncQueueDepth     = new LatencyHistogram();
+    // 每解码一个报文时，该通道上已经读取但是还没有写出的报文数
+    private final LatencyHistogram channelBacklog      = new LatencyHistogram();
+    // 投递和取出分别计数，两者的差就是待处理的任务数。不使用同一个原子变量，避免所有的读取线程和异步线程竞争同一个缓存行
+    private final StripedCounter   asyncEnqueued       = new StripedCounter();
+    private final StripedCounter   asyncDequeued       = new StripedCounter();
+    private final WriteHistogram   writeHistogram      = new WriteHistogram();
+    private Timer                  dumpTimer;
+    
+    public void connectionAccepted()
+    {
+        acceptedConnections.increment();
+    }
+    
+    public void connectionClosed()
+    {
+        closedConnections.increment();
+    }
+    
+    public void connectionRejected()
+    {
+        rejectedConnections.increment();
+    }
+    
+    public void readThrottled()
+    {
+        readThrottled.increment();
+    }
+    
+    public void bytesRead(long size)
+    {
+        bytesRead.add(size);
+    }
+    
+    public void bytesWritten(long size)
+    {
+        bytesWritten.add(size);
+    }
+    
+    /**
+     * 解码出一个完整的报文
+     * 
+     * @param backlog 该通道上已经读取但是还没有写出的报文数
+     */
+    public void frameDecoded(long backlog)
+    {
+        framesDecoded.increment();
+        channelBacklog.record(backlog);
+    }
+    
+    public void handlerLatency(long nanos)
+    {
+        handlerLatency.record(nanos);
+    }
+    
+    /**
+     * 任务投递到异步队列时调用。读取队列深度需要遍历所有的槽位，所以只是按照DEPTH_SAMPLE采样记录
+     */
+    public void asyncEnqueued()
+    {
+        if ((asyncEnqueued.incrementStripe() & (DEPTH_SAMPLE - 1)) == 0)
+        {
+            asyncQueueDepth.record(getAsyncPending());
+        }
+    }
+    
+    /**
+     * 异步线程取出任务时调用
+     * 
+     * @param dispatchTime 任务投递时的System.nanoTime()
+     */
+    public void asyncDequeued(long dispatchTime)
+    {
+        asyncDequeued.increment();
+        queueLatency.record(System.nanoTime() - dispatchTime);
+    }
+    
+    public long getAcceptedConnections()
+    {
+        return acceptedConnections.sum();
+    }
+    
+    public long getClosedConnections()
+    {
+        return closedConnections.sum();
+    }
+    
+    public long getActiveConnections()
+    {
+        return acceptedConnections.sum() - closedConnections.sum();
+    }
+    
+    public long getRejectedConnections()
+    {
+        return rejectedConnections.sum();
+    }
+    
+    public long getReadThrottled()
+    {
+        return readThrottled.sum();
+    }
+    
+    public long getBytesRead()
+    {
+        return bytesRead.sum();
+    }
+    
+    public long getBytesWritten()
+    {
+        return bytesWritten.sum();
+    }
+    
+    public long getFramesDecoded()
+    {
+        return framesDecoded.sum();
+    }
+    
+    public long getAsyncPending()
+    {
+        // 先读取取出的数量再读取投递的数量。任务总是先投递再被取出，并且计数只增不减，这样得到的差值不会是负数
+        long dequeued = asyncDequeued.sum();
+        return asyncEnqueued.sum() - dequeued;
+    }
+    
+    public LatencyHistogram getHandlerLatency()
+    {
+        return handlerLatency;
+    }
+    
+    public LatencyHistogram getQueueLatency()
+    {
+        return queueLatency;
+    }
+    
+    public LatencyHistogram getAsyncQueueDepth()
+    {
+        return asyncQueueDepth;
+    }
+    
+    public LatencyHistogram getChannelBacklog()
+    {
+        return channelBacklog;
+    }
+    
+    public WriteHistogram getWriteHistogram()
+    {
+        return writeHistogram;
+    }
+    
+    /**
+     * 按照指定的间隔定时将快照输出到日志
+     * 
+     * @param interval 间隔，单位是毫秒
+     */
+    public synchronized void startDump(final long interval)
+    {
+        if (dumpTimer != null)
+        {
+            return;
+        }
+        final HierarchyWheelTimer timer = new HierarchyWheelTimer(new int[] { 512, 64, 64 }, Math.max(interval / 10, 10), TimeUnit.MILLISECONDS, new DefaultTimeoutHandler());
+        timer.setDaemon(true);
+        dumpTimer = timer;
+        timer.addTask(new TimeTask() {
+            
+            @Override
+            public void invoke()
+            {
+                logger.info("服务器统计:{}", ServerMetrics.this);
+                timer.addTask(this, interval, TimeUnit.MILLISECONDS);
+            }
+        }, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    public synchronized void stopDump()
+    {
+        if (dumpTimer != null)
+        {
+            dumpTimer.stop();
+            dumpTimer = null;
+        }
+    }
+    
+    public String toString()
+    {
+        return "connections[accepted=" + getAcceptedConnections() + ",active=" + getActiveConnections() + ",rejected=" + getRejectedConnections() + "] bytes[read=" + getBytesRead() + ",written=" + getBytesWritten() + "] frames=" + getFramesDecoded() + " throttled=" + getReadThrottled() //
+                + " handlerLatency[" + handlerLatency + "] queueLatency[" + queueLatency + "] asyncQueueDepth[" + asyncQueueDepth + "] channelBacklog[" + channelBacklog + "] write[" + writeHistogram + "]";
+    }
+}
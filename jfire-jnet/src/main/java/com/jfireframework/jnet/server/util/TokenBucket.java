@@ -0,0 +1,85 @@
+package com.jfireframework.jnet.server.util;
+
+/**
+ * 令牌桶，用于限制单个通道的报文速率。令牌按照固定的速率产生，最多积累burst个，每解码一个报文消耗一个令牌。
+ * 令牌在检查时根据流逝的时间惰性补充，不需要额外的线程。
+ * 每一个通道持有一个实例，只在读取流程中访问，读取状态的切换保证了同一时刻只有一个线程在读取，所以不需要同步
+ * 
+ * @author linbin
+ * 
+ */
+public class TokenBucket
+{
+    // 产生一个令牌需要的纳秒数
+    private final long nanosPerPermit;
+    private final long burst;
+    private long       permits;
+    private long       lastRefillTime;
+    
+    /**
+     * @param permitsPerSecond 每秒产生的令牌数
+     * @param burst 最多可以积累的令牌数，也就是允许的突发报文数
+     */
+    public TokenBucket(long permitsPerSecond, long burst)
+    {
+        nanosPerPermit = Math.max(1000000000L / permitsPerSecond, 1);
+        this.burst = Math.max(burst, 1);
+        permits = this.burst;
+        lastRefillTime = System.nanoTime();
+    }
+    
+    private void refill(long now)
+    {
+        long elapsed = now - lastRefillTime;
+        if (elapsed < nanosPerPermit)
+        {
+            return;
+        }
+        long generated = elapsed / nanosPerPermit;
+        if (permits + generated >= burst)
+        {
+            permits = burst;
+            lastRefillTime = now;
+        }
+        else
+        {
+            permits += generated;
+            // 不足一个令牌的时间保留下来，避免长期运行后速率偏低
+            lastRefillTime += generated * nanosPerPermit;
+        }
+    }
+    
+    /**
+     * 当前是否至少有一个令牌可用，该方法不会消耗令牌
+     * 
+     * @return
+     */
+    public boolean hasPermit()
+    {
+        // 每次检查都需要补充。如果只在令牌耗尽时补充，空闲期间lastRefillTime不会前移，用完积累的令牌之后又会一次补满，突发量变成burst的两倍
+        refill(System.nanoTime());
+        return permits > 0;
+    }
+    
+    /**
+     * 消耗一个令牌，调用之前需要先通过hasPermit确认有令牌可用
+     */
+    public void take()
+    {
+        permits -= 1;
+    }
+    
+    /**
+     * 距离产生下一个令牌还需要的纳秒数
+     * 
+     * @return
+     */
+    public long nanosToNextPermit()
+    {
+        if (permits > 0)
+        {
+            return 0;
+        }
+        return Math.max(lastRefillTime + nanosPerPermit - System.nanoTime(), 0);
+    }
+}
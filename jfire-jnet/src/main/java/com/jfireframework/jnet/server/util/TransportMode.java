@@ -0,0 +1,11 @@
+package com.jfireframework.jnet.server.util;
+
+public enum TransportMode
+{
+    // 基于AsynchronousChannelGroup的aio传输
+    AIO,
+    // 基于Selector的nio传输，每一个事件循环线程持有一个Selector，链接固定分配给其中一个事件循环
+    NIO,
+    // 基于unix domain socket的传输，用于同一台机器上的通信。复用aio服务器的全部流程，需要jdk16及以上的版本
+    UNIX_DOMAIN;
+}
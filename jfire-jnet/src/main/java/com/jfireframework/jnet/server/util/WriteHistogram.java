@@ -0,0 +1,86 @@
+package com.jfireframework.jnet.server.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 批量写出的统计直方图。分别统计每次写出的报文个数和字节数，桶按照2的次方幂划分，第i个桶统计的是[2^(i-1),2^i)区间的次数。
+ * 每次批量写出只记录一次，开销很低，可以用来调整maxBatchWriteNum,maxBatchBytes和lingerMicros
+ * 
+ * @author linbin
+ * 
+ */
+public class WriteHistogram
+{
+    private static final int      BUCKETS  = 40;
+    private final AtomicLongArray messages = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray bytes    = new AtomicLongArray(BUCKETS);
+    
+    public void record(int messageNum, long byteNum)
+    {
+        messages.incrementAndGet(bucket(messageNum));
+        bytes.incrementAndGet(bucket(byteNum));
+    }
+    
+    private int bucket(long value)
+    {
+        int index = 64 - Long.numberOfLeadingZeros(value);
+        return index < BUCKETS ? index : BUCKETS - 1;
+    }
+    
+    /**
+     * 返回报文个数直方图的快照
+     * 
+     * @return
+     */
+    public long[] messageCounts()
+    {
+        return snapshot(messages);
+    }
+    
+    /**
+     * 返回字节数直方图的快照
+     * 
+     * @return
+     */
+    public long[] byteCounts()
+    {
+        return snapshot(bytes);
+    }
+    
+    private long[] snapshot(AtomicLongArray array)
+    {
+        long[] result = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            result[i] = array.get(i);
+        }
+        return result;
+    }
+    
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder();
+        builder.append("messages:");
+        append(builder, messageCounts());
+        builder.append(" bytes:");
+        append(builder, byteCounts());
+        return builder.toString();
+    }
+    
+    private void append(StringBuilder builder, long[] counts)
+    {
+        builder.append('{');
+        for (int i = 0; i < counts.length; i++)
+        {
+            if (counts[i] != 0)
+            {
+                builder.append('<').append(1L << i).append('=').append(counts[i]).append(',');
+            }
+        }
+        if (builder.charAt(builder.length() - 1) == ',')
+        {
+            builder.setLength(builder.length() - 1);
+        }
+        builder.append('}');
+    }
+}
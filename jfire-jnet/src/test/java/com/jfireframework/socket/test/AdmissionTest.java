@@ -0,0 +1,311 @@
+package com.jfireframework.socket.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.jnet.common.channel.ChannelInitListener;
+import com.jfireframework.jnet.common.channel.JnetChannel;
+import com.jfireframework.jnet.common.decodec.TotalLengthFieldBasedFrameDecoder;
+import com.jfireframework.jnet.common.exception.JnetException;
+import com.jfireframework.jnet.common.handler.DataHandler;
+import com.jfireframework.jnet.common.result.InternalTask;
+import com.jfireframework.jnet.server.AioServer;
+import com.jfireframework.jnet.server.util.AdmissionPolicy;
+import com.jfireframework.jnet.server.util.ConnectionLimiter;
+import com.jfireframework.jnet.server.util.DisruptorWaitMode;
+import com.jfireframework.jnet.server.util.ServerConfig;
+import com.jfireframework.jnet.server.util.TokenBucket;
+import com.jfireframework.jnet.server.util.WorkMode;
+
+public class AdmissionTest
+{
+    private final int port = 8561;
+    
+    @Test
+    public void burstAfterIdle() throws InterruptedException
+    {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        Thread.sleep(1000);
+        int taken = 0;
+        while (bucket.hasPermit())
+        {
+            bucket.take();
+            taken += 1;
+        }
+        // 空闲了足够长的时间，也只能积累burst个令牌
+        assertEquals(5, taken);
+        assertTrue(bucket.nanosToNextPermit() > 0);
+    }
+    
+    @Test
+    public void refillRate() throws InterruptedException
+    {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        while (bucket.hasPermit())
+        {
+            bucket.take();
+        }
+        Thread.sleep(250);
+        int taken = 0;
+        while (bucket.hasPermit())
+        {
+            bucket.take();
+            taken += 1;
+        }
+        assertEquals(2, taken);
+    }
+    
+    @Test
+    public void connectionLimiter()
+    {
+        ConnectionLimiter limiter = new ConnectionLimiter(3, 2);
+        InetSocketAddress a = new InetSocketAddress("10.0.0.1", 1000);
+        InetSocketAddress b = new InetSocketAddress("10.0.0.2", 1000);
+        assertTrue(limiter.admit(a));
+        assertTrue(limiter.admit(a));
+        // 单个ip的上限
+        assertFalse(limiter.admit(a));
+        assertTrue(limiter.admit(b));
+        // 总的上限
+        assertFalse(limiter.admit(b));
+        assertEquals(3, limiter.connections());
+        limiter.release(a);
+        assertTrue(limiter.admit(b));
+        assertFalse(limiter.admit(a));
+    }
+    
+    /**
+     * 超过速率的报文不会丢失，而是暂停读取之后按照速率处理。恢复读取之后处理器仍然在socket线程中执行，而不是时间轮的线程
+     * 
+     * @throws Throwable
+     */
+    @Test
+    public void throttledEcho() throws Throwable
+    {
+        final Set<String> threads = Collections.synchronizedSet(new HashSet<String>());
+        ServerConfig config = new ServerConfig();
+        config.setSocketThreadSize(2).setAsyncThreadSize(2).setWorkMode(WorkMode.SYNC_WITH_ORDER).setWaitMode(DisruptorWaitMode.BLOCK).setAsyncCapacity(8192).setChannelCapacity(16);
+        config.setFrameRateLimit(100).setFrameBurst(10);
+        config.setInitListener(new ChannelInitListener() {
+            
+            @Override
+            public void channelInit(JnetChannel jnetChannel)
+            {
+                jnetChannel.setCapacity(16);
+                jnetChannel.setFrameDecodec(new TotalLengthFieldBasedFrameDecoder(0, 4, 4, 500));
+                jnetChannel.setHandlers(new DataHandler() {
+                    
+                    @Override
+                    public Object handle(Object data, InternalTask entry) throws JnetException
+                    {
+                        threads.add(Thread.currentThread().getName());
+                        ((ByteBuf<?>) data).readIndex(0);
+                        return data;
+                    }
+                    
+                    @Override
+                    public Object catchException(Object data, InternalTask result)
+                    {
+                        return null;
+                    }
+                });
+            }
+        });
+        config.setPort(port);
+        AioServer aioServer = new AioServer(config);
+        aioServer.start();
+        Socket socket = new Socket("127.0.0.1", port);
+        try
+        {
+            int count = 40;
+            long start = System.currentTimeMillis();
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            for (int i = 0; i < count; i++)
+            {
+                byte[] payload = ("m" + i).getBytes();
+                out.writeInt(4 + payload.length);
+                out.write(payload);
+            }
+            out.flush();
+            socket.setSoTimeout(5000);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            for (int i = 0; i < count; i++)
+            {
+                byte[] payload = new byte[in.readInt() - 4];
+                in.readFully(payload);
+                assertEquals("m" + i, new String(payload));
+            }
+            // 突发的10个之后，剩下的30个报文按照每秒100个的速率处理
+            assertTrue(System.currentTimeMillis() - start >= 250);
+            assertTrue(aioServer.getMetrics().getReadThrottled() > 0);
+            for (String each : threads)
+            {
+                assertTrue(each, each.startsWith("服务端socket线程-"));
+            }
+        }
+        finally
+        {
+            socket.close();
+            aioServer.stop();
+        }
+    }
+    
+    /**
+     * 超过链接上限的链接在创建通道之前就被关闭
+     * 
+     * @throws Throwable
+     */
+    @Test
+    public void rejectOverLimit() throws Throwable
+    {
+        ServerConfig config = new ServerConfig();
+        config.setSocketThreadSize(2).setAsyncThreadSize(2).setWorkMode(WorkMode.SYNC_WITH_ORDER).setWaitMode(DisruptorWaitMode.BLOCK).setAsyncCapacity(8192).setChannelCapacity(16);
+        config.setMaxConnections(1);
+        config.setInitListener(new ChannelInitListener() {
+            
+            @Override
+            public void channelInit(JnetChannel jnetChannel)
+            {
+                jnetChannel.setCapacity(16);
+                jnetChannel.setFrameDecodec(new TotalLengthFieldBasedFrameDecoder(0, 4, 4, 500));
+                jnetChannel.setHandlers(new EchoHandler());
+            }
+        });
+        config.setPort(port + 1);
+        AioServer aioServer = new AioServer(config);
+        aioServer.start();
+        Socket first = new Socket("127.0.0.1", port + 1);
+        Socket second = null;
+        try
+        {
+            // accept是并发完成的，等第一个链接被接纳之后再发起第二个，否则无法确定哪一个被拒绝
+            while (aioServer.getMetrics().getAcceptedConnections() == 0)
+            {
+                Thread.sleep(10);
+            }
+            second = new Socket("127.0.0.1", port + 1);
+            second.setSoTimeout(2000);
+            int read;
+            try
+            {
+                read = second.getInputStream().read();
+            }
+            catch (SocketTimeoutException e)
+            {
+                read = 0;
+            }
+            catch (IOException e)
+            {
+                read = -1;
+            }
+            assertEquals(-1, read);
+            assertEquals(1, aioServer.getMetrics().getRejectedConnections());
+        }
+        finally
+        {
+            first.close();
+            if (second != null)
+            {
+                second.close();
+            }
+            aioServer.stop();
+        }
+    }
+    
+    /**
+     * 注册链接的过程中出现异常时，还没有创建通道的链接也要被关闭，并且不影响后续链接的接受
+     * 
+     * @throws Throwable
+     */
+    @Test
+    public void admitFailure() throws Throwable
+    {
+        final AtomicInteger admitted = new AtomicInteger();
+        ServerConfig config = new ServerConfig();
+        config.setSocketThreadSize(2).setAsyncThreadSize(2).setWorkMode(WorkMode.SYNC_WITH_ORDER).setWaitMode(DisruptorWaitMode.BLOCK).setAsyncCapacity(8192).setChannelCapacity(16);
+        config.setAdmissionPolicy(new AdmissionPolicy() {
+            
+            @Override
+            public boolean admit(SocketAddress remoteAddress)
+            {
+                if (admitted.incrementAndGet() == 1)
+                {
+                    throw new IllegalStateException("准入判断失败");
+                }
+                return true;
+            }
+            
+            @Override
+            public void release(SocketAddress remoteAddress)
+            {
+                // 不需要维护计数
+            }
+        });
+        config.setInitListener(new ChannelInitListener() {
+            
+            @Override
+            public void channelInit(JnetChannel jnetChannel)
+            {
+                jnetChannel.setCapacity(16);
+                jnetChannel.setFrameDecodec(new TotalLengthFieldBasedFrameDecoder(0, 4, 4, 500));
+                jnetChannel.setHandlers(new EchoHandler());
+            }
+        });
+        config.setPort(port + 4);
+        AioServer aioServer = new AioServer(config);
+        aioServer.start();
+        Socket first = new Socket("127.0.0.1", port + 4);
+        Socket second = null;
+        try
+        {
+            first.setSoTimeout(2000);
+            int read;
+            try
+            {
+                read = first.getInputStream().read();
+            }
+            catch (SocketTimeoutException e)
+            {
+                read = 0;
+            }
+            catch (IOException e)
+            {
+                read = -1;
+            }
+            assertEquals(-1, read);
+            second = new Socket("127.0.0.1", port + 4);
+            second.setSoTimeout(5000);
+            DataOutputStream out = new DataOutputStream(second.getOutputStream());
+            out.writeInt(5);
+            out.write(1);
+            out.flush();
+            DataInputStream in = new DataInputStream(second.getInputStream());
+            assertEquals(5, in.readInt());
+            assertEquals(1, in.read());
+        }
+        finally
+        {
+            first.close();
+            if (second != null)
+            {
+                second.close();
+            }
+            aioServer.stop();
+        }
+    }
+}
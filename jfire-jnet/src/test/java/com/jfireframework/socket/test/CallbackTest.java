@@ -0,0 +1,210 @@
+package com.jfireframework.socket.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.collection.buffer.DirectByteBuf;
+import com.jfireframework.jnet.client.AioClient;
+import com.jfireframework.jnet.client.ResponseListener;
+import com.jfireframework.jnet.common.channel.ChannelInitListener;
+import com.jfireframework.jnet.common.channel.JnetChannel;
+import com.jfireframework.jnet.common.decodec.TotalLengthFieldBasedFrameDecoder;
+import com.jfireframework.jnet.common.decodec.TotalLengthFieldBasedFrameDecoderByHeap;
+import com.jfireframework.jnet.common.exception.JnetException;
+import com.jfireframework.jnet.common.exception.TimeoutException;
+import com.jfireframework.jnet.common.handler.DataHandler;
+import com.jfireframework.jnet.common.handler.LengthPreHandler;
+import com.jfireframework.jnet.common.result.InternalTask;
+import com.jfireframework.jnet.server.AioServer;
+import com.jfireframework.jnet.server.util.DisruptorWaitMode;
+import com.jfireframework.jnet.server.util.ServerConfig;
+import com.jfireframework.jnet.server.util.WorkMode;
+
+/**
+ * 回调方式的写出。服务端收到slow时会等待500毫秒再返回
+ * 
+ * @author linbin
+ * 
+ */
+public class CallbackTest
+{
+    private final int port = 8563;
+    private AioServer aioServer;
+    private AioClient client;
+    
+    @Before
+    public void before() throws Throwable
+    {
+        ServerConfig config = new ServerConfig();
+        config.setSocketThreadSize(2).setAsyncThreadSize(2).setWorkMode(WorkMode.SYNC_WITH_ORDER).setWaitMode(DisruptorWaitMode.BLOCK).setAsyncCapacity(8192).setChannelCapacity(16);
+        config.setInitListener(new ChannelInitListener() {
+            
+            @Override
+            public void channelInit(JnetChannel jnetChannel)
+            {
+                jnetChannel.setCapacity(16);
+                jnetChannel.setFrameDecodec(new TotalLengthFieldBasedFrameDecoder(0, 4, 4, 500));
+                jnetChannel.setHandlers(new DataHandler() {
+                    
+                    @Override
+                    public Object handle(Object data, InternalTask entry) throws JnetException
+                    {
+                        ByteBuf<?> buf = (ByteBuf<?>) data;
+                        if (buf.readString().equals("slow"))
+                        {
+                            try
+                            {
+                                Thread.sleep(500);
+                            }
+                            catch (InterruptedException e)
+                            {
+                                throw new JnetException("等待被中断", e);
+                            }
+                        }
+                        buf.readIndex(0);
+                        return buf;
+                    }
+                    
+                    @Override
+                    public Object catchException(Object data, InternalTask result)
+                    {
+                        return null;
+                    }
+                });
+            }
+        });
+        config.setPort(port);
+        aioServer = new AioServer(config);
+        aioServer.start();
+        client = new AioClient(false);
+        client.setAddress("127.0.0.1").setPort(port);
+        client.setWriteHandlers(new DataHandler() {
+            
+            @Override
+            public Object handle(Object data, InternalTask result) throws JnetException
+            {
+                ByteBuf<?> buf = DirectByteBuf.allocate(100);
+                buf.addWriteIndex(4);
+                buf.writeString((String) data);
+                return buf;
+            }
+            
+            @Override
+            public Object catchException(Object data, InternalTask result)
+            {
+                return data;
+            }
+        }, new LengthPreHandler(0, 4));
+        client.setInitListener(new ChannelInitListener() {
+            
+            @Override
+            public void channelInit(JnetChannel jnetChannel)
+            {
+                jnetChannel.setFrameDecodec(new TotalLengthFieldBasedFrameDecoderByHeap(0, 4, 4, 500));
+                jnetChannel.setCapacity(2);
+                jnetChannel.setHandlers(new DataHandler() {
+                    
+                    @Override
+                    public Object handle(Object data, InternalTask result) throws JnetException
+                    {
+                        ByteBuf<?> buf = (ByteBuf<?>) data;
+                        String value = buf.readString();
+                        buf.release();
+                        return value;
+                    }
+                    
+                    @Override
+                    public Object catchException(Object data, InternalTask result)
+                    {
+                        return data;
+                    }
+                });
+            }
+        });
+        client.connect();
+    }
+    
+    @After
+    public void after()
+    {
+        client.close();
+        aioServer.stop();
+    }
+    
+    @Test
+    public void success() throws InterruptedException
+    {
+        Listener listener = new Listener();
+        client.writeAsync("hello", 5000, listener);
+        assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+        assertEquals("hello", listener.result.get());
+        assertNull(listener.error.get());
+    }
+    
+    @Test
+    public void timeout() throws InterruptedException
+    {
+        Listener listener = new Listener();
+        long start = System.currentTimeMillis();
+        client.writeAsync("slow", 100, listener);
+        assertTrue(System.currentTimeMillis() - start < 100);
+        assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+        assertTrue(listener.error.get() instanceof TimeoutException);
+        // 超时之后到达的响应被忽略，不会再次回调
+        Thread.sleep(600);
+        assertEquals(1, listener.calls);
+    }
+    
+    /**
+     * 在途的请求数量已满时不等待，直接以异常回调
+     * 
+     * @throws InterruptedException
+     */
+    @Test
+    public void full() throws InterruptedException
+    {
+        Listener first = new Listener();
+        Listener second = new Listener();
+        Listener third = new Listener();
+        client.writeAsync("slow", 5000, first);
+        client.writeAsync("slow", 5000, second);
+        client.writeAsync("hello", 5000, third);
+        assertTrue(third.latch.await(100, TimeUnit.MILLISECONDS));
+        assertTrue(third.error.get() instanceof JnetException);
+        assertTrue(first.latch.await(5, TimeUnit.SECONDS));
+        assertTrue(second.latch.await(5, TimeUnit.SECONDS));
+        assertEquals("slow", first.result.get());
+        assertEquals("slow", second.result.get());
+    }
+    
+    class Listener implements ResponseListener
+    {
+        final CountDownLatch             latch  = new CountDownLatch(1);
+        final AtomicReference<Object>    result = new AtomicReference<Object>();
+        final AtomicReference<Throwable> error  = new AtomicReference<Throwable>();
+        volatile int                     calls  = 0;
+        
+        @Override
+        public void onSuccess(Object result)
+        {
+            calls += 1;
+            this.result.set(result);
+            latch.countDown();
+        }
+        
+        @Override
+        public void onFailure(Throwable e)
+        {
+            calls += 1;
+            error.set(e);
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.jfireframework.socket.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.collection.buffer.DirectByteBuf;
+import com.jfireframework.jnet.common.decodec.FrameDecodec;
+import com.jfireframework.jnet.common.decodec.LengthField;
+import com.jfireframework.jnet.common.decodec.LengthFieldBasedFrameDecoder;
+import com.jfireframework.jnet.common.decodec.TotalLengthFieldBasedFrameDecoder;
+import com.jfireframework.jnet.common.decodec.TotalLengthFieldBasedFrameDecoderByHeap;
+import com.jfireframework.jnet.common.exception.BufNotEnoughException;
+import com.jfireframework.jnet.common.exception.NotFitProtocolException;
+import com.jfireframework.jnet.common.handler.LengthFieldEncoder;
+
+public class DecodecTest
+{
+    /**
+     * 每一种长度字段格式经过编码器写出后都能被解码器完整的解出
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void roundTrip() throws Exception
+    {
+        for (LengthField each : LengthField.values())
+        {
+            for (int size : new int[] { 0, 1, 127, 128, 200 })
+            {
+                LengthFieldEncoder encoder = new LengthFieldEncoder(2, each, 0);
+                ByteBuf<?> buf = encoder.reserveHeader(DirectByteBuf.allocate(16));
+                buf.put(0, (byte) 7);
+                buf.put(1, (byte) 9);
+                for (int i = 0; i < size; i++)
+                {
+                    buf.put((byte) i);
+                }
+                encoder.handle(buf, null);
+                int frameLength = buf.remainRead();
+                // 后面紧跟一个不完整的报文，不能影响第一个报文的解码
+                buf.put((byte) 7);
+                FrameDecodec decodec = new LengthFieldBasedFrameDecoder(2, each, 0, 0, 1000);
+                ByteBuf<?> frame = decodec.decodec(buf);
+                assertEquals(each.name(), frameLength, frame.remainRead());
+                assertEquals(7, frame.get(frame.readIndex()));
+                assertEquals(9, frame.get(frame.readIndex() + 1));
+                for (int i = 0; i < size; i++)
+                {
+                    assertEquals((byte) i, frame.get(frame.readIndex() + frameLength - size + i));
+                }
+                assertEquals(1, buf.remainRead());
+                assertNull(decodec.decodec(buf));
+                frame.release();
+                buf.release();
+            }
+        }
+    }
+    
+    @Test
+    public void totalLength() throws Exception
+    {
+        for (int fieldLength : new int[] { 1, 2, 3, 4, 8 })
+        {
+            ByteBuf<?> buf = DirectByteBuf.allocate(64);
+            buf.addWriteIndex(fieldLength);
+            buf.writeString("hello");
+            LengthField.ofLength(fieldLength).writeLength(buf, 0, buf.remainRead());
+            ByteBuf<?> frame = new TotalLengthFieldBasedFrameDecoder(0, fieldLength, fieldLength, 500).decodec(buf);
+            assertEquals("hello", frame.readString());
+            assertEquals(0, buf.remainRead());
+            frame.release();
+            buf.release();
+        }
+    }
+    
+    @Test
+    public void notEnough() throws Exception
+    {
+        ByteBuf<?> buf = DirectByteBuf.allocate(64);
+        buf.writeShort((short) 0);
+        FrameDecodec decodec = new TotalLengthFieldBasedFrameDecoder(0, 4, 4, 500);
+        // 长度字段还没有读取完整
+        assertNull(decodec.decodec(buf));
+        buf.writeInt(0, 100);
+        buf.addWriteIndex(2);
+        try
+        {
+            decodec.decodec(buf);
+            fail();
+        }
+        catch (BufNotEnoughException e)
+        {
+            assertEquals(100, e.getNeedSize());
+        }
+        assertEquals(4, buf.remainRead());
+        buf.release();
+    }
+    
+    /**
+     * 8个字节的长度字段读取到的负数必须作为协议错误，而不是被强转为int之后当作合法的长度
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void negativeLong() throws Exception
+    {
+        for (long each : new long[] { -1, Long.MIN_VALUE, 0xffffffff00000010L })
+        {
+            assertNotFit(new TotalLengthFieldBasedFrameDecoder(0, 8, 8, 500), longFrame(each));
+            assertNotFit(new TotalLengthFieldBasedFrameDecoderByHeap(0, 8, 8, 500), longFrame(each));
+            assertNotFit(new LengthFieldBasedFrameDecoder(0, LengthField.LONG, 0, 8, 500), longFrame(each));
+            assertNotFit(new LengthFieldBasedFrameDecoder(0, LengthField.LONG, -8, 8, 500), longFrame(each));
+        }
+    }
+    
+    /**
+     * 整体长度不足以包含长度字段或者需要跳过的字节时是协议错误
+     * 
+     * @throws Exception
+     */
+    @Test
+    public void tooShort() throws Exception
+    {
+        assertNotFit(new TotalLengthFieldBasedFrameDecoder(0, 8, 8, 500), longFrame(0));
+        assertNotFit(new TotalLengthFieldBasedFrameDecoder(0, 8, 8, 500), longFrame(7));
+        assertNotFit(new TotalLengthFieldBasedFrameDecoderByHeap(0, 8, 8, 500), longFrame(7));
+        assertNotFit(new TotalLengthFieldBasedFrameDecoder(0, 8, 12, 500), longFrame(10));
+        assertNotFit(new LengthFieldBasedFrameDecoder(0, LengthField.LONG, -8, 8, 500), longFrame(7));
+        ByteBuf<?> frame = new TotalLengthFieldBasedFrameDecoder(0, 8, 8, 500).decodec(longFrame(8));
+        assertEquals(0, frame.remainRead());
+    }
+    
+    @Test
+    public void tooLong() throws Exception
+    {
+        assertNotFit(new TotalLengthFieldBasedFrameDecoder(0, 8, 8, 500), longFrame(500));
+        assertNotFit(new TotalLengthFieldBasedFrameDecoder(0, 8, 8, 500), longFrame(Long.MAX_VALUE));
+        assertNotFit(new LengthFieldBasedFrameDecoder(0, LengthField.LONG, 0, 8, 500), longFrame(Long.MAX_VALUE));
+    }
+    
+    private ByteBuf<?> longFrame(long length)
+    {
+        ByteBuf<?> buf = DirectByteBuf.allocate(64);
+        buf.writeLong(length);
+        buf.writeLong(0);
+        return buf;
+    }
+    
+    private void assertNotFit(FrameDecodec decodec, ByteBuf<?> buf) throws Exception
+    {
+        try
+        {
+            decodec.decodec(buf);
+            fail();
+        }
+        catch (NotFitProtocolException e)
+        {
+            // 期望的协议错误
+        }
+        finally
+        {
+            buf.release();
+        }
+    }
+}
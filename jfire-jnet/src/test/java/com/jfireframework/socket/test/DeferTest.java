@@ -0,0 +1,143 @@
+package com.jfireframework.socket.test;
+
+import static org.junit.Assert.assertEquals;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.collection.buffer.HeapByteBuf;
+import com.jfireframework.jnet.common.channel.ChannelInitListener;
+import com.jfireframework.jnet.common.channel.JnetChannel;
+import com.jfireframework.jnet.common.decodec.TotalLengthFieldBasedFrameDecoder;
+import com.jfireframework.jnet.common.exception.JnetException;
+import com.jfireframework.jnet.common.handler.DataHandler;
+import com.jfireframework.jnet.common.result.DeferredResponse;
+import com.jfireframework.jnet.common.result.InternalTask;
+import com.jfireframework.jnet.common.result.ServerInternalTask;
+import com.jfireframework.jnet.server.AioServer;
+import com.jfireframework.jnet.server.util.DisruptorWaitMode;
+import com.jfireframework.jnet.server.util.ServerConfig;
+import com.jfireframework.jnet.server.util.WorkMode;
+
+/**
+ * 延迟响应。第一个处理器延迟所有的报文，在另外的线程中继续处理，第二个处理器丢弃内容为drop的报文
+ * 
+ * @author linbin
+ * 
+ */
+public class DeferTest
+{
+    private final int port = 8564;
+    
+    /**
+     * 被丢弃的延迟响应需要释放占用的通道容量，否则丢弃的报文个数达到通道容量后通道停止读取
+     * 
+     * @throws Throwable
+     */
+    @Test
+    public void dropDeferred() throws Throwable
+    {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        ServerConfig config = new ServerConfig();
+        config.setSocketThreadSize(2).setAsyncThreadSize(2).setWorkMode(WorkMode.ASYNC_WITHOUT_ORDER).setWaitMode(DisruptorWaitMode.BLOCK).setAsyncCapacity(8192).setChannelCapacity(2);
+        config.setInitListener(new ChannelInitListener() {
+            
+            @Override
+            public void channelInit(JnetChannel jnetChannel)
+            {
+                jnetChannel.setCapacity(2);
+                jnetChannel.setFrameDecodec(new TotalLengthFieldBasedFrameDecoder(0, 4, 4, 500));
+                jnetChannel.setHandlers(new DataHandler() {
+                    
+                    @Override
+                    public Object handle(final Object data, InternalTask entry) throws JnetException
+                    {
+                        final DeferredResponse response = ((ServerInternalTask) entry).defer();
+                        executor.execute(new Runnable() {
+                            
+                            @Override
+                            public void run()
+                            {
+                                response.write(data);
+                            }
+                        });
+                        return null;
+                    }
+                    
+                    @Override
+                    public Object catchException(Object data, InternalTask result)
+                    {
+                        return null;
+                    }
+                }, new DataHandler() {
+                    
+                    @Override
+                    public Object handle(Object data, InternalTask entry) throws JnetException
+                    {
+                        // 延迟响应时前一个处理器返回null
+                        if (data instanceof ByteBuf == false)
+                        {
+                            return data;
+                        }
+                        ByteBuf<?> buf = (ByteBuf<?>) data;
+                        if (buf.readString().equals("drop"))
+                        {
+                            buf.release();
+                            return null;
+                        }
+                        buf.readIndex(0);
+                        return buf;
+                    }
+                    
+                    @Override
+                    public Object catchException(Object data, InternalTask result)
+                    {
+                        return null;
+                    }
+                });
+            }
+        });
+        config.setPort(port);
+        AioServer aioServer = new AioServer(config);
+        aioServer.start();
+        Socket socket = new Socket("127.0.0.1", port);
+        try
+        {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            for (int i = 0; i < 10; i++)
+            {
+                writeFrame(out, "drop");
+            }
+            writeFrame(out, "hello");
+            out.flush();
+            socket.setSoTimeout(5000);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            byte[] payload = new byte[in.readInt() - 4];
+            in.readFully(payload);
+            ByteBuf<?> buf = HeapByteBuf.allocate(payload.length);
+            buf.put(payload);
+            assertEquals("hello", buf.readString());
+        }
+        finally
+        {
+            socket.close();
+            aioServer.stop();
+            executor.shutdown();
+        }
+    }
+    
+    private void writeFrame(DataOutputStream out, String value) throws IOException
+    {
+        ByteBuf<?> buf = HeapByteBuf.allocate(32);
+        buf.addWriteIndex(4);
+        buf.writeString(value);
+        buf.writeInt(0, buf.remainRead());
+        out.write(buf.toArray());
+    }
+}
@@ -0,0 +1,192 @@
+package com.jfireframework.socket.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.collection.buffer.DirectByteBufPool;
+import com.jfireframework.jnet.common.channel.ChannelInitListener;
+import com.jfireframework.jnet.common.channel.JnetChannel;
+import com.jfireframework.jnet.common.decodec.TotalLengthFieldBasedFrameDecoder;
+import com.jfireframework.jnet.common.exception.JnetException;
+import com.jfireframework.jnet.common.handler.DataHandler;
+import com.jfireframework.jnet.common.result.InternalTask;
+import com.jfireframework.jnet.server.AioServer;
+import com.jfireframework.jnet.server.util.DisruptorWaitMode;
+import com.jfireframework.jnet.server.util.HeartbeatFactory;
+import com.jfireframework.jnet.server.util.ServerConfig;
+import com.jfireframework.jnet.server.util.WorkMode;
+import com.jfireframework.jnet.server.util.WriteMode;
+
+/**
+ * 写出空闲时的心跳。心跳报文的值是-1，回声报文的值都不小于0
+ * 
+ * @author linbin
+ * 
+ */
+public class HeartbeatTest
+{
+    private final int        port      = 8569;
+    private static final int HEARTBEAT = -1;
+    
+    @Test
+    public void idleHeartbeat() throws Throwable
+    {
+        AioServer aioServer = newServer(WriteMode.SINGLE_WRITE, 100, 10, port);
+        aioServer.start();
+        Socket socket = new Socket("127.0.0.1", port);
+        try
+        {
+            socket.setSoTimeout(2000);
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            assertEquals(HEARTBEAT, readFrame(in));
+            assertEquals(HEARTBEAT, readFrame(in));
+        }
+        finally
+        {
+            socket.close();
+            aioServer.stop();
+        }
+    }
+    
+    @Test
+    public void singleWriteWithTraffic() throws Throwable
+    {
+        echoWithHeartbeat(WriteMode.SINGLE_WRITE, port + 1);
+    }
+    
+    @Test
+    public void batchWriteWithTraffic() throws Throwable
+    {
+        echoWithHeartbeat(WriteMode.BATCH_WRITE, port + 2);
+    }
+    
+    /**
+     * 报文之间留出空闲让心跳不断的与报文的写出竞争，报文依然按照顺序完整的返回
+     * 
+     * @param writeMode
+     * @param port
+     * @throws Throwable
+     */
+    private void echoWithHeartbeat(WriteMode writeMode, int port) throws Throwable
+    {
+        AioServer aioServer = newServer(writeMode, 1, 1, port);
+        aioServer.start();
+        final Socket socket = new Socket("127.0.0.1", port);
+        final int count = 3000;
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        try
+        {
+            socket.setSoTimeout(5000);
+            Thread writer = new Thread(new Runnable() {
+                
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                        for (int i = 0; i < count; i++)
+                        {
+                            out.writeInt(8);
+                            out.writeInt(i);
+                            if (i % 5 == 4)
+                            {
+                                out.flush();
+                                Thread.sleep(1);
+                            }
+                        }
+                        out.flush();
+                    }
+                    catch (Throwable e)
+                    {
+                        error.set(e);
+                    }
+                }
+            });
+            writer.start();
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            int heartbeats = 0;
+            int expect = 0;
+            while (expect < count)
+            {
+                int value = readFrame(in);
+                if (value == HEARTBEAT)
+                {
+                    heartbeats += 1;
+                }
+                else
+                {
+                    assertEquals(expect, value);
+                    expect += 1;
+                }
+            }
+            writer.join();
+            assertEquals(null, error.get());
+            assertTrue(heartbeats > 0);
+        }
+        finally
+        {
+            socket.close();
+            aioServer.stop();
+        }
+    }
+    
+    private AioServer newServer(WriteMode writeMode, long writerIdleTime, long idleCheckTick, int port)
+    {
+        ServerConfig config = new ServerConfig();
+        config.setSocketThreadSize(2).setAsyncThreadSize(2).setWorkMode(WorkMode.SYNC_WITH_ORDER).setWaitMode(DisruptorWaitMode.BLOCK).setAsyncCapacity(8192).setChannelCapacity(64);
+        config.setWriteMode(writeMode);
+        config.setWriterIdleTime(writerIdleTime).setIdleCheckTick(idleCheckTick);
+        config.setHeartbeatFactory(new HeartbeatFactory() {
+            
+            @Override
+            public ByteBuf<?> newHeartbeat(JnetChannel jnetChannel)
+            {
+                ByteBuf<?> heartbeat = DirectByteBufPool.getInstance().get(8);
+                heartbeat.writeInt(8);
+                heartbeat.writeInt(HEARTBEAT);
+                return heartbeat;
+            }
+        });
+        config.setInitListener(new ChannelInitListener() {
+            
+            @Override
+            public void channelInit(JnetChannel jnetChannel)
+            {
+                jnetChannel.setCapacity(64);
+                jnetChannel.setFrameDecodec(new TotalLengthFieldBasedFrameDecoder(0, 4, 4, 500));
+                jnetChannel.setHandlers(new DataHandler() {
+                    
+                    @Override
+                    public Object handle(Object data, InternalTask entry) throws JnetException
+                    {
+                        ((ByteBuf<?>) data).readIndex(0);
+                        return data;
+                    }
+                    
+                    @Override
+                    public Object catchException(Object data, InternalTask result)
+                    {
+                        return null;
+                    }
+                });
+            }
+        });
+        config.setPort(port);
+        return new AioServer(config);
+    }
+    
+    private int readFrame(DataInputStream in) throws IOException
+    {
+        assertEquals(8, in.readInt());
+        return in.readInt();
+    }
+}
@@ -0,0 +1,183 @@
+package com.jfireframework.socket.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import org.junit.Test;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.jnet.common.channel.ChannelInitListener;
+import com.jfireframework.jnet.common.channel.JnetChannel;
+import com.jfireframework.jnet.common.decodec.TotalLengthFieldBasedFrameDecoder;
+import com.jfireframework.jnet.common.exception.JnetException;
+import com.jfireframework.jnet.common.handler.DataHandler;
+import com.jfireframework.jnet.common.result.InternalTask;
+import com.jfireframework.jnet.server.AioServer;
+import com.jfireframework.jnet.server.util.DisruptorWaitMode;
+import com.jfireframework.jnet.server.util.ExecutorMode;
+import com.jfireframework.jnet.server.util.ServerConfig;
+import com.jfireframework.jnet.server.util.WorkMode;
+import com.jfireframework.jnet.server.util.WriteMode;
+
+/**
+ * 批量写出时等待批次填满
+ * 
+ * @author linbin
+ * 
+ */
+public class LingerTest
+{
+    private final int        port = 8566;
+    private static final int BIG  = 16 * 1024 * 1024;
+    
+    @Test
+    public void orderedEcho() throws Throwable
+    {
+        echo(WorkMode.SYNC_WITH_ORDER, port);
+    }
+    
+    @Test
+    public void unorderedEcho() throws Throwable
+    {
+        echo(WorkMode.ASYNC_WITHOUT_ORDER, port + 1);
+    }
+    
+    /**
+     * 等待由时间轮完成，只有一个socket线程时，等待期间其他链接的报文仍然可以被及时处理
+     * 
+     * @throws Throwable
+     */
+    @Test
+    public void socketThreadNotBlocked() throws Throwable
+    {
+        AioServer aioServer = newServer(WorkMode.SYNC_WITH_ORDER, 500 * 1000, port + 2);
+        aioServer.start();
+        Socket first = new Socket("127.0.0.1", port + 2);
+        Socket second = new Socket("127.0.0.1", port + 2);
+        try
+        {
+            first.setSoTimeout(5000);
+            second.setSoTimeout(5000);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(first.getOutputStream()));
+            // 第一个报文足够大，在客户端读取之前无法写出完毕，第二个报文因此只能在第一个写出完成后被收集，此时批次未满，需要等待500毫秒
+            byte[] big = new byte[BIG];
+            out.writeInt(4 + big.length);
+            out.write(big);
+            writeFrame(out, 2);
+            out.flush();
+            Thread.sleep(100);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(first.getInputStream()));
+            assertEquals(4 + big.length, in.readInt());
+            in.readFully(big);
+            long start = System.currentTimeMillis();
+            out = new DataOutputStream(new BufferedOutputStream(second.getOutputStream()));
+            writeFrame(out, 3);
+            out.flush();
+            assertEquals(3, readFrame(new DataInputStream(new BufferedInputStream(second.getInputStream()))));
+            assertTrue(System.currentTimeMillis() - start < 250);
+            assertEquals(2, readFrame(in));
+            // 第二个报文确实经过了等待
+            assertTrue(System.currentTimeMillis() - start >= 400);
+        }
+        finally
+        {
+            first.close();
+            second.close();
+            aioServer.stop();
+        }
+    }
+    
+    private void echo(WorkMode workMode, int port) throws Throwable
+    {
+        AioServer aioServer = newServer(workMode, 200, port);
+        aioServer.start();
+        Socket socket = new Socket("127.0.0.1", port);
+        try
+        {
+            int count = 2000;
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            for (int i = 0; i < count; i++)
+            {
+                writeFrame(out, i);
+            }
+            out.flush();
+            socket.setSoTimeout(5000);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            long sum = 0;
+            for (int i = 0; i < count; i++)
+            {
+                int value = readFrame(in);
+                if (workMode == WorkMode.SYNC_WITH_ORDER)
+                {
+                    assertEquals(i, value);
+                }
+                sum += value;
+            }
+            assertEquals((long) count * (count - 1) / 2, sum);
+            // 至少有一次写出包含了多个报文
+            long[] messageCounts = aioServer.getMetrics().getWriteHistogram().messageCounts();
+            long batches = 0;
+            for (int i = 2; i < messageCounts.length; i++)
+            {
+                batches += messageCounts[i];
+            }
+            assertTrue(batches > 0);
+        }
+        finally
+        {
+            socket.close();
+            aioServer.stop();
+        }
+    }
+    
+    private AioServer newServer(WorkMode workMode, long lingerMicros, int port)
+    {
+        ServerConfig config = new ServerConfig();
+        config.setSocketThreadSize(1).setAsyncThreadSize(2).setWorkMode(workMode).setWaitMode(DisruptorWaitMode.BLOCK).setAsyncCapacity(8192).setChannelCapacity(64);
+        config.setWriteMode(WriteMode.BATCH_WRITE).setLingerMicros(lingerMicros);
+        // 同步模式下只使用一个socket线程，异步模式只能使用cached模式
+        config.setExecutorMode(workMode == WorkMode.SYNC_WITH_ORDER ? ExecutorMode.FIX : ExecutorMode.CACHED);
+        config.setInitListener(new ChannelInitListener() {
+            
+            @Override
+            public void channelInit(JnetChannel jnetChannel)
+            {
+                jnetChannel.setCapacity(64);
+                jnetChannel.setFrameDecodec(new TotalLengthFieldBasedFrameDecoder(0, 4, 4, BIG + 5));
+                jnetChannel.setHandlers(new DataHandler() {
+                    
+                    @Override
+                    public Object handle(Object data, InternalTask entry) throws JnetException
+                    {
+                        ((ByteBuf<?>) data).readIndex(0);
+                        return data;
+                    }
+                    
+                    @Override
+                    public Object catchException(Object data, InternalTask result)
+                    {
+                        return null;
+                    }
+                });
+            }
+        });
+        config.setPort(port);
+        return new AioServer(config);
+    }
+    
+    private void writeFrame(DataOutputStream out, int value) throws IOException
+    {
+        out.writeInt(8);
+        out.writeInt(value);
+    }
+    
+    private int readFrame(DataInputStream in) throws IOException
+    {
+        assertEquals(8, in.readInt());
+        return in.readInt();
+    }
+}
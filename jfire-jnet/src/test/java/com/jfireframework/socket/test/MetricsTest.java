@@ -0,0 +1,139 @@
+package com.jfireframework.socket.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Test;
+import com.jfireframework.baseutil.concurrent.StripedCounter;
+import com.jfireframework.jnet.server.util.LatencyHistogram;
+import com.jfireframework.jnet.server.util.ServerMetrics;
+
+public class MetricsTest
+{
+    /**
+     * 16以下的数值各自独占一个桶，百分位是精确的
+     */
+    @Test
+    public void smallValues()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 16; i++)
+        {
+            histogram.record(i);
+        }
+        assertEquals(16, histogram.count());
+        assertEquals(15, histogram.max());
+        for (int i = 0; i < 16; i++)
+        {
+            assertEquals(i, histogram.percentile((i + 1) * 100.0 / 16));
+        }
+        // 负数按照0记录
+        histogram.record(-5);
+        assertEquals(17, histogram.count());
+    }
+    
+    /**
+     * 任何数值所在桶的上限与数值本身的相对误差不超过12.5%
+     */
+    @Test
+    public void relativeError()
+    {
+        for (long value = 16; value < (1L << 40); value = value * 3 / 2 + 1)
+        {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+            histogram.record(Long.MAX_VALUE);
+            long p50 = histogram.percentile(50);
+            assertTrue(value + " " + p50, p50 >= value);
+            assertTrue(value + " " + p50, p50 - value <= value / 8);
+        }
+    }
+    
+    @Test
+    public void percentile()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++)
+        {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.count());
+        assertEquals(1000000, histogram.max());
+        assertEquals(500500, (long) histogram.mean());
+        assertTrue(Math.abs(histogram.percentile(50) - 500000) <= 500000 / 8);
+        assertTrue(Math.abs(histogram.percentile(99) - 990000) <= 990000 / 8);
+        assertEquals(1000000, histogram.percentile(100));
+    }
+    
+    @Test
+    public void concurrentRecord() throws InterruptedException
+    {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final StripedCounter counter = new StripedCounter();
+        final int threads = 8;
+        final int times = 100000;
+        final CountDownLatch latch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++)
+        {
+            new Thread(new Runnable() {
+                
+                @Override
+                public void run()
+                {
+                    for (int j = 0; j < times; j++)
+                    {
+                        histogram.record(j);
+                        counter.increment();
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        assertEquals(threads * times, histogram.count());
+        assertEquals(threads * times, counter.sum());
+        assertEquals(times - 1, histogram.max());
+    }
+    
+    /**
+     * 多个线程同时投递和取出，待处理的任务数不会出现负数，全部取出后为0
+     * 
+     * @throws InterruptedException
+     */
+    @Test
+    public void asyncPending() throws InterruptedException
+    {
+        final ServerMetrics metrics = new ServerMetrics();
+        final int threads = 4;
+        // 每个线程的投递次数是采样间隔的整数倍，不论线程如何分布在槽位上，采样的次数都是确定的
+        final int times = 64 * 1000;
+        final CountDownLatch latch = new CountDownLatch(threads);
+        final boolean[] negative = new boolean[1];
+        for (int i = 0; i < threads; i++)
+        {
+            new Thread(new Runnable() {
+                
+                @Override
+                public void run()
+                {
+                    for (int j = 0; j < times; j++)
+                    {
+                        metrics.asyncEnqueued();
+                        if (metrics.getAsyncPending() < 0)
+                        {
+                            negative[0] = true;
+                        }
+                        metrics.asyncDequeued(System.nanoTime());
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        assertEquals(false, negative[0]);
+        assertEquals(0, metrics.getAsyncPending());
+        // 队列深度是采样记录的
+        assertEquals(threads * times / 64, metrics.getAsyncQueueDepth().count());
+        assertEquals(threads * times, metrics.getQueueLatency().count());
+    }
+}
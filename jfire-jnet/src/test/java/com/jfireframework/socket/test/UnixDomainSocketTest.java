@@ -0,0 +1,246 @@
+package com.jfireframework.socket.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.ServerSocketChannel;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.collection.buffer.DirectByteBuf;
+import com.jfireframework.jnet.client.AioClient;
+import com.jfireframework.jnet.common.channel.ChannelInitListener;
+import com.jfireframework.jnet.common.channel.JnetChannel;
+import com.jfireframework.jnet.common.decodec.TotalLengthFieldBasedFrameDecoder;
+import com.jfireframework.jnet.common.decodec.TotalLengthFieldBasedFrameDecoderByHeap;
+import com.jfireframework.jnet.common.exception.JnetException;
+import com.jfireframework.jnet.common.handler.DataHandler;
+import com.jfireframework.jnet.common.handler.LengthPreHandler;
+import com.jfireframework.jnet.common.result.InternalTask;
+import com.jfireframework.jnet.common.unix.UnixDomainSockets;
+import com.jfireframework.jnet.server.AioServer;
+import com.jfireframework.jnet.server.util.ServerConfig;
+import com.jfireframework.jnet.server.util.TransportMode;
+import com.jfireframework.jnet.server.util.WorkMode;
+
+/**
+ * unix domain socket需要jdk16及以上的版本，低版本的jdk上跳过
+ * 
+ * @author linbin
+ * 
+ */
+public class UnixDomainSocketTest
+{
+    private String path;
+    
+    @Before
+    public void before() throws IOException
+    {
+        Assume.assumeTrue(UnixDomainSockets.isSupported());
+        File file = File.createTempFile("jnet", ".sock");
+        file.delete();
+        path = file.getAbsolutePath();
+    }
+    
+    @After
+    public void after()
+    {
+        if (path != null)
+        {
+            new File(path).delete();
+        }
+    }
+    
+    @Test
+    public void echo() throws Throwable
+    {
+        AioServer server = newServer();
+        server.start();
+        AioClient client = newClient();
+        try
+        {
+            assertEquals("hello", client.connect().write("hello").get(5, TimeUnit.SECONDS));
+            assertEquals("world", client.connect().write("world").get(5, TimeUnit.SECONDS));
+        }
+        finally
+        {
+            client.close();
+            server.stop();
+        }
+        assertTrue(new File(path).exists() == false);
+    }
+    
+    /**
+     * 上一次运行残留的socket文件没有服务端监听，启动时被删除
+     * 
+     * @throws Throwable
+     */
+    @Test
+    public void staleSocketFile() throws Throwable
+    {
+        ServerSocketChannel stale = UnixDomainSockets.openServerSocketChannel();
+        stale.bind(UnixDomainSockets.address(path));
+        stale.close();
+        assertTrue(new File(path).exists());
+        AioServer server = newServer();
+        server.start();
+        AioClient client = newClient();
+        try
+        {
+            assertEquals("hello", client.connect().write("hello").get(5, TimeUnit.SECONDS));
+        }
+        finally
+        {
+            client.close();
+            server.stop();
+        }
+    }
+    
+    /**
+     * 路径上是普通文件时绑定失败，文件不会被删除
+     * 
+     * @throws Throwable
+     */
+    @Test
+    public void regularFileKept() throws Throwable
+    {
+        FileOutputStream out = new FileOutputStream(path);
+        out.write(1);
+        out.close();
+        try
+        {
+            newServer().start();
+            fail();
+        }
+        catch (RuntimeException e)
+        {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        assertEquals(1, new File(path).length());
+    }
+    
+    /**
+     * 已经有服务端在监听时绑定失败，原来的服务端不受影响
+     * 
+     * @throws Throwable
+     */
+    @Test
+    public void liveServerKept() throws Throwable
+    {
+        AioServer server = newServer();
+        server.start();
+        AioClient client = newClient();
+        try
+        {
+            try
+            {
+                newServer().start();
+                fail();
+            }
+            catch (RuntimeException e)
+            {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+            assertEquals("hello", client.connect().write("hello").get(5, TimeUnit.SECONDS));
+        }
+        finally
+        {
+            client.close();
+            server.stop();
+        }
+    }
+    
+    private AioServer newServer()
+    {
+        ServerConfig config = new ServerConfig();
+        config.setSocketThreadSize(2);
+        config.setAsyncThreadSize(2);
+        config.setWorkMode(WorkMode.SYNC_WITH_ORDER);
+        config.setAsyncCapacity(1024);
+        config.setChannelCapacity(16);
+        config.setShutdownTimeout(500);
+        config.setTransportMode(TransportMode.UNIX_DOMAIN);
+        config.setUnixSocketPath(path);
+        config.setInitListener(new ChannelInitListener() {
+            
+            @Override
+            public void channelInit(JnetChannel jnetChannel)
+            {
+                jnetChannel.setCapacity(16);
+                jnetChannel.setFrameDecodec(new TotalLengthFieldBasedFrameDecoder(0, 4, 4, 500));
+                jnetChannel.setHandlers(new DataHandler() {
+                    
+                    @Override
+                    public Object handle(Object data, InternalTask entry) throws JnetException
+                    {
+                        ((ByteBuf<?>) data).readIndex(0);
+                        return data;
+                    }
+                    
+                    @Override
+                    public Object catchException(Object data, InternalTask result)
+                    {
+                        return null;
+                    }
+                });
+            }
+        });
+        return new AioServer(config);
+    }
+    
+    private AioClient newClient()
+    {
+        AioClient client = new AioClient(false);
+        client.setUnixSocketPath(path);
+        client.setWriteHandlers(new DataHandler() {
+            
+            @Override
+            public Object handle(Object data, InternalTask result) throws JnetException
+            {
+                ByteBuf<?> buf = DirectByteBuf.allocate(100);
+                buf.addWriteIndex(4);
+                buf.writeString((String) data);
+                return buf;
+            }
+            
+            @Override
+            public Object catchException(Object data, InternalTask result)
+            {
+                return data;
+            }
+        }, new LengthPreHandler(0, 4));
+        client.setInitListener(new ChannelInitListener() {
+            
+            @Override
+            public void channelInit(JnetChannel jnetChannel)
+            {
+                jnetChannel.setFrameDecodec(new TotalLengthFieldBasedFrameDecoderByHeap(0, 4, 4, 500));
+                jnetChannel.setCapacity(16);
+                jnetChannel.setHandlers(new DataHandler() {
+                    
+                    @Override
+                    public Object handle(Object data, InternalTask result) throws JnetException
+                    {
+                        ByteBuf<?> buf = (ByteBuf<?>) data;
+                        String value = buf.readString();
+                        buf.release();
+                        return value;
+                    }
+                    
+                    @Override
+                    public Object catchException(Object data, InternalTask result)
+                    {
+                        return data;
+                    }
+                });
+            }
+        });
+        return client;
+    }
+}
@@ -1,25 +1,41 @@
 package com.jfireframework.licp;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 
 /**
- * 对象类型序号注册中心。对象类型序号从2开始。
+ * 对象类型序号注册中心。对象类型序号从1开始。
+ * 类型到序号的查找通过以类型为键的开放寻址hash表完成，查找和注册都是常数时间，并且缓存了最近一次查找的类型。
+ * 临时注册的类型只在一次序列化或者反序列化中有效，表中的槽位记录了写入时的代数，clear只需要增加代数，永久注册的类型不受影响
  * 
  * @author linbin
  *
  */
 public class ClassNoRegister
 {
-    private Class<?>[] types  = new Class[300];
-    private int        originCount;
-    private int        nowCount;
-    // length是实际数组长度-1，这样方便进行计算
-    private int        length = 999;
+    // 永久注册的类型在hash表中的代数标记，不会被clear清除
+    private static final int PERMANENT  = -1;
+    // 按照序号排列的类型，下标加1就是类型的序号
+    private Class<?>[]       types      = new Class<?>[64];
+    private int              originCount;
+    private int              nowCount;
+    // hash表，相同下标的keys，nos，marks分别是类型，类型的序号和写入时的代数。表的长度是2的次方，并且至少是类型个数的两倍
+    private Class<?>[]       keys       = new Class<?>[128];
+    private int[]            nos        = new int[128];
+    private int[]            marks      = new int[128];
+    private int              mask       = 127;
+    private int              generation = 1;
+    // 最近一次查找的类型和它的序号
+    private Class<?>         lastType;
+    private int              lastNo;
     
     public ClassNoRegister()
     {
@@ -74,26 +90,29 @@ public class ClassNoRegister
         tmp.add(float[][].class);
         tmp.add(double[][].class);
         tmp.add(Object.class);
-        int index = 0;
+        tmp.add(HashSet.class);
+        tmp.add(LinkedHashSet.class);
+        tmp.add(LinkedHashMap.class);
         for (Class<?> each : tmp)
         {
-            types[index] = each;
-            index++;
+            add(each, PERMANENT);
         }
-        originCount = index;
-        nowCount = index;
+        originCount = nowCount;
     }
     
     /**
-     * 永久性的增加一个类型需要到fose中
+     * 永久性的增加一个类型。会清除当前临时注册的类型，所以应该在序列化之前调用
      * 
      * @param type
      */
     public void register(Class<?> type)
     {
-        if (registerTemporary(type) == 0)
+        clear();
+        if (find(type) == 0)
         {
-            originCount++;
+            // 先更新永久类型的个数，add触发扩容时该类型才会被当作永久类型重新放入
+            originCount = nowCount + 1;
+            add(type, PERMANENT);
         }
     }
     
@@ -103,27 +122,27 @@ public class ClassNoRegister
      * @param type
      * @return
      */
-    @SuppressWarnings("rawtypes")
     public int registerTemporary(Class<?> type)
     {
-        if (nowCount >= length)
+        int no = find(type);
+        if (no == 0)
         {
-            Class[] newTypes = new Class[length * 2 + 2];
-            System.arraycopy(types, 0, newTypes, 0, nowCount);
-            types = newTypes;
-            length = newTypes.length;
+            add(type, generation);
         }
-        for (int i = 0; i < nowCount; i++)
+        return no;
+    }
+    
+    /**
+     * 反序列化时登记一个读取端无法加载的类，只占用一个序号使之后的序号与写入端保持一致，通过该序号得到的类型是null
+     */
+    public void registerUnknown()
+    {
+        if (nowCount == types.length)
         {
-            if (types[i] == type)
-            {
-                return i + 1;
-            }
+            types = Arrays.copyOf(types, nowCount << 1);
         }
-        int index = nowCount;
-        types[index] = type;
-        nowCount++;
-        return 0;
+        types[nowCount] = null;
+        nowCount += 1;
     }
     
     /**
@@ -134,18 +153,89 @@ public class ClassNoRegister
      */
     public int indexOf(Class<?> type)
     {
-        
-        for (int i = 0; i < nowCount; i++)
+        if (type == lastType)
+        {
+            return lastNo;
+        }
+        int no = find(type);
+        lastType = type;
+        if (no == 0)
         {
-            if (types[i] == type)
+            add(type, generation);
+            lastNo = nowCount;
+            return 0;
+        }
+        lastNo = no;
+        return no;
+    }
+    
+    private int find(Class<?> type)
+    {
+        int slot = hash(type) & mask;
+        int mark;
+        while ((mark = marks[slot]) == generation || mark == PERMANENT)
+        {
+            if (keys[slot] == type)
             {
-                return i + 1;
+                return nos[slot];
             }
+            slot = (slot + 1) & mask;
         }
-        registerTemporary(type);
         return 0;
     }
     
+    private void add(Class<?> type, int mark)
+    {
+        if (nowCount == types.length)
+        {
+            types = Arrays.copyOf(types, nowCount << 1);
+        }
+        types[nowCount] = type;
+        nowCount += 1;
+        if (nowCount << 1 > keys.length)
+        {
+            // 扩容后按照序号重新放入全部的类型，其中已经包含了当前的类型
+            rehash(keys.length << 1);
+            return;
+        }
+        put(type, nowCount, mark);
+    }
+    
+    private void put(Class<?> type, int no, int mark)
+    {
+        int slot = hash(type) & mask;
+        while (marks[slot] == generation || marks[slot] == PERMANENT)
+        {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = type;
+        nos[slot] = no;
+        marks[slot] = mark;
+    }
+    
+    private void rehash(int length)
+    {
+        keys = new Class<?>[length];
+        nos = new int[length];
+        marks = new int[length];
+        mask = length - 1;
+        generation = 1;
+        for (int i = 0; i < nowCount; i++)
+        {
+            // 无法加载的类只占用序号，不需要放入hash表
+            if (types[i] != null)
+            {
+                put(types[i], i + 1, i < originCount ? PERMANENT : generation);
+            }
+        }
+    }
+    
+    private static int hash(Class<?> type)
+    {
+        int h = System.identityHashCode(type);
+        return h ^ (h >>> 16);
+    }
+    
     public Class<?> getType(int index)
     {
         return types[index - 1];
@@ -154,5 +244,26 @@ public class ClassNoRegister
     public void clear()
     {
         nowCount = originCount;
+        if (lastNo > originCount)
+        {
+            lastType = null;
+            lastNo = 0;
+        }
+        if (generation == Integer.MAX_VALUE)
+        {
+            // 代数用尽之后清除所有临时注册的槽位，重新开始计数
+            for (int i = 0; i < marks.length; i++)
+            {
+                if (marks[i] != PERMANENT)
+                {
+                    marks[i] = 0;
+                }
+            }
+            generation = 1;
+        }
+        else
+        {
+            generation += 1;
+        }
     }
 }
@@ -6,6 +6,7 @@ import com.jfireframework.baseutil.exception.JustThrowException;
 import com.jfireframework.baseutil.exception.UnSupportException;
 import com.jfireframework.licp.serializer.LicpSerializer;
 import com.jfireframework.licp.serializer.SerializerFactory;
+import com.jfireframework.licp.serializer.TaggedObjectSerializer;
 
 public class Licp
 {
@@ -15,9 +16,18 @@ public class Licp
     public static final int                                  EXIST        = 1;
     private static final ConcurrentHashMap<String, Class<?>> nameClassMap = new ConcurrentHashMap<String, Class<?>>();
     /**
-     * 版本号标识，用来防止不同的版本互相转化导致的异常
+     * 版本号标识，用来防止不同的版本互相转化导致的异常。
+     * 0是集合类型还没有专门的序列化器时的格式，HashSet等类型预先注册之后临时类的序号也随之变化，所以不再兼容。1已经被标签格式使用
      */
-    private static final byte                                version      = 0;
+    private static final byte                                version      = 2;
+    /**
+     * 标签格式的版本号，对象的每一个属性都带有id，读取端可以跳过不认识的属性
+     */
+    private static final byte                                tagVersion   = 1;
+    // 序列化时是否使用标签格式
+    private boolean                                          taggedFormat = false;
+    // 当前读写的数据是否是标签格式
+    private boolean                                          tagged       = false;
     
     public Licp()
     {
@@ -35,10 +45,22 @@ public class Licp
     {
         collect.clear();
         register.clear();
-        buf.put(version);
+        tagged = taggedFormat;
+        buf.put(tagged ? tagVersion : version);
         _serialize(src, buf);
     }
     
+    /**
+     * 设置序列化时是否使用标签格式。标签格式中对象的每一个属性都带有id，两端的类增加或者删除属性之后依然可以互相读取，代价是更多的字节。
+     * 反序列化时根据数据中的版本号自动识别格式，所以可以先升级读取端，再逐步打开写入端的标签格式
+     * 
+     * @param taggedFormat
+     */
+    public void setTaggedFormat(boolean taggedFormat)
+    {
+        this.taggedFormat = taggedFormat;
+    }
+    
     public void register(Class<?> type)
     {
         register.register(type);
@@ -86,7 +108,12 @@ public class Licp
             classNo |= 3;
             buf.writePositive(classNo);
         }
-        SerializerFactory.get(type).serialize(src, buf, this);
+        serializer(type).serialize(src, buf, this);
+    }
+    
+    private LicpSerializer serializer(Class<?> type)
+    {
+        return tagged ? SerializerFactory.getTagged(type) : SerializerFactory.get(type);
     }
     
     public void _serialize(Object src, ByteBuf<?> buf, LicpSerializer serializer)
@@ -111,20 +138,23 @@ public class Licp
     @SuppressWarnings("unchecked")
     public <T> T deserialize(ByteBuf<?> buf, Class<T> type)
     {
-        collect.clear();
-        register.clear();
-        if (buf.get() != Licp.version)
-        {
-            throw new UnSupportException("序号逆序列化的字节的版本号不对，请检查序列化和反序列化的licp是否同一个版本");
-        }
-        return (T) _deserialize(buf);
+        return (T) deserialize(buf);
     }
     
     public Object deserialize(ByteBuf<?> buf)
     {
         collect.clear();
         register.clear();
-        if (buf.get() != Licp.version)
+        byte v = buf.get();
+        if (v == Licp.version)
+        {
+            tagged = false;
+        }
+        else if (v == Licp.tagVersion)
+        {
+            tagged = true;
+        }
+        else
         {
             throw new UnSupportException("序号逆序列化的字节的版本号不对，请检查序列化和反序列化的licp是否同一个版本");
         }
@@ -152,15 +182,26 @@ public class Licp
             {
                 src[i] = buf.readVarChar();
             }
-            Class<?> type = loadClass(new String(src));
+            String name = new String(src);
+            Class<?> type = tagged ? findClass(name) : loadClass(name);
+            if (type == null)
+            {
+                register.registerUnknown();
+                return skipUnknown(name, buf);
+            }
             register.registerTemporary(type);
-            return SerializerFactory.get(type).deserialize(buf, this);
+            return serializer(type).deserialize(buf, this);
         }
         else if (flag == 3)
         {
             result >>>= 2;
             Class<?> type = loadClass(result);
-            return SerializerFactory.get(type).deserialize(buf, this);
+            if (type == null)
+            {
+                // 只有标签格式会登记无法加载的类，并且数组类型第一次出现时就已经失败，所以这里只可能是普通的类
+                return skipUnknown("", buf);
+            }
+            return serializer(type).deserialize(buf, this);
         }
         else
         {
@@ -213,13 +254,63 @@ public class Licp
         }
     }
     
+    /**
+     * 与loadClass相同，类不存在时返回null而不是抛出异常
+     * 
+     * @param name
+     * @return
+     */
+    private Class<?> findClass(String name)
+    {
+        Class<?> type = nameClassMap.get(name);
+        if (type != null)
+        {
+            return type;
+        }
+        try
+        {
+            type = Class.forName(name);
+        }
+        catch (ClassNotFoundException e)
+        {
+            return null;
+        }
+        nameClassMap.put(name, type);
+        return type;
+    }
+    
+    /**
+     * 跳过读取端无法加载的类的对象。标签格式中普通的类都由TaggedObjectSerializer写入，可以按照标签逐个跳过属性直到结束标记。
+     * 对象本身使用null占位，保证之后的对象序号与写入端一致，引用该对象的属性读取到的都是null。
+     * 数组的元素是否带有类型信息取决于元素类型是否是final，读取端无从得知，所以无法跳过
+     * 
+     * @param name
+     * @param buf
+     * @return
+     */
+    private Object skipUnknown(String name, ByteBuf<?> buf)
+    {
+        if (name.startsWith("["))
+        {
+            throw new UnSupportException("无法加载数组类型" + name + "，也无法跳过该数组，请先在读取端增加该数组的元素类型");
+        }
+        collect.add(null);
+        TaggedObjectSerializer.skipFields(buf, this);
+        return null;
+    }
+    
     public Class<?> loadClass(int classNo)
     {
         return register.getType(classNo);
     }
     
+    /**
+     * 反序列化时登记新建的对象，之后的引用可以通过id找到该对象
+     * 
+     * @param x
+     */
     public void putObject(Object x)
     {
-        collect.put(x);
+        collect.add(x);
     }
 }
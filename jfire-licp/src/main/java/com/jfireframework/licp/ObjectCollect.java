@@ -1,21 +1,56 @@
 package com.jfireframework.licp;
 
+import java.util.Arrays;
+
+/**
+ * 对象收集器，用来支持重复引用和循环引用。对象的id就是放入的顺序，从1开始。
+ * 序列化时通过开放寻址的identity hash表查找对象，查找和放入都是常数时间。
+ * 表中的每一个槽位都记录了写入时的代数，代数与当前不同的槽位视为空，所以clear只需要清除本次放入的对象的引用，再增加代数，不需要清空整个数组。
+ * 反序列化时新建的对象一定不在收集器中，通过add按顺序记录即可，不需要进入hash表
+ * 
+ * @author linbin
+ * 
+ */
 public class ObjectCollect
 {
-    // private IdentityHashMap<Object, Integer> objectMap = new
-    // IdentityHashMap<Object, Integer>();
-    private Object[]      objs     = new Object[20];
-    private int           sequence = 0;
-    private final boolean cycleSupport;
+    private static final int INIT_CAPACITY = 32;
+    // 容量超过该值的数组在clear时直接丢弃，避免一次大的序列化之后长期持有其中的对象
+    private static final int MAX_RETAIN    = 4096;
+    // 按照放入的顺序排列的对象，下标加1就是对象的id
+    private Object[]         objs;
+    private int              sequence      = 0;
+    // hash表，相同下标的keys，ids，marks分别是对象，对象的id和写入时的代数。表的长度是2的次方，并且至少是对象个数的两倍
+    private Object[]         keys;
+    private int[]            ids;
+    private int[]            marks;
+    private int              mask;
+    private int              generation    = 1;
+    private final boolean    cycleSupport;
     
     public ObjectCollect(boolean cycleSupport)
     {
         this.cycleSupport = cycleSupport;
+        init();
     }
     
     public ObjectCollect()
     {
-        cycleSupport = true;
+        this(true);
+    }
+    
+    private void init()
+    {
+        objs = new Object[INIT_CAPACITY];
+        newTable(INIT_CAPACITY * 2);
+        generation = 1;
+    }
+    
+    private void newTable(int length)
+    {
+        keys = new Object[length];
+        ids = new int[length];
+        marks = new int[length];
+        mask = length - 1;
     }
     
     /**
@@ -30,26 +65,75 @@ public class ObjectCollect
         {
             return 0;
         }
-        for (int i = 0; i < objs.length; i++)
+        int slot = hash(obj) & mask;
+        while (marks[slot] == generation)
         {
-            if (objs[i] == obj)
+            if (keys[slot] == obj)
             {
-                return i + 1;
+                return ids[slot];
             }
+            slot = (slot + 1) & mask;
         }
-        if (sequence < objs.length)
+        append(obj);
+        keys[slot] = obj;
+        ids[slot] = sequence;
+        marks[slot] = generation;
+        if (sequence << 1 > keys.length)
         {
-            objs[sequence] = obj;
+            rehash();
         }
-        else
+        return 0;
+    }
+    
+    /**
+     * 按顺序记录一个新的对象，不检查对象是否已经存在。用于反序列化时登记新建的对象
+     * 
+     * @param obj
+     */
+    public void add(Object obj)
+    {
+        if (cycleSupport)
+        {
+            append(obj);
+        }
+    }
+    
+    private void append(Object obj)
+    {
+        if (sequence == objs.length)
         {
-            Object[] tmp = new Object[objs.length * 2];
-            System.arraycopy(objs, 0, tmp, 0, sequence);
-            objs = tmp;
-            objs[sequence] = obj;
+            objs = Arrays.copyOf(objs, sequence << 1);
         }
+        objs[sequence] = obj;
         sequence += 1;
-        return 0;
+    }
+    
+    /**
+     * 将hash表扩大一倍，当前代的对象都在objs中，按顺序重新放入即可
+     */
+    private void rehash()
+    {
+        newTable(keys.length << 1);
+        generation = 1;
+        for (int i = 0; i < sequence; i++)
+        {
+            Object obj = objs[i];
+            int slot = hash(obj) & mask;
+            while (marks[slot] == generation)
+            {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = obj;
+            ids[slot] = i + 1;
+            marks[slot] = generation;
+        }
+    }
+    
+    private static int hash(Object obj)
+    {
+        int h = System.identityHashCode(obj);
+        // identityHashCode的低位分布不够均匀，混入高位减少线性探测的冲突
+        return h ^ (h >>> 16);
     }
     
     public Object get(int id)
@@ -59,10 +143,35 @@ public class ObjectCollect
     
     public void clear()
     {
-        sequence = 0;
-        for (int i = 0; i < objs.length; i++)
+        if (objs.length > MAX_RETAIN)
+        {
+            sequence = 0;
+            init();
+            return;
+        }
+        // 收集器跟随licp长期存在，需要释放本次放入的对象的引用。只清除放入过的位置，代价与放入的对象个数成正比
+        for (int i = 0; i < sequence; i++)
         {
+            Object obj = objs[i];
             objs[i] = null;
+            int slot = hash(obj) & mask;
+            while (marks[slot] == generation)
+            {
+                if (keys[slot] == obj)
+                {
+                    keys[slot] = null;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+        sequence = 0;
+        generation += 1;
+        if (generation == 0)
+        {
+            // 代数溢出之后，数组中可能残留着与新的代数相同的槽位，只能清空一次
+            Arrays.fill(marks, 0);
+            generation = 1;
         }
     }
     
@@ -0,0 +1,21 @@
+package com.jfireframework.licp.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 指定属性在标签格式中的id，取值范围是1到1048575，同一个类中不能重复。
+ * 没有标注的属性以属性名称的hash值作为id，id较长，并且改名之后就成为另一个属性。
+ * 小于16的id加上类型只占一个字节
+ * 
+ * @author linbin
+ * 
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(value = { ElementType.FIELD })
+public @interface FieldTag
+{
+    public int value();
+}
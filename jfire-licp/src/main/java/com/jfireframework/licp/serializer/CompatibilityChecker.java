@@ -0,0 +1,212 @@
+package com.jfireframework.licp.serializer;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 比较一个类的两个版本能否互相序列化。两个版本可以来自不同的classloader，属性和类型都通过名称比较。
+ * 默认格式按照属性的顺序读写，任何属性的增加，删除或者类型变化都会导致无法读取。
+ * 标签格式可以跳过不认识的属性，增加和删除属性是兼容的，但是属性的id重复，同名的属性id变化，或者属性的类型变化都会导致该属性的值丢失。
+ * 新增的属性如果使用了旧版本中不存在的用户类，旧版本读取时会跳过该值，如果是这种类的数组则无法读取。
+ * 对于两个版本中名称相同的属性，如果属性的类型是用户的类，会继续比较该类型的两个版本
+ * 
+ * @author linbin
+ * 
+ */
+public class CompatibilityChecker
+{
+    
+    /**
+     * 比较旧版本和新版本的类，返回发现的问题。返回的列表为空说明两个版本可以互相序列化
+     * 
+     * @param oldVersion 旧版本的类
+     * @param newVersion 新版本的类
+     * @param tagged 是否使用标签格式
+     * @return
+     */
+    public static List<String> check(Class<?> oldVersion, Class<?> newVersion, boolean tagged)
+    {
+        List<String> problems = new LinkedList<String>();
+        check(oldVersion, newVersion, tagged, problems, new HashSet<String>());
+        return problems;
+    }
+    
+    private static void check(Class<?> oldVersion, Class<?> newVersion, boolean tagged, List<String> problems, Set<String> checked)
+    {
+        if (checked.add(newVersion.getName()) == false)
+        {
+            return;
+        }
+        Field[] oldFields = ObjectSerializer.serializeFields(oldVersion);
+        Field[] newFields = ObjectSerializer.serializeFields(newVersion);
+        if (tagged)
+        {
+            checkTagged(newVersion.getName(), oldFields, newFields, problems);
+            checkNewTypes(newVersion.getName(), oldVersion.getClassLoader(), oldFields, newFields, problems);
+        }
+        else
+        {
+            checkPositional(newVersion.getName(), oldFields, newFields, problems);
+        }
+        Map<String, Field> oldNames = new HashMap<String, Field>();
+        for (Field each : oldFields)
+        {
+            oldNames.put(each.getName(), each);
+        }
+        for (Field each : newFields)
+        {
+            Field old = oldNames.get(each.getName());
+            if (old == null)
+            {
+                continue;
+            }
+            Class<?> oldType = userType(old.getType());
+            Class<?> newType = userType(each.getType());
+            if (oldType != null && newType != null && oldType.getName().equals(newType.getName()))
+            {
+                check(oldType, newType, tagged, problems, checked);
+            }
+        }
+    }
+    
+    private static void checkPositional(String className, Field[] oldFields, Field[] newFields, List<String> problems)
+    {
+        if (oldFields.length != newFields.length)
+        {
+            problems.add(className + "的属性个数由" + oldFields.length + "变为" + newFields.length + "，默认格式按照顺序读写属性，请使用标签格式");
+            return;
+        }
+        for (int i = 0; i < oldFields.length; i++)
+        {
+            Field old = oldFields[i];
+            Field now = newFields[i];
+            if (old.getName().equals(now.getName()) == false)
+            {
+                problems.add(className + "的第" + (i + 1) + "个属性由" + old.getName() + "变为" + now.getName());
+            }
+            else if (old.getType().getName().equals(now.getType().getName()) == false)
+            {
+                problems.add(className + "." + now.getName() + "的类型由" + old.getType().getName() + "变为" + now.getType().getName());
+            }
+        }
+    }
+    
+    private static void checkTagged(String className, Field[] oldFields, Field[] newFields, List<String> problems)
+    {
+        Map<Integer, Field> oldIds = ids(className, oldFields, problems);
+        Map<Integer, Field> newIds = ids(className, newFields, problems);
+        Map<String, Integer> oldNames = new HashMap<String, Integer>();
+        for (Map.Entry<Integer, Field> each : oldIds.entrySet())
+        {
+            oldNames.put(each.getValue().getName(), each.getKey());
+        }
+        for (Map.Entry<Integer, Field> each : newIds.entrySet())
+        {
+            Field now = each.getValue();
+            Field old = oldIds.get(each.getKey());
+            if (old == null)
+            {
+                Integer oldId = oldNames.get(now.getName());
+                if (oldId != null)
+                {
+                    problems.add(className + "." + now.getName() + "的id由" + oldId + "变为" + each.getKey() + "，两个版本之间该属性的值会丢失");
+                }
+                continue;
+            }
+            if (TaggedObjectSerializer.kindOf(old.getType()) != TaggedObjectSerializer.kindOf(now.getType()) || old.getType().getName().equals(now.getType().getName()) == false)
+            {
+                problems.add(className + "." + now.getName() + "的类型由" + old.getType().getName() + "变为" + now.getType().getName() + "，两个版本之间该属性的值会丢失");
+            }
+        }
+    }
+    
+    /**
+     * 检查新增的属性是否使用了旧版本中不存在的用户类，是否存在通过旧版本的classloader能否加载来判断
+     * 
+     * @param className
+     * @param oldLoader
+     * @param oldFields
+     * @param newFields
+     * @param problems
+     */
+    private static void checkNewTypes(String className, ClassLoader oldLoader, Field[] oldFields, Field[] newFields, List<String> problems)
+    {
+        Set<String> oldNames = new HashSet<String>();
+        for (Field each : oldFields)
+        {
+            oldNames.add(each.getName());
+        }
+        for (Field each : newFields)
+        {
+            if (oldNames.contains(each.getName()))
+            {
+                continue;
+            }
+            Class<?> type = userType(each.getType());
+            if (type == null || loadable(type.getName(), oldLoader))
+            {
+                continue;
+            }
+            if (each.getType().isArray())
+            {
+                problems.add(className + "." + each.getName() + "的类型" + each.getType().getName() + "是旧版本中不存在的类的数组，旧版本无法读取，请先在旧版本中增加" + type.getName());
+            }
+            else
+            {
+                problems.add(className + "." + each.getName() + "的类型" + type.getName() + "在旧版本中不存在，旧版本读取时会跳过该属性的值");
+            }
+        }
+    }
+    
+    private static boolean loadable(String name, ClassLoader loader)
+    {
+        try
+        {
+            Class.forName(name, false, loader);
+            return true;
+        }
+        catch (ClassNotFoundException e)
+        {
+            return false;
+        }
+    }
+    
+    private static Map<Integer, Field> ids(String className, Field[] fields, List<String> problems)
+    {
+        Map<Integer, Field> ids = new HashMap<Integer, Field>();
+        for (Field each : fields)
+        {
+            int id = TaggedObjectSerializer.fieldId(each);
+            Field exist = ids.put(id, each);
+            if (exist != null)
+            {
+                problems.add(className + "的属性" + exist.getName() + "和" + each.getName() + "的id都是" + id + "，请使用FieldTag指定不同的id");
+            }
+        }
+        return ids;
+    }
+    
+    /**
+     * 返回需要继续比较的用户类型，数组返回元素的类型。基本类型和jdk中的类型返回null
+     * 
+     * @param type
+     * @return
+     */
+    private static Class<?> userType(Class<?> type)
+    {
+        while (type.isArray())
+        {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive() || type.getName().startsWith("java.") || type.getName().startsWith("javax."))
+        {
+            return null;
+        }
+        return type;
+    }
+}
@@ -32,9 +32,25 @@ public class ObjectSerializer implements LicpSerializer
     public ObjectSerializer(Class<?> type)
     {
         this.type = type;
-        Field[] fields = ReflectUtil.getAllFields(type);
+        Field[] fields = serializeFields(type);
+        CacheField[] tmp = new CacheField[fields.length];
+        for (int i = 0; i < tmp.length; i++)
+        {
+            tmp[i] = FieldFactory.build(fields[i]);
+        }
+        this.fields = tmp;
+    }
+    
+    /**
+     * 返回类型中需要序列化的属性，也就是全部的非静态属性，按照名称排序。属性的顺序决定了序列化的格式
+     * 
+     * @param type
+     * @return
+     */
+    static Field[] serializeFields(Class<?> type)
+    {
         List<Field> list = new LinkedList<Field>();
-        for (Field each : fields)
+        for (Field each : ReflectUtil.getAllFields(type))
         {
             if (Modifier.isStatic(each.getModifiers()))
             {
@@ -42,14 +58,9 @@ public class ObjectSerializer implements LicpSerializer
             }
             list.add(each);
         }
-        fields = list.toArray(new Field[list.size()]);
+        Field[] fields = list.toArray(new Field[list.size()]);
         Arrays.sort(fields, fieldCompator);
-        CacheField[] tmp = new CacheField[fields.length];
-        for (int i = 0; i < tmp.length; i++)
-        {
-            tmp[i] = FieldFactory.build(fields[i]);
-        }
-        this.fields = tmp;
+        return fields;
     }
     
     @Override
@@ -1,6 +1,12 @@
 package com.jfireframework.licp.serializer;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
 import java.util.concurrent.ConcurrentHashMap;
 import com.jfireframework.licp.serializer.array.BooleanArraySerializer;
 import com.jfireframework.licp.serializer.array.ByteArraySerializer;
@@ -20,6 +26,12 @@ import com.jfireframework.licp.serializer.array.WDoubleArraySerializer;
 import com.jfireframework.licp.serializer.array.WFloatArraySerializer;
 import com.jfireframework.licp.serializer.array.WLongArraySerializer;
 import com.jfireframework.licp.serializer.array.WShortArraySerializer;
+import com.jfireframework.licp.serializer.collection.ArrayListSerializer;
+import com.jfireframework.licp.serializer.collection.HashMapSerializer;
+import com.jfireframework.licp.serializer.collection.HashSetSerializer;
+import com.jfireframework.licp.serializer.collection.LinkedHashMapSerializer;
+import com.jfireframework.licp.serializer.collection.LinkedHashSetSerializer;
+import com.jfireframework.licp.serializer.collection.LinkedListSerializer;
 import com.jfireframework.licp.serializer.extra.BooleanSerializer;
 import com.jfireframework.licp.serializer.extra.ByteSerializer;
 import com.jfireframework.licp.serializer.extra.CharSerializer;
@@ -33,6 +45,10 @@ import com.jfireframework.licp.serializer.extra.ShortSerializer;
 public class SerializerFactory
 {
     private static final ConcurrentHashMap<Class<?>, LicpSerializer> serializerMap = new ConcurrentHashMap<Class<?>, LicpSerializer>();
+    // 标签格式使用的序列化器，普通的类型使用TaggedObjectSerializer，其余的与serializerMap相同
+    private static final ConcurrentHashMap<Class<?>, LicpSerializer> taggedMap     = new ConcurrentHashMap<Class<?>, LicpSerializer>();
+    // 是否为普通的类型生成序列化类，只影响之后才创建序列化器的类型
+    private static volatile boolean                                 codeGenerate  = false;
     
     static
     {
@@ -63,11 +79,31 @@ public class SerializerFactory
         serializerMap.put(Double.class, new DoubleSerializer());
         serializerMap.put(Date.class, new DateSerializer(false));
         serializerMap.put(java.sql.Date.class, new DateSerializer(true));
+        // 常用的集合只写入元素，不通过ObjectSerializer写入内部的数组和hash表。子类依然使用ObjectSerializer
+        serializerMap.put(ArrayList.class, new ArrayListSerializer());
+        serializerMap.put(LinkedList.class, new LinkedListSerializer());
+        serializerMap.put(HashSet.class, new HashSetSerializer());
+        serializerMap.put(LinkedHashSet.class, new LinkedHashSetSerializer());
+        serializerMap.put(HashMap.class, new HashMapSerializer());
+        serializerMap.put(LinkedHashMap.class, new LinkedHashMapSerializer());
+        taggedMap.putAll(serializerMap);
     }
     
     public static void register(Class<?> type, LicpSerializer serializer)
     {
         serializerMap.put(type, serializer);
+        taggedMap.put(type, serializer);
+    }
+    
+    /**
+     * 设置是否为普通的类型生成序列化类。生成的序列化类与ObjectSerializer格式相同，速度更快，但是每一个类型都要生成一个类。
+     * 应该在第一次序列化之前设置
+     * 
+     * @param codeGenerate
+     */
+    public static void setCodeGenerate(boolean codeGenerate)
+    {
+        SerializerFactory.codeGenerate = codeGenerate;
     }
     
     public static LicpSerializer get(Class<?> type)
@@ -83,10 +119,35 @@ public class SerializerFactory
         }
         else
         {
-            serializer = new ObjectSerializer(type);
+            serializer = codeGenerate ? SerializerGenerator.build(type) : new ObjectSerializer(type);
         }
         serializerMap.putIfAbsent(type, serializer);
         return serializer;
         
     }
+    
+    /**
+     * 返回标签格式下该类型的序列化器。普通的类型使用TaggedObjectSerializer，可以跳过不认识的属性，其余的类型与get相同
+     * 
+     * @param type
+     * @return
+     */
+    public static LicpSerializer getTagged(Class<?> type)
+    {
+        LicpSerializer serializer = taggedMap.get(type);
+        if (serializer != null)
+        {
+            return serializer;
+        }
+        if (type.isArray())
+        {
+            serializer = new ObjectArraySerializer(type, true);
+        }
+        else
+        {
+            serializer = new TaggedObjectSerializer(type);
+        }
+        taggedMap.putIfAbsent(type, serializer);
+        return serializer;
+    }
 }
@@ -0,0 +1,333 @@
+package com.jfireframework.licp.serializer;
+
+import java.lang.reflect.Field;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.exception.JustThrowException;
+import com.jfireframework.baseutil.exception.UnSupportException;
+import com.jfireframework.baseutil.reflect.ReflectUtil;
+import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
+import com.jfireframework.baseutil.simplelog.Logger;
+import com.jfireframework.licp.Licp;
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtConstructor;
+import javassist.CtField;
+import javassist.CtMethod;
+import sun.misc.Unsafe;
+
+/**
+ * 序列化类的生成器。为每一个类型生成一个序列化类，按照属性的顺序展开每一个属性的读写代码，属性的偏移量直接写成常量，
+ * 不再经过CacheField数组的循环和虚方法调用，JIT看到的是单态的顺序代码。
+ * 生成的代码与ObjectSerializer的格式完全相同，两者可以互相读取对方的输出。
+ * 生成的代码只通过Unsafe访问对象，不引用目标类型，所以非public的类型和属性同样可以生成
+ * 
+ * @author linbin
+ * 
+ */
+@SuppressWarnings("restriction")
+public class SerializerGenerator
+{
+    private static final Logger    logger = ConsoleLogFactory.getLogger();
+    private static final Unsafe    unsafe = ReflectUtil.getUnsafe();
+    private static final ClassPool classPool;
+    static
+    {
+        classPool = new ClassPool();
+        classPool.appendSystemPath();
+        classPool.appendClassPath(new ClassClassPath(SerializerGenerator.class));
+    }
+    
+    /**
+     * 为类型生成序列化类，生成失败的时候退回到ObjectSerializer
+     * 
+     * @param type
+     * @return
+     */
+    public static synchronized LicpSerializer build(Class<?> type)
+    {
+        try
+        {
+            return generate(type);
+        }
+        catch (Exception e)
+        {
+            logger.warn("为类型{}生成序列化类失败，使用ObjectSerializer", type, e);
+            return new ObjectSerializer(type);
+        }
+    }
+    
+    private static LicpSerializer generate(Class<?> type) throws Exception
+    {
+        Field[] fields = ObjectSerializer.serializeFields(type);
+        CtClass serializerCc = classPool.makeClass("LicpSerializer_" + type.getSimpleName() + "_" + System.nanoTime());
+        serializerCc.addInterface(classPool.get(LicpSerializer.class.getName()));
+        serializerCc.addField(CtField.make("private static final " + Unsafe.class.getName() + " unsafe = " + ReflectUtil.class.getName() + ".getUnsafe();", serializerCc));
+        serializerCc.addField(CtField.make("private final Class type;", serializerCc));
+        CtConstructor constructor = new CtConstructor(new CtClass[] { classPool.get(Class.class.getName()) }, serializerCc);
+        constructor.setBody("{this.type = $1;}");
+        serializerCc.addConstructor(constructor);
+        CtClass objectCc = classPool.get(Object.class.getName());
+        CtClass bufCc = classPool.get(ByteBuf.class.getName());
+        CtClass licpCc = classPool.get(Licp.class.getName());
+        String serializeBody = serializeBody(fields);
+        String deserializeBody = deserializeBody(fields);
+        logger.trace("{}创建的序列化方法是\r{}\r反序列化方法是\r{}\r", serializerCc.getName(), serializeBody, deserializeBody);
+        CtMethod serialize = new CtMethod(CtClass.voidType, "serialize", new CtClass[] { objectCc, bufCc, licpCc }, serializerCc);
+        serialize.setBody(serializeBody);
+        serializerCc.addMethod(serialize);
+        CtMethod deserialize = new CtMethod(objectCc, "deserialize", new CtClass[] { bufCc, licpCc }, serializerCc);
+        deserialize.setBody(deserializeBody);
+        deserialize.addCatch("{throw new " + JustThrowException.class.getName() + "($e);}", classPool.get(InstantiationException.class.getName()));
+        serializerCc.addMethod(deserialize);
+        Class<?> serializerClass = serializerCc.toClass(SerializerGenerator.class.getClassLoader(), null);
+        serializerCc.detach();
+        return (LicpSerializer) serializerClass.getConstructor(Class.class).newInstance(type);
+    }
+    
+    static String serializeBody(Field[] fields)
+    {
+        StringBuilder body = new StringBuilder();
+        body.append("{\nObject src = $1;\n");
+        body.append(ByteBuf.class.getName()).append(" buf = $2;\n");
+        body.append(Licp.class.getName()).append(" licp = $3;\n");
+        for (int i = 0; i < fields.length; i++)
+        {
+            body.append(writeCode(fields[i], i));
+        }
+        body.append("}");
+        return body.toString();
+    }
+    
+    static String deserializeBody(Field[] fields)
+    {
+        StringBuilder body = new StringBuilder();
+        body.append("{\n").append(ByteBuf.class.getName()).append(" buf = $1;\n");
+        body.append(Licp.class.getName()).append(" licp = $2;\n");
+        body.append("Object holder = unsafe.allocateInstance(type);\n");
+        // 在读取属性之前放入对象，属性中对该对象的引用才能找到
+        body.append("licp.putObject(holder);\n");
+        for (int i = 0; i < fields.length; i++)
+        {
+            body.append(readCode(fields[i], i));
+        }
+        body.append("return holder;\n}");
+        return body.toString();
+    }
+    
+    /**
+     * 属性的写出代码，与field.impl包中对应类型的write方法格式相同。局部变量以属性的下标结尾，避免重名。
+     * javassist不支持自动装箱和拆箱，包装类都需要显式的转换
+     * 
+     * @param field
+     * @param index
+     * @return
+     */
+    private static String writeCode(Field field, int index)
+    {
+        Class<?> type = field.getType();
+        String offset = unsafe.objectFieldOffset(field) + "L";
+        String get = "unsafe.getObject(src, " + offset + ")";
+        String v = "v" + index;
+        if (type == int.class)
+        {
+            return "buf.writeVarint(unsafe.getInt(src, " + offset + "));\n";
+        }
+        else if (type == short.class)
+        {
+            return "buf.writeShort(unsafe.getShort(src, " + offset + "));\n";
+        }
+        else if (type == byte.class)
+        {
+            return "buf.put(unsafe.getByte(src, " + offset + "));\n";
+        }
+        else if (type == long.class)
+        {
+            return "buf.writeVarLong(unsafe.getLong(src, " + offset + "));\n";
+        }
+        else if (type == float.class)
+        {
+            return "buf.writeFloat(unsafe.getFloat(src, " + offset + "));\n";
+        }
+        else if (type == double.class)
+        {
+            return "buf.writeDouble(unsafe.getDouble(src, " + offset + "));\n";
+        }
+        else if (type == boolean.class)
+        {
+            return "if (unsafe.getBoolean(src, " + offset + ")) {buf.put((byte) 1);}\n" //
+                    + "else {buf.put((byte) 0);}\n";
+        }
+        else if (type == char.class)
+        {
+            return "buf.writeVarChar(unsafe.getChar(src, " + offset + "));\n";
+        }
+        else if (type == Boolean.class)
+        {
+            return "Boolean " + v + " = (Boolean) " + get + ";\n" //
+                    + "if (" + v + " == null) {buf.put((byte) 0);}\n" //
+                    + "else if (" + v + ".booleanValue()) {buf.put((byte) 1);}\n" //
+                    + "else {buf.put((byte) 2);}\n";
+        }
+        else if (type == String.class)
+        {
+            String length = "l" + index;
+            String i = "i" + index;
+            return "String " + v + " = (String) " + get + ";\n" //
+                    + "if (" + v + " == null) {buf.writePositive(0);}\n" //
+                    + "else {\nint " + length + " = " + v + ".length();\n" //
+                    + "buf.writePositive((" + length + " << 1) | 1);\n" //
+                    + "for (int " + i + " = 0; " + i + " < " + length + "; " + i + "++) {buf.writeVarChar(" + v + ".charAt(" + i + "));}\n}\n";
+        }
+        String write = wrapperWrite(type, v);
+        if (write != null)
+        {
+            return type.getName() + " " + v + " = (" + type.getName() + ") " + get + ";\n" //
+                    + "if (" + v + " == null) {buf.put((byte) 0);}\n" //
+                    + "else {buf.put((byte) 1);" + write + "}\n";
+        }
+        return "licp._serialize(" + get + ", buf);\n";
+    }
+    
+    private static String wrapperWrite(Class<?> type, String v)
+    {
+        if (type == Integer.class)
+        {
+            return "buf.writeVarint(" + v + ".intValue());";
+        }
+        else if (type == Short.class)
+        {
+            return "buf.writeShort(" + v + ".shortValue());";
+        }
+        else if (type == Byte.class)
+        {
+            return "buf.put(" + v + ".byteValue());";
+        }
+        else if (type == Long.class)
+        {
+            return "buf.writeVarLong(" + v + ".longValue());";
+        }
+        else if (type == Float.class)
+        {
+            return "buf.writeFloat(" + v + ".floatValue());";
+        }
+        else if (type == Double.class)
+        {
+            return "buf.writeDouble(" + v + ".doubleValue());";
+        }
+        else if (type == Character.class)
+        {
+            return "buf.writeChar(" + v + ".charValue());";
+        }
+        return null;
+    }
+    
+    /**
+     * 属性的读取代码，与field.impl包中对应类型的read方法格式相同
+     * 
+     * @param field
+     * @param index
+     * @return
+     */
+    private static String readCode(Field field, int index)
+    {
+        Class<?> type = field.getType();
+        String offset = unsafe.objectFieldOffset(field) + "L";
+        String put = "unsafe.putObject(holder, " + offset + ", ";
+        if (type == int.class)
+        {
+            return "unsafe.putInt(holder, " + offset + ", buf.readVarint());\n";
+        }
+        else if (type == short.class)
+        {
+            return "unsafe.putShort(holder, " + offset + ", buf.readShort());\n";
+        }
+        else if (type == byte.class)
+        {
+            return "unsafe.putByte(holder, " + offset + ", buf.get());\n";
+        }
+        else if (type == long.class)
+        {
+            return "unsafe.putLong(holder, " + offset + ", buf.readVarLong());\n";
+        }
+        else if (type == float.class)
+        {
+            return "unsafe.putFloat(holder, " + offset + ", buf.readFloat());\n";
+        }
+        else if (type == double.class)
+        {
+            return "unsafe.putDouble(holder, " + offset + ", buf.readDouble());\n";
+        }
+        else if (type == boolean.class)
+        {
+            return "unsafe.putBoolean(holder, " + offset + ", buf.get() == 1);\n";
+        }
+        else if (type == char.class)
+        {
+            return "unsafe.putChar(holder, " + offset + ", buf.readVarChar());\n";
+        }
+        else if (type == Boolean.class)
+        {
+            String b = "b" + index;
+            return "byte " + b + " = buf.get();\n" //
+                    + "if (" + b + " == 0) {" + put + "null);}\n" //
+                    + "else if (" + b + " == 1) {" + put + "Boolean.TRUE);}\n" //
+                    + "else if (" + b + " == 2) {" + put + "Boolean.FALSE);}\n" //
+                    + "else {throw new " + UnSupportException.class.getName() + "(\"not here\");}\n";
+        }
+        else if (type == Byte.class)
+        {
+            return "if (buf.get() == 0) {" + put + "null);}\n" //
+                    + "else {" + put + "Byte.valueOf(buf.get()));}\n";
+        }
+        else if (type == String.class)
+        {
+            String length = "l" + index;
+            String chars = "c" + index;
+            String i = "i" + index;
+            return "int " + length + " = buf.readPositive();\n" //
+                    + "if (" + length + " == 0) {" + put + "null);}\n" //
+                    + "else {\n" + length + " = " + length + " >>> 1;\n" //
+                    + "if (" + length + " == 0) {" + put + "\"\");}\n" //
+                    + "else {\nchar[] " + chars + " = new char[" + length + "];\n" //
+                    + "for (int " + i + " = 0; " + i + " < " + length + "; " + i + "++) {" + chars + "[" + i + "] = buf.readVarChar();}\n" //
+                    + put + "new String(" + chars + "));\n}\n}\n";
+        }
+        String read = wrapperRead(type);
+        if (read != null)
+        {
+            return "if (buf.get() == 1) {" + put + read + ");}\n" //
+                    + "else {" + put + "null);}\n";
+        }
+        return put + "licp._deserialize(buf));\n";
+    }
+    
+    private static String wrapperRead(Class<?> type)
+    {
+        if (type == Integer.class)
+        {
+            return "Integer.valueOf(buf.readVarint())";
+        }
+        else if (type == Short.class)
+        {
+            return "Short.valueOf(buf.readShort())";
+        }
+        else if (type == Long.class)
+        {
+            return "Long.valueOf(buf.readVarLong())";
+        }
+        else if (type == Float.class)
+        {
+            return "Float.valueOf(buf.readFloat())";
+        }
+        else if (type == Double.class)
+        {
+            return "Double.valueOf(buf.readDouble())";
+        }
+        else if (type == Character.class)
+        {
+            return "Character.valueOf(buf.readChar())";
+        }
+        return null;
+    }
+}
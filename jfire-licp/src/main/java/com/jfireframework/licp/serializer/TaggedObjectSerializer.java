@@ -0,0 +1,307 @@
+package com.jfireframework.licp.serializer;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.exception.JustThrowException;
+import com.jfireframework.baseutil.exception.UnSupportException;
+import com.jfireframework.baseutil.reflect.ReflectUtil;
+import com.jfireframework.licp.Licp;
+import com.jfireframework.licp.annotation.FieldTag;
+import com.jfireframework.licp.field.CacheField;
+import com.jfireframework.licp.field.FieldFactory;
+import sun.misc.Unsafe;
+
+/**
+ * 标签格式的对象序列化器。每一个属性之前写入标签，标签是属性id左移4位加上值的类型，全部属性之后写入0作为结束。
+ * 读取时按照id找到属性，不认识的属性或者类型不一致的属性根据标签中的类型跳过，流中没有的属性保持默认值，
+ * 所以两端的类增加或者删除属性之后依然可以互相读取。
+ * 对象类型的值总是通过licp完整的读取后再丢弃，而不是按长度跳过，这样收集器中的对象序号和临时注册的类型序号才能与写入端保持一致。
+ * 读取端无法加载的类的对象则按照标签跳过全部的属性，参见skipFields。
+ * 类型有无参构造方法的时候通过构造方法创建对象，流中没有的属性保持声明时的初始值
+ * 
+ * @author linbin
+ * 
+ */
+@SuppressWarnings("restriction")
+public class TaggedObjectSerializer implements LicpSerializer
+{
+    public static final int      END     = 0;
+    // 值的类型，决定了不认识的值如何跳过
+    public static final int      VARINT  = 0;
+    public static final int      VARLONG = 1;
+    public static final int      VARCHAR = 2;
+    public static final int      BYTE    = 3;
+    public static final int      SHORT   = 4;
+    public static final int      FLOAT   = 5;
+    public static final int      DOUBLE  = 6;
+    public static final int      OBJECT  = 7;
+    public static final int      STRING  = 8;
+    // 注解指定的id的上限，没有注解的属性的id都大于这个值
+    public static final int      MAX_TAG = (1 << 20) - 1;
+    private static final Unsafe  unsafe  = ReflectUtil.getUnsafe();
+    private final Class<?>       type;
+    private final Constructor<?> constructor;
+    // 写入的顺序，与ObjectSerializer相同
+    private final TaggedField[]  fields;
+    // 按照id排序的属性，读取时二分查找
+    private final TaggedField[]  sortedFields;
+    private final int[]          ids;
+    
+    public TaggedObjectSerializer(Class<?> type)
+    {
+        this.type = type;
+        Field[] fields = ObjectSerializer.serializeFields(type);
+        this.fields = new TaggedField[fields.length];
+        for (int i = 0; i < fields.length; i++)
+        {
+            this.fields[i] = new TaggedField(fields[i]);
+        }
+        sortedFields = this.fields.clone();
+        Arrays.sort(sortedFields);
+        ids = new int[sortedFields.length];
+        for (int i = 0; i < sortedFields.length; i++)
+        {
+            ids[i] = sortedFields[i].id;
+            if (i > 0 && ids[i] == ids[i - 1])
+            {
+                throw new UnSupportException("类" + type.getName() + "的属性" + sortedFields[i - 1].field.getName() + "和" + sortedFields[i].field.getName() + "的id重复，请使用FieldTag指定不同的id");
+            }
+        }
+        constructor = noArgConstructor(type);
+    }
+    
+    private static Constructor<?> noArgConstructor(Class<?> type)
+    {
+        if (Modifier.isAbstract(type.getModifiers()))
+        {
+            return null;
+        }
+        try
+        {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        }
+        catch (Exception e)
+        {
+            return null;
+        }
+    }
+    
+    /**
+     * 属性在标签格式中的id。标注了FieldTag的使用注解的值，否则使用属性名称的hash值，并且保证大于MAX_TAG
+     * 
+     * @param field
+     * @return
+     */
+    public static int fieldId(Field field)
+    {
+        FieldTag tag = field.getAnnotation(FieldTag.class);
+        if (tag != null)
+        {
+            if (tag.value() < 1 || tag.value() > MAX_TAG)
+            {
+                throw new UnSupportException("属性" + field + "的FieldTag必须在1到" + MAX_TAG + "之间");
+            }
+            return tag.value();
+        }
+        // 保证左移4位之后依然是正数
+        return (field.getName().hashCode() & 0x07ffffff) | (MAX_TAG + 1);
+    }
+    
+    /**
+     * 属性的值在标签中的类型。基本类型和字符串按照CacheField的格式写入，其余的都作为对象通过licp写入
+     * 
+     * @param type
+     * @return
+     */
+    public static int kindOf(Class<?> type)
+    {
+        if (type == int.class)
+        {
+            return VARINT;
+        }
+        else if (type == long.class)
+        {
+            return VARLONG;
+        }
+        else if (type == char.class)
+        {
+            return VARCHAR;
+        }
+        else if (type == byte.class || type == boolean.class)
+        {
+            return BYTE;
+        }
+        else if (type == short.class)
+        {
+            return SHORT;
+        }
+        else if (type == float.class)
+        {
+            return FLOAT;
+        }
+        else if (type == double.class)
+        {
+            return DOUBLE;
+        }
+        else if (type == String.class)
+        {
+            return STRING;
+        }
+        else
+        {
+            return OBJECT;
+        }
+    }
+    
+    @Override
+    public void serialize(Object src, ByteBuf<?> buf, Licp licp)
+    {
+        for (TaggedField each : fields)
+        {
+            buf.writePositive(each.tag);
+            if (each.kind == OBJECT)
+            {
+                licp._serialize(unsafe.getObject(src, each.offset), buf);
+            }
+            else
+            {
+                each.cacheField.write(src, buf, licp);
+            }
+        }
+        buf.writePositive(END);
+    }
+    
+    @Override
+    public Object deserialize(ByteBuf<?> buf, Licp licp)
+    {
+        Object holder = newInstance();
+        // 在这个地方把对象放入。在外面放入就来不及了
+        licp.putObject(holder);
+        int tag;
+        while ((tag = buf.readPositive()) != END)
+        {
+            int kind = tag & 0x0f;
+            int index = Arrays.binarySearch(ids, tag >>> 4);
+            TaggedField field = index < 0 ? null : sortedFields[index];
+            if (field == null || field.kind != kind)
+            {
+                skip(kind, buf, licp);
+            }
+            else if (kind == OBJECT)
+            {
+                Object value = licp._deserialize(buf);
+                // 两端的属性类型不一致时丢弃该值，不能放入类型不符的对象
+                if (value == null || field.type.isInstance(value))
+                {
+                    unsafe.putObject(holder, field.offset, value);
+                }
+            }
+            else
+            {
+                field.cacheField.read(holder, buf, licp);
+            }
+        }
+        return holder;
+    }
+    
+    private Object newInstance()
+    {
+        try
+        {
+            return constructor == null ? unsafe.allocateInstance(type) : constructor.newInstance();
+        }
+        catch (Exception e)
+        {
+            throw new JustThrowException(e);
+        }
+    }
+    
+    /**
+     * 按照标签跳过一个对象的全部属性，直到结束标记。用于跳过读取端无法加载的类的对象
+     * 
+     * @param buf
+     * @param licp
+     */
+    public static void skipFields(ByteBuf<?> buf, Licp licp)
+    {
+        int tag;
+        while ((tag = buf.readPositive()) != END)
+        {
+            skip(tag & 0x0f, buf, licp);
+        }
+    }
+    
+    private static void skip(int kind, ByteBuf<?> buf, Licp licp)
+    {
+        switch (kind)
+        {
+            case VARINT:
+                buf.readVarint();
+                break;
+            case VARLONG:
+                buf.readVarLong();
+                break;
+            case VARCHAR:
+                buf.readVarChar();
+                break;
+            case BYTE:
+                buf.addReadIndex(1);
+                break;
+            case SHORT:
+                buf.addReadIndex(2);
+                break;
+            case FLOAT:
+                buf.addReadIndex(4);
+                break;
+            case DOUBLE:
+                buf.addReadIndex(8);
+                break;
+            case STRING:
+                // 格式与StringField相同，长度左移了1位
+                for (int i = buf.readPositive() >>> 1; i > 0; i--)
+                {
+                    buf.readVarChar();
+                }
+                break;
+            case OBJECT:
+                licp._deserialize(buf);
+                break;
+            default:
+                throw new UnSupportException("不认识的值类型" + kind + "，数据可能来自更新的licp版本");
+        }
+    }
+    
+    static class TaggedField implements Comparable<TaggedField>
+    {
+        private final Field      field;
+        private final Class<?>   type;
+        private final int        id;
+        private final int        kind;
+        private final int        tag;
+        private final long       offset;
+        // 基本类型和字符串的属性通过CacheField读写
+        private final CacheField cacheField;
+        
+        TaggedField(Field field)
+        {
+            this.field = field;
+            type = field.getType();
+            id = fieldId(field);
+            kind = kindOf(type);
+            tag = (id << 4) | kind;
+            offset = unsafe.objectFieldOffset(field);
+            cacheField = kind == OBJECT ? null : FieldFactory.build(field);
+        }
+        
+        @Override
+        public int compareTo(TaggedField o)
+        {
+            return id < o.id ? -1 : (id == o.id ? 0 : 1);
+        }
+    }
+}
@@ -13,12 +13,21 @@ public abstract class AbstractArraySerializer implements LicpSerializer
     protected final Class<?>       elementType;
     
     public AbstractArraySerializer(Class<?> type)
+    {
+        this(type, false);
+    }
+    
+    /**
+     * @param type 数组的类型
+     * @param tagged 是否使用标签格式下的元素序列化器
+     */
+    public AbstractArraySerializer(Class<?> type, boolean tagged)
     {
         elementType = type.getComponentType();
         if (Modifier.isFinal(elementType.getModifiers()))
         {
             elementSameType = true;
-            elementSerializer = SerializerFactory.get(type.getComponentType());
+            elementSerializer = tagged ? SerializerFactory.getTagged(elementType) : SerializerFactory.get(elementType);
         }
         else
         {
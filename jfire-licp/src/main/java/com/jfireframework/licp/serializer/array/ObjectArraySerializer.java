@@ -12,6 +12,11 @@ public class ObjectArraySerializer extends AbstractArraySerializer
         super(type);
     }
     
+    public ObjectArraySerializer(Class<?> type, boolean tagged)
+    {
+        super(type, tagged);
+    }
+    
     @Override
     public void serialize(Object src, ByteBuf<?> buf, Licp licp)
     {
@@ -0,0 +1,60 @@
+package com.jfireframework.licp.serializer.collection;
+
+import java.util.Collection;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.licp.Licp;
+import com.jfireframework.licp.serializer.LicpSerializer;
+
+/**
+ * 集合的序列化器。只写入元素个数和每一个元素，读取时新建集合并且依次放入元素，不依赖集合内部的属性结构
+ * 
+ * @author linbin
+ * 
+ */
+public abstract class AbstractCollectionSerializer implements LicpSerializer
+{
+    
+    @Override
+    public void serialize(Object src, ByteBuf<?> buf, Licp licp)
+    {
+        Collection<?> collection = (Collection<?>) src;
+        buf.writePositive(collection.size());
+        for (Object each : collection)
+        {
+            licp._serialize(each, buf);
+        }
+    }
+    
+    @Override
+    public Object deserialize(ByteBuf<?> buf, Licp licp)
+    {
+        int size = buf.readPositive();
+        Collection<Object> collection = newInstance(size);
+        // 在读取元素之前放入集合，元素中对该集合的引用才能找到
+        licp.putObject(collection);
+        for (int i = 0; i < size; i++)
+        {
+            collection.add(licp._deserialize(buf));
+        }
+        return collection;
+    }
+    
+    /**
+     * 创建一个可以容纳size个元素的空集合
+     * 
+     * @param size
+     * @return
+     */
+    protected abstract Collection<Object> newInstance(int size);
+    
+    /**
+     * 放入size个元素不需要扩容的hash表初始容量
+     * 
+     * @param size
+     * @return
+     */
+    protected static int hashCapacity(int size)
+    {
+        return size < 3 ? size + 1 : (int) (size / 0.75f + 1);
+    }
+}
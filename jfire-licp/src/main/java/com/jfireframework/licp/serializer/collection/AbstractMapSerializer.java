@@ -0,0 +1,52 @@
+package com.jfireframework.licp.serializer.collection;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.licp.Licp;
+import com.jfireframework.licp.serializer.LicpSerializer;
+
+/**
+ * Map的序列化器。只写入键值对的个数和每一个键值对，读取时新建Map并且依次放入，不依赖Map内部的hash表结构
+ * 
+ * @author linbin
+ * 
+ */
+public abstract class AbstractMapSerializer implements LicpSerializer
+{
+    
+    @Override
+    public void serialize(Object src, ByteBuf<?> buf, Licp licp)
+    {
+        Map<?, ?> map = (Map<?, ?>) src;
+        buf.writePositive(map.size());
+        for (Entry<?, ?> each : map.entrySet())
+        {
+            licp._serialize(each.getKey(), buf);
+            licp._serialize(each.getValue(), buf);
+        }
+    }
+    
+    @Override
+    public Object deserialize(ByteBuf<?> buf, Licp licp)
+    {
+        int size = buf.readPositive();
+        Map<Object, Object> map = newInstance(size);
+        // 在读取键值对之前放入Map，键值中对该Map的引用才能找到
+        licp.putObject(map);
+        for (int i = 0; i < size; i++)
+        {
+            Object key = licp._deserialize(buf);
+            map.put(key, licp._deserialize(buf));
+        }
+        return map;
+    }
+    
+    /**
+     * 创建一个可以容纳size个键值对的空Map
+     * 
+     * @param size
+     * @return
+     */
+    protected abstract Map<Object, Object> newInstance(int size);
+}
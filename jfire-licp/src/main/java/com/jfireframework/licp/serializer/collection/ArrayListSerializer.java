@@ -0,0 +1,15 @@
+package com.jfireframework.licp.serializer.collection;
+
+import java.util.Collection;
+import java.util.ArrayList;
+
+public class ArrayListSerializer extends AbstractCollectionSerializer
+{
+    
+    @Override
+    protected Collection<Object> newInstance(int size)
+    {
+        return new ArrayList<Object>(size);
+    }
+    
+}
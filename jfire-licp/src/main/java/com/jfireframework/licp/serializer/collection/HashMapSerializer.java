@@ -0,0 +1,15 @@
+package com.jfireframework.licp.serializer.collection;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class HashMapSerializer extends AbstractMapSerializer
+{
+    
+    @Override
+    protected Map<Object, Object> newInstance(int size)
+    {
+        return new HashMap<Object, Object>(AbstractCollectionSerializer.hashCapacity(size));
+    }
+    
+}
@@ -0,0 +1,15 @@
+package com.jfireframework.licp.serializer.collection;
+
+import java.util.Collection;
+import java.util.HashSet;
+
+public class HashSetSerializer extends AbstractCollectionSerializer
+{
+    
+    @Override
+    protected Collection<Object> newInstance(int size)
+    {
+        return new HashSet<Object>(hashCapacity(size));
+    }
+    
+}
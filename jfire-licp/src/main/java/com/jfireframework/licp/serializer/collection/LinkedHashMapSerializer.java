@@ -0,0 +1,21 @@
+package com.jfireframework.licp.serializer.collection;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按照遍历的顺序写入键值对，读取后的顺序与原来相同。访问顺序的LinkedHashMap读取后成为插入顺序
+ * 
+ * @author linbin
+ * 
+ */
+public class LinkedHashMapSerializer extends AbstractMapSerializer
+{
+    
+    @Override
+    protected Map<Object, Object> newInstance(int size)
+    {
+        return new LinkedHashMap<Object, Object>(AbstractCollectionSerializer.hashCapacity(size));
+    }
+    
+}
@@ -0,0 +1,15 @@
+package com.jfireframework.licp.serializer.collection;
+
+import java.util.Collection;
+import java.util.LinkedList;
+
+public class LinkedListSerializer extends AbstractCollectionSerializer
+{
+    
+    @Override
+    protected Collection<Object> newInstance(int size)
+    {
+        return new LinkedList<Object>();
+    }
+    
+}
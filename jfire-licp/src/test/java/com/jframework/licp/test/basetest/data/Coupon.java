@@ -0,0 +1,14 @@
+package com.jframework.licp.test.basetest.data;
+
+/**
+ * 只在OrderV3中使用的类型，测试读取端无法加载该类时能否跳过
+ * 
+ * @author linbin
+ * 
+ */
+public class Coupon
+{
+    public String code;
+    public int    discount;
+    public Person issuer;
+}
@@ -0,0 +1,23 @@
+package com.jframework.licp.test.basetest.data;
+
+import com.jfireframework.licp.annotation.FieldTag;
+
+/**
+ * 订单的旧版本，与OrderV2一起测试标签格式的兼容性
+ * 
+ * @author linbin
+ * 
+ */
+public class OrderV1
+{
+    @FieldTag(1)
+    public long   id;
+    @FieldTag(2)
+    public String name;
+    @FieldTag(3)
+    public int    count;
+    @FieldTag(4)
+    public Person owner;
+    // 没有标注FieldTag，使用属性名称的hash值作为id
+    public double price;
+}
@@ -0,0 +1,22 @@
+package com.jframework.licp.test.basetest.data;
+
+import com.jfireframework.licp.annotation.FieldTag;
+
+/**
+ * 订单的新版本。删除了owner，count的类型由int变为long，增加了remark
+ * 
+ * @author linbin
+ * 
+ */
+public class OrderV2
+{
+    @FieldTag(1)
+    public long   id;
+    @FieldTag(2)
+    public String name;
+    @FieldTag(3)
+    public long   count;
+    @FieldTag(5)
+    public String remark = "none";
+    public double price;
+}
@@ -0,0 +1,28 @@
+package com.jframework.licp.test.basetest.data;
+
+import com.jfireframework.licp.annotation.FieldTag;
+
+/**
+ * 在OrderV1的基础上增加了新类型Coupon的属性。coupon和backup写在owner之前，用来测试跳过之后对象的序号是否依然正确
+ * 
+ * @author linbin
+ * 
+ */
+public class OrderV3
+{
+    @FieldTag(1)
+    public long     id;
+    @FieldTag(2)
+    public String   name;
+    @FieldTag(3)
+    public int      count;
+    @FieldTag(6)
+    public Coupon   coupon;
+    @FieldTag(7)
+    public Coupon   backup;
+    @FieldTag(8)
+    public Coupon[] history;
+    @FieldTag(4)
+    public Person   owner;
+    public double   price;
+}
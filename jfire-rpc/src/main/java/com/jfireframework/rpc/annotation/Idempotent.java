@@ -0,0 +1,18 @@
+package com.jfireframework.rpc.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注接口方法是幂等的。连接失败、等待超时等无法确定服务端是否执行过的失败，只有幂等的方法才会换一个服务端重试
+ * 
+ * @author linbin
+ * 
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(value = { ElementType.METHOD })
+public @interface Idempotent
+{
+}
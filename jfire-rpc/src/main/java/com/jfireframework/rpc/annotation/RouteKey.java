@@ -0,0 +1,19 @@
+package com.jfireframework.rpc.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注接口方法的一个参数作为路由键。使用一致性hash负载均衡时，路由键相同的调用总是落在同一个服务端上。
+ * 路由键使用参数的hashCode，所以参数类型的hashCode必须在不同的jvm之间保持一致，比如String，基本类型以及它们的包装类，不能是数组
+ * 
+ * @author linbin
+ * 
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(value = { ElementType.PARAMETER })
+public @interface RouteKey
+{
+}
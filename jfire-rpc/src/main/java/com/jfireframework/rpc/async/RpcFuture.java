@@ -0,0 +1,199 @@
+package com.jfireframework.rpc.async;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
+import com.jfireframework.baseutil.simplelog.Logger;
+
+/**
+ * 异步调用的结果。接口方法的返回类型声明为RpcFuture时，客户端生成的代理方法在发出请求后立刻返回，响应到达时完成该future，
+ * 多个调用可以同时发出再统一等待或者注册回调，不需要为每一个调用占用一个线程。
+ * 服务端的实现类同样可以返回一个尚未完成的RpcFuture，在其他线程中完成后再写出响应，期间不占用jnet的处理线程。
+ * 结果只能被设置一次，之后的complete和fail都会被忽略
+ * 
+ * @author linbin
+ * 
+ * @param <T>
+ */
+public class RpcFuture<T> implements Future<T>
+{
+    private static final Logger          logger = ConsoleLogFactory.getLogger();
+    private volatile boolean             done   = false;
+    private T                            result;
+    private Throwable                    e;
+    private List<RpcListener<? super T>> listeners;
+    
+    public static <T> RpcFuture<T> completed(T result)
+    {
+        RpcFuture<T> future = new RpcFuture<T>();
+        future.complete(result);
+        return future;
+    }
+    
+    public static <T> RpcFuture<T> failed(Throwable e)
+    {
+        RpcFuture<T> future = new RpcFuture<T>();
+        future.fail(e);
+        return future;
+    }
+    
+    /**
+     * 以结果完成该future，返回本次调用是否生效
+     * 
+     * @param result
+     * @return
+     */
+    public boolean complete(T result)
+    {
+        return finish(result, null);
+    }
+    
+    /**
+     * 以异常完成该future，返回本次调用是否生效
+     * 
+     * @param e
+     * @return
+     */
+    public boolean fail(Throwable e)
+    {
+        return finish(null, e);
+    }
+    
+    private boolean finish(T result, Throwable e)
+    {
+        List<RpcListener<? super T>> listeners;
+        synchronized (this)
+        {
+            if (done)
+            {
+                return false;
+            }
+            this.result = result;
+            this.e = e;
+            done = true;
+            listeners = this.listeners;
+            this.listeners = null;
+            notifyAll();
+        }
+        if (listeners != null)
+        {
+            for (RpcListener<? super T> each : listeners)
+            {
+                notifyListener(each);
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 注册回调。如果结果已经就绪，则在当前线程中立刻回调，否则在完成该future的线程中回调
+     * 
+     * @param listener
+     * @return
+     */
+    public RpcFuture<T> addListener(RpcListener<? super T> listener)
+    {
+        synchronized (this)
+        {
+            if (done == false)
+            {
+                if (listeners == null)
+                {
+                    listeners = new LinkedList<RpcListener<? super T>>();
+                }
+                listeners.add(listener);
+                return this;
+            }
+        }
+        notifyListener(listener);
+        return this;
+    }
+    
+    private void notifyListener(RpcListener<? super T> listener)
+    {
+        // 回调的异常不能影响完成future的线程
+        try
+        {
+            if (e == null)
+            {
+                listener.onSuccess(result);
+            }
+            else
+            {
+                listener.onFailure(e);
+            }
+        }
+        catch (Throwable t)
+        {
+            logger.error("异步调用的回调出现异常", t);
+        }
+    }
+    
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning)
+    {
+        return false;
+    }
+    
+    @Override
+    public boolean isCancelled()
+    {
+        return false;
+    }
+    
+    @Override
+    public boolean isDone()
+    {
+        return done;
+    }
+    
+    /**
+     * 结果就绪并且是以异常完成的时候返回该异常，否则返回null
+     * 
+     * @return
+     */
+    public Throwable cause()
+    {
+        return done ? e : null;
+    }
+    
+    @Override
+    public synchronized T get() throws InterruptedException, ExecutionException
+    {
+        while (done == false)
+        {
+            wait();
+        }
+        return report();
+    }
+    
+    @Override
+    public synchronized T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
+    {
+        long left = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + left;
+        while (done == false)
+        {
+            if (left <= 0)
+            {
+                throw new TimeoutException("等待时间已到达");
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, left);
+            left = deadline - System.nanoTime();
+        }
+        return report();
+    }
+    
+    private T report() throws ExecutionException
+    {
+        if (e != null)
+        {
+            throw new ExecutionException(e);
+        }
+        return result;
+    }
+}
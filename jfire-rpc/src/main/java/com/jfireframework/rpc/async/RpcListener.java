@@ -0,0 +1,25 @@
+package com.jfireframework.rpc.async;
+
+/**
+ * 异步调用结果的回调。客户端的回调在读取线程或者时间轮线程中执行，服务端的回调在完成future的线程中执行，都不能在其中执行阻塞操作
+ * 
+ * @author linbin
+ * 
+ * @param <T>
+ */
+public interface RpcListener<T>
+{
+    /**
+     * 调用成功完成
+     * 
+     * @param result
+     */
+    public void onSuccess(T result);
+    
+    /**
+     * 调用失败，包括远端方法抛出的异常、等待超时以及链接中断
+     * 
+     * @param e
+     */
+    public void onFailure(Throwable e);
+}
@@ -1,12 +1,16 @@
 package com.jfireframework.rpc.client;
 
 import java.nio.charset.Charset;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import com.jfireframework.baseutil.collection.buffer.ByteBuf;
 import com.jfireframework.baseutil.collection.buffer.DirectByteBufPool;
 import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
 import com.jfireframework.baseutil.simplelog.Logger;
-import com.jfireframework.jnet.client.AioClient;
+import com.jfireframework.jnet.client.MultiplexClient;
+import com.jfireframework.jnet.client.MultiplexClientPool;
+import com.jfireframework.jnet.client.ResponseListener;
 import com.jfireframework.jnet.common.channel.ChannelInitListener;
 import com.jfireframework.jnet.common.channel.JnetChannel;
 import com.jfireframework.jnet.common.decodec.TotalLengthFieldBasedFrameDecoder;
@@ -15,53 +19,366 @@ import com.jfireframework.jnet.common.handler.DataHandler;
 import com.jfireframework.jnet.common.handler.LengthPreHandler;
 import com.jfireframework.jnet.common.result.InternalTask;
 import com.jfireframework.licp.Licp;
+import com.jfireframework.rpc.async.RpcFuture;
+import com.jfireframework.rpc.client.balance.LoadBalance;
+import com.jfireframework.rpc.client.balance.RoundRobinLoadBalance;
+import com.jfireframework.rpc.client.balance.ServerNode;
+import com.jfireframework.rpc.exception.InvokeException;
+import com.jfireframework.rpc.protocol.RpcHeader;
 
+/**
+ * 远程调用的执行者。所有线程的调用共用多路复用的连接，每一个请求都带有请求序号，服务端可以乱序返回响应，
+ * 所以连接数不再随着调用线程数增长，而是由connections决定。
+ * 生成的代理类通过newRequest得到请求报文，按照参数的声明类型将参数直接写入报文，然后调用send发送并等待结果。
+ * 返回类型为RpcFuture的方法调用sendAsync，不等待结果。
+ * 可以通过setServers设置多个服务端，每一次调用由负载均衡策略选择一个节点，连续失败的节点会被熔断。
+ * 声明了Idempotent的方法在连接失败、超时等传输层失败的时候换一个节点重试，最多重试retries次。
+ * 设置了batchSize之后，并发的调用会被合并发送，参见CallBatcher
+ * 
+ * @author linbin
+ * 
+ */
 public class BytecodeInvoker
 {
+    // 调用选项，方法是幂等的，可以重试
+    public static final int          IDEMPOTENT          = 1;
+    // 调用选项，方法声明了路由键。声明了路由键的调用不参与合并
+    public static final int          ROUTED              = 2;
+    // 调用选项，请求已经经过了合并器，内部使用
+    static final int                 BATCHED             = 4;
     protected int                    maxLength           = Integer.MAX_VALUE;
     protected long                   readTimeout         = 3000;
     protected long                   reuseChannelTimeout = 55000;
     protected String                 ip;
     protected int                    port;
+    // 多个服务端的地址，格式是ip:port。设置之后忽略ip和port
+    protected String[]               servers;
     protected static Charset         charset             = Charset.forName("utf8");
     protected String                 proxyName;
-    protected ThreadLocal<AioClient> clientChanelLocal;
+    // 到每一个服务端的最大连接数
+    protected int                    connections         = 1;
+    // 单个连接上同时在途的请求数上限
+    protected int                    maxInFlight         = 1024;
+    protected LoadBalance            loadBalance         = new RoundRobinLoadBalance();
+    // 幂等方法的最大重试次数
+    protected int                    retries             = 2;
+    // 连续失败多少次后熔断
+    protected int                    failureThreshold    = 5;
+    // 熔断的时长，单位毫秒
+    protected long                   breakTime           = 5000;
+    // 合并调用时一个批次的最大调用数，小于2表示不合并
+    protected int                    batchSize           = 0;
+    // 合并调用的窗口时间，单位微秒
+    protected long                   batchWindow         = 50;
+    // 参数是否使用licp的标签格式序列化。响应的格式由licp根据版本号自动识别
+    protected boolean                taggedFormat        = false;
+    protected ServerNode[]           nodes;
+    protected CallBatcher            batcher;
     private static Logger            logger              = ConsoleLogFactory.getLogger();
+    private static ThreadLocal<Licp> licpLocal           = new ThreadLocal<Licp>() {
+                                                             @Override
+                                                             protected Licp initialValue()
+                                                             {
+                                                                 return new Licp();
+                                                             }
+                                                         };
     
     public BytecodeInvoker build()
     {
-        clientChanelLocal = new ThreadLocal<AioClient>() {
-            @Override
-            protected AioClient initialValue()
-            {
-                AioClient client = new AioClient(false);
-                client.setAddress(ip).setPort(port);
-                client.setInitListener(new ChannelInitListener() {
-                    
-                    @Override
-                    public void channelInit(JnetChannel channelInfo)
-                    {
-                        channelInfo.setReadTimeout(readTimeout);
-                        channelInfo.setCapacity(1024);
-                        channelInfo.setFrameDecodec(new TotalLengthFieldBasedFrameDecoder(0, 4, 4, maxLength));
-                        channelInfo.setHandlers(new ReadHandler());
-                    }
-                });
-                client.setWriteHandlers(new WriteHandler(proxyName), new LengthPreHandler(0, 4));
-                return client;
-            }
-        };
+        String[] addresses = servers == null ? new String[] { ip + ":" + port } : servers;
+        ServerNode[] nodes = new ServerNode[addresses.length];
+        for (int i = 0; i < addresses.length; i++)
+        {
+            int index = addresses[i].lastIndexOf(':');
+            if (index == -1)
+            {
+                throw new InvokeException("服务端地址的格式应该是ip:port，当前是" + addresses[i]);
+            }
+            nodes[i] = new ServerNode(addresses[i].substring(0, index), Integer.parseInt(addresses[i].substring(index + 1)), failureThreshold, breakTime);
+            nodes[i].setClientPool(newClientPool(nodes[i]));
+        }
+        this.nodes = nodes;
+        if (batchSize > 1)
+        {
+            batcher = new CallBatcher(this, batchSize, TimeUnit.MICROSECONDS.toNanos(batchWindow));
+        }
         return this;
     }
     
-    public Object invoke(String methodName, Object[] args) throws Throwable
+    private MultiplexClientPool newClientPool(ServerNode node)
+    {
+        MultiplexClientPool pool = new MultiplexClientPool(connections);
+        pool.setAddress(node.getIp()).setPort(node.getPort()).setRequestIdResolver(RpcHeader.requestIdResolver());
+        pool.setInitListener(new ChannelInitListener() {
+            
+            @Override
+            public void channelInit(JnetChannel channelInfo)
+            {
+                channelInfo.setReadTimeout(readTimeout);
+                channelInfo.setWaitTimeout(reuseChannelTimeout);
+                channelInfo.setCapacity(maxInFlight);
+                channelInfo.setFrameDecodec(new TotalLengthFieldBasedFrameDecoder(0, 4, 4, maxLength));
+                channelInfo.setHandlers(new ReadHandler());
+            }
+        });
+        pool.setWriteHandlers(new LengthPreHandler(0, 4));
+        return pool;
+    }
+    
+    /**
+     * 创建一个请求报文，写入协议头和方法id。协议头中的请求序号先以0占位，由多路复用客户端在发送前写入
+     * 
+     * @param methodId 生成代理类时计算好的方法id
+     * @return
+     */
+    public ByteBuf<?> newRequest(int methodId)
+    {
+        ByteBuf<?> buf = DirectByteBufPool.getInstance().get(100);
+        buf.addWriteIndex(4);
+        RpcHeader.writeHeader(buf, (byte) 0, RpcHeader.STATUS_OK, 0);
+        buf.writeInt(methodId);
+        return buf;
+    }
+    
+    /**
+     * 当前线程用于序列化参数的licp。线程中的licp由所有的执行者共用，所以每次返回之前都按照当前执行者的配置设置格式
+     * 
+     * @return
+     */
+    public Licp licp()
+    {
+        Licp licp = licpLocal.get();
+        licp.setTaggedFormat(taggedFormat);
+        return licp;
+    }
+    
+    public Object send(ByteBuf<?> request) throws Throwable
+    {
+        return send(request, 0, 0);
+    }
+    
+    /**
+     * 发送已经写入了参数的请求报文，并且等待调用的结果。
+     * 幂等的方法在传输层失败的时候会换一个节点重试，为此除了最后一次尝试，发送的都是请求报文的副本
+     * 
+     * @param request
+     * @param options 调用选项，IDEMPOTENT和ROUTED的组合
+     * @param routeKey 路由键的hash值
+     * @return
+     * @throws Throwable
+     */
+    public Object send(ByteBuf<?> request, int options, int routeKey) throws Throwable
+    {
+        if (batcher != null && (options & (ROUTED | BATCHED)) == 0)
+        {
+            try
+            {
+                return batcher.add(request, options).get();
+            }
+            catch (ExecutionException e)
+            {
+                throw e.getCause();
+            }
+        }
+        int attempts = (options & IDEMPOTENT) != 0 ? retries + 1 : 1;
+        ServerNode last = null;
+        Throwable error = null;
+        for (int i = 1; i <= attempts; i++)
+        {
+            ServerNode node = select(options, routeKey, last);
+            if (node == null)
+            {
+                request.release();
+                throw error != null ? error : new InvokeException("没有可用的服务端，所有的服务端都处于熔断状态");
+            }
+            // 这一次尝试发送的报文，交给连接之后由连接负责释放，发送之前失败由write释放
+            ByteBuf<?> buf = i < attempts ? copy(request) : request;
+            node.requestStart();
+            Object result;
+            try
+            {
+                result = write(node, buf).get(readTimeout, TimeUnit.MILLISECONDS);
+            }
+            catch (Throwable e)
+            {
+                node.requestEnd(false);
+                error = e instanceof ExecutionException ? e.getCause() : e;
+                last = node;
+                if (i < attempts)
+                {
+                    logger.warn("调用服务端{}失败，重试第{}次", node, i, error);
+                }
+                continue;
+            }
+            node.requestEnd(true);
+            if (buf != request)
+            {
+                request.release();
+            }
+            if (result instanceof RemoteFailure)
+            {
+                throw ((RemoteFailure) result).getCause();
+            }
+            return result;
+        }
+        throw error;
+    }
+    
+    public RpcFuture<Object> sendAsync(ByteBuf<?> request)
+    {
+        return sendAsync(request, 0, 0);
+    }
+    
+    /**
+     * 异步发送已经写入了参数的请求报文，立刻返回future，响应到达、超时或者链接中断的时候完成该future。
+     * 幂等的方法失败时在回调的线程中换一个节点重试
+     * 
+     * @param request
+     * @param options 调用选项，IDEMPOTENT和ROUTED的组合
+     * @param routeKey 路由键的hash值
+     * @return
+     */
+    public RpcFuture<Object> sendAsync(ByteBuf<?> request, int options, int routeKey)
+    {
+        if (batcher != null && (options & (ROUTED | BATCHED)) == 0)
+        {
+            return batcher.add(request, options);
+        }
+        AsyncCall call = new AsyncCall(request, options, routeKey);
+        call.attempt(null);
+        return call.future;
+    }
+    
+    /**
+     * 通过节点的连接发送报文。报文交给连接之前失败的时候，比如建立连接失败或者连接已经中断，在这里释放报文
+     * 
+     * @param node
+     * @param buf
+     * @return
+     * @throws Throwable
+     */
+    private Future<?> write(ServerNode node, ByteBuf<?> buf) throws Throwable
+    {
+        try
+        {
+            return node.getClientPool().acquire().write(buf);
+        }
+        catch (Throwable e)
+        {
+            buf.release();
+            throw e;
+        }
+    }
+    
+    private ServerNode select(int options, int routeKey, ServerNode exclude)
+    {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < nodes.length; i++)
+        {
+            ServerNode node = loadBalance.select(nodes, (options & ROUTED) != 0, routeKey, exclude, now);
+            if (node == null)
+            {
+                return null;
+            }
+            // 半开状态的节点只放行一个探测请求，没有抢到的重新选择
+            if (node.tryAcquire(now))
+            {
+                return node;
+            }
+        }
+        return null;
+    }
+    
+    private static ByteBuf<?> copy(ByteBuf<?> request)
+    {
+        ByteBuf<?> copy = DirectByteBufPool.getInstance().get(request.remainRead());
+        copy.put(request);
+        return copy;
+    }
+    
+    /**
+     * 一次异步调用，自身作为每一次尝试的响应回调
+     * 
+     * @author linbin
+     * 
+     */
+    class AsyncCall implements ResponseListener
     {
-        AioClient client = clientChanelLocal.get().connect();
-        Future<?> future = client.write(new Object[] { methodName, args });
-        logger.debug("发送rpc调用数据");
-        Object result = future.get();
-        logger.debug("获得rpc调用结果成功");
-        return result;
+        private final RpcFuture<Object> future = new RpcFuture<>();
+        private final ByteBuf<?>        request;
+        private final int               options;
+        private final int               routeKey;
+        private int                     attemptsLeft;
+        private ServerNode              node;
+        private Throwable               error;
+        
+        AsyncCall(ByteBuf<?> request, int options, int routeKey)
+        {
+            this.request = request;
+            this.options = options;
+            this.routeKey = routeKey;
+            attemptsLeft = (options & IDEMPOTENT) != 0 ? retries + 1 : 1;
+        }
+        
+        void attempt(ServerNode exclude)
+        {
+            node = select(options, routeKey, exclude);
+            if (node == null)
+            {
+                request.release();
+                future.fail(error != null ? error : new InvokeException("没有可用的服务端，所有的服务端都处于熔断状态"));
+                return;
+            }
+            attemptsLeft -= 1;
+            ByteBuf<?> buf = attemptsLeft > 0 ? copy(request) : request;
+            node.requestStart();
+            MultiplexClient client;
+            try
+            {
+                client = node.getClientPool().acquire();
+            }
+            catch (Throwable e)
+            {
+                buf.release();
+                onFailure(e);
+                return;
+            }
+            client.writeAsync(buf, readTimeout, this);
+        }
+        
+        @Override
+        public void onSuccess(Object result)
+        {
+            node.requestEnd(true);
+            if (attemptsLeft > 0)
+            {
+                request.release();
+            }
+            if (result instanceof RemoteFailure)
+            {
+                future.fail(((RemoteFailure) result).getCause());
+            }
+            else
+            {
+                future.complete(result);
+            }
+        }
+        
+        @Override
+        public void onFailure(Throwable e)
+        {
+            node.requestEnd(false);
+            error = e;
+            if (attemptsLeft > 0)
+            {
+                logger.warn("调用服务端{}失败，进行重试", node, e);
+                attempt(node);
+            }
+            else
+            {
+                future.fail(e);
+            }
+        }
     }
     
     public BytecodeInvoker setProxyName(String proxyName)
@@ -94,106 +411,171 @@ public class BytecodeInvoker
         return this;
     }
     
-    public void close()
+    /**
+     * 设置多个服务端的地址，格式是ip:port
+     * 
+     * @param servers
+     * @return
+     */
+    public BytecodeInvoker setServers(final String... servers)
     {
-        clientChanelLocal.get().close();
-        clientChanelLocal.remove();
+        this.servers = servers;
+        return this;
     }
     
-}
-
-class ReadHandler implements DataHandler
-{
-    protected ThreadLocal<Licp> lbseLocal = new ThreadLocal<Licp>() {
-        @Override
-        protected Licp initialValue()
-        {
-            return new Licp();
-        }
-    };
+    public BytecodeInvoker setConnections(final int connections)
+    {
+        this.connections = connections;
+        return this;
+    }
     
-    @Override
-    public Object handle(Object data, InternalTask result) throws JnetException
+    public BytecodeInvoker setMaxInFlight(final int maxInFlight)
     {
-        ByteBuf<?> buf = (ByteBuf<?>) data;
-        Object tmp = lbseLocal.get().deserialize(buf);
-        buf.release();
-        return tmp;
+        this.maxInFlight = maxInFlight;
+        return this;
     }
     
-    @Override
-    public Object catchException(Object data, InternalTask result)
+    public BytecodeInvoker setLoadBalance(final LoadBalance loadBalance)
     {
-        return null;
+        this.loadBalance = loadBalance;
+        return this;
     }
-}
-
-class WriteHandler implements DataHandler
-{
-    private String proxyName;
     
-    public WriteHandler(String proxyName)
+    public BytecodeInvoker setRetries(final int retries)
     {
-        this.proxyName = proxyName;
+        this.retries = retries;
+        return this;
     }
     
-    protected ThreadLocal<Licp> lbseLocal = new ThreadLocal<Licp>() {
-        @Override
-        protected Licp initialValue()
-        {
-            return new Licp();
-        }
-    };
+    public BytecodeInvoker setFailureThreshold(final int failureThreshold)
+    {
+        this.failureThreshold = failureThreshold;
+        return this;
+    }
+    
+    public BytecodeInvoker setBreakTime(final long breakTime)
+    {
+        this.breakTime = breakTime;
+        return this;
+    }
+    
+    /**
+     * 启用调用合并。窗口时间内到达的调用，或者凑满batchSize个的调用会合并成一个报文发送
+     * 
+     * @param batchSize 一个批次的最大调用数，小于2表示不合并
+     * @param batchWindow 窗口时间，单位微秒
+     * @return
+     */
+    public BytecodeInvoker setBatch(final int batchSize, final long batchWindow)
+    {
+        this.batchSize = batchSize;
+        this.batchWindow = batchWindow;
+        return this;
+    }
     
     /**
-     * 准备需要发送的数据,将数据按照规定的格式填充到buffer中. 返回填充完毕的buffer
+     * 设置参数是否使用licp的标签格式序列化，参见Licp.setTaggedFormat。服务端能够识别标签格式之后才可以打开
      * 
-     * @param buffer
-     * @param method
-     * @param args
+     * @param taggedFormat
+     * @return
      */
-    protected void prepareData(Licp lbse, String methodName, Object[] args, ByteBuf<?> buf)
+    public BytecodeInvoker setTaggedFormat(final boolean taggedFormat)
     {
-        int length = proxyName.length();
-        buf.writePositive(length);
-        for (int i = 0; i < length; i++)
+        this.taggedFormat = taggedFormat;
+        return this;
+    }
+    
+    /**
+     * 关闭当前的连接，之后的调用会重新建立连接
+     */
+    public synchronized void close()
+    {
+        for (ServerNode each : nodes)
         {
-            buf.writeVarChar(proxyName.charAt(i));
+            MultiplexClientPool old = each.getClientPool();
+            each.setClientPool(newClientPool(each));
+            old.close();
         }
-        // 写入方法名的长度
-        length = methodName.length();
-        buf.writePositive(length);
-        for (int i = 0; i < length; i++)
+    }
+    
+}
+/**
+ * 服务端返回的失败响应，由调用线程抛出其中的异常
+ * 
+ * @author linbin
+ * 
+ */
+class RemoteFailure
+{
+    private final byte      status;
+    private final Throwable cause;
+    
+    public RemoteFailure(byte status, Object body)
+    {
+        this.status = status;
+        if (body instanceof Throwable)
         {
-            buf.writeVarChar(methodName.charAt(i));
+            cause = (Throwable) body;
         }
-        int argsNum = args == null ? 0 : args.length;
-        // 写入参数个数
-        buf.writePositive(argsNum);
-        // 逐个写入参数
-        for (int i = 0; i < argsNum; i++)
+        else
         {
-            lbse.serialize(args[i], buf);
+            cause = new InvokeException("远程调用失败，状态码是" + status);
         }
     }
     
+    public byte getStatus()
+    {
+        return status;
+    }
+    
+    public Throwable getCause()
+    {
+        return cause;
+    }
+}
+
+class ReadHandler implements DataHandler
+{
+    protected ThreadLocal<Licp> lbseLocal = new ThreadLocal<Licp>() {
+        @Override
+        protected Licp initialValue()
+        {
+            return new Licp();
+        }
+    };
+    
     @Override
     public Object handle(Object data, InternalTask result) throws JnetException
     {
-        Object[] datas = (Object[]) data;
-        String methodName = (String) datas[0];
-        Object[] args = (Object[]) datas[1];
-        Licp licp = lbseLocal.get();
-        ByteBuf<?> buf = DirectByteBufPool.getInstance().get(100);
-        buf.addWriteIndex(4);
-        prepareData(licp, methodName, args, buf);
-        return buf;
+        ByteBuf<?> buf = (ByteBuf<?>) data;
+        byte status = RpcHeader.status(buf);
+        byte flags = RpcHeader.flags(buf);
+        buf.addReadIndex(RpcHeader.HEADER_LENGTH);
+        if ((flags & RpcHeader.FLAG_BATCH) != 0 && status == RpcHeader.STATUS_OK)
+        {
+            // 合并调用的响应，按照调用的顺序返回每一个结果
+            Object[] results = new Object[buf.readInt()];
+            for (int i = 0; i < results.length; i++)
+            {
+                byte each = buf.get();
+                Object value = lbseLocal.get().deserialize(buf);
+                results[i] = each == RpcHeader.STATUS_OK ? value : new RemoteFailure(each, value);
+            }
+            buf.release();
+            return results;
+        }
+        Object tmp = lbseLocal.get().deserialize(buf);
+        buf.release();
+        if (status != RpcHeader.STATUS_OK)
+        {
+            return new RemoteFailure(status, tmp);
+        }
+        return tmp;
     }
     
     @Override
     public Object catchException(Object data, InternalTask result)
     {
-        // TODO Auto-generated method stub
         return null;
     }
 }
@@ -0,0 +1,217 @@
+package com.jfireframework.rpc.client;
+
+import java.util.concurrent.TimeUnit;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.collection.buffer.DirectByteBufPool;
+import com.jfireframework.baseutil.concurrent.time.DefaultTimeoutHandler;
+import com.jfireframework.baseutil.concurrent.time.HierarchyWheelTimer;
+import com.jfireframework.baseutil.concurrent.time.TimeTask;
+import com.jfireframework.rpc.async.RpcFuture;
+import com.jfireframework.rpc.async.RpcListener;
+import com.jfireframework.rpc.exception.InvokeException;
+import com.jfireframework.rpc.protocol.RpcHeader;
+
+/**
+ * 调用的合并器。在窗口时间内到达的调用，或者凑满maxBatchSize个的调用，合并成一个报文发送，服务端在一个响应中返回全部的结果，
+ * 报文个数和写出次数都随之减少。
+ * 打开一个批次的线程在时间轮中登记该批次，然后和其他线程一样立即返回。窗口时间到达后由时间轮的线程发送批次，期间其他线程的调用都加入该批次，
+ * 凑满的时候由加入最后一个调用的线程立即发送。
+ * 批次中只有一个调用的时候按照普通的请求发送。只有批次中全部都是幂等的调用时，批次才会在失败时重试
+ * 
+ * @author linbin
+ * 
+ */
+class CallBatcher
+{
+    private static final int          REQUEST_HEADER_LENGTH = RpcHeader.LENGTH_FIELD_LENGTH + RpcHeader.HEADER_LENGTH;
+    // 时间轮tick的下限，单位纳秒
+    private static final long         MIN_TICK              = 10000;
+    private final BytecodeInvoker     invoker;
+    private final int                 maxBatchSize;
+    private final long                windowNanos;
+    // 负责在窗口时间到达时发送批次。tick取窗口时间的四分之一，批次在窗口时间的3/4到1倍之间发出
+    private final HierarchyWheelTimer timer;
+    // 正在收集调用的批次
+    private Batch                     current;
+    
+    public CallBatcher(BytecodeInvoker invoker, int maxBatchSize, long windowNanos)
+    {
+        this.invoker = invoker;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = windowNanos;
+        timer = new HierarchyWheelTimer(new int[] { 512, 64 }, Math.max(windowNanos >> 2, MIN_TICK), TimeUnit.NANOSECONDS, new DefaultTimeoutHandler());
+        // close只会重建连接，之后的调用仍然需要时间轮，所以时间轮不停止，它的线程不能阻止jvm退出
+        timer.setDaemon(true);
+    }
+    
+    /**
+     * 将一个请求加入批次，返回该调用的结果
+     * 
+     * @param request 通过BytecodeInvoker.newRequest创建并且写入了参数的请求
+     * @param options
+     * @return
+     */
+    public RpcFuture<Object> add(ByteBuf<?> request, int options)
+    {
+        RpcFuture<Object> future = new RpcFuture<>();
+        Batch batch;
+        Batch full = null;
+        boolean leader = false;
+        synchronized (this)
+        {
+            if (current == null)
+            {
+                current = new Batch(maxBatchSize);
+                leader = true;
+            }
+            batch = current;
+            batch.add(request, options, future);
+            if (batch.count == maxBatchSize)
+            {
+                current = null;
+                full = batch;
+            }
+        }
+        if (full != null)
+        {
+            send(full);
+        }
+        else if (leader)
+        {
+            timer.addTask(batch, windowNanos, TimeUnit.NANOSECONDS);
+        }
+        return future;
+    }
+    
+    /**
+     * 窗口时间到达，如果批次还没有凑满发出，就由时间轮的线程发送
+     * 
+     * @param batch
+     */
+    private void closeWindow(Batch batch)
+    {
+        synchronized (this)
+        {
+            if (current != batch)
+            {
+                return;
+            }
+            current = null;
+        }
+        try
+        {
+            send(batch);
+        }
+        catch (Throwable e)
+        {
+            for (int i = 0; i < batch.count; i++)
+            {
+                batch.futures[i].fail(e);
+            }
+        }
+    }
+    
+    private void send(final Batch batch)
+    {
+        if (batch.count == 1)
+        {
+            invoker.sendAsync(batch.requests[0], batch.options | BytecodeInvoker.BATCHED, 0).addListener(new RpcListener<Object>() {
+                
+                @Override
+                public void onSuccess(Object result)
+                {
+                    batch.futures[0].complete(result);
+                }
+                
+                @Override
+                public void onFailure(Throwable e)
+                {
+                    batch.futures[0].fail(e);
+                }
+            });
+            return;
+        }
+        int size = REQUEST_HEADER_LENGTH + 4;
+        for (int i = 0; i < batch.count; i++)
+        {
+            size += 4 + batch.requests[i].remainRead() - REQUEST_HEADER_LENGTH;
+        }
+        ByteBuf<?> frame = DirectByteBufPool.getInstance().get(size);
+        frame.addWriteIndex(RpcHeader.LENGTH_FIELD_LENGTH);
+        RpcHeader.writeHeader(frame, RpcHeader.FLAG_BATCH, RpcHeader.STATUS_OK, 0);
+        frame.writeInt(batch.count);
+        for (int i = 0; i < batch.count; i++)
+        {
+            // 去掉每一个请求的长度字段和协议头，只保留方法id和参数
+            ByteBuf<?> request = batch.requests[i];
+            int length = request.remainRead() - REQUEST_HEADER_LENGTH;
+            request.addReadIndex(REQUEST_HEADER_LENGTH);
+            frame.writeInt(length);
+            frame.put(request, length);
+            request.release();
+        }
+        invoker.sendAsync(frame, batch.options | BytecodeInvoker.BATCHED, 0).addListener(new RpcListener<Object>() {
+            
+            @Override
+            public void onSuccess(Object result)
+            {
+                if (result instanceof Object[] == false || ((Object[]) result).length != batch.count)
+                {
+                    onFailure(new InvokeException("合并调用的响应与请求不一致"));
+                    return;
+                }
+                Object[] results = (Object[]) result;
+                for (int i = 0; i < batch.count; i++)
+                {
+                    if (results[i] instanceof RemoteFailure)
+                    {
+                        batch.futures[i].fail(((RemoteFailure) results[i]).getCause());
+                    }
+                    else
+                    {
+                        batch.futures[i].complete(results[i]);
+                    }
+                }
+            }
+            
+            @Override
+            public void onFailure(Throwable e)
+            {
+                for (int i = 0; i < batch.count; i++)
+                {
+                    batch.futures[i].fail(e);
+                }
+            }
+        });
+    }
+    
+    class Batch implements TimeTask
+    {
+        private final ByteBuf<?>[]        requests;
+        private final RpcFuture<Object>[] futures;
+        private int                       count   = 0;
+        // 全部调用都是幂等的时候才保留IDEMPOTENT
+        private int                       options = BytecodeInvoker.IDEMPOTENT;
+        
+        @SuppressWarnings("unchecked")
+        Batch(int capacity)
+        {
+            requests = new ByteBuf<?>[capacity];
+            futures = new RpcFuture[capacity];
+        }
+        
+        void add(ByteBuf<?> request, int options, RpcFuture<Object> future)
+        {
+            requests[count] = request;
+            futures[count] = future;
+            this.options &= options;
+            count += 1;
+        }
+        
+        @Override
+        public void invoke()
+        {
+            closeWindow(this);
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package com.jfireframework.rpc.client;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.exception.UnSupportException;
+import com.jfireframework.licp.Licp;
+import com.jfireframework.rpc.annotation.Idempotent;
+import com.jfireframework.rpc.annotation.RouteKey;
+import com.jfireframework.rpc.async.RpcFuture;
+import com.jfireframework.rpc.protocol.ArgumentCode;
+import com.jfireframework.rpc.protocol.MethodId;
 import javassist.CannotCompileException;
 import javassist.ClassClassPath;
 import javassist.ClassPool;
 import javassist.CtClass;
 import javassist.CtField;
 import javassist.CtMethod;
+import javassist.CtPrimitiveType;
 import javassist.NotFoundException;
 
 @SuppressWarnings("unchecked")
@@ -67,14 +77,10 @@ public class RpcFactory
 				for (CtMethod each : eachInterface.getDeclaredMethods())
 				{
 					CtMethod targetMethod = new CtMethod(each.getReturnType(), each.getName(), each.getParameterTypes(), targetCc);
-					if (each.getReturnType().equals(CtClass.voidType))
-					{
-						targetMethod.setBody("{Object result = invoker.invoke(\"" + each.getName() + "\",$args);}");
-					}
-					else
-					{
-						targetMethod.setBody("{Object result = invoker.invoke(\"" + each.getName() + "\",$args);return ($r)result;}");
-					}
+					// 方法id在生成代理类的时候计算好，以常量的形式写入方法体。方法id包含参数描述符，重载的方法有各自的id
+					String signature = each.getSignature();
+					int methodId = MethodId.of(bytecodeInvoker.proxyName, each.getName(), signature.substring(0, signature.indexOf(')') + 1));
+					targetMethod.setBody(buildBody(methodId, each));
 					targetCc.addMethod(targetMethod);
 				}
 			}
@@ -90,9 +96,82 @@ public class RpcFactory
 			field.set(proxyObject, bytecodeInvoker);
 			return (T) proxyObject;
 		}
-		catch (RuntimeException | NotFoundException | CannotCompileException | InstantiationException | IllegalAccessException | NoSuchFieldException e)
+		catch (RuntimeException | NotFoundException | CannotCompileException | InstantiationException | IllegalAccessException | NoSuchFieldException | ClassNotFoundException e)
 		{
 			throw new RuntimeException("根据客户端接口创建实现类发生异常", e);
 		}
 	}
+	
+	/**
+	 * 生成代理方法的方法体。参数按照声明的类型直接写入请求报文，基本类型的参数不经过装箱。
+	 * 返回类型为RpcFuture的方法不等待响应。方法上的Idempotent和参数上的RouteKey以调用选项和路由键的形式传给invoker
+	 * 
+	 * @param methodId
+	 * @param method
+	 * @return
+	 * @throws NotFoundException
+	 */
+	private static String buildBody(int methodId, CtMethod method) throws NotFoundException, ClassNotFoundException
+	{
+		StringBuilder body = new StringBuilder();
+		body.append("{\n").append(ByteBuf.class.getName()).append(" buf = invoker.newRequest(").append(methodId).append(");\n");
+		body.append(Licp.class.getName()).append(" licp = invoker.licp();\n");
+		CtClass[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++)
+		{
+			char type = parameterTypes[i].isPrimitive() ? ((CtPrimitiveType) parameterTypes[i]).getDescriptor() : ArgumentCode.REFERENCE;
+			body.append(ArgumentCode.write(type, "$" + (i + 1))).append("\n");
+		}
+		int options = method.hasAnnotation(Idempotent.class) ? BytecodeInvoker.IDEMPOTENT : 0;
+		String routeKey = "0";
+		int routeIndex = routeKeyIndex(method);
+		if (routeIndex != -1)
+		{
+			options |= BytecodeInvoker.ROUTED;
+			if (parameterTypes[routeIndex].isArray())
+			{
+				throw new UnSupportException("方法" + method.getLongName() + "的路由键不能是数组");
+			}
+			String param = "$" + (routeIndex + 1);
+			routeKey = parameterTypes[routeIndex].isPrimitive() ? "(($w) " + param + ").hashCode()" : "(" + param + " == null ? 0 : " + param + ".hashCode())";
+		}
+		String arguments = "(buf, " + options + ", " + routeKey + ")";
+		if (method.getReturnType().equals(CtClass.voidType))
+		{
+			body.append("invoker.send").append(arguments).append(";\n}");
+		}
+		else if (method.getReturnType().getName().equals(RpcFuture.class.getName()))
+		{
+			// 异步方法发出请求后立刻返回，响应到达时完成future
+			body.append("return invoker.sendAsync").append(arguments).append(";\n}");
+		}
+		else
+		{
+			body.append("Object result = invoker.send").append(arguments).append(";\nreturn ($r) result;\n}");
+		}
+		return body.toString();
+	}
+	
+	/**
+	 * 返回标注了RouteKey的参数的下标，没有则返回-1
+	 * 
+	 * @param method
+	 * @return
+	 * @throws ClassNotFoundException
+	 */
+	private static int routeKeyIndex(CtMethod method) throws ClassNotFoundException
+	{
+		Object[][] annotations = method.getParameterAnnotations();
+		for (int i = 0; i < annotations.length; i++)
+		{
+			for (Object each : annotations[i])
+			{
+				if (((Annotation) each).annotationType().getName().equals(RouteKey.class.getName()))
+				{
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
 }
@@ -1,5 +1,8 @@
 package com.jfireframework.rpc.client;
 
+import com.jfireframework.rpc.client.balance.LoadBalance;
+import com.jfireframework.rpc.client.balance.RoundRobinLoadBalance;
+
 public class RpcProxyConfig<T>
 {
 	private String		proxyName;
@@ -7,6 +10,15 @@ public class RpcProxyConfig<T>
 	private int			port;
 	private long		readTimeout			= 3000;
 	private long		reuseChannelTimeout	= 55000;
+	private int			connections			= 1;
+	private String[]	servers;
+	private LoadBalance	loadBalance			= new RoundRobinLoadBalance();
+	private int			retries				= 2;
+	private int			failureThreshold	= 5;
+	private long		breakTime			= 5000;
+	private int			batchSize			= 0;
+	private long		batchWindow			= 50;
+	private boolean		taggedFormat		= false;
 	private Class<T>	interfaceClass;
 	
 	public RpcProxyConfig(Class<T> interfaceClass)
@@ -18,12 +30,21 @@ public class RpcProxyConfig<T>
 	{
 		checkProxyParams();
 		BytecodeInvoker bytecodeInvoker = new BytecodeInvoker();
-		bytecodeInvoker.setIp(ip).setPort(port).setProxyName(proxyName).setReadTimeout(readTimeout).setReuseChannelTimeout(reuseChannelTimeout);
+		bytecodeInvoker.setIp(ip).setPort(port).setServers(servers).setProxyName(proxyName).setReadTimeout(readTimeout).setReuseChannelTimeout(reuseChannelTimeout).setConnections(connections);
+		bytecodeInvoker.setLoadBalance(loadBalance).setRetries(retries).setFailureThreshold(failureThreshold).setBreakTime(breakTime).setBatch(batchSize, batchWindow).setTaggedFormat(taggedFormat);
 		return RpcFactory.getProxy(interfaceClass, bytecodeInvoker);
 	}
 	
 	private void checkProxyParams()
 	{
+		if (servers != null)
+		{
+			if (servers.length == 0)
+			{
+				throw new RuntimeException("请设置至少一个服务端地址");
+			}
+			return;
+		}
 		if (ip == null)
 		{
 			throw new RuntimeException("请设置服务端ip");
@@ -65,4 +86,93 @@ public class RpcProxyConfig<T>
 		return this;
 	}
 	
+	/**
+	 * 设置到服务端的最大连接数，所有调用线程共用这些连接
+	 * 
+	 * @param connections
+	 * @return
+	 */
+	public RpcProxyConfig<T> setConnections(int connections)
+	{
+		this.connections = connections;
+		return this;
+	}
+	
+	/**
+	 * 设置多个服务端的地址，格式是ip:port。设置之后忽略ip和port，每一次调用由负载均衡策略选择其中一个
+	 * 
+	 * @param servers
+	 * @return
+	 */
+	public RpcProxyConfig<T> setServers(String... servers)
+	{
+		this.servers = servers;
+		return this;
+	}
+	
+	/**
+	 * 设置负载均衡策略，默认是轮询
+	 * 
+	 * @param loadBalance
+	 * @return
+	 */
+	public RpcProxyConfig<T> setLoadBalance(LoadBalance loadBalance)
+	{
+		this.loadBalance = loadBalance;
+		return this;
+	}
+	
+	/**
+	 * 设置幂等方法在传输层失败时的最大重试次数，非幂等的方法不会重试
+	 * 
+	 * @param retries
+	 * @return
+	 */
+	public RpcProxyConfig<T> setRetries(int retries)
+	{
+		this.retries = retries;
+		return this;
+	}
+	
+	/**
+	 * 设置熔断的条件和时长，一个服务端连续失败failureThreshold次后，breakTime毫秒内不再向其发送请求
+	 * 
+	 * @param failureThreshold
+	 * @param breakTime
+	 * @return
+	 */
+	public RpcProxyConfig<T> setCircuitBreaker(int failureThreshold, long breakTime)
+	{
+		this.failureThreshold = failureThreshold;
+		this.breakTime = breakTime;
+		return this;
+	}
+	
+	/**
+	 * 启用调用合并。窗口时间内并发到达的调用，或者凑满batchSize个的调用，会合并成一个报文发送，以少量的延迟换取更少的报文和写出次数
+	 * 
+	 * @param batchSize 一个批次的最大调用数，小于2表示不合并
+	 * @param batchWindow 窗口时间，单位微秒
+	 * @return
+	 */
+	public RpcProxyConfig<T> setBatch(int batchSize, long batchWindow)
+	{
+		this.batchSize = batchSize;
+		this.batchWindow = batchWindow;
+		return this;
+	}
+	
+	/**
+	 * 参数是否使用licp的标签格式序列化。标签格式下两端的参数类可以各自增加或者删除属性，代价是更多的字节。
+	 * 服务端总是能够识别两种格式，所以可以先升级服务端，再打开客户端的标签格式
+	 * 
+	 * @param taggedFormat
+	 * @return
+	 */
+	public RpcProxyConfig<T> setTaggedFormat(boolean taggedFormat)
+	{
+		this.taggedFormat = taggedFormat;
+		return this;
+	}
+	
 }
@@ -0,0 +1,115 @@
+package com.jfireframework.rpc.client.balance;
+
+import java.util.Arrays;
+
+/**
+ * 一致性hash。每一个节点在hash环上放置若干个虚拟节点，路由键顺时针找到的第一个可用节点就是选择的结果，
+ * 所以路由键相同的调用总是落在同一个节点上，节点熔断时只有原本落在该节点上的路由键会转移到环上的下一个节点。
+ * 方法没有声明路由键时退化为轮询
+ * 
+ * @author linbin
+ * 
+ */
+public class ConsistentHashLoadBalance implements LoadBalance
+{
+    private final int                   virtualNodes;
+    private final RoundRobinLoadBalance roundRobin = new RoundRobinLoadBalance();
+    private volatile Ring               ring;
+    
+    public ConsistentHashLoadBalance()
+    {
+        this(160);
+    }
+    
+    /**
+     * @param virtualNodes 每一个节点在hash环上的虚拟节点数，越多分布越均匀
+     */
+    public ConsistentHashLoadBalance(int virtualNodes)
+    {
+        this.virtualNodes = virtualNodes;
+    }
+    
+    @Override
+    public ServerNode select(ServerNode[] nodes, boolean routed, int routeKey, ServerNode exclude, long now)
+    {
+        if (routed == false)
+        {
+            return roundRobin.select(nodes, routed, routeKey, exclude, now);
+        }
+        Ring current = ring;
+        if (current == null || current.source != nodes)
+        {
+            current = new Ring(nodes, virtualNodes);
+            ring = current;
+        }
+        int[] hashes = current.hashes;
+        ServerNode[] owners = current.owners;
+        int index = Arrays.binarySearch(hashes, mix(routeKey));
+        if (index < 0)
+        {
+            index = -index - 1;
+        }
+        boolean excludeAvailable = false;
+        for (int i = 0; i < hashes.length; i++)
+        {
+            ServerNode node = owners[(index + i) % hashes.length];
+            if (node.isAvailable(now))
+            {
+                if (node != exclude)
+                {
+                    return node;
+                }
+                excludeAvailable = true;
+            }
+        }
+        return excludeAvailable ? exclude : null;
+    }
+    
+    /**
+     * murmur3的最终混合步骤，使相近的hash值在环上分散开
+     * 
+     * @param h
+     * @return
+     */
+    private static int mix(int h)
+    {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+    
+    static class Ring
+    {
+        private final ServerNode[] source;
+        // 按照升序排列的虚拟节点hash值，owners中相同下标的是对应的节点
+        private final int[]        hashes;
+        private final ServerNode[] owners;
+        
+        Ring(ServerNode[] source, int virtualNodes)
+        {
+            this.source = source;
+            long[] points = new long[source.length * virtualNodes];
+            int count = 0;
+            for (int i = 0; i < source.length; i++)
+            {
+                for (int j = 0; j < virtualNodes; j++)
+                {
+                    int hash = mix((source[i].toString() + "#" + j).hashCode());
+                    // 高32位是hash值，低32位是节点的下标，排序后即可得到有序的环
+                    points[count++] = ((long) hash << 32) | i;
+                }
+            }
+            Arrays.sort(points);
+            hashes = new int[points.length];
+            owners = new ServerNode[points.length];
+            for (int i = 0; i < points.length; i++)
+            {
+                hashes[i] = (int) (points[i] >> 32);
+                owners[i] = source[(int) points[i]];
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.jfireframework.rpc.client.balance;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 最少在途请求。选择在途请求数最少的可用节点，响应慢的节点积压的请求多，自然会分到更少的请求。
+ * 每次从不同的位置开始比较，在途请求数相同的节点之间轮流选择
+ * 
+ * @author linbin
+ * 
+ */
+public class LeastOutstandingLoadBalance implements LoadBalance
+{
+    private final AtomicInteger next = new AtomicInteger(0);
+    
+    @Override
+    public ServerNode select(ServerNode[] nodes, boolean routed, int routeKey, ServerNode exclude, long now)
+    {
+        int start = (next.getAndIncrement() & Integer.MAX_VALUE) % nodes.length;
+        ServerNode best = null;
+        int bestOutstanding = Integer.MAX_VALUE;
+        boolean excludeAvailable = false;
+        for (int i = 0; i < nodes.length; i++)
+        {
+            ServerNode node = nodes[(start + i) % nodes.length];
+            if (node.isAvailable(now) == false)
+            {
+                continue;
+            }
+            if (node == exclude)
+            {
+                excludeAvailable = true;
+                continue;
+            }
+            int outstanding = node.getOutstanding();
+            if (outstanding < bestOutstanding)
+            {
+                best = node;
+                bestOutstanding = outstanding;
+            }
+        }
+        if (best == null && excludeAvailable)
+        {
+            return exclude;
+        }
+        return best;
+    }
+}
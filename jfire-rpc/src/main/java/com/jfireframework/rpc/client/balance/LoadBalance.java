@@ -0,0 +1,23 @@
+package com.jfireframework.rpc.client.balance;
+
+/**
+ * 负载均衡策略。在所有服务端节点中选择一个可用的节点，节点是否可用通过ServerNode.isAvailable判断。
+ * 重试时会传入上一次失败的节点，只要存在其他可用的节点就不应该再次选择它
+ * 
+ * @author linbin
+ * 
+ */
+public interface LoadBalance
+{
+    /**
+     * 选择一个节点，没有可用的节点时返回null
+     * 
+     * @param nodes 全部的服务端节点
+     * @param routed 方法是否声明了路由键
+     * @param routeKey 路由键的hash值，routed为false时没有意义
+     * @param exclude 上一次失败的节点，首次选择时为null
+     * @param now 当前时间
+     * @return
+     */
+    public ServerNode select(ServerNode[] nodes, boolean routed, int routeKey, ServerNode exclude, long now);
+}
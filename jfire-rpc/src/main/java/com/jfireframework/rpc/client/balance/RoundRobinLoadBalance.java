@@ -0,0 +1,34 @@
+package com.jfireframework.rpc.client.balance;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 轮询。依次选择下一个可用的节点
+ * 
+ * @author linbin
+ * 
+ */
+public class RoundRobinLoadBalance implements LoadBalance
+{
+    private final AtomicInteger next = new AtomicInteger(0);
+    
+    @Override
+    public ServerNode select(ServerNode[] nodes, boolean routed, int routeKey, ServerNode exclude, long now)
+    {
+        int start = (next.getAndIncrement() & Integer.MAX_VALUE) % nodes.length;
+        boolean excludeAvailable = false;
+        for (int i = 0; i < nodes.length; i++)
+        {
+            ServerNode node = nodes[(start + i) % nodes.length];
+            if (node.isAvailable(now))
+            {
+                if (node != exclude)
+                {
+                    return node;
+                }
+                excludeAvailable = true;
+            }
+        }
+        return excludeAvailable ? exclude : null;
+    }
+}
@@ -0,0 +1,146 @@
+package com.jfireframework.rpc.client.balance;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
+import com.jfireframework.baseutil.simplelog.Logger;
+import com.jfireframework.jnet.client.MultiplexClientPool;
+
+/**
+ * 一个服务端节点。除了连接池，还记录在途的请求数和被动的健康状态。
+ * 健康状态通过熔断实现：连续失败达到failureThreshold次后熔断，breakTime毫秒内不再选择该节点；
+ * 时间到达后进入半开状态，只放行一个探测请求，探测成功则恢复，失败则再次熔断。
+ * 这里的失败只包括连接失败，超时，链接中断等传输层的失败，服务端方法抛出的异常说明节点是正常的
+ * 
+ * @author linbin
+ * 
+ */
+public class ServerNode
+{
+    private static final Logger          logger      = ConsoleLogFactory.getLogger();
+    private final String                 ip;
+    private final int                    port;
+    private final int                    failureThreshold;
+    private final long                   breakTime;
+    private volatile MultiplexClientPool clientPool;
+    private final AtomicInteger          outstanding = new AtomicInteger(0);
+    // 连续失败的次数
+    private final AtomicInteger          failures    = new AtomicInteger(0);
+    // 熔断的截止时间，为0表示没有熔断
+    private volatile long                openUntil   = 0;
+    // 半开状态下是否已经放行了探测请求
+    private final AtomicBoolean          probing     = new AtomicBoolean(false);
+    
+    public ServerNode(String ip, int port, int failureThreshold, long breakTime)
+    {
+        this.ip = ip;
+        this.port = port;
+        this.failureThreshold = failureThreshold;
+        this.breakTime = breakTime;
+    }
+    
+    /**
+     * 节点当前是否可以被选择。熔断中的节点不可选择，半开状态下在探测请求返回之前也不可选择
+     * 
+     * @param now
+     * @return
+     */
+    public boolean isAvailable(long now)
+    {
+        long until = openUntil;
+        if (until == 0)
+        {
+            return true;
+        }
+        return now >= until && probing.get() == false;
+    }
+    
+    /**
+     * 负载均衡选中节点后调用，确认可以向该节点发送请求。半开状态下只有一个线程可以成功
+     * 
+     * @param now
+     * @return
+     */
+    public boolean tryAcquire(long now)
+    {
+        long until = openUntil;
+        if (until == 0)
+        {
+            return true;
+        }
+        return now >= until && probing.compareAndSet(false, true);
+    }
+    
+    /**
+     * 请求发出前调用，增加在途的请求数
+     */
+    public void requestStart()
+    {
+        outstanding.incrementAndGet();
+    }
+    
+    /**
+     * 请求结束后调用，减少在途的请求数并且更新健康状态
+     * 
+     * @param success 是否收到了服务端的响应
+     */
+    public void requestEnd(boolean success)
+    {
+        outstanding.decrementAndGet();
+        if (success)
+        {
+            failures.set(0);
+            if (openUntil != 0)
+            {
+                openUntil = 0;
+                probing.set(false);
+                logger.info("服务端{}恢复正常", this);
+            }
+        }
+        else if (openUntil != 0)
+        {
+            if (probing.get())
+            {
+                openUntil = System.currentTimeMillis() + breakTime;
+                probing.set(false);
+                logger.warn("服务端{}的探测请求失败，继续熔断{}毫秒", this, breakTime);
+            }
+        }
+        else if (failures.incrementAndGet() >= failureThreshold)
+        {
+            failures.set(0);
+            openUntil = System.currentTimeMillis() + breakTime;
+            logger.warn("服务端{}连续失败{}次，熔断{}毫秒", this, failureThreshold, breakTime);
+        }
+    }
+    
+    public int getOutstanding()
+    {
+        return outstanding.get();
+    }
+    
+    public String getIp()
+    {
+        return ip;
+    }
+    
+    public int getPort()
+    {
+        return port;
+    }
+    
+    public MultiplexClientPool getClientPool()
+    {
+        return clientPool;
+    }
+    
+    public void setClientPool(MultiplexClientPool clientPool)
+    {
+        this.clientPool = clientPool;
+    }
+    
+    public String toString()
+    {
+        return ip + ":" + port;
+    }
+}
@@ -11,4 +11,9 @@ public class NoSuchMethodException extends RuntimeException
     {
         super("不存在" + methodName + "这样的方法，请检查调用程序是否拼写错误");
     }
+    
+    public NoSuchMethodException(int methodId)
+    {
+        super("不存在方法id为" + methodId + "的方法，请检查客户端的接口与服务端的实现是否一致");
+    }
 }
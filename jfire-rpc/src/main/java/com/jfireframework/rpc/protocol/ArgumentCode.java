@@ -0,0 +1,170 @@
+package com.jfireframework.rpc.protocol;
+
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.exception.UnSupportException;
+import com.jfireframework.licp.Licp;
+
+/**
+ * 请求报文中参数的编码规则。两端都已经通过方法id确定了方法签名，所以参数按照声明的类型依次写入，不需要写入参数个数。
+ * 基本类型的参数直接以定长的形式写入，不经过装箱和序列化，其他类型的参数使用licp序列化。
+ * 客户端的代理类和服务端的调用类都是生成的代码，这里提供生成代码片段的方法，生成的代码中缓存的变量名是buf，序列化器的变量名是licp
+ * 
+ * @author linbin
+ * 
+ */
+public final class ArgumentCode
+{
+    // 非基本类型的参数
+    public static final char REFERENCE = 'L';
+    
+    private ArgumentCode()
+    {
+    }
+    
+    /**
+     * 返回参数类型的编码标识，基本类型返回jvm描述符中的字符，其他类型返回REFERENCE
+     * 
+     * @param type
+     * @return
+     */
+    public static char typeOf(Class<?> type)
+    {
+        if (type == int.class)
+        {
+            return 'I';
+        }
+        else if (type == long.class)
+        {
+            return 'J';
+        }
+        else if (type == short.class)
+        {
+            return 'S';
+        }
+        else if (type == char.class)
+        {
+            return 'C';
+        }
+        else if (type == byte.class)
+        {
+            return 'B';
+        }
+        else if (type == boolean.class)
+        {
+            return 'Z';
+        }
+        else if (type == float.class)
+        {
+            return 'F';
+        }
+        else if (type == double.class)
+        {
+            return 'D';
+        }
+        else if (type == void.class)
+        {
+            throw new UnSupportException("参数的类型不能是void");
+        }
+        else
+        {
+            return REFERENCE;
+        }
+    }
+    
+    /**
+     * 生成将一个参数写入buf的代码
+     * 
+     * @param type 参数类型的编码标识
+     * @param value 参数的表达式
+     * @return
+     */
+    public static String write(char type, String value)
+    {
+        switch (type)
+        {
+            case 'I':
+                return "buf.writeInt(" + value + ");";
+            case 'J':
+                return "buf.writeLong(" + value + ");";
+            case 'S':
+                return "buf.writeShort(" + value + ");";
+            case 'C':
+                return "buf.writeChar(" + value + ");";
+            case 'B':
+                return "buf.put(" + value + ");";
+            case 'Z':
+                return "buf.writeBoolean(" + value + ");";
+            case 'F':
+                return "buf.writeFloat(" + value + ");";
+            case 'D':
+                return "buf.writeDouble(" + value + ");";
+            default:
+                return "licp.serialize(" + value + ", buf);";
+        }
+    }
+    
+    /**
+     * 生成从buf中读取一个参数的表达式
+     * 
+     * @param type 参数类型的编码标识
+     * @param typeName 参数类型在源代码中的名称，用于非基本类型的强制转换
+     * @return
+     */
+    public static String read(char type, String typeName)
+    {
+        switch (type)
+        {
+            case 'I':
+                return "buf.readInt()";
+            case 'J':
+                return "buf.readLong()";
+            case 'S':
+                return "buf.readShort()";
+            case 'C':
+                return "buf.readChar()";
+            case 'B':
+                return "buf.get()";
+            case 'Z':
+                return "buf.readBoolean()";
+            case 'F':
+                return "buf.readFloat()";
+            case 'D':
+                return "buf.readDouble()";
+            default:
+                return "(" + typeName + ") licp.deserialize(buf)";
+        }
+    }
+    
+    /**
+     * 不能使用生成代码的时候，在运行期读取一个参数，基本类型会被装箱
+     * 
+     * @param type
+     * @param buf
+     * @param licp
+     * @return
+     */
+    public static Object read(char type, ByteBuf<?> buf, Licp licp)
+    {
+        switch (type)
+        {
+            case 'I':
+                return buf.readInt();
+            case 'J':
+                return buf.readLong();
+            case 'S':
+                return buf.readShort();
+            case 'C':
+                return buf.readChar();
+            case 'B':
+                return buf.get();
+            case 'Z':
+                return buf.readBoolean();
+            case 'F':
+                return buf.readFloat();
+            case 'D':
+                return buf.readDouble();
+            default:
+                return licp.deserialize(buf);
+        }
+    }
+}
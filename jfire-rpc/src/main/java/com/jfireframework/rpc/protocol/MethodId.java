@@ -0,0 +1,76 @@
+package com.jfireframework.rpc.protocol;
+
+import java.lang.reflect.Method;
+
+/**
+ * 方法id的计算。方法id由代理名称，方法名称和参数描述符散列得到，客户端在生成代理类的时候计算，服务端在绑定实现类的时候计算，
+ * 两端不需要交换任何信息就可以得到相同的结果，请求报文中只需要写入4个字节的方法id。参数描述符参与计算，所以重载的方法有各自的id。
+ * 散列算法与String.hashCode一致，不依赖于jvm的实现。服务端在启动时检查冲突，存在冲突的时候拒绝启动
+ * 
+ * @author linbin
+ * 
+ */
+public final class MethodId
+{
+    private MethodId()
+    {
+    }
+    
+    /**
+     * 计算方法id
+     * 
+     * @param proxyName
+     * @param methodName
+     * @param descriptor 参数描述符，参见descriptor方法
+     * @return
+     */
+    public static int of(String proxyName, String methodName, String descriptor)
+    {
+        int h = proxyName.hashCode();
+        h = 31 * h + '#';
+        for (int i = 0; i < methodName.length(); i++)
+        {
+            h = 31 * h + methodName.charAt(i);
+        }
+        for (int i = 0; i < descriptor.length(); i++)
+        {
+            h = 31 * h + descriptor.charAt(i);
+        }
+        return h;
+    }
+    
+    public static int of(String proxyName, Method method)
+    {
+        return of(proxyName, method.getName(), descriptor(method.getParameterTypes()));
+    }
+    
+    /**
+     * 返回参数描述符，与jvm方法描述符的参数部分一致，比如(I[Ljava/lang/String;)
+     * 
+     * @param parameterTypes
+     * @return
+     */
+    public static String descriptor(Class<?>[] parameterTypes)
+    {
+        StringBuilder builder = new StringBuilder();
+        builder.append('(');
+        for (Class<?> each : parameterTypes)
+        {
+            while (each.isArray())
+            {
+                builder.append('[');
+                each = each.getComponentType();
+            }
+            if (each.isPrimitive())
+            {
+                builder.append(ArgumentCode.typeOf(each));
+            }
+            else
+            {
+                builder.append('L').append(each.getName().replace('.', '/')).append(';');
+            }
+        }
+        builder.append(')');
+        return builder.toString();
+    }
+}
@@ -0,0 +1,101 @@
+package com.jfireframework.rpc.protocol;
+
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.jnet.client.FieldRequestIdResolver;
+import com.jfireframework.jnet.client.RequestIdResolver;
+
+/**
+ * rpc报文的协议头。报文的格式是
+ * 
+ * <pre>
+ * | 总长度(4) | 魔数(1) | 版本(1) | 标识(1) | 状态码(1) | 请求序号(4) | 报文体 |
+ * </pre>
+ * 
+ * 请求报文的报文体是方法id和按照声明类型写入的参数，响应报文的报文体是方法的返回值或者异常。
+ * 服务端在响应中原样带回请求序号，客户端据此匹配请求和响应，所以同一个链接上的多个请求可以并发处理，乱序返回。
+ * 读取方法都是相对于报文的读取位置的，也就是解码器跳过长度字段之后的位置，读取不会改变报文的读写位置
+ * 
+ * @author linbin
+ * 
+ */
+public final class RpcHeader
+{
+    public static final byte MAGIC                      = (byte) 0xCB;
+    // 版本2的请求报文以方法id代替代理名称和方法名称，版本3的参数按照声明的类型写入，参见ArgumentCode，版本4增加了合并的报文，
+    // 版本5中licp的常用集合只写入元素
+    public static final byte VERSION                    = 5;
+    // 长度字段的长度
+    public static final int  LENGTH_FIELD_LENGTH        = 4;
+    // 协议头的长度，不包含长度字段
+    public static final int  HEADER_LENGTH              = 8;
+    // 请求序号相对于长度字段之后的偏移量
+    public static final int  REQUEST_ID_OFFSET          = 4;
+    // 标识位，表示这是一个响应报文
+    public static final byte FLAG_RESPONSE              = 0x01;
+    // 标识位，表示这是一个合并了多个调用的报文。请求的报文体是调用个数(4)，然后每一个调用是长度(4)和单个请求的报文体，
+    // 响应的报文体是结果个数(4)，然后按照调用的顺序，每一个结果是状态码(1)和返回值或者异常
+    public static final byte FLAG_BATCH                 = 0x02;
+    public static final byte STATUS_OK                  = 0;
+    // 服务端的方法执行抛出了异常，报文体是该异常
+    public static final byte STATUS_EXCEPTION           = 1;
+    // 服务端无法完成调用，比如代理或者方法不存在，参数无法反序列化，报文体是对应的异常
+    public static final byte STATUS_ERROR               = 2;
+    // 服务端不支持请求报文的协议版本
+    public static final byte STATUS_UNSUPPORTED_VERSION = 3;
+    
+    private RpcHeader()
+    {
+    }
+    
+    /**
+     * 在buf的写入位置写入协议头
+     * 
+     * @param buf
+     * @param flags
+     * @param status
+     * @param requestId
+     */
+    public static void writeHeader(ByteBuf<?> buf, byte flags, byte status, int requestId)
+    {
+        buf.put(MAGIC);
+        buf.put(VERSION);
+        buf.put(flags);
+        buf.put(status);
+        buf.writeInt(requestId);
+    }
+    
+    public static byte magic(ByteBuf<?> frame)
+    {
+        return frame.get(frame.readIndex());
+    }
+    
+    public static byte version(ByteBuf<?> frame)
+    {
+        return frame.get(frame.readIndex() + 1);
+    }
+    
+    public static byte flags(ByteBuf<?> frame)
+    {
+        return frame.get(frame.readIndex() + 2);
+    }
+    
+    public static byte status(ByteBuf<?> frame)
+    {
+        return frame.get(frame.readIndex() + 3);
+    }
+    
+    public static int requestId(ByteBuf<?> frame)
+    {
+        return frame.readInt(frame.readIndex() + REQUEST_ID_OFFSET);
+    }
+    
+    /**
+     * 多路复用客户端使用的请求序号读写器。请求报文的读取位置在长度字段之前，响应报文的读取位置在长度字段之后
+     * 
+     * @return
+     */
+    public static RequestIdResolver requestIdResolver()
+    {
+        return new FieldRequestIdResolver(LENGTH_FIELD_LENGTH + REQUEST_ID_OFFSET, REQUEST_ID_OFFSET);
+    }
+}
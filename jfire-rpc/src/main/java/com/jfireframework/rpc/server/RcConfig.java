@@ -2,11 +2,20 @@ package com.jfireframework.rpc.server;
 
 import java.util.Map;
 import com.jfireframework.jnet.server.util.ServerConfig;
+import com.jfireframework.jnet.server.util.WorkMode;
 
 public class RcConfig extends ServerConfig
 {
 	private Map<String, Object>	implMap;
-	private int					maxLength	= Integer.MAX_VALUE;
+	private int					maxLength		= Integer.MAX_VALUE;
+	// 响应是否使用licp的标签格式序列化
+	private boolean				taggedFormat	= false;
+	
+	public RcConfig()
+	{
+		// 响应中带有请求序号，不需要按照请求的顺序写出，同一个链接上的请求可以并发处理
+		setWorkMode(WorkMode.ASYNC_WITHOUT_ORDER);
+	}
 	
 	public int getMaxLength()
 	{
@@ -18,6 +27,22 @@ public class RcConfig extends ServerConfig
 		this.maxLength = maxLength;
 	}
 	
+	public boolean isTaggedFormat()
+	{
+		return taggedFormat;
+	}
+	
+	/**
+	 * 设置响应是否使用licp的标签格式序列化。请求的格式由licp根据版本号自动识别，所以服务端总是能读取两种格式的请求，
+	 * 但是打开之前需要确认所有的客户端都已经能够识别标签格式
+	 * 
+	 * @param taggedFormat
+	 */
+	public void setTaggedFormat(boolean taggedFormat)
+	{
+		this.taggedFormat = taggedFormat;
+	}
+	
 	public Map<String, Object> getImplMap()
 	{
 		return implMap;
@@ -0,0 +1,137 @@
+package com.jfireframework.rpc.server.invoker;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.baseutil.reflect.ReflectUtil;
+import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
+import com.jfireframework.baseutil.simplelog.Logger;
+import com.jfireframework.licp.Licp;
+import com.jfireframework.rpc.protocol.ArgumentCode;
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtConstructor;
+import javassist.CtField;
+import javassist.CtMethod;
+
+/**
+ * 调用者的工厂。为每一个方法生成一个调用类，调用类按照参数的声明类型从报文中读取参数，
+ * 基本类型直接读取而不装箱，然后以实现类的类型直接调用方法，不经过反射。
+ * 实现类，方法或者参数类型不是public的时候，生成的代码无法访问，退回到反射调用
+ * 
+ * @author linbin
+ * 
+ */
+public class InvokerFactory
+{
+    private static final Logger    logger = ConsoleLogFactory.getLogger();
+    private static final ClassPool classPool;
+    static
+    {
+        classPool = new ClassPool();
+        classPool.appendSystemPath();
+        classPool.appendClassPath(new ClassClassPath(InvokerFactory.class));
+    }
+    
+    public static synchronized MethodInvoker build(Object impl, Method method)
+    {
+        if (Modifier.isPublic(method.getModifiers()) && accessible(impl.getClass()) && accessible(method.getParameterTypes()))
+        {
+            try
+            {
+                return generate(impl, method);
+            }
+            catch (Exception e)
+            {
+                logger.warn("为方法{}生成调用类失败，使用反射调用", method, e);
+            }
+        }
+        return new ReflectInvoker(impl, method);
+    }
+    
+    private static boolean accessible(Class<?>[] types)
+    {
+        for (Class<?> each : types)
+        {
+            if (accessible(each) == false)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean accessible(Class<?> type)
+    {
+        while (type.isArray())
+        {
+            type = type.getComponentType();
+        }
+        for (Class<?> each = type; each != null; each = each.getDeclaringClass())
+        {
+            if (each.isPrimitive() == false && Modifier.isPublic(each.getModifiers()) == false)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static MethodInvoker generate(Object impl, Method method) throws Exception
+    {
+        Class<?> implClass = impl.getClass();
+        classPool.appendClassPath(new ClassClassPath(implClass));
+        CtClass objectCc = classPool.get(Object.class.getName());
+        CtClass invokerCc = classPool.makeClass("RpcInvoker_" + implClass.getSimpleName() + "_" + method.getName() + "_" + System.nanoTime());
+        invokerCc.addInterface(classPool.get(MethodInvoker.class.getName()));
+        String implType = ReflectUtil.getTypeName(implClass);
+        CtField implField = new CtField(classPool.get(implClass.getName()), "impl", invokerCc);
+        implField.setModifiers(Modifier.PRIVATE);
+        invokerCc.addField(implField);
+        CtConstructor constructor = new CtConstructor(new CtClass[] { objectCc }, invokerCc);
+        constructor.setBody("{this.impl = (" + implType + ") $1;}");
+        invokerCc.addConstructor(constructor);
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        CtClass[] parameterCcs = new CtClass[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++)
+        {
+            parameterCcs[i] = classPool.get(ReflectUtil.getTypeName(parameterTypes[i]));
+        }
+        // call方法直接调用实现类，方法抛出的异常包装为InvocationTargetException，与读取参数时的异常区分开
+        CtMethod call = new CtMethod(objectCc, "call", parameterCcs, invokerCc);
+        call.setModifiers(Modifier.PRIVATE);
+        if (method.getReturnType() == void.class)
+        {
+            call.setBody("{impl." + method.getName() + "($$);return null;}");
+        }
+        else
+        {
+            call.setBody("{return ($w) impl." + method.getName() + "($$);}");
+        }
+        call.addCatch("{throw new java.lang.reflect.InvocationTargetException($e);}", classPool.get(Throwable.class.getName()));
+        invokerCc.addMethod(call);
+        StringBuilder body = new StringBuilder();
+        body.append("{\n").append(ByteBuf.class.getName()).append(" buf = $1;\n");
+        body.append(Licp.class.getName()).append(" licp = $2;\n");
+        StringBuilder callArgs = new StringBuilder();
+        for (int i = 0; i < parameterTypes.length; i++)
+        {
+            String typeName = ReflectUtil.getTypeName(parameterTypes[i]);
+            body.append(typeName).append(" a").append(i).append(" = ").append(ArgumentCode.read(ArgumentCode.typeOf(parameterTypes[i]), typeName)).append(";\n");
+            if (i != 0)
+            {
+                callArgs.append(',');
+            }
+            callArgs.append('a').append(i);
+        }
+        body.append("return call(").append(callArgs).append(");\n}");
+        CtMethod invoke = new CtMethod(objectCc, "invoke", new CtClass[] { classPool.get(ByteBuf.class.getName()), classPool.get(Licp.class.getName()) }, invokerCc);
+        logger.trace("{}创建的调用方法是\r{}\r", invokerCc.getName(), body);
+        invoke.setBody(body.toString());
+        invokerCc.addMethod(invoke);
+        Class<?> invokerClass = invokerCc.toClass(implClass.getClassLoader(), null);
+        invokerCc.detach();
+        return (MethodInvoker) invokerClass.getConstructor(Object.class).newInstance(impl);
+    }
+}
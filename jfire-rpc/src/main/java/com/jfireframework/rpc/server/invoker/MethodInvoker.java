@@ -0,0 +1,24 @@
+package com.jfireframework.rpc.server.invoker;
+
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.licp.Licp;
+
+/**
+ * 服务端对一个方法的调用者。从请求报文中按照方法签名读取参数，然后调用实现类的方法
+ * 
+ * @author linbin
+ * 
+ */
+public interface MethodInvoker
+{
+    /**
+     * 读取参数并且调用方法，返回方法的返回值，void方法返回null。
+     * 方法本身抛出的异常包装为InvocationTargetException，读取参数时发生的异常直接抛出
+     * 
+     * @param buf 读取位置在第一个参数的请求报文
+     * @param licp
+     * @return
+     * @throws Throwable
+     */
+    public Object invoke(ByteBuf<?> buf, Licp licp) throws Throwable;
+}
@@ -0,0 +1,43 @@
+package com.jfireframework.rpc.server.invoker;
+
+import java.lang.reflect.Method;
+import com.jfireframework.baseutil.collection.buffer.ByteBuf;
+import com.jfireframework.licp.Licp;
+import com.jfireframework.rpc.protocol.ArgumentCode;
+
+/**
+ * 使用反射的调用者。实现类或者方法签名中的类型不是public的时候，生成的代码无法访问，退回到反射调用
+ * 
+ * @author linbin
+ * 
+ */
+public class ReflectInvoker implements MethodInvoker
+{
+    private final Object impl;
+    private final Method method;
+    private final char[] types;
+    
+    public ReflectInvoker(Object impl, Method method)
+    {
+        this.impl = impl;
+        this.method = method;
+        method.setAccessible(true);
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        types = new char[parameterTypes.length];
+        for (int i = 0; i < types.length; i++)
+        {
+            types[i] = ArgumentCode.typeOf(parameterTypes[i]);
+        }
+    }
+    
+    @Override
+    public Object invoke(ByteBuf<?> buf, Licp licp) throws Throwable
+    {
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++)
+        {
+            args[i] = ArgumentCode.read(types[i], buf, licp);
+        }
+        return method.invoke(impl, args);
+    }
+}
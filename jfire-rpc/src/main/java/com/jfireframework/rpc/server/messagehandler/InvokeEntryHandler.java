@@ -1,105 +1,437 @@
 package com.jfireframework.rpc.server.messagehandler;
 
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Resource;
 import com.jfireframework.baseutil.collection.buffer.ByteBuf;
 import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
 import com.jfireframework.baseutil.simplelog.Logger;
 import com.jfireframework.jnet.common.exception.JnetException;
 import com.jfireframework.jnet.common.handler.DataHandler;
+import com.jfireframework.jnet.common.result.DeferredResponse;
 import com.jfireframework.jnet.common.result.InternalTask;
+import com.jfireframework.jnet.common.result.ServerInternalTask;
 import com.jfireframework.licp.Licp;
+import com.jfireframework.rpc.async.RpcFuture;
+import com.jfireframework.rpc.async.RpcListener;
+import com.jfireframework.rpc.exception.InvokeException;
+import com.jfireframework.rpc.exception.LbrcException;
 import com.jfireframework.rpc.exception.NoSuchMethodException;
-import com.jfireframework.rpc.exception.NoSuchProxyException;
-import sun.reflect.MethodAccessor;
+import com.jfireframework.rpc.protocol.MethodId;
+import com.jfireframework.rpc.protocol.RpcHeader;
+import com.jfireframework.rpc.server.invoker.InvokerFactory;
+import com.jfireframework.rpc.server.invoker.MethodInvoker;
 
-@SuppressWarnings("restriction")
 @Resource
 public class InvokeEntryHandler implements DataHandler
 {
-    private Map<String, Object>                      implMap;
-    private Map<String, Map<String, MethodAccessor>> methodMaps;
-    private ThreadLocal<Licp>                        threadLocalLbse = new ThreadLocal<Licp>() {
-                                                                         protected Licp initialValue()
-                                                                         {
-                                                                             return new Licp();
-                                                                         }
-                                                                     };
-    private Logger                                   logger          = ConsoleLogFactory.getLogger();
+    // 以方法id为键的开放寻址表，冲突时线性探测。invokers中为null的槽位是空的
+    private int[]             methodIds;
+    private MethodInvoker[]   invokers;
+    // 代理名称和方法签名，只用于日志
+    private String[]          names;
+    private int               mask;
+    // 响应是否使用标签格式，需要在开始处理请求之前设置
+    private boolean           taggedFormat    = false;
+    private ThreadLocal<Licp> threadLocalLbse = new ThreadLocal<Licp>() {
+                                                  protected Licp initialValue()
+                                                  {
+                                                      Licp licp = new Licp();
+                                                      licp.setTaggedFormat(taggedFormat);
+                                                      return licp;
+                                                  }
+                                              };
+    private Logger            logger          = ConsoleLogFactory.getLogger();
     
-    private Object invoke(String proxyName, String methodName, Object[] args) throws IllegalAccessException, IllegalArgumentException, InvocationTargetException
+    /**
+     * 设置响应是否使用licp的标签格式序列化，请求的格式由licp自动识别
+     * 
+     * @param taggedFormat
+     */
+    public void setTaggedFormat(boolean taggedFormat)
+    {
+        this.taggedFormat = taggedFormat;
+    }
+    
+    /**
+     * 设置必须的工作单元，也就是代理名称和实例的映射。实例的每一个public方法都生成一个调用者，
+     * 按照方法id放入分发表，重载的方法有各自的方法id。两个方法的方法id相同时抛出异常
+     * 
+     * @param implMap
+     */
+    public void setWorkUnit(Map<String, Object> implMap)
     {
-        Object impl = implMap.get(proxyName);
-        if (impl != null)
+        int size = 0;
+        for (Object each : implMap.values())
         {
-            MethodAccessor method = methodMaps.get(proxyName).get(methodName);
-            if (method == null)
+            size += each.getClass().getMethods().length;
+        }
+        // 装载因子不超过0.5，保证探测一定能遇到空槽位
+        int capacity = 2;
+        while (capacity < size * 2)
+        {
+            capacity <<= 1;
+        }
+        methodIds = new int[capacity];
+        invokers = new MethodInvoker[capacity];
+        names = new String[capacity];
+        mask = capacity - 1;
+        for (Entry<String, Object> proxy : implMap.entrySet())
+        {
+            for (Method method : proxy.getValue().getClass().getMethods())
             {
-                throw new NoSuchMethodException(methodName);
+                if (method.getDeclaringClass() == Object.class || Modifier.isStatic(method.getModifiers()))
+                {
+                    continue;
+                }
+                String name = proxy.getKey() + "." + method.getName() + MethodId.descriptor(method.getParameterTypes());
+                int methodId = MethodId.of(proxy.getKey(), method);
+                int index = slot(methodId);
+                while (invokers[index] != null)
+                {
+                    if (methodIds[index] == methodId)
+                    {
+                        throw new LbrcException("方法" + name + "与方法" + names[index] + "的方法id冲突，请修改其中一个方法的名称");
+                    }
+                    index = (index + 1) & mask;
+                }
+                methodIds[index] = methodId;
+                invokers[index] = InvokerFactory.build(proxy.getValue(), method);
+                names[index] = name;
             }
-            logger.debug("正确解析rpc数据，进行方法调用{}", args[0]);
-            return method.invoke(impl, args);
         }
-        throw new NoSuchProxyException(proxyName);
-        
+    }
+    
+    private int slot(int methodId)
+    {
+        return (methodId ^ (methodId >>> 16)) & mask;
     }
     
     /**
-     * 设置必须的工作单元，包含代理名称数组，代理实例，以及各实例方法名和方法访问映射数组
+     * 返回方法id在分发表中的下标，不存在时返回-1
      * 
-     * @param proxyNames
-     * @param impls
-     * @param methodMaps
+     * @param methodId
+     * @return
      */
-    public void setWorkUnit(Map<String, Object> implMap, Map<String, Map<String, MethodAccessor>> methodMaps)
+    private int find(int methodId)
     {
-        this.implMap = implMap;
-        this.methodMaps = methodMaps;
+        int index = slot(methodId);
+        while (invokers[index] != null)
+        {
+            if (methodIds[index] == methodId)
+            {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
     }
     
     @Override
     public Object handle(Object data, InternalTask result) throws JnetException
     {
-        String proxyName = null;
-        String methodName = null;
-        int argsNum = -1;
-        Object[] args;
+        int methodId = 0;
         ByteBuf<?> buf = (ByteBuf<?>) data;
+        if (RpcHeader.magic(buf) != RpcHeader.MAGIC)
+        {
+            throw new JnetException("报文的魔数不正确，对端使用的不是当前的rpc协议");
+        }
+        byte flags = RpcHeader.flags(buf);
+        int requestId = RpcHeader.requestId(buf);
+        byte version = RpcHeader.version(buf);
+        if (version != RpcHeader.VERSION)
+        {
+            return response(buf, flags, RpcHeader.STATUS_UNSUPPORTED_VERSION, requestId, new InvokeException("不支持的协议版本:" + version));
+        }
+        buf.addReadIndex(RpcHeader.HEADER_LENGTH);
+        if ((flags & RpcHeader.FLAG_BATCH) != 0)
+        {
+            return batch(buf, flags, requestId, result);
+        }
         try
         {
-            int length = buf.readPositive();
-            char[] src = new char[length];
-            for (int i = 0; i < length; i++)
+            methodId = buf.readInt();
+            int index = find(methodId);
+            if (index == -1)
             {
-                src[i] = buf.readVarChar();
+                throw new NoSuchMethodException(methodId);
             }
-            proxyName = new String(src);
-            length = buf.readPositive();
-            src = new char[length];
-            for (int i = 0; i < length; i++)
+            logger.debug("正确解析rpc数据，进行方法调用{}", names[index]);
+            Object resultObject = invokers[index].invoke(buf, threadLocalLbse.get());
+            if (resultObject instanceof RpcFuture<?>)
             {
-                src[i] = buf.readVarChar();
+                return asyncResponse((RpcFuture<?>) resultObject, buf, flags, requestId, methodId, result);
             }
-            methodName = new String(src);
-            argsNum = buf.readPositive();
-            args = new Object[argsNum];
-            Licp lbse = threadLocalLbse.get();
-            for (int i = 0; i < argsNum; i++)
+            return response(buf, flags, RpcHeader.STATUS_OK, requestId, resultObject);
+        }
+        catch (InvocationTargetException e)
+        {
+            logger.error("远程调用的方法抛出异常,方法id是{}", methodId, e.getTargetException());
+            return response(buf, flags, RpcHeader.STATUS_EXCEPTION, requestId, e.getTargetException());
+        }
+        catch (Throwable e)
+        {
+            logger.error("远程调用出现失败,方法id是{}", methodId, e);
+            return response(buf, flags, RpcHeader.STATUS_ERROR, requestId, e);
+        }
+    }
+    
+    /**
+     * 实现类返回了RpcFuture，响应的内容是future的结果。已经完成的future直接响应。
+     * 无序模式下延迟响应，当前线程直接返回去处理其他报文，future完成后在完成它的线程中写出响应。
+     * 有序模式下响应必须按照请求的顺序写出，只能在当前线程等待future完成
+     * 
+     * @param future
+     * @param buf
+     * @param flags
+     * @param requestId
+     * @param methodId
+     * @param task
+     * @return
+     * @throws InterruptedException
+     */
+    private ByteBuf<?> asyncResponse(RpcFuture<?> future, final ByteBuf<?> buf, final byte flags, final int requestId, final int methodId, InternalTask task) throws InterruptedException
+    {
+        if (future.isDone() == false && task instanceof ServerInternalTask && ((ServerInternalTask) task).canDefer())
+        {
+            final DeferredResponse deferred = ((ServerInternalTask) task).defer();
+            future.addListener(new RpcListener<Object>() {
+                
+                @Override
+                public void onSuccess(Object value)
+                {
+                    ByteBuf<?> out;
+                    try
+                    {
+                        out = response(buf, flags, RpcHeader.STATUS_OK, requestId, value);
+                    }
+                    catch (Throwable e)
+                    {
+                        logger.error("远程调用出现失败,方法id是{}", methodId, e);
+                        out = response(buf, flags, RpcHeader.STATUS_ERROR, requestId, e);
+                    }
+                    deferred.write(out);
+                }
+                
+                @Override
+                public void onFailure(Throwable e)
+                {
+                    logger.error("远程调用的方法抛出异常,方法id是{}", methodId, e);
+                    deferred.write(response(buf, flags, RpcHeader.STATUS_EXCEPTION, requestId, e));
+                }
+            });
+            return null;
+        }
+        try
+        {
+            return response(buf, flags, RpcHeader.STATUS_OK, requestId, future.get());
+        }
+        catch (ExecutionException e)
+        {
+            logger.error("远程调用的方法抛出异常,方法id是{}", methodId, e.getCause());
+            return response(buf, flags, RpcHeader.STATUS_EXCEPTION, requestId, e.getCause());
+        }
+    }
+    
+    /**
+     * 处理合并了多个调用的请求，按照顺序执行每一个调用，全部的结果在一个响应中返回。
+     * 某一个调用失败不影响其他调用，它的结果是对应的状态码和异常。
+     * 返回了未完成的RpcFuture的调用，与单个请求一样，无序模式下延迟响应，全部的future完成后再写出，有序模式下在当前线程等待
+     * 
+     * @param buf
+     * @param flags
+     * @param requestId
+     * @param task
+     * @return
+     */
+    private ByteBuf<?> batch(final ByteBuf<?> buf, final byte flags, final int requestId, InternalTask task)
+    {
+        int count = buf.readInt();
+        final byte[] statuses = new byte[count];
+        final Object[] values = new Object[count];
+        int[] pendingIndexes = null;
+        RpcFuture<?>[] pendingFutures = null;
+        int pendingCount = 0;
+        Licp licp = threadLocalLbse.get();
+        for (int i = 0; i < count; i++)
+        {
+            int length = buf.readInt();
+            int end = buf.readIndex() + length;
+            int methodId = 0;
+            try
+            {
+                methodId = buf.readInt();
+                int index = find(methodId);
+                if (index == -1)
+                {
+                    throw new NoSuchMethodException(methodId);
+                }
+                Object value = invokers[index].invoke(buf, licp);
+                if (value instanceof RpcFuture<?> && ((RpcFuture<?>) value).isDone() == false)
+                {
+                    if (pendingCount == 0)
+                    {
+                        pendingIndexes = new int[count];
+                        pendingFutures = new RpcFuture<?>[count];
+                    }
+                    pendingIndexes[pendingCount] = i;
+                    pendingFutures[pendingCount] = (RpcFuture<?>) value;
+                    pendingCount += 1;
+                }
+                else if (value instanceof RpcFuture<?>)
+                {
+                    settle((RpcFuture<?>) value, i, statuses, values, methodId);
+                }
+                else
+                {
+                    statuses[i] = RpcHeader.STATUS_OK;
+                    values[i] = value;
+                }
+            }
+            catch (InvocationTargetException e)
+            {
+                logger.error("远程调用的方法抛出异常,方法id是{}", methodId, e.getTargetException());
+                statuses[i] = RpcHeader.STATUS_EXCEPTION;
+                values[i] = e.getTargetException();
+            }
+            catch (Throwable e)
             {
-                args[i] = lbse.deserialize(buf);
+                logger.error("远程调用出现失败,方法id是{}", methodId, e);
+                statuses[i] = RpcHeader.STATUS_ERROR;
+                values[i] = e;
             }
-            Object resultObject = invoke(proxyName, methodName, args);
-            lbse.serialize(resultObject, buf.clear().addWriteIndex(4));
-            return buf;
+            // 调用失败时参数可能没有读完，直接跳到下一个调用
+            buf.readIndex(end);
         }
-        catch (Exception e)
+        if (pendingCount == 0)
+        {
+            return batchResponse(buf, flags, requestId, statuses, values);
+        }
+        if (task instanceof ServerInternalTask && ((ServerInternalTask) task).canDefer())
+        {
+            final DeferredResponse deferred = ((ServerInternalTask) task).defer();
+            final AtomicInteger remain = new AtomicInteger(pendingCount);
+            for (int i = 0; i < pendingCount; i++)
+            {
+                final int index = pendingIndexes[i];
+                pendingFutures[i].addListener(new RpcListener<Object>() {
+                    
+                    @Override
+                    public void onSuccess(Object value)
+                    {
+                        statuses[index] = RpcHeader.STATUS_OK;
+                        values[index] = value;
+                        done();
+                    }
+                    
+                    @Override
+                    public void onFailure(Throwable e)
+                    {
+                        logger.error("远程调用的方法抛出异常", e);
+                        statuses[index] = RpcHeader.STATUS_EXCEPTION;
+                        values[index] = e;
+                        done();
+                    }
+                    
+                    private void done()
+                    {
+                        // 最后一个完成的future负责写出，计数器的递减保证了之前写入的结果对它可见
+                        if (remain.decrementAndGet() == 0)
+                        {
+                            deferred.write(batchResponse(buf, flags, requestId, statuses, values));
+                        }
+                    }
+                });
+            }
+            return null;
+        }
+        for (int i = 0; i < pendingCount; i++)
+        {
+            settle(pendingFutures[i], pendingIndexes[i], statuses, values, 0);
+        }
+        return batchResponse(buf, flags, requestId, statuses, values);
+    }
+    
+    /**
+     * 等待future完成，将它的结果填入合并响应的结果中
+     */
+    private void settle(RpcFuture<?> future, int index, byte[] statuses, Object[] values, int methodId)
+    {
+        try
         {
-            logger.error("远程调用出现失败,代理名称是{}，方法名称是{}，方法参数个数是{}", proxyName, methodName, argsNum, e);
-            Licp lbse = threadLocalLbse.get();
-            lbse.serialize(e, buf.clear().addWriteIndex(4));
-            return buf;
+            values[index] = future.get();
+            statuses[index] = RpcHeader.STATUS_OK;
         }
+        catch (ExecutionException e)
+        {
+            logger.error("远程调用的方法抛出异常,方法id是{}", methodId, e.getCause());
+            statuses[index] = RpcHeader.STATUS_EXCEPTION;
+            values[index] = e.getCause();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            statuses[index] = RpcHeader.STATUS_ERROR;
+            values[index] = e;
+        }
+    }
+    
+    /**
+     * 复用请求报文的buf写出合并调用的响应。某一个结果无法序列化的时候，以STATUS_ERROR和序列化的异常代替该结果
+     * 
+     * @param buf
+     * @param flags
+     * @param requestId
+     * @param statuses
+     * @param values
+     * @return
+     */
+    private ByteBuf<?> batchResponse(ByteBuf<?> buf, byte flags, int requestId, byte[] statuses, Object[] values)
+    {
+        Licp licp = threadLocalLbse.get();
+        buf.clear().addWriteIndex(4);
+        RpcHeader.writeHeader(buf, (byte) (flags | RpcHeader.FLAG_RESPONSE), RpcHeader.STATUS_OK, requestId);
+        buf.writeInt(values.length);
+        for (int i = 0; i < values.length; i++)
+        {
+            int mark = buf.writeIndex();
+            try
+            {
+                buf.put(statuses[i]);
+                licp.serialize(values[i], buf);
+            }
+            catch (Throwable e)
+            {
+                logger.error("合并调用的第{}个结果序列化失败", i, e);
+                buf.writeIndex(mark);
+                buf.put(RpcHeader.STATUS_ERROR);
+                licp.serialize(e, buf);
+            }
+        }
+        return buf;
+    }
+    
+    /**
+     * 复用请求报文的buf写出响应，响应中带回请求的序号
+     * 
+     * @param buf
+     * @param flags
+     * @param status
+     * @param requestId
+     * @param body
+     * @return
+     */
+    private ByteBuf<?> response(ByteBuf<?> buf, byte flags, byte status, int requestId, Object body)
+    {
+        buf.clear().addWriteIndex(4);
+        RpcHeader.writeHeader(buf, (byte) (flags | RpcHeader.FLAG_RESPONSE), status, requestId);
+        threadLocalLbse.get().serialize(body, buf);
+        return buf;
     }
     
     @Override
@@ -2,6 +2,8 @@ package link.jfire.simplerpc;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -12,6 +14,7 @@ import com.jfire.test.rule.CustomRule;
 import com.jfire.test.rule.MutiThreadTest;
 import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
 import com.jfireframework.baseutil.simplelog.Logger;
+import com.jfireframework.rpc.async.RpcFuture;
 import com.jfireframework.rpc.client.RpcFactory;
 import com.jfireframework.rpc.exception.NoSuchMethodException;
 import com.jfireframework.rpc.server.RcConfig;
@@ -58,6 +61,107 @@ public class FunctionTest
 		Assert.assertEquals("有方法返回值追加的末尾信息", result);
 	}
 	
+	@Test
+	public void asyncMethod() throws Exception
+	{
+		Print print = RpcFactory.getProxy("print", Print.class, "127.0.0.1", 1688);
+		RpcFuture<String> future = print.asyncMethod("异步调用");
+		Assert.assertEquals("异步调用异步返回的信息", future.get(3, TimeUnit.SECONDS));
+	}
+	
+	@Test
+	public void failover()
+	{
+		// 1689端口没有服务端，幂等的方法会换一个服务端重试
+		Print print = RpcFactory.buildProxyConfig(Print.class).setProxyName("print").setServers("127.0.0.1:1689", "127.0.0.1:1688").getProxy();
+		for (int i = 0; i < 4; i++)
+		{
+			Assert.assertEquals("重试追加的末尾信息", print.methodWithReturn("重试"));
+		}
+	}
+	
+	@Test
+	public void failoverOnDisconnect()
+	{
+		// 1690端口的服务端在调用进行中被关闭，链接中断属于传输层失败，幂等的方法会换一个服务端重试
+		final CountDownLatch called = new CountDownLatch(1);
+		RcConfig rcConfig = new RcConfig();
+		rcConfig.setPort(1690);
+		rcConfig.setShutdownTimeout(200);
+		Map<String, Object> tmp = new HashMap<>();
+		tmp.put("print", new PrintImpl() {
+			
+			@Override
+			public String methodWithReturn(String param)
+			{
+				called.countDown();
+				try
+				{
+					Thread.sleep(10000);
+				}
+				catch (InterruptedException e)
+				{
+					;
+				}
+				return "不应该收到的结果";
+			}
+		});
+		rcConfig.setImplMap(tmp);
+		final RcServer victim = new RcServer(rcConfig);
+		victim.start();
+		new Thread(new Runnable() {
+			
+			@Override
+			public void run()
+			{
+				try
+				{
+					called.await();
+				}
+				catch (InterruptedException e)
+				{
+					return;
+				}
+				victim.stop();
+			}
+		}).start();
+		// 轮询从第一个服务端开始，所以第一次调用一定落在将被关闭的服务端上
+		Print print = RpcFactory.buildProxyConfig(Print.class).setProxyName("print").setServers("127.0.0.1:1690", "127.0.0.1:1688").getProxy();
+		Assert.assertEquals("断线追加的末尾信息", print.methodWithReturn("断线"));
+		Assert.assertEquals(0, called.getCount());
+	}
+	
+	@Test
+	public void taggedFormat()
+	{
+		// 服务端的响应和客户端的参数都使用标签格式，两端各自识别对方的格式
+		RcConfig rcConfig = new RcConfig();
+		rcConfig.setPort(1691);
+		rcConfig.setTaggedFormat(true);
+		Map<String, Object> tmp = new HashMap<>();
+		tmp.put("print", new PrintImpl());
+		rcConfig.setImplMap(tmp);
+		RcServer taggedServer = new RcServer(rcConfig);
+		taggedServer.start();
+		try
+		{
+			Print tagged = RpcFactory.buildProxyConfig(Print.class).setProxyName("print").setIp("127.0.0.1").setPort(1691).setTaggedFormat(true).getProxy();
+			Assert.assertEquals("标签追加的末尾信息", tagged.methodWithReturn("标签"));
+			ComplexOPbject param = new ComplexOPbject();
+			param.setName("林斌");
+			Object[] result = tagged.returnComplexOPbject(param);
+			Assert.assertEquals(10, result[0]);
+			Assert.assertEquals(2, ((ComplexOPbject[]) result[1]).length);
+			// 没有打开标签格式的客户端也能读取标签格式的响应
+			Print plain = RpcFactory.buildProxyConfig(Print.class).setProxyName("print").setIp("127.0.0.1").setPort(1691).getProxy();
+			Assert.assertEquals("默认追加的末尾信息", plain.methodWithReturn("默认"));
+		}
+		finally
+		{
+			taggedServer.stop();
+		}
+	}
+	
 	Print print = RpcFactory.buildProxyConfig(Print.class).setProxyName("print").setIp("127.0.0.1").setPort(1688).getProxy();
 	
 	@Test
@@ -77,14 +181,36 @@ public class FunctionTest
 		try
 		{
 			print2.methodNotExist();
+			Assert.fail();
 		}
 		catch (Exception e)
 		{
-			e.getCause().printStackTrace();
-			Assert.assertTrue(e.getCause().getCause().getCause() instanceof NoSuchMethodException);
+			// 服务端的调用失败通过响应的状态码返回，客户端直接抛出服务端的异常
+			Assert.assertTrue(e instanceof NoSuchMethodException);
 		}
 	}
 	
+	Print batchPrint = RpcFactory.buildProxyConfig(Print.class).setProxyName("print").setIp("127.0.0.1").setPort(1688).setBatch(32, 50).getProxy();
+	
+	@Test
+	@MutiThreadTest(repeatTimes = 20, threadNums = 80)
+	public void batchCall()
+	{
+		Assert.assertEquals("合并追加的末尾信息", batchPrint.methodWithReturn("合并"));
+	}
+	
+	@Test
+	public void batchAsyncReturnsAtOnce() throws Exception
+	{
+		// 打开批次的调用不等待窗口时间，异步方法立即返回，批次由时间轮在窗口时间到达后发送
+		Print print = RpcFactory.buildProxyConfig(Print.class).setProxyName("print").setIp("127.0.0.1").setPort(1688).setBatch(32, 300 * 1000).getProxy();
+		long start = System.currentTimeMillis();
+		RpcFuture<String> future = print.asyncMethod("合并异步");
+		Assert.assertTrue(System.currentTimeMillis() - start < 150);
+		Assert.assertEquals("合并异步异步返回的信息", future.get(3, TimeUnit.SECONDS));
+		Assert.assertTrue(System.currentTimeMillis() - start >= 200);
+	}
+	
 	// @Ignore
 	@Test
 	@MutiThreadTest(repeatTimes = 20, threadNums = 80)
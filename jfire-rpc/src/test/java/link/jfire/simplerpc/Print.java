@@ -1,5 +1,7 @@
 package link.jfire.simplerpc;
 
+import com.jfireframework.rpc.annotation.Idempotent;
+import com.jfireframework.rpc.async.RpcFuture;
 import link.jfire.simplerpc.data.ComplexOPbject;
 
 public interface Print
@@ -8,7 +10,10 @@ public interface Print
     
     public void par(String[][] ps);
     
+    @Idempotent
     public String methodWithReturn(String param);
     
     public Object[] returnComplexOPbject(ComplexOPbject complexOPbject);
+    
+    public RpcFuture<String> asyncMethod(String param);
 }
@@ -2,6 +2,7 @@ package link.jfire.simplerpc;
 
 import com.jfireframework.baseutil.simplelog.ConsoleLogFactory;
 import com.jfireframework.baseutil.simplelog.Logger;
+import com.jfireframework.rpc.async.RpcFuture;
 import link.jfire.simplerpc.data.ComplexOPbject;
 
 public class PrintImpl implements Print
@@ -31,6 +32,21 @@ public class PrintImpl implements Print
         return result;
     }
     
+    @Override
+    public RpcFuture<String> asyncMethod(final String param)
+    {
+        final RpcFuture<String> future = new RpcFuture<>();
+        new Thread(new Runnable() {
+            
+            @Override
+            public void run()
+            {
+                future.complete(param + "异步返回的信息");
+            }
+        }).start();
+        return future;
+    }
+    
     @Override
     public void par(String[][] ps)
     {